@@ -22,14 +22,29 @@ const Analytics = () => {
     try {
       // Use different endpoint based on role
       const endpoint = isAdmin
-        ? `${API_BASE}/suites`
+        ? `${API_BASE}/suites?limit=500`
         : `${API_BASE}/suites/my-suites`;
 
       const res = await fetch(endpoint, {
         headers: { Authorization: `Bearer ${token}` },
       });
       const data = await res.json();
-      setSuites(Array.isArray(data) ? data : []);
+      if (Array.isArray(data)) {
+        setSuites(data);
+        return;
+      }
+      // /api/suites is keyset-paged: follow next so every suite can be picked
+      let all = Array.isArray(data.items) ? data.items : [];
+      let next = data.next;
+      while (next) {
+        const pageRes = await fetch(next, {
+          headers: { Authorization: `Bearer ${token}` },
+        });
+        const page = await pageRes.json();
+        all = all.concat(Array.isArray(page.items) ? page.items : []);
+        next = page.next;
+      }
+      setSuites(all);
     } catch (error) {
       console.error("Failed to fetch suites:", error);
       setSuites([]);
@@ -112,7 +127,7 @@ const Analytics = () => {
           <option value="">Select a suite to view analytics...</option>
           {suites.map((suite) => (
             <option key={suite.id} value={suite.id}>
-              {suite.name} ({suite.testCases?.length || 0} tests)
+              {suite.name} ({suite.testCaseCount ?? suite.testCases?.length ?? 0} tests)
             </option>
           ))}
         </select>
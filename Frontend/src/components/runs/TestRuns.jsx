@@ -9,6 +9,9 @@ const TestRuns = () => {
   const [testResults, setTestResults] = useState([]);
   const [showAllRuns, setShowAllRuns] = useState(false); // FIX #5: Pagination
   const [showAllResults, setShowAllResults] = useState(false); // FIX #5: Pagination
+  // Keyset paging: next-page links and totals from the API
+  const [runsPage, setRunsPage] = useState({ next: null, total: 0 });
+  const [resultsPage, setResultsPage] = useState({ next: null, total: 0 });
   const [loading, setLoading] = useState(true);
   const { token } = useAuth();
 
@@ -19,21 +22,21 @@ const TestRuns = () => {
   const fetchData = async () => {
     setLoading(true);
     try {
-      // FIX #5: Fetch test runs from GET /api/runs
-      const runsRes = await fetch(`${API_BASE}/runs`, {
+      // FIX #5: Fetch test runs from GET /api/runs (latest first)
+      const runsRes = await fetch(`${API_BASE}/runs?limit=50&includeTotal=true`, {
         headers: { Authorization: `Bearer ${token}` },
       });
       const runsData = await runsRes.json();
-      // FIX #5: Reverse to show latest first
-      setTestRuns(Array.isArray(runsData) ? runsData.reverse() : []);
+      setTestRuns(Array.isArray(runsData.items) ? runsData.items : []);
+      setRunsPage({ next: runsData.next || null, total: runsData.total || 0 });
 
-      // FIX #5: Fetch test results from GET /api/runs/reports
-      const resultsRes = await fetch(`${API_BASE}/runs/reports`, {
+      // FIX #5: Fetch test results from GET /api/runs/reports (latest first)
+      const resultsRes = await fetch(`${API_BASE}/runs/reports?limit=50&includeTotal=true`, {
         headers: { Authorization: `Bearer ${token}` },
       });
       const resultsData = await resultsRes.json();
-      // FIX #5: Reverse to show latest first
-      setTestResults(Array.isArray(resultsData) ? resultsData.reverse() : []);
+      setTestResults(Array.isArray(resultsData.items) ? resultsData.items : []);
+      setResultsPage({ next: resultsData.next || null, total: resultsData.total || 0 });
     } catch (error) {
       console.error("Failed to fetch test data:", error);
       setTestRuns([]);
@@ -43,6 +46,30 @@ const TestRuns = () => {
     }
   };
 
+  // Append the next keyset page of runs or results
+  const loadOlder = async (kind) => {
+    const page = kind === "runs" ? runsPage : resultsPage;
+    if (!page.next) return;
+    try {
+      const res = await fetch(page.next, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      const data = await res.json();
+      const items = Array.isArray(data.items) ? data.items : [];
+      if (kind === "runs") {
+        setTestRuns((prev) => [...prev, ...items]);
+        setRunsPage((prev) => ({ ...prev, next: data.next || null }));
+        setShowAllRuns(true);
+      } else {
+        setTestResults((prev) => [...prev, ...items]);
+        setResultsPage((prev) => ({ ...prev, next: data.next || null }));
+        setShowAllResults(true);
+      }
+    } catch (error) {
+      console.error("Failed to load more:", error);
+    }
+  };
+
   const generateReport = async (runId) => {
     try {
       const res = await fetch(`${API_BASE}/runs/${runId}/report`, {
@@ -97,7 +124,7 @@ const TestRuns = () => {
               : "text-gray-600 hover:bg-gray-50"
           }`}
         >
-          📋 Test Runs ({testRuns.length})
+          📋 Test Runs ({runsPage.total || testRuns.length})
         </button>
         <button
           onClick={() => setActiveTab("results")}
@@ -107,7 +134,7 @@ const TestRuns = () => {
               : "text-gray-600 hover:bg-gray-50"
           }`}
         >
-          📊 Test Results ({testResults.length})
+          📊 Test Results ({resultsPage.total || testResults.length})
         </button>
       </div>
 
@@ -197,6 +224,16 @@ const TestRuns = () => {
                   </button>
                 </div>
               )}
+              {runsPage.next && (showAllRuns || testRuns.length <= 10) && (
+                <div className="p-4 text-center border-t bg-gray-50">
+                  <button
+                    onClick={() => loadOlder("runs")}
+                    className="text-blue-600 hover:text-blue-800 font-medium"
+                  >
+                    📥 Load Older
+                  </button>
+                </div>
+              )}
               {showAllRuns && testRuns.length > 10 && (
                 <div className="p-4 text-center border-t bg-gray-50">
                   <button
@@ -289,6 +326,16 @@ const TestRuns = () => {
                   </button>
                 </div>
               )}
+              {resultsPage.next && (showAllResults || testResults.length <= 10) && (
+                <div className="p-4 text-center border-t bg-gray-50">
+                  <button
+                    onClick={() => loadOlder("results")}
+                    className="text-blue-600 hover:text-blue-800 font-medium"
+                  >
+                    📥 Load Older
+                  </button>
+                </div>
+              )}
               {showAllResults && testResults.length > 10 && (
                 <div className="p-4 text-center border-t bg-gray-50">
                   <button
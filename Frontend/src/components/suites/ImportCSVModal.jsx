@@ -23,7 +23,10 @@ const ImportCSVModal = ({ onClose, onSuccess }) => {
         headers: { Authorization: `Bearer ${token}` },
         body: formData,
       });
-      if (!res.ok) throw new Error("Import failed");
+      if (!res.ok) {
+        const body = await res.json().catch(() => null);
+        throw new Error(body?.error || "Import failed");
+      }
       alert("Suite imported successfully!");
       onSuccess();
       onClose();
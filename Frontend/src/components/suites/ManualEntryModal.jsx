@@ -79,7 +79,10 @@ const ManualEntryModal = ({ onClose, onSuccess }) => {
         headers: { Authorization: `Bearer ${token}` },
         body: formData,
       });
-      if (!res.ok) throw new Error("Failed to create suite");
+      if (!res.ok) {
+        const body = await res.json().catch(() => null);
+        throw new Error(body?.error || "Failed to create suite");
+      }
       alert("Suite created successfully!");
       onSuccess();
       onClose();
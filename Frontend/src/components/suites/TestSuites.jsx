@@ -7,6 +7,8 @@ const API_BASE = "http://localhost:8080/api";
 
 const TestSuites = () => {
   const [suites, setSuites] = useState([]);
+  // Keyset paging: next-page link of /api/suites (admins only)
+  const [nextPage, setNextPage] = useState(null);
   const [showImport, setShowImport] = useState(false);
   const [showManual, setShowManual] = useState(false);
   const [showThreadModal, setShowThreadModal] = useState(false); // FIX #2
@@ -21,17 +23,36 @@ const TestSuites = () => {
 
   const fetchSuites = () => {
     const endpoint = isAdmin
-      ? `${API_BASE}/suites`
+      ? `${API_BASE}/suites?limit=500`
       : `${API_BASE}/suites/my-suites`;
 
     fetch(endpoint, {
       headers: { Authorization: `Bearer ${token}` },
     })
       .then((res) => res.json())
-      .then(setSuites)
+      // /api/suites returns a page, /my-suites a plain list
+      .then((data) => {
+        setSuites(Array.isArray(data) ? data : data.items || []);
+        setNextPage(Array.isArray(data) ? null : data.next || null);
+      })
       .catch(console.error);
   };
 
+  // Append the next keyset page of suites
+  const loadMore = async () => {
+    if (!nextPage) return;
+    try {
+      const res = await fetch(nextPage, {
+        headers: { Authorization: `Bearer ${token}` },
+      });
+      const data = await res.json();
+      setSuites((prev) => [...prev, ...(Array.isArray(data.items) ? data.items : [])]);
+      setNextPage(data.next || null);
+    } catch (error) {
+      console.error("Failed to load more suites:", error);
+    }
+  };
+
   // FIX #2: Open thread selection modal
   const handleRunClick = (suite) => {
     setSelectedSuite(suite);
@@ -222,6 +243,16 @@ const TestSuites = () => {
               </div>
             </div>
           ))}
+          {nextPage && (
+            <div className="text-center">
+              <button
+                onClick={loadMore}
+                className="text-blue-600 hover:text-blue-800 font-medium"
+              >
+                📥 Load More
+              </button>
+            </div>
+          )}
         </div>
       )}
 
@@ -3,12 +3,30 @@ package com.example.test_framework_api;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.security.Security;
+
 @SpringBootApplication
 public class TestFrameworkApiApplication {
 
     public static void main(String[] args) {
+        configureNetworking();
         SpringApplication.run(TestFrameworkApiApplication.class, args);
     }
 
+    /**
+     * JVM-wide settings of the pooled API client, read once by the JDK
+     * before the first connection / lookup, so they are applied here rather
+     * than by the engine bean. Values given with -D on the command line win:
+     * -Djdk.httpclient.keepalive.timeout (idle connection keep-alive, s) and
+     * -Dnetworkaddress.cache.ttl (DNS cache TTL, s).
+     */
+    static void configureNetworking() {
+        if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+            System.setProperty("jdk.httpclient.keepalive.timeout", "300");
+        }
+        String dnsTtl = System.getProperty("networkaddress.cache.ttl");
+        Security.setProperty("networkaddress.cache.ttl", dnsTtl != null ? dnsTtl : "60");
+    }
+
     // Remove duplicate @Bean definitions for queue, exchange, etc. - keep in RabbitMQConfig
 }
\ No newline at end of file
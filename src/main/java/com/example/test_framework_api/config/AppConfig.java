@@ -1,7 +1,9 @@
 package com.example.test_framework_api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
@@ -50,6 +52,54 @@ public class AppConfig {
         return executor;
     }
 
+    /**
+     * Virtual-thread executor for API tests in VIRTUAL execution mode.
+     * Unbounded by design: concurrency is limited by ApiConcurrencyLimiter
+     * (global and per-host permits), not by a thread count.
+     */
+    @Bean(name = "apiVirtualExecutor")
+    public Executor apiVirtualExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("api-vt-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Small event-loop pool for ASYNC execution mode.
+     * Only runs short pipeline stages (response validation, result
+     * persistence); HTTP I/O itself is non-blocking, so one thread per core
+     * is enough to keep thousands of API cases in flight.
+     */
+    @Bean(name = "apiAsyncExecutor")
+    public Executor apiAsyncExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("api-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs load tests, one thread per active load run for its whole duration
+     * (the virtual users themselves are virtual threads). No queue: a start
+     * beyond max-concurrent-runs is rejected instead of waiting behind a
+     * run that may last an hour.
+     */
+    @Bean(name = "loadTestExecutor")
+    public Executor loadTestExecutor(@Value("${executor.load.max-concurrent-runs:2}") int maxConcurrentRuns) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentRuns);
+        executor.setMaxPoolSize(maxConcurrentRuns);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("load-run-");
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * General-purpose executor for non-test async tasks.
      */
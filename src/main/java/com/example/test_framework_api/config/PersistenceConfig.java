@@ -0,0 +1,137 @@
+package com.example.test_framework_api.config;
+
+import db.migration.V3__Partition_test_result;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate settings for batched writes, and schema migrations.
+ * ResultWriteBuffer saves test results in batches; with JDBC batching and
+ * ordered inserts each batch goes to the database as one statement batch
+ * (add rewriteBatchedStatements=true to the MySQL JDBC URL to have the
+ * driver send it as multi-row inserts).
+ *
+ * TestResult ids come from the pooled test_result_seq sequence. A database
+ * whose test_result table was filled through IDENTITY gets the sequence
+ * moved past its highest id at startup, so new ids cannot collide with
+ * existing rows.
+ *
+ * Hibernate still creates tables and columns; the versioned Flyway scripts
+ * in db/migration add what it cannot express, such as the composite
+ * indexes of the repository queries. They therefore run after the
+ * EntityManagerFactory is built instead of before it, and a schema without
+ * Flyway history is baselined at version 0 so every script applies.
+ */
+@Configuration
+@Slf4j
+public class PersistenceConfig {
+
+    // Must match the allocationSize of TestResult's @SequenceGenerator
+    public static final int RESULT_ID_ALLOCATION = 50;
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${executor.result-buffer.jdbc-batch-size:50}") int jdbcBatchSize) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", jdbcBatchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration.baselineOnMigrate(true).baselineVersion("0");
+    }
+
+    // V3 skips partitioning test_result above this many rows (see its doc)
+    @Bean
+    public FlywayConfigurationCustomizer flywayPartitionCustomizer(
+            @Value("${results.partition.migration-max-rows:1000000}") long maxRows) {
+        return configuration -> {
+            Map<String, String> placeholders = new HashMap<>(configuration.getPlaceholders());
+            placeholders.put(V3__Partition_test_result.MAX_ROWS_PLACEHOLDER, String.valueOf(maxRows));
+            configuration.placeholders(placeholders);
+        };
+    }
+
+    // Replaces Boot's migrate-before-JPA step; see flywayAfterHibernate
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigration() {
+        return flyway -> {
+        };
+    }
+
+    // Runs once all singletons (the EntityManagerFactory included) exist,
+    // before listeners and schedulers start
+    @Bean
+    public SmartInitializingSingleton flywayAfterHibernate(ObjectProvider<Flyway> flyway,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return () -> {
+            entityManagerFactory.getIfAvailable();
+            flyway.ifAvailable(Flyway::migrate);
+        };
+    }
+
+    // Runs once the EntityManagerFactory (and its schema update, which creates
+    // the sequence table) exists, before listeners start saving results
+    @Bean
+    public SmartInitializingSingleton seedResultSequence(ObjectProvider<DataSource> dataSource,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return () -> {
+            entityManagerFactory.getIfAvailable();
+            DataSource source = dataSource.getIfAvailable();
+            if (source == null) {
+                return;
+            }
+            try (Connection connection = source.getConnection()) {
+                seed(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to seed test_result_seq: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    public static void seed(Connection connection) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")) {
+            return;
+        }
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() "
+                        + "AND TABLE_NAME IN ('test_result', 'test_result_seq')");
+                ResultSet rs = query.executeQuery()) {
+            if (!rs.next() || rs.getInt(1) < 2) {
+                return;
+            }
+        }
+        // The pooled optimizer hands out the allocationSize ids below the value
+        // it reads, so next_val must be a full block above the highest id
+        String floor = "SELECT COALESCE(MAX(id), 0) + " + (RESULT_ID_ALLOCATION + 1) + " FROM test_result";
+        try (Statement statement = connection.createStatement()) {
+            int updated = statement.executeUpdate(
+                    "UPDATE test_result_seq SET next_val = GREATEST(next_val, (" + floor + "))");
+            if (updated == 0) {
+                statement.executeUpdate("INSERT INTO test_result_seq (next_val) " + floor);
+            }
+        }
+        log.info("test_result_seq is above the highest test_result id");
+    }
+}
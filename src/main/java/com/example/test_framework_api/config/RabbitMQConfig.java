@@ -177,6 +177,8 @@ public class RabbitMQConfig {
     public static final String DLQ = "dlq.testRunKey";
     public static final String TEST_SUITE_QUEUE = "testSuiteQueue"; // NEW FEATURE: Constant
     public static final String TEST_SUITE_KEY = "testSuiteKey";
+    public static final String SUITE_SHARD_QUEUE = "suiteShardQueue";
+    public static final String WORK_PULL_QUEUE = "workPullQueue";
 
     /* ---------- Queues ---------- */
     @Bean
@@ -280,4 +282,16 @@ public class RabbitMQConfig {
     public Binding testSuiteBinding() { // NEW FEATURE: Binding for suite requests
         return BindingBuilder.bind(testSuiteQueue()).to(testExchange()).with("testSuiteKey");
     }
-}
\ No newline at end of file
+
+    @Bean
+    public Queue suiteShardQueue() { // Shards of a sharded suite run, consumed by any worker
+        return QueueBuilder.durable(SUITE_SHARD_QUEUE)
+                .withArgument("x-dead-letter-exchange", deadLetterExchange().getName()).build();
+    }
+
+    @Bean
+    public Queue workPullQueue() { // Invitations to pull from a run's work queue
+        return QueueBuilder.durable(WORK_PULL_QUEUE)
+                .withArgument("x-dead-letter-exchange", deadLetterExchange().getName()).build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.test_framework_api.config;
+
+import com.example.test_framework_api.model.TestStatus;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Add the TestStatus values introduced after a table was created (TIMEOUT,
+ * CANCELLED) to its native status enum column. Hibernate maps
+ * {@code @Enumerated(STRING)} to a MySQL enum(...) and its schema update
+ * never widens one, so writing a new status to an older table fails with
+ * "Data truncated".
+ *
+ * Missing values are appended after the existing ones, which MySQL applies
+ * in place without copying the table; nullability and default are kept.
+ * Columns that are not enums (VARCHAR from older schemas) are left alone.
+ * Skipped on databases other than MySQL.
+ */
+@Configuration
+@Slf4j
+public class StatusEnumWidener {
+
+    // Runs once all singletons (the EntityManagerFactory and its schema update
+    // included) exist, before listeners start writing statuses
+    @Bean
+    public SmartInitializingSingleton widenStatusEnums(ObjectProvider<DataSource> dataSource,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return () -> {
+            entityManagerFactory.getIfAvailable();
+            DataSource source = dataSource.getIfAvailable();
+            if (source == null) {
+                return;
+            }
+            try (Connection connection = source.getConnection()) {
+                widen(connection);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to widen status enum columns: " + e.getMessage(), e);
+            }
+        };
+    }
+
+    static void widen(Connection connection) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")) {
+            return;
+        }
+        List<String> statuses = Arrays.stream(TestStatus.values()).map(Enum::name).toList();
+        List<String> alters = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT TABLE_NAME, COLUMN_TYPE, IS_NULLABLE, COLUMN_DEFAULT FROM information_schema.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND COLUMN_NAME = 'status' AND DATA_TYPE = 'enum'");
+                ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                String widened = widened(rs.getString(2), statuses);
+                if (widened == null) {
+                    continue;
+                }
+                String defaultValue = rs.getString(4);
+                alters.add("ALTER TABLE `" + rs.getString(1) + "` MODIFY status " + widened
+                        + ("NO".equals(rs.getString(3)) ? " NOT NULL" : " NULL")
+                        + (defaultValue != null ? " DEFAULT '" + defaultValue + "'" : ""));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String alter : alters) {
+                log.info("Widening status column: {}", alter);
+                statement.execute(alter);
+            }
+        }
+    }
+
+    /**
+     * The enum type with the missing values appended, or null when
+     * columnType (e.g. enum('PENDING','PASSED')) already holds them all.
+     */
+    public static String widened(String columnType, List<String> values) {
+        String list = columnType.substring(columnType.indexOf('(') + 1, columnType.lastIndexOf(')'));
+        List<String> existing = new ArrayList<>();
+        for (String value : list.split(",")) {
+            existing.add(value.trim().replaceAll("^'|'$", ""));
+        }
+        List<String> missing = values.stream().filter(v -> !existing.contains(v)).toList();
+        if (missing.isEmpty()) {
+            return null;
+        }
+        List<String> all = new ArrayList<>(existing);
+        all.addAll(missing);
+        return "enum(" + String.join(",", all.stream().map(v -> "'" + v + "'").toList()) + ")";
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.test_framework_api.controller;
+
+import com.example.test_framework_api.service.AdmissionController;
+import com.example.test_framework_api.service.ApiConcurrencyLimiter;
+import com.example.test_framework_api.service.ResultWriteBuffer;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.worker.ApiExecutionEngine;
+import com.example.test_framework_api.worker.AsyncApiPipeline;
+import com.example.test_framework_api.worker.BrowserSessionPool;
+import com.example.test_framework_api.worker.DeadlineWatchdog;
+import com.example.test_framework_api.worker.TestExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime statistics of the shared test execution resources.
+ */
+@RestController
+@RequestMapping("/api/executor")
+@RequiredArgsConstructor
+public class ExecutorController {
+
+    private final BrowserSessionPool browserSessionPool;
+    private final List<ApiExecutionEngine> apiEngines;
+    private final TestExecutor testExecutor;
+    private final ApiConcurrencyLimiter apiConcurrencyLimiter;
+    private final AsyncApiPipeline asyncApiPipeline;
+    private final DeadlineWatchdog deadlineWatchdog;
+    private final AdmissionController admissionController;
+    private final ResultWriteBuffer resultWriteBuffer;
+    private final RunCancellationService runCancellationService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("browserPool", browserSessionPool.getStats());
+        stats.put("apiEngine", testExecutor.apiEngine().name());
+
+        Map<String, Object> engines = new LinkedHashMap<>();
+        apiEngines.forEach(engine -> engines.put(engine.name(), engine.getStats()));
+        stats.put("apiEngines", engines);
+        stats.put("virtualLane", apiConcurrencyLimiter.getStats());
+        stats.put("asyncPipeline", asyncApiPipeline.getStats());
+        stats.put("deadlines", deadlineWatchdog.getStats());
+        stats.put("admission", admissionController.getStats());
+        stats.put("resultWriter", resultWriteBuffer.getStats());
+        stats.put("cancellation", runCancellationService.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Running/queued cases of a run per lane and its position in the admission queue.
+     */
+    @GetMapping("/admission/runs/{runId}")
+    public ResponseEntity<Map<String, Object>> getAdmission(@PathVariable Long runId) {
+        return ResponseEntity.ok(admissionController.getRunStatus(runId));
+    }
+}
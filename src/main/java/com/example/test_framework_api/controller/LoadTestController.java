@@ -0,0 +1,71 @@
+package com.example.test_framework_api.controller;
+
+import com.example.test_framework_api.dto.LoadTestRequest;
+import com.example.test_framework_api.model.LoadRun;
+import com.example.test_framework_api.service.LoadTestService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load tests of API cases: start, follow, stop and report.
+ */
+@RestController
+@RequestMapping("/api/load-runs")
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestController {
+
+    private final LoadTestService loadTestService;
+
+    @PostMapping
+    public ResponseEntity<?> startLoadRun(@RequestBody LoadTestRequest request) {
+        try {
+            LoadRun run = loadTestService.start(request);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                    "message", "Load test started",
+                    "loadRunId", run.getId(),
+                    "status", run.getStatus(),
+                    "reportUrl", "/api/load-runs/" + run.getId() + "/report"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LoadRun>> getLoadRuns() {
+        return ResponseEntity.ok(loadTestService.getLoadRuns());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<LoadRun> getLoadRun(@PathVariable Long id) {
+        LoadRun run = loadTestService.getLoadRun(id);
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<?> stopLoadRun(@PathVariable Long id) {
+        if (!loadTestService.stop(id)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Load run " + id + " is not running"));
+        }
+        return ResponseEntity.ok(Map.of("loadRunId", id, "message", "Stopping load test"));
+    }
+
+    @GetMapping(value = "/{id}/report", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> getReport(@PathVariable Long id) {
+        LoadRun run = loadTestService.getLoadRun(id);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(loadTestService.generateReport(run));
+    }
+}
@@ -202,6 +202,7 @@ import java.util.stream.Collectors;
 import com.example.test_framework_api.model.TestCase;
 import com.example.test_framework_api.model.User;
 import com.example.test_framework_api.repository.UserRepository;
+import com.example.test_framework_api.service.ResultWriteBuffer;
 import com.example.test_framework_api.service.TestRunService;
 import com.example.test_framework_api.worker.TestExecutor;
 
@@ -230,6 +231,8 @@ public class TestEntityController {
   private TestExecutor testExecutor;
   @Autowired
   private UserRepository userRepository;
+  @Autowired
+  private ResultWriteBuffer resultWriteBuffer;
 
   @PostMapping
   public ResponseEntity<?> runTestElement(@RequestBody TestElementRequest request, Authentication authentication) {
@@ -262,6 +265,8 @@ public class TestEntityController {
       // Execute test synchronously (no queue)
       log.info("User '{}' executing {} test: {}", username, testType, testCase.getTestName());
       testExecutor.executeTestCase(testCase, testRun);
+      // The response points at the results: write them before answering
+      resultWriteBuffer.flush();
 
       return ResponseEntity.ok(Map.of(
           "message", "Test executed successfully",
@@ -1,19 +1,27 @@
 package com.example.test_framework_api.controller;
 
+import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.model.TestRun;
 import com.example.test_framework_api.model.TestRunRequest;
 import com.example.test_framework_api.dto.MetricsDto;
-import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.dto.ListingQuery;
 import com.example.test_framework_api.service.TestRunService;
 import com.example.test_framework_api.service.TestResultService;
 import com.example.test_framework_api.service.MetricsService;
 import com.example.test_framework_api.service.ProduceReportHtmlService;
+import com.example.test_framework_api.service.ShardCoordinator;
+import com.example.test_framework_api.service.WorkQueueService;
+import com.example.test_framework_api.service.RunLedger;
+import com.example.test_framework_api.service.ListingService;
+import com.example.test_framework_api.model.TestStatus;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +40,14 @@ public class TestRunController {
     private ProduceReportHtmlService produceReportHtmlService;
     @Autowired
     private MetricsService metricsService;
+    @Autowired
+    private ShardCoordinator shardCoordinator;
+    @Autowired
+    private WorkQueueService workQueueService;
+    @Autowired
+    private RunLedger runLedger;
+    @Autowired
+    private ListingService listingService;
 
     @PostMapping
     public ResponseEntity<TestRun> createTestRun(@RequestBody TestRunRequest request) {
@@ -40,74 +56,40 @@ public class TestRunController {
     }
 
     // FIX: Return DTOs instead of entities to avoid circular references
+    // Keyset pages of projections: ?status=&suiteId=&userId=&from=&to=&name=&sort=&direction=&limit=&cursor=&includeTotal=
     @GetMapping
-    public ResponseEntity<List<Map<String, Object>>> getTestRuns() {
-        List<TestRun> runs = testRunService.getAllTestRuns();
-        
-        List<Map<String, Object>> runDtos = runs.stream()
-            .map(run -> {
-                Map<String, Object> dto = new HashMap<>();
-                dto.put("id", run.getId());
-                dto.put("name", run.getName());
-                dto.put("status", run.getStatus());
-                dto.put("parallelThreads", run.getParallelThreads());
-                dto.put("createdAt", run.getCreatedAt());
-                dto.put("reportPath", run.getReportPath());
-                
-                // Include creator info safely
-                if (run.getCreatedBy() != null) {
-                    Map<String, Object> creator = new HashMap<>();
-                    creator.put("id", run.getCreatedBy().getId());
-                    creator.put("username", run.getCreatedBy().getUsername());
-                    dto.put("createdBy", creator);
-                }
-                
-                // Include result count without full objects
-                dto.put("resultCount", run.getTestResults() != null ? run.getTestResults().size() : 0);
-                
-                return dto;
-            })
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(runDtos);
+    public ResponseEntity<?> getTestRuns(@ModelAttribute ListingQuery query) {
+        try {
+            return ResponseEntity.ok(listingService.listRuns(query).linked());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // FIX: Return DTOs for test results
+    // Same parameters plus runId; sort=duration is also accepted
     @GetMapping("/reports")
-    public ResponseEntity<List<Map<String, Object>>> getTestResults() {
-        List<TestResult> results = testResultService.getAllTestResults();
-        
-        List<Map<String, Object>> resultDtos = results.stream()
-            .map(result -> {
-                Map<String, Object> dto = new HashMap<>();
-                dto.put("id", result.getId());
-                dto.put("testName", result.getTestName());
-                dto.put("status", result.getStatus());
-                dto.put("duration", result.getDuration());
-                dto.put("retryCount", result.getRetryCount());
-                dto.put("errorMessage", result.getErrorMessage());
-                dto.put("createdAt", result.getCreatedAt());
-                dto.put("flakyScore", result.getFlakyScore());
-                
-                // Include test run ID without full object
-                if (result.getTestRun() != null) {
-                    dto.put("testRunId", result.getTestRun().getId());
-                    dto.put("testRunName", result.getTestRun().getName());
-                }
-                
-                // Include executor info safely
-                if (result.getExecutedBy() != null) {
-                    Map<String, Object> executor = new HashMap<>();
-                    executor.put("id", result.getExecutedBy().getId());
-                    executor.put("username", result.getExecutedBy().getUsername());
-                    dto.put("executedBy", executor);
-                }
-                
-                return dto;
-            })
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(resultDtos);
+    public ResponseEntity<?> getTestResults(@ModelAttribute ListingQuery query) {
+        try {
+            return ResponseEntity.ok(listingService.listResults(query).linked());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Results created between from and to (ISO date-times), read from the archives where needed;
+    // keyset pages oldest first, follow next for the rest of the range
+    @GetMapping("/reports/range")
+    public ResponseEntity<?> getTestResultsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(testResultService.getResultsBetween(from, to, cursor, limit).linked());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/metrics")
@@ -170,9 +152,10 @@ public class TestRunController {
             dto.put("createdBy", creator);
         }
         
-        // Include results as DTOs
-        if (run.getTestResults() != null) {
-            List<Map<String, Object>> resultDtos = run.getTestResults().stream()
+        // Include results as DTOs (archived partitions included)
+        List<TestResult> results = testResultService.getResultsForRun(id);
+        if (results != null) {
+            List<Map<String, Object>> resultDtos = results.stream()
                 .map(r -> {
                     Map<String, Object> rdto = new HashMap<>();
                     rdto.put("id", r.getId());
@@ -180,6 +163,8 @@ public class TestRunController {
                     rdto.put("status", r.getStatus());
                     rdto.put("duration", r.getDuration());
                     rdto.put("retryCount", r.getRetryCount());
+                    rdto.put("phases", r.getPhases());
+                    rdto.put("webVitals", r.getWebVitals());
                     return rdto;
                 })
                 .collect(Collectors.toList());
@@ -188,4 +173,73 @@ public class TestRunController {
         
         return ResponseEntity.ok(dto);
     }
-}
\ No newline at end of file
+
+    /**
+     * UI time per phase (launch, navigate, locate, act, validate, teardown) summed over a run.
+     */
+    @GetMapping("/{id}/phases")
+    public ResponseEntity<?> getPhaseBreakdown(@PathVariable Long id) {
+        if (testRunService.getTestRunById(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> breakdown = metricsService.getPhaseBreakdownForRun(id);
+        breakdown.put("testRunId", id);
+        return ResponseEntity.ok(breakdown);
+    }
+
+    /**
+     * Shards of a sharded run: cases, expected work, worker and outcome per shard.
+     */
+    @GetMapping("/{id}/shards")
+    public ResponseEntity<?> getShards(@PathVariable Long id) {
+        if (testRunService.getTestRunById(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(shardCoordinator.getShardStatus(id));
+    }
+
+    /**
+     * Work queue of a pull-based run: items per status and per-worker throughput.
+     */
+    @GetMapping("/{id}/work-queue")
+    public ResponseEntity<?> getWorkQueue(@PathVariable Long id) {
+        if (testRunService.getTestRunById(id) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(workQueueService.getQueueStatus(id));
+    }
+
+    /**
+     * Live progress of a run from this node's in-memory ledger, without a
+     * database query; runs that did not execute here, and sharded or
+     * pull-based runs (the ledger only sees this node's part), fall back to
+     * counting their saved results.
+     */
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<?> getProgress(@PathVariable Long id) {
+        Map<String, Object> progress = runLedger.getProgress(id);
+        if (progress != null) {
+            progress.put("source", "ledger");
+            return ResponseEntity.ok(progress);
+        }
+
+        TestRun run = testRunService.getTestRunById(id);
+        if (run == null) {
+            return ResponseEntity.notFound().build();
+        }
+        long passed = testResultService.countByRunIdAndStatus(id, TestStatus.PASSED);
+        long failed = testResultService.countByRunIdAndStatus(id, TestStatus.FAILED)
+                + testResultService.countByRunIdAndStatus(id, TestStatus.TIMEOUT);
+        Map<String, Object> fallback = new HashMap<>();
+        fallback.put("testRunId", id);
+        fallback.put("status", run.getStatus());
+        fallback.put("passed", passed);
+        fallback.put("failed", failed);
+        fallback.put("cancelled", testResultService.countByRunIdAndStatus(id, TestStatus.CANCELLED));
+        if (run.getWorkItemCount() != null) {
+            fallback.put("total", run.getWorkItemCount());
+        }
+        fallback.put("source", "database");
+        return ResponseEntity.ok(fallback);
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.test_framework_api.controller;
 
+import com.example.test_framework_api.dto.ExecutionOptions;
+import com.example.test_framework_api.dto.ListingQuery;
 import com.example.test_framework_api.dto.TestSuiteRequest;
 import com.example.test_framework_api.dto.TestCaseExecutionRequest;
+import com.example.test_framework_api.model.ExecutionMode;
 import com.example.test_framework_api.model.TestRun;
 import com.example.test_framework_api.model.TestSuite;
 import com.example.test_framework_api.model.User;
 import com.example.test_framework_api.repository.UserRepository;
+import com.example.test_framework_api.service.ListingService;
+import com.example.test_framework_api.service.RunCancellationService;
 import com.example.test_framework_api.service.TestRunService;
 import com.example.test_framework_api.service.TestSuiteService;
 import com.example.test_framework_api.service.ProduceReportHtmlService;
@@ -51,16 +56,23 @@ public class TestSuiteController {
     private final ProduceReportHtmlService reportService;
     private final MetricsService metricsService;
     private final UserRepository userRepository;
+    private final RunCancellationService runCancellationService;
+    private final ListingService listingService;
 
     @PostMapping("/import-csv")
-    public ResponseEntity<TestSuite> importSuite(@ModelAttribute TestSuiteRequest request,
+    public ResponseEntity<?> importSuite(@ModelAttribute TestSuiteRequest request,
             Authentication authentication) {
         try {
             TestSuite suite = suiteService.importFromCsv(request.getCsvFile(),
                     request.getSuiteName(),
                     request.getDescription(),
+                    request.getDefaultTimeoutMs(),
                     authentication);
             return ResponseEntity.ok(suite);
+        } catch (IllegalArgumentException e) {
+            // Names every invalid row so the file can be fixed in one go
+            log.error("Rejected CSV import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Failed to import CSV: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
@@ -80,17 +92,50 @@ public class TestSuiteController {
 
     @PostMapping("/{id}/execute")
     public ResponseEntity<Map<String, Object>> runSuite(@PathVariable Long id) {
-        return runSuiteWithThreads(id, 1);
+        return runSuiteWithThreads(id, 1, new ExecutionOptions());
     }
 
+    /**
+     * executionMode=VIRTUAL runs API cases on virtual threads bounded by
+     * global/per-host permits, ASYNC through the non-blocking API pipeline;
+     * parallelThreads then only applies to UI cases.
+     *
+     * priorityFirst=true runs High, then Medium, then Low cases. failFastAfter=N
+     * cancels the rest of the run once N cases of failFastPriority or higher failed.
+     *
+     * adaptive=true grows and shrinks concurrency during the run, starting at
+     * parallelThreads; the limit changes are stored on the run.
+     *
+     * shards=N splits the suite into up to N shards that any worker node can
+     * run; the other options then apply per shard on its worker.
+     *
+     * pullWorkers=N instead queues the cases in a leased work queue that N
+     * worker slots pull small batches from; options apply per batch.
+     */
     @PostMapping("/{id}/execute-parallel")
     public ResponseEntity<Map<String, Object>> runSuiteParallel(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "1") @Min(value = 1) @Max(value = 8) int parallelThreads) {
-        return runSuiteWithThreads(id, parallelThreads);
+            @RequestParam(defaultValue = "1") @Min(value = 1) @Max(value = 8) int parallelThreads,
+            @RequestParam(defaultValue = "STANDARD") ExecutionMode executionMode,
+            @RequestParam(defaultValue = "false") boolean priorityFirst,
+            @RequestParam(required = false) @Min(value = 1) Integer failFastAfter,
+            @RequestParam(defaultValue = "High") String failFastPriority,
+            @RequestParam(defaultValue = "false") boolean adaptive,
+            @RequestParam(defaultValue = "1") @Min(value = 1) @Max(value = 64) int shards,
+            @RequestParam(defaultValue = "0") @Min(value = 0) @Max(value = 64) int pullWorkers) {
+        ExecutionOptions options = new ExecutionOptions();
+        options.setExecutionMode(executionMode);
+        options.setPriorityFirst(priorityFirst);
+        options.setFailFastAfter(failFastAfter);
+        options.setFailFastPriority(failFastPriority);
+        options.setAdaptive(adaptive);
+        options.setShards(shards);
+        options.setPullWorkers(pullWorkers);
+        return runSuiteWithThreads(id, parallelThreads, options);
     }
 
-    private ResponseEntity<Map<String, Object>> runSuiteWithThreads(Long id, int parallelThreads) {
+    private ResponseEntity<Map<String, Object>> runSuiteWithThreads(Long id, int parallelThreads,
+            ExecutionOptions options) {
         if (parallelThreads < 1 || parallelThreads > 8) {
             return ResponseEntity.badRequest().body(Map.of(
                     "error", "parallelThreads must be between 1 and 8",
@@ -123,13 +168,16 @@ public class TestSuiteController {
         req.setTestSuiteId(id);
         req.setTestRunId(run.getId());
         req.setParallelThreads(parallelThreads);
+        req.setOptions(options);
         rabbitTemplate.convertAndSend(TEST_SUITE_QUEUE, req);
 
-        String mode = parallelThreads == 1 ? "sequential" : "parallel";
+        String mode = options.getPullWorkers() > 0 ? "pull"
+                : options.getShards() > 1 ? "sharded"
+                : (parallelThreads == 1 && !options.requiresDispatcher() ? "sequential" : "parallel");
         String executorType = parallelThreads == 1 ? "single-thread"
                 : (parallelThreads <= 4 ? "standard" : "high-concurrency");
 
-        return ResponseEntity.ok(Map.of(
+        Map<String, Object> response = new HashMap<>(Map.of(
                 "message", "Suite queued for execution",
                 "testRunId", run.getId(),
                 "suiteId", id,
@@ -137,7 +185,31 @@ public class TestSuiteController {
                 "parallelThreads", parallelThreads,
                 "mode", mode,
                 "executorType", executorType,
+                "executionMode", options.getExecutionMode(),
                 "status", "PENDING"));
+        response.put("priorityFirst", options.isPriorityFirst());
+        response.put("adaptive", options.isAdaptive());
+        response.put("shards", options.getShards());
+        response.put("pullWorkers", options.getPullWorkers());
+        if (options.getFailFastAfter() != null) {
+            response.put("failFastAfter", options.getFailFastAfter());
+            response.put("failFastPriority", options.getFailFastPriority());
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Cancel a queued or running suite run. Results saved so far are kept.
+     */
+    @PostMapping("/runs/{runId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancelRun(@PathVariable Long runId) {
+        try {
+            Map<String, Object> response = runCancellationService.cancelRun(runId);
+            return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", e.getMessage(), "testRunId", runId));
+        }
     }
 
     /**
@@ -195,6 +267,8 @@ public class TestSuiteController {
             List<Map<String, Object>> trends = metricsService.getTrends(id, days);
             List<Map<String, Object>> flakyTests = metricsService.getFlakyTests(id);
             MetricsService.Summary summary = metricsService.getSummaryForSuite(id);
+            Map<String, Object> phases = metricsService.getPhaseBreakdownForSuite(id);
+            List<Map<String, Object>> webVitals = metricsService.getWebVitalsTrends(id, days);
 
             return ResponseEntity.ok(Map.of(
                     "suiteId", id,
@@ -211,7 +285,11 @@ public class TestSuiteController {
                             "data", trends != null ? trends : List.of()),
                     "flakyTests", Map.of(
                             "count", flakyTests != null ? flakyTests.size() : 0,
-                            "tests", flakyTests != null ? flakyTests : List.of())));
+                            "tests", flakyTests != null ? flakyTests : List.of()),
+                    "phases", phases,
+                    "webVitals", Map.of(
+                            "period", days + " days",
+                            "data", webVitals)));
         } catch (IllegalStateException e) {
             log.warn("Analytics unavailable: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
@@ -320,38 +398,15 @@ public class TestSuiteController {
         return ResponseEntity.ok(enrichedSuites);
     }
 
+    // Keyset page of suite summaries (case count and creator without loading the cases):
+    // ?status=&userId=&from=&to=&name=&sort=createdAt|id|name&direction=&limit=&cursor=&includeTotal=
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> getSuites() {
-        List<TestSuite> suites = suiteService.getAllSuites();
-
-        // Add creator info to each suite
-        List<Map<String, Object>> enrichedSuites = suites.stream()
-                .map(suite -> {
-                    Map<String, Object> suiteData = new HashMap<>();
-                    suiteData.put("id", suite.getId());
-                    suiteData.put("name", suite.getName());
-                    suiteData.put("description", suite.getDescription());
-                    suiteData.put("status", suite.getStatus());
-                    suiteData.put("testCases", suite.getTestCases());
-                    suiteData.put("createdAt", suite.getCreatedAt());
-
-                    int testCaseCount = suite.getTestCases() != null ? suite.getTestCases().size() : 0;
-                    suiteData.put("testCaseCount", testCaseCount); // Add count for convenience
-
-                    // FIXED #4: Add creator info
-                    if (suite.getCreatedBy() != null) {
-                        Map<String, Object> creatorInfo = new HashMap<>();
-                        creatorInfo.put("userId", suite.getCreatedBy().getId());
-                        creatorInfo.put("username", suite.getCreatedBy().getUsername());
-                        creatorInfo.put("roles", suite.getCreatedBy().getRoles());
-                        suiteData.put("createdBy", creatorInfo);
-                    }
-
-                    return suiteData;
-                })
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(enrichedSuites);
+    public ResponseEntity<?> getSuites(@ModelAttribute ListingQuery query) {
+        try {
+            return ResponseEntity.ok(listingService.listSuites(query).linked());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
-}
\ No newline at end of file
+}
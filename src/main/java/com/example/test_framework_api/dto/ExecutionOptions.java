@@ -0,0 +1,61 @@
+package com.example.test_framework_api.dto;
+
+import com.example.test_framework_api.model.ExecutionMode;
+import lombok.Data;
+
+/**
+ * Per-run execution settings carried from the controller to the worker
+ * inside {@link TestCaseExecutionRequest}.
+ */
+@Data
+public class ExecutionOptions {
+
+    /**
+     * Dispatch lane for API cases. Default: STANDARD (platform thread pool).
+     */
+    private ExecutionMode executionMode = ExecutionMode.STANDARD;
+
+    /**
+     * Run cases in priority tiers (High, then Medium, then Low); a tier
+     * starts only when the previous one finished.
+     */
+    private boolean priorityFirst = false;
+
+    /**
+     * Fail-fast: cancel the remaining work once this many critical cases
+     * failed. Null disables fail-fast.
+     */
+    private Integer failFastAfter;
+
+    /**
+     * Lowest priority that counts as critical for fail-fast (High, Medium or Low).
+     */
+    private String failFastPriority = "High";
+
+    /**
+     * Adjust concurrency during the run (AIMD); parallelThreads becomes the
+     * starting limit instead of a fixed thread count.
+     */
+    private boolean adaptive = false;
+
+    /**
+     * Split the suite into this many shards, published separately so any
+     * number of worker nodes can run them. 1 = the whole suite on one worker.
+     */
+    private int shards = 1;
+
+    /**
+     * Pull-based distribution: this many worker slots pull small batches of
+     * cases from a shared leased work queue, so faster nodes take more of
+     * the run. 0 = off. Takes precedence over shards.
+     */
+    private int pullWorkers = 0;
+
+    /**
+     * Whether the run needs the parallel dispatcher even with one thread.
+     */
+    public boolean requiresDispatcher() {
+        return executionMode != ExecutionMode.STANDARD || priorityFirst || failFastAfter != null
+                || adaptive;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.test_framework_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last
+ * page; next is the current request URL with the cursor of the next page.
+ */
+public record KeysetPage<T>(
+        List<T> items,
+        int limit,
+        String nextCursor,
+        String next,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long total) {
+
+    /**
+     * This page with its next link built from the current request.
+     */
+    public KeysetPage<T> linked() {
+        if (nextCursor == null) {
+            return this;
+        }
+        String link = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", nextCursor)
+                .replaceQueryParam("includeTotal")
+                .toUriString();
+        return new KeysetPage<>(items, limit, nextCursor, link, total);
+    }
+}
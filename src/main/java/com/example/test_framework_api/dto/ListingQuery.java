@@ -0,0 +1,43 @@
+package com.example.test_framework_api.dto;
+
+import com.example.test_framework_api.model.TestStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Query parameters of the paginated listings (/api/runs, /api/runs/reports,
+ * /api/suites). Filters that do not apply to a listing are ignored.
+ */
+@Data
+public class ListingQuery {
+
+    // status=PASSED,FAILED or repeated status parameters
+    private List<TestStatus> status;
+    private Long suiteId;
+    private Long userId;
+    private Long runId;
+
+    // createdAt range, ISO date-time: from and to inclusive (as in /api/runs/reports/range)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Case-insensitive "contains" on the test, run or suite name
+    private String name;
+
+    // Sort key (createdAt, id, ...) and direction (desc or asc); id breaks ties
+    private String sort;
+    private String direction = "desc";
+
+    private int limit = 50;
+
+    // nextCursor of the previous page
+    private String cursor;
+
+    // Also count all matching rows (one extra query)
+    private boolean includeTotal;
+}
@@ -0,0 +1,17 @@
+package com.example.test_framework_api.dto;
+
+import lombok.Data;
+
+/**
+ * Load test of one API case (testCaseId) or of every API case of a suite
+ * (suiteId). Virtual users start evenly over rampUpSec.
+ */
+@Data
+public class LoadTestRequest {
+    private String testCaseId;
+    private Long suiteId;
+    private int virtualUsers = 10;
+    private int durationSec = 30;
+    private int rampUpSec = 0;
+    private Integer targetRps; // Optional total request rate; null = as fast as possible
+}
@@ -0,0 +1,35 @@
+package com.example.test_framework_api.dto;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of GET /api/runs/reports: the result's own columns plus its run's id
+ * and name and its executor, selected in one statement (see
+ * ListingService#listResults).
+ */
+public record ResultSummary(
+        Long id,
+        String testName,
+        TestStatus status,
+        Long duration,
+        Integer retryCount,
+        String errorMessage,
+        LocalDateTime createdAt,
+        Double flakyScore,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long testRunId,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String testRunName,
+        @JsonInclude(JsonInclude.Include.NON_NULL) UserRef executedBy) {
+
+    /**
+     * Flat form used by the query.
+     */
+    public ResultSummary(Long id, String testName, TestStatus status, Long duration, Integer retryCount,
+            String errorMessage, LocalDateTime createdAt, Double flakyScore, Long testRunId, String testRunName,
+            Long executedById, String executedByUsername) {
+        this(id, testName, status, duration, retryCount, errorMessage, createdAt, flakyScore, testRunId,
+                testRunName, UserRef.of(executedById, executedByUsername));
+    }
+}
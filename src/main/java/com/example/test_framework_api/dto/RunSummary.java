@@ -0,0 +1,31 @@
+package com.example.test_framework_api.dto;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of GET /api/runs, selected directly by a constructor expression
+ * (see ListingService#listRuns) with the result count computed in the
+ * same statement.
+ */
+public record RunSummary(
+        Long id,
+        String name,
+        TestStatus status,
+        Integer parallelThreads,
+        LocalDateTime createdAt,
+        String reportPath,
+        @JsonInclude(JsonInclude.Include.NON_NULL) UserRef createdBy,
+        Long resultCount) {
+
+    /**
+     * Flat form used by the query; the creator is null for runs without one.
+     */
+    public RunSummary(Long id, String name, TestStatus status, Integer parallelThreads, LocalDateTime createdAt,
+            String reportPath, Long createdById, String createdByUsername, Long resultCount) {
+        this(id, name, status, parallelThreads, createdAt, reportPath, UserRef.of(createdById, createdByUsername),
+                resultCount != null ? resultCount : 0L);
+    }
+}
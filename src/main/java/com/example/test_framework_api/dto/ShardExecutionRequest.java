@@ -0,0 +1,19 @@
+package com.example.test_framework_api.dto;
+
+import lombok.Data;
+
+/**
+ * suiteShardQueue message: run one RunShard of a sharded suite run.
+ */
+@Data
+public class ShardExecutionRequest {
+    private Long shardId;
+    private Long testRunId;
+
+    /**
+     * Threads per worker for this shard (same meaning as for an unsharded run).
+     */
+    private int parallelThreads = 1;
+
+    private ExecutionOptions options = new ExecutionOptions();
+}
@@ -0,0 +1,41 @@
+package com.example.test_framework_api.dto;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Row of GET /api/suites: the suite's columns and its case count, without
+ * loading the test cases themselves.
+ */
+public record SuiteSummary(
+        Long id,
+        String name,
+        String description,
+        TestStatus status,
+        LocalDateTime createdAt,
+        Long testCaseCount,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Creator createdBy) {
+
+    public record Creator(Long userId, String username, Set<String> roles) {
+    }
+
+    /**
+     * Flat form used by the query; roles are added by {@link #withRoles}.
+     */
+    public SuiteSummary(Long id, String name, String description, TestStatus status, LocalDateTime createdAt,
+            Long testCaseCount, Long createdById, String createdByUsername) {
+        this(id, name, description, status, createdAt, testCaseCount != null ? testCaseCount : 0L,
+                createdById != null ? new Creator(createdById, createdByUsername, Set.of()) : null);
+    }
+
+    public SuiteSummary withRoles(Set<String> roles) {
+        if (createdBy == null) {
+            return this;
+        }
+        return new SuiteSummary(id, name, description, status, createdAt, testCaseCount,
+                new Creator(createdBy.userId(), createdBy.username(), roles != null ? roles : Set.of()));
+    }
+}
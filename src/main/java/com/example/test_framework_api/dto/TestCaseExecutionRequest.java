@@ -17,4 +17,9 @@ public class TestCaseExecutionRequest {
      * Range: 1-8 (validated in controller)
      */
     private int parallelThreads = 1;
+
+    /**
+     * Execution mode and scheduling options for this run.
+     */
+    private ExecutionOptions options = new ExecutionOptions();
 }
\ No newline at end of file
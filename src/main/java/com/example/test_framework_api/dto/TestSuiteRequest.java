@@ -8,4 +8,5 @@ public class TestSuiteRequest {
     private MultipartFile csvFile;  // NEW FEATURE: CSV upload
     private String suiteName;
     private String description;
+    private Long defaultTimeoutMs;  // Optional per-test deadline for the suite
 }
\ No newline at end of file
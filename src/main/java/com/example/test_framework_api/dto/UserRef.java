@@ -0,0 +1,11 @@
+package com.example.test_framework_api.dto;
+
+/**
+ * Id and username of a user, as embedded in listing rows.
+ */
+public record UserRef(Long id, String username) {
+
+    static UserRef of(Long id, String username) {
+        return id != null ? new UserRef(id, username) : null;
+    }
+}
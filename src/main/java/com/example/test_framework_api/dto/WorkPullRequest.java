@@ -0,0 +1,15 @@
+package com.example.test_framework_api.dto;
+
+import lombok.Data;
+
+/**
+ * workPullQueue message: a worker slot that pulls batches of a run's work
+ * items until none are left.
+ */
+@Data
+public class WorkPullRequest {
+    private Long testRunId;
+    private Long testSuiteId;
+    private int parallelThreads = 1;
+    private ExecutionOptions options = new ExecutionOptions();
+}
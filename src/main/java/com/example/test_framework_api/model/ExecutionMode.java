@@ -0,0 +1,11 @@
+package com.example.test_framework_api.model;
+
+/**
+ * How API test cases of a suite run are dispatched.
+ * UI test cases always use the uiTestExecutor pool.
+ */
+public enum ExecutionMode {
+    STANDARD, // apiTestExecutor platform thread pool
+    VIRTUAL, // one virtual thread per API case, bounded by global/per-host permits
+    ASYNC // non-blocking CompletableFuture pipeline on the small apiAsyncExecutor pool
+}
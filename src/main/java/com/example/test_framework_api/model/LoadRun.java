@@ -0,0 +1,98 @@
+package com.example.test_framework_api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One load test of an API case or of all API cases of a suite.
+ * Latencies are in milliseconds; the full HDR histogram is kept so other
+ * percentiles can be computed later.
+ */
+@Entity
+@Table(name = "load_run")
+@Data
+public class LoadRun {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TestStatus status = TestStatus.PENDING;
+
+    // Target: a single case or every API case of a suite
+    @Column(name = "test_case_id")
+    private String testCaseId;
+
+    @Column(name = "test_suite_id")
+    private Long testSuiteId;
+
+    @Column(name = "virtual_users")
+    private Integer virtualUsers;
+
+    @Column(name = "duration_sec")
+    private Integer durationSec;
+
+    @Column(name = "ramp_up_sec")
+    private Integer rampUpSec;
+
+    // Null = closed loop (each virtual user sends as fast as responses arrive)
+    @Column(name = "target_rps")
+    private Integer targetRps;
+
+    @Column(name = "total_requests")
+    private Long totalRequests;
+
+    @Column(name = "success_count")
+    private Long successCount;
+
+    @Column(name = "error_count")
+    private Long errorCount;
+
+    @Column(name = "throughput_rps")
+    private Double throughputRps;
+
+    @Column(name = "latency_mean_ms")
+    private Double latencyMeanMs;
+
+    @Column(name = "latency_p50_ms")
+    private Double latencyP50Ms;
+
+    @Column(name = "latency_p90_ms")
+    private Double latencyP90Ms;
+
+    @Column(name = "latency_p95_ms")
+    private Double latencyP95Ms;
+
+    @Column(name = "latency_p99_ms")
+    private Double latencyP99Ms;
+
+    @Column(name = "latency_max_ms")
+    private Double latencyMaxMs;
+
+    // JSON object: error kind (e.g. "HTTP 503", "TimeoutException") -> count
+    @Column(name = "error_breakdown", columnDefinition = "TEXT")
+    private String errorBreakdown;
+
+    // Base64 of the compressed HdrHistogram (microseconds); served by the report, not the JSON API
+    @JsonIgnore
+    @Column(name = "latency_histogram", columnDefinition = "TEXT")
+    private String latencyHistogram;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,46 @@
+package com.example.test_framework_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+
+/**
+ * Where the wall-clock time of a UI test went. Locate and act are summed
+ * over all steps of the test's execution plan.
+ */
+@Embeddable
+@Data
+public class PhaseTimings {
+
+    // Browser session lease (new browser or pooled one)
+    @Column(name = "phase_launch_ms")
+    private Long launchMs = 0L;
+
+    // driver.get until the page load completed
+    @Column(name = "phase_navigate_ms")
+    private Long navigateMs = 0L;
+
+    // Locator waits in findElement
+    @Column(name = "phase_locate_ms")
+    private Long locateMs = 0L;
+
+    // performUIAction
+    @Column(name = "phase_act_ms")
+    private Long actMs = 0L;
+
+    // validateUIResult
+    @Column(name = "phase_validate_ms")
+    private Long validateMs = 0L;
+
+    // Session reset and return to the pool
+    @Column(name = "phase_teardown_ms")
+    private Long teardownMs = 0L;
+
+    public void addLocateMs(long ms) {
+        locateMs += ms;
+    }
+
+    public void addActMs(long ms) {
+        actMs += ms;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.test_framework_api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One test_result partition that was exported to a compressed archive file
+ * and dropped from the table. Holds results with rangeStart <= createdAt <
+ * rangeEnd (rangeStart is null for the first partition, which has no lower
+ * bound); the run and suite id ranges let run and suite lookups skip
+ * unrelated archives. Re-archiving a partition replaces its row.
+ */
+@Entity
+@Table(name = "result_archive", indexes = {
+        @Index(name = "idx_archive_range", columnList = "range_end, range_start"),
+        @Index(name = "idx_archive_runs", columnList = "min_run_id, max_run_id"),
+        @Index(name = "idx_archive_suites", columnList = "min_suite_id, max_suite_id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_archive_partition", columnNames = "partition_name"))
+@Data
+public class ResultArchive {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "partition_name", nullable = false)
+    private String partitionName;
+
+    @Column(name = "range_start")
+    private LocalDateTime rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private LocalDateTime rangeEnd;
+
+    // gzip-compressed JSONL, one result per line
+    @Column(nullable = false, length = 1024)
+    private String path;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    @Column(name = "min_run_id")
+    private Long minRunId;
+
+    @Column(name = "max_run_id")
+    private Long maxRunId;
+
+    @Column(name = "min_suite_id")
+    private Long minSuiteId;
+
+    @Column(name = "max_suite_id")
+    private Long maxSuiteId;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt = LocalDateTime.now();
+}
@@ -0,0 +1,62 @@
+package com.example.test_framework_api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregated results of one test name of one suite on one day. Rows are
+ * upserted by ResultRollupService as results are written, so analytics read
+ * days x tests rows instead of the whole result history.
+ *
+ * testSuiteId is 0 for results without a suite (a NULL would not be unique).
+ */
+@Entity
+@Table(name = "result_daily_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollup_suite_name_day", columnNames = { "test_suite_id", "test_name", "result_date" })
+}, indexes = {
+        @Index(name = "idx_rollup_date", columnList = "result_date")
+})
+@Data
+public class ResultDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "test_suite_id", nullable = false)
+    private Long testSuiteId;
+
+    @Column(name = "test_name", nullable = false)
+    private String testName;
+
+    @Column(name = "result_date", nullable = false)
+    private LocalDate day;
+
+    // Results of any status; failed counts FAILED only, timedOut TIMEOUT
+    private long total;
+    private long passed;
+    private long failed;
+
+    @Column(name = "timed_out")
+    private long timedOut;
+
+    // Sum of retryCount
+    private long retries;
+
+    // Results with a duration, and the sums needed for mean and variance
+    @Column(name = "duration_count")
+    private long durationCount;
+
+    @Column(name = "duration_sum_ms")
+    private long durationSumMs;
+
+    @Column(name = "duration_sum_sq")
+    private double durationSumSq;
+
+    @Column(name = "min_duration_ms")
+    private Long minDurationMs;
+
+    @Column(name = "max_duration_ms")
+    private Long maxDurationMs;
+}
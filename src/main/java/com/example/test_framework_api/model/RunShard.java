@@ -0,0 +1,78 @@
+package com.example.test_framework_api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One shard of a sharded suite run: a slice of the suite's cases that any
+ * worker node can pick up from suiteShardQueue. The run is finalized by the
+ * worker that reports the last shard.
+ */
+@Entity
+@Table(name = "run_shard")
+@Data
+public class RunShard {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "test_run_id", nullable = false)
+    private Long testRunId;
+
+    @Column(name = "test_suite_id", nullable = false)
+    private Long testSuiteId;
+
+    @Column(name = "shard_index")
+    private Integer shardIndex;
+
+    @Column(name = "shard_count")
+    private Integer shardCount;
+
+    // TestCase ids in execution order (JSON array)
+    @Column(name = "case_ids", columnDefinition = "TEXT")
+    private String caseIds;
+
+    @Column(name = "case_count")
+    private Integer caseCount;
+
+    @Column(name = "ui_cases")
+    private Integer uiCases;
+
+    @Column(name = "api_cases")
+    private Integer apiCases;
+
+    // Sum of expected durations per lane and the predicted makespan on one worker
+    @Column(name = "expected_ui_ms")
+    private Long expectedUiMs;
+
+    @Column(name = "expected_api_ms")
+    private Long expectedApiMs;
+
+    @Column(name = "predicted_makespan_ms")
+    private Long predictedMakespanMs;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TestStatus status = TestStatus.PENDING;
+
+    // Host and pid of the worker that ran (or is running) the shard
+    @Column(name = "worker_id")
+    private String workerId;
+
+    // Deliveries of the shard message; > 1 after a worker died mid-shard
+    private Integer attempts = 0;
+
+    @Column(name = "peak_concurrency")
+    private Integer peakConcurrency;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+}
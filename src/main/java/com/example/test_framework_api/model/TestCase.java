@@ -47,6 +47,15 @@ public class TestCase {
 
     private String description;
 
+    @Column(name = "timeout_ms")
+    private Long timeoutMs; // Hard deadline for this case; falls back to the suite default
+
+    @Column(name = "perf_budget", columnDefinition = "TEXT")
+    private String perfBudget; // UI: max web vitals as JSON, e.g. {"lcpMs": 2500, "cls": 0.1}
+
+    @Column(name = "max_retries")
+    private Integer maxRetries; // Retries of a transient step/request failure; falls back to executor.retry.max-retries
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "test_suite_id")
     @JsonBackReference(value = "testsuite-testcases") // FIXED: Ignores back-ref to suite (breaks cycle)
@@ -84,13 +84,18 @@ import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
 
+// test_result is partitioned by day of created_at (migration V3): MySQL allows
+// no foreign keys on partitioned tables, hence NO_CONSTRAINT on the joins
 @Entity
 @Table(name = "test_result")
 @Data
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class TestResult {
+    // Pooled sequence (a table on MySQL) so batched inserts need no per-row key round-trip;
+    // PersistenceConfig moves it past existing ids at startup
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_result_seq")
+    @SequenceGenerator(name = "test_result_seq", sequenceName = "test_result_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -107,25 +112,41 @@ public class TestResult {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "test_run_id")
+    @JoinColumn(name = "test_run_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonBackReference(value = "testrun-results")
     private TestRun testRun;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "test_suite_id")
+    @JoinColumn(name = "test_suite_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonBackReference(value = "testsuite-results")
     private TestSuite testSuite;
 
     @Column(name = "flaky_score")
     private Double flakyScore = 0.0;
 
+    // Per-step timings of UI execution plans (JSON array of StepTiming)
+    @Column(name = "step_timings", columnDefinition = "TEXT")
+    private String stepTimings;
+
+    // Failed attempts that were retried in place (JSON array of StepRetrier.Attempt); size = retryCount
+    @Column(name = "attempt_log", columnDefinition = "TEXT")
+    private String attemptLog;
+
+    // UI tests: time per phase (launch, navigate, locate, act, validate, teardown)
+    @Embedded
+    private PhaseTimings phases;
+
+    // UI tests: performance of the page under test (when captured)
+    @Embedded
+    private WebVitals webVitals;
+
     // NEW: Track which user executed this test
     @ManyToOne
-    @JoinColumn(name = "executed_by_user_id")
+    @JoinColumn(name = "executed_by_user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @JsonIgnoreProperties({"password", "roles", "enabled", "createdAt"})
     private User executedBy;
 
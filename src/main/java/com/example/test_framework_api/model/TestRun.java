@@ -67,6 +67,64 @@ public class TestRun {
     @Column(name = "parallel_threads")
     private Integer parallelThreads = 1;
 
+    @Column(name = "execution_mode")
+    private String executionMode;
+
+    // Achieved concurrency/throughput of the parallel phase of the run
+    @Column(name = "peak_concurrency")
+    private Integer peakConcurrency;
+
+    @Column(name = "throughput_per_sec")
+    private Double throughputPerSec;
+
+    // Longest-first schedule estimate vs. measured wall time of the parallel phase
+    @Column(name = "predicted_makespan_ms")
+    private Long predictedMakespanMs;
+
+    @Column(name = "actual_makespan_ms")
+    private Long actualMakespanMs;
+
+    // Time from start of execution to the first failing result (pre-deploy gate signal)
+    @Column(name = "time_to_first_failure_ms")
+    private Long timeToFirstFailureMs;
+
+    @Column(name = "fail_fast_triggered")
+    private Boolean failFastTriggered = false;
+
+    // Set only by TestRunRepository.markCancelRequested (never written by entity
+    // saves, so a worker saving a stale copy of the run cannot clear it)
+    @Column(name = "cancel_requested", insertable = false, updatable = false)
+    private Boolean cancelRequested;
+
+    // Distributed runs: critical failures over all shards / work batches and the
+    // run-wide fail-fast stop; written only by TestRunRepository, like cancelRequested
+    @Column(name = "critical_failures", insertable = false, updatable = false)
+    private Integer criticalFailures;
+
+    @Column(name = "fail_fast_requested", insertable = false, updatable = false)
+    private Boolean failFastRequested;
+
+    // Adaptive runs: JSON list of {atMs, lane, limit, reason} limit changes
+    @Column(name = "concurrency_timeline", columnDefinition = "TEXT")
+    private String concurrencyTimeline;
+
+    // Sharded runs: number of shards and how many have reported (see RunShard)
+    @Column(name = "shard_count")
+    private Integer shardCount;
+
+    @Column(name = "finished_shards")
+    private Integer finishedShards = 0;
+
+    // Pull-based runs: queued work items, how many are done, and per-worker throughput (JSON)
+    @Column(name = "work_item_count")
+    private Integer workItemCount;
+
+    @Column(name = "completed_work_items")
+    private Integer completedWorkItems = 0;
+
+    @Column(name = "worker_stats", columnDefinition = "TEXT")
+    private String workerStats;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
 
@@ -5,7 +5,9 @@ public enum TestStatus {
     RUNNING("RUNNING"), // FIXED: Added missing
     COMPLETED("COMPLETED"), // FIXED: Added missing
     FAILED("FAILED"),
-    PASSED("PASSED");
+    PASSED("PASSED"),
+    TIMEOUT("TIMEOUT"), // test exceeded its deadline and was aborted
+    CANCELLED("CANCELLED"); // run (or test) stopped by POST /api/suites/runs/{runId}/cancel
 
     private final String value;
 
@@ -16,4 +18,11 @@ public enum TestStatus {
     public String getValue() {
         return value;
     }
+
+    /**
+     * FAILED or TIMEOUT: counted as a failed test in summaries.
+     */
+    public boolean isFailure() {
+        return this == FAILED || this == TIMEOUT;
+    }
 }
\ No newline at end of file
@@ -37,6 +37,9 @@ public class TestSuite {
     @Column(name = "status")
     private TestStatus status = TestStatus.PENDING; // Reuse existing enum
 
+    @Column(name = "default_timeout_ms")
+    private Long defaultTimeoutMs; // Deadline for cases without their own timeoutMs
+
     @Column(name = "report_path")
     private String reportPath;
 
@@ -0,0 +1,57 @@
+package com.example.test_framework_api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Page performance of a UI test's start page, captured right after
+ * navigation (Navigation Timing, PerformanceObserver and CDP metrics).
+ * Times are milliseconds from navigation start.
+ */
+@Embeddable
+@Data
+public class WebVitals {
+
+    @Column(name = "vitals_ttfb_ms")
+    private Long ttfbMs;
+
+    @Column(name = "vitals_dcl_ms")
+    private Long domContentLoadedMs;
+
+    @Column(name = "vitals_load_ms")
+    private Long loadMs;
+
+    // Largest Contentful Paint
+    @Column(name = "vitals_lcp_ms")
+    private Long lcpMs;
+
+    // Cumulative Layout Shift (unitless)
+    @Column(name = "vitals_cls")
+    private Double cls;
+
+    @Column(name = "vitals_js_heap_bytes")
+    private Long jsHeapBytes;
+
+    // Document plus subresources
+    @Column(name = "vitals_request_count")
+    private Integer requestCount;
+
+    /**
+     * Metric name to value, the names accepted in a TestCase perfBudget.
+     */
+    public Map<String, Number> asMap() {
+        Map<String, Number> values = new LinkedHashMap<>();
+        values.put("ttfbMs", ttfbMs);
+        values.put("domContentLoadedMs", domContentLoadedMs);
+        values.put("loadMs", loadMs);
+        values.put("lcpMs", lcpMs);
+        values.put("cls", cls);
+        values.put("jsHeapBytes", jsHeapBytes);
+        values.put("requestCount", requestCount);
+        return values;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.test_framework_api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One test case of a pull-based run. Workers lease small batches of PENDING
+ * items (status RUNNING, leaseOwner, leaseExpiresAt) and renew the lease
+ * while they run them; a lease that is not renewed or completed before it
+ * expires goes back to PENDING for any other worker to take.
+ */
+@Entity
+@Table(name = "work_item", indexes = {
+        @Index(name = "idx_work_item_run_status", columnList = "test_run_id, status, priority_tier, position"),
+        @Index(name = "idx_work_item_lease_expiry", columnList = "status, lease_expires_at")
+})
+@Data
+public class WorkItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "test_run_id", nullable = false)
+    private Long testRunId;
+
+    @Column(name = "test_suite_id", nullable = false)
+    private Long testSuiteId;
+
+    @Column(name = "test_case_id", nullable = false)
+    private String testCaseId;
+
+    // priorityFirst runs: index of the case's priority tier, highest first; a tier
+    // is leased only once every item of the tiers before it finished. Otherwise 0.
+    @Column(name = "priority_tier", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    private Integer priorityTier = 0;
+
+    // Lease order within the tier: longest expected duration first
+    private Integer position;
+
+    @Column(name = "expected_ms")
+    private Long expectedMs;
+
+    // PENDING, RUNNING (leased), then its batch's outcome (PASSED, FAILED or COMPLETED), or CANCELLED
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TestStatus status = TestStatus.PENDING;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "leased_at")
+    private LocalDateTime leasedAt;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Number of leases; > 1 after a stalled lease was reclaimed
+    private Integer attempts = 0;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,10 @@
+package com.example.test_framework_api.repository;
+
+import com.example.test_framework_api.model.LoadRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LoadRunRepository extends JpaRepository<LoadRun, Long> {
+    List<LoadRun> findAllByOrderByIdDesc();
+}
@@ -0,0 +1,38 @@
+package com.example.test_framework_api.repository;
+
+import com.example.test_framework_api.model.ResultArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Archived test_result partitions, oldest first.
+ */
+public interface ResultArchiveRepository extends JpaRepository<ResultArchive, Long> {
+
+    /**
+     * Archives holding any result created between from and to (inclusive).
+     */
+    @Query("SELECT a FROM ResultArchive a WHERE a.rangeEnd > :from "
+            + "AND (a.rangeStart IS NULL OR a.rangeStart <= :to) ORDER BY a.rangeEnd")
+    List<ResultArchive> findOverlapping(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Archives that may hold results of the run.
+     */
+    @Query("SELECT a FROM ResultArchive a WHERE a.minRunId <= :runId AND a.maxRunId >= :runId ORDER BY a.rangeEnd")
+    List<ResultArchive> findCoveringRun(@Param("runId") Long runId);
+
+    /**
+     * Archives that may hold results of the suite.
+     */
+    @Query("SELECT a FROM ResultArchive a WHERE a.minSuiteId <= :suiteId AND a.maxSuiteId >= :suiteId "
+            + "ORDER BY a.rangeEnd")
+    List<ResultArchive> findCoveringSuite(@Param("suiteId") Long suiteId);
+
+    Optional<ResultArchive> findByPartitionName(String partitionName);
+}
@@ -0,0 +1,70 @@
+package com.example.test_framework_api.repository;
+
+import com.example.test_framework_api.model.ResultDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily rollups of test results. A null suiteId in the read queries means
+ * all suites.
+ */
+public interface ResultDailyRollupRepository extends JpaRepository<ResultDailyRollup, Long> {
+
+    /**
+     * Add a delta to the row of (suite, test name, day), creating it if needed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO result_daily_rollup (test_suite_id, test_name, result_date, total, passed, failed, "
+            + "timed_out, retries, duration_count, duration_sum_ms, duration_sum_sq, min_duration_ms, max_duration_ms) "
+            + "VALUES (:suiteId, :testName, :day, :total, :passed, :failed, :timedOut, :retries, :durationCount, "
+            + ":durationSum, :durationSumSq, :minDuration, :maxDuration) "
+            + "ON DUPLICATE KEY UPDATE total = total + VALUES(total), passed = passed + VALUES(passed), "
+            + "failed = failed + VALUES(failed), timed_out = timed_out + VALUES(timed_out), "
+            + "retries = retries + VALUES(retries), duration_count = duration_count + VALUES(duration_count), "
+            + "duration_sum_ms = duration_sum_ms + VALUES(duration_sum_ms), "
+            + "duration_sum_sq = duration_sum_sq + VALUES(duration_sum_sq), "
+            + "min_duration_ms = LEAST(COALESCE(min_duration_ms, VALUES(min_duration_ms)), "
+            + "COALESCE(VALUES(min_duration_ms), min_duration_ms)), "
+            + "max_duration_ms = GREATEST(COALESCE(max_duration_ms, VALUES(max_duration_ms)), "
+            + "COALESCE(VALUES(max_duration_ms), max_duration_ms))", nativeQuery = true)
+    int upsert(@Param("suiteId") long suiteId, @Param("testName") String testName, @Param("day") LocalDate day,
+            @Param("total") long total, @Param("passed") long passed, @Param("failed") long failed,
+            @Param("timedOut") long timedOut, @Param("retries") long retries,
+            @Param("durationCount") long durationCount, @Param("durationSum") long durationSum,
+            @Param("durationSumSq") double durationSumSq, @Param("minDuration") Long minDuration,
+            @Param("maxDuration") Long maxDuration);
+
+    /**
+     * One row (total, passed, failed incl. timeouts, duration sum).
+     */
+    @Query("SELECT SUM(r.total), SUM(r.passed), SUM(r.failed + r.timedOut), SUM(r.durationSumMs) "
+            + "FROM ResultDailyRollup r WHERE :suiteId IS NULL OR r.testSuiteId = :suiteId")
+    List<Object[]> sumTotals(@Param("suiteId") Long suiteId);
+
+    /**
+     * Per day since the given one (day, total, passed), oldest first.
+     */
+    @Query("SELECT r.day, SUM(r.total), SUM(r.passed) FROM ResultDailyRollup r "
+            + "WHERE r.day >= :since AND (:suiteId IS NULL OR r.testSuiteId = :suiteId) "
+            + "GROUP BY r.day ORDER BY r.day")
+    List<Object[]> sumByDay(@Param("suiteId") Long suiteId, @Param("since") LocalDate since);
+
+    /**
+     * Per test name over all days (testName, total, passed, failed incl.
+     * timeouts, retries, durationCount, durationSum, durationSumSq,
+     * minDuration, maxDuration).
+     */
+    @Query("SELECT r.testName, SUM(r.total), SUM(r.passed), SUM(r.failed + r.timedOut), SUM(r.retries), "
+            + "SUM(r.durationCount), "
+            + "SUM(r.durationSumMs), SUM(r.durationSumSq), MIN(r.minDurationMs), MAX(r.maxDurationMs) "
+            + "FROM ResultDailyRollup r WHERE :suiteId IS NULL OR r.testSuiteId = :suiteId "
+            + "GROUP BY r.testName")
+    List<Object[]> sumByTestName(@Param("suiteId") Long suiteId);
+}
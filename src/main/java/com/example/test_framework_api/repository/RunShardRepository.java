@@ -0,0 +1,26 @@
+package com.example.test_framework_api.repository;
+
+import com.example.test_framework_api.model.RunShard;
+import com.example.test_framework_api.model.TestStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RunShardRepository extends JpaRepository<RunShard, Long> {
+
+    List<RunShard> findByTestRunIdOrderByShardIndex(Long testRunId);
+
+    /**
+     * Finish a shard once; returns 0 if it was already finished (redelivered message).
+     */
+    @Modifying
+    @Query("UPDATE RunShard s SET s.status = :status, s.finishedAt = :finishedAt, s.durationMs = :durationMs, "
+            + "s.peakConcurrency = :peak WHERE s.id = :id AND s.finishedAt IS NULL")
+    int markFinished(@Param("id") Long id, @Param("status") TestStatus status,
+            @Param("finishedAt") LocalDateTime finishedAt, @Param("durationMs") Long durationMs,
+            @Param("peak") Integer peak);
+}
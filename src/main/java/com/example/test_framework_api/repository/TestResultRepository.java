@@ -4,7 +4,9 @@ import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.model.TestStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -29,6 +31,13 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     @Query("SELECT r FROM TestResult r ORDER BY r.testRun.id DESC")
     List<TestResult> findTop10ByOrderByTestRunIdDesc();
 
+    /**
+     * Latest 10 results overall and of one suite, for the stability metric.
+     */
+    List<TestResult> findTop10ByOrderByCreatedAtDescIdDesc();
+
+    List<TestResult> findTop10ByTestSuiteIdOrderByCreatedAtDescIdDesc(Long testSuiteId);
+
     // List<TestResult> findByTestRunId(Long testRunId);
     /**
      * Find results by test run ID.
@@ -46,6 +55,16 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     @Query("SELECT tr FROM TestResult tr WHERE tr.testRun.id = :runId AND tr.testName = :testName")
     List<TestResult> findByTestRunIdAndTestName(@Param("runId") Long runId, @Param("testName") String testName);
 
+    /**
+     * SHARDING: (testName, status) of a run's results for the given test
+     * names, to skip cases a redelivered shard already ran and to derive the
+     * shard's outcome.
+     */
+    @Query("SELECT tr.testName, tr.status FROM TestResult tr WHERE tr.testRun.id = :runId "
+            + "AND tr.testName IN :testNames")
+    List<Object[]> findStatusesByRunIdAndTestNames(@Param("runId") Long runId,
+            @Param("testNames") Collection<String> testNames);
+
     /**
      * ANALYTICS: Count results by status for a test run.
      * Used for partial failure aggregation.
@@ -80,9 +99,24 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     @Query("SELECT r FROM TestResult r WHERE r.testSuite.id = :suiteId ORDER BY r.createdAt DESC")
     List<TestResult> findLatestBySuiteId(@Param("suiteId") Long suiteId);
 
-    @Query("SELECT r FROM TestResult r WHERE r.createdAt BETWEEN :start AND :end")
-    List<TestResult> findByCreatedAtBetween(@Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end);
+    /**
+     * RANGE: Results created between from and to (inclusive) that come after
+     * (afterCreatedAt, afterId), in (createdAt, id) order - one keyset page.
+     */
+    @Query("SELECT r FROM TestResult r WHERE r.createdAt BETWEEN :from AND :to " +
+            "AND (r.createdAt > :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id > :afterId)) " +
+            "ORDER BY r.createdAt, r.id")
+    List<TestResult> findRangePage(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * ARCHIVAL: The next chunk of results created in [from, to) after the
+     * given id, in id order.
+     */
+    @Query("SELECT r FROM TestResult r WHERE r.createdAt >= :from AND r.createdAt < :to AND r.id > :afterId " +
+            "ORDER BY r.id")
+    List<TestResult> findArchiveChunk(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("afterId") Long afterId, Pageable page);
 
     @Query("SELECT DATE(r.createdAt) as date, " +
             "COUNT(r) as total, " +
@@ -137,4 +171,46 @@ public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     @Query("SELECT MIN(r.duration), MAX(r.duration) FROM TestResult r " +
             "WHERE r.testSuite.id = :suiteId AND r.duration IS NOT NULL")
     Object[] findMinMaxDurationBySuite(@Param("suiteId") Long suiteId);
-}
\ No newline at end of file
+
+    /**
+     * SCHEDULING: Average historical duration per test name, one row per
+     * name (testName, avgDuration). Cancelled results are excluded.
+     */
+    @Query("SELECT r.testName, AVG(r.duration) FROM TestResult r " +
+            "WHERE r.testName IN :testNames AND r.duration IS NOT NULL " +
+            "AND r.status <> :excluded " +
+            "GROUP BY r.testName")
+    List<Object[]> findAvgDurationByTestNames(@Param("testNames") Collection<String> testNames,
+            @Param("excluded") TestStatus excluded);
+
+    /**
+     * PHASES: Summed UI phase timings of a run, one row
+     * (results, launch, navigate, locate, act, validate, teardown).
+     */
+    @Query("SELECT COUNT(r), SUM(r.phases.launchMs), SUM(r.phases.navigateMs), SUM(r.phases.locateMs), " +
+            "SUM(r.phases.actMs), SUM(r.phases.validateMs), SUM(r.phases.teardownMs) " +
+            "FROM TestResult r WHERE r.testRun.id = :runId AND r.phases.launchMs IS NOT NULL")
+    List<Object[]> sumPhasesByRunId(@Param("runId") Long runId);
+
+    /**
+     * PHASES: Same as {@link #sumPhasesByRunId} over all runs of a suite.
+     */
+    @Query("SELECT COUNT(r), SUM(r.phases.launchMs), SUM(r.phases.navigateMs), SUM(r.phases.locateMs), " +
+            "SUM(r.phases.actMs), SUM(r.phases.validateMs), SUM(r.phases.teardownMs) " +
+            "FROM TestResult r WHERE r.testSuite.id = :suiteId AND r.phases.launchMs IS NOT NULL")
+    List<Object[]> sumPhasesBySuiteId(@Param("suiteId") Long suiteId);
+
+    /**
+     * WEB VITALS: Daily averages of a suite's captured page metrics
+     * (date, samples, ttfb, dcl, load, lcp, cls, jsHeap, requests), oldest first.
+     */
+    @Query("SELECT DATE(r.createdAt), COUNT(r), AVG(r.webVitals.ttfbMs), AVG(r.webVitals.domContentLoadedMs), " +
+            "AVG(r.webVitals.loadMs), AVG(r.webVitals.lcpMs), AVG(r.webVitals.cls), " +
+            "AVG(r.webVitals.jsHeapBytes), AVG(r.webVitals.requestCount) " +
+            "FROM TestResult r " +
+            "WHERE r.testSuite.id = :suiteId AND r.createdAt >= :since AND r.webVitals.loadMs IS NOT NULL " +
+            "GROUP BY DATE(r.createdAt) " +
+            "ORDER BY DATE(r.createdAt)")
+    List<Object[]> findDailyWebVitalsBySuite(@Param("suiteId") Long suiteId,
+            @Param("since") LocalDateTime since);
+}
@@ -4,10 +4,76 @@ package com.example.test_framework_api.repository;
 import com.example.test_framework_api.model.TestRun;
 import com.example.test_framework_api.model.TestResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
+
 public interface TestRunRepository extends JpaRepository<TestRun, Long> {
   @Query("SELECT tr.testResults FROM TestRun tr WHERE tr.id = :testRunId")
   List<TestResult> findTestResultsByTestRunId(@Param("testRunId") Long testRunId);
+
+  /**
+   * Count a finished shard; the row lock serializes concurrent reports so
+   * exactly one caller reads the final count in its transaction.
+   */
+  @Modifying
+  @Query("UPDATE TestRun tr SET tr.finishedShards = COALESCE(tr.finishedShards, 0) + 1 WHERE tr.id = :id")
+  int incrementFinishedShards(@Param("id") Long id);
+
+  @Query("SELECT tr.finishedShards FROM TestRun tr WHERE tr.id = :id")
+  Integer findFinishedShards(@Param("id") Long id);
+
+  /**
+   * Same counting scheme as shards, for work items of a pull-based run.
+   */
+  @Modifying
+  @Query("UPDATE TestRun tr SET tr.completedWorkItems = COALESCE(tr.completedWorkItems, 0) + :count WHERE tr.id = :id")
+  int incrementCompletedWorkItems(@Param("id") Long id, @Param("count") int count);
+
+  @Query("SELECT tr.completedWorkItems FROM TestRun tr WHERE tr.id = :id")
+  Integer findCompletedWorkItems(@Param("id") Long id);
+
+  /**
+   * Cancellation flag shared by all nodes (see RunCancellationService).
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE TestRun tr SET tr.cancelRequested = true WHERE tr.id = :id")
+  int markCancelRequested(@Param("id") Long id);
+
+  @Query("SELECT COUNT(tr) > 0 FROM TestRun tr WHERE tr.id = :id AND tr.cancelRequested = true")
+  boolean isCancelRequested(@Param("id") Long id);
+
+  @Query("SELECT tr.id FROM TestRun tr WHERE tr.id IN :ids AND tr.cancelRequested = true")
+  List<Long> findCancelRequestedIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Critical-failure count of a run shared by all its shards and work
+   * batches, so fail-fast counts per run rather than per batch.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE TestRun tr SET tr.criticalFailures = COALESCE(tr.criticalFailures, 0) + 1 WHERE tr.id = :id")
+  int incrementCriticalFailures(@Param("id") Long id);
+
+  @Query("SELECT tr.criticalFailures FROM TestRun tr WHERE tr.id = :id")
+  Integer findCriticalFailures(@Param("id") Long id);
+
+  /**
+   * Fail-fast stop shared by all nodes, polled like the cancellation flag.
+   */
+  @Modifying
+  @Transactional
+  @Query("UPDATE TestRun tr SET tr.failFastRequested = true WHERE tr.id = :id")
+  int markFailFastRequested(@Param("id") Long id);
+
+  @Query("SELECT COUNT(tr) > 0 FROM TestRun tr WHERE tr.id = :id AND tr.failFastRequested = true")
+  boolean isFailFastRequested(@Param("id") Long id);
+
+  @Query("SELECT tr.id FROM TestRun tr WHERE tr.id IN :ids AND tr.failFastRequested = true")
+  List<Long> findFailFastRequestedIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
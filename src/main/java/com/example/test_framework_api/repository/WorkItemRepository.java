@@ -0,0 +1,77 @@
+package com.example.test_framework_api.repository;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.WorkItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WorkItemRepository extends JpaRepository<WorkItem, Long> {
+
+    /**
+     * Lock the next PENDING items of a run's priority tier; rows locked by
+     * another worker's lease transaction are skipped instead of waited for.
+     */
+    @Query(value = "SELECT id FROM work_item WHERE test_run_id = :runId AND status = 'PENDING' "
+            + "AND priority_tier = :tier ORDER BY position LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockPending(@Param("runId") Long runId, @Param("tier") int tier, @Param("limit") int limit);
+
+    /**
+     * Lowest priority tier of the run with items still pending or leased; null when none.
+     */
+    @Query("SELECT MIN(w.priorityTier) FROM WorkItem w WHERE w.testRunId = :runId AND w.status IN :open")
+    Integer findOpenTier(@Param("runId") Long runId, @Param("open") Collection<TestStatus> open);
+
+    @Modifying
+    @Query("UPDATE WorkItem w SET w.status = :running, w.leaseOwner = :owner, w.leasedAt = :now, "
+            + "w.leaseExpiresAt = :expiresAt, w.attempts = w.attempts + 1 WHERE w.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt, @Param("running") TestStatus running);
+
+    /**
+     * Finish items still leased by owner; items reclaimed in the meantime are not counted.
+     */
+    @Modifying
+    @Query("UPDATE WorkItem w SET w.status = :status, w.finishedAt = :now "
+            + "WHERE w.id IN :ids AND w.leaseOwner = :owner AND w.status = :running")
+    int complete(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+            @Param("status") TestStatus status, @Param("now") LocalDateTime now,
+            @Param("running") TestStatus running);
+
+    /**
+     * Heartbeat: extend the lease of items still leased by owner; items
+     * reclaimed in the meantime are not counted.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkItem w SET w.leaseExpiresAt = :expiresAt "
+            + "WHERE w.id IN :ids AND w.leaseOwner = :owner AND w.status = :running")
+    int renewLease(@Param("ids") Collection<Long> ids, @Param("owner") String owner,
+            @Param("expiresAt") LocalDateTime expiresAt, @Param("running") TestStatus running);
+
+    /**
+     * Put expired leases of every run back to PENDING (idx_work_item_lease_expiry).
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WorkItem w SET w.status = :pending, w.leaseOwner = NULL, w.leaseExpiresAt = NULL "
+            + "WHERE w.status = :running AND w.leaseExpiresAt < :now")
+    int reclaimExpired(@Param("now") LocalDateTime now, @Param("pending") TestStatus pending,
+            @Param("running") TestStatus running);
+
+    @Modifying
+    @Query("UPDATE WorkItem w SET w.status = :cancelled, w.finishedAt = :now "
+            + "WHERE w.testRunId = :runId AND w.status = :pending")
+    int cancelPending(@Param("runId") Long runId, @Param("now") LocalDateTime now,
+            @Param("pending") TestStatus pending, @Param("cancelled") TestStatus cancelled);
+
+    long countByTestRunIdAndStatus(Long testRunId, TestStatus status);
+
+    List<WorkItem> findByTestRunId(Long testRunId);
+}
@@ -0,0 +1,55 @@
+package com.example.test_framework_api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+/**
+ * Creates the per-run AIMD limiters used by adaptive suite execution.
+ *
+ * parallelThreads only sets the starting limit of each lane; the lane's
+ * capacity (executor threads / API permits) is the ceiling. Limits shrink
+ * when tests run slower than their expected duration, time out, fail en
+ * masse, or the host is short on CPU or memory.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyController {
+
+    private final AdaptiveLimiter.Policy policy;
+
+    public AdaptiveConcurrencyController(
+            @Value("${executor.adaptive.decrease-factor:0.7}") double decreaseFactor,
+            @Value("${executor.adaptive.latency-tolerance:1.5}") double latencyTolerance,
+            @Value("${executor.adaptive.max-timeout-rate:0.1}") double maxTimeoutRate,
+            @Value("${executor.adaptive.max-failure-rate:0.5}") double maxFailureRate,
+            @Value("${executor.adaptive.max-load-per-core:1.5}") double maxLoadPerCore,
+            @Value("${executor.adaptive.min-free-memory-ratio:0.1}") double minFreeMemoryRatio) {
+        this.policy = new AdaptiveLimiter.Policy(decreaseFactor, latencyTolerance, maxTimeoutRate,
+                maxFailureRate, maxLoadPerCore, minFreeMemoryRatio);
+    }
+
+    public AdaptiveLimiter newLimiter(String lane, int initial, int ceiling, AdaptiveLimiter.Timeline timeline) {
+        log.info("Adaptive {} lane: start {} ceiling {}", lane, Math.min(initial, ceiling), ceiling);
+        return new AdaptiveLimiter(lane, initial, ceiling, policy, this::sampleSystem, timeline);
+    }
+
+    /**
+     * Load average per core (0 where the OS does not report it) and free
+     * physical memory ratio (1.0 where unavailable).
+     */
+    AdaptiveLimiter.SystemSample sampleSystem() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        double load = os.getSystemLoadAverage();
+        double loadPerCore = load < 0 ? 0 : load / Math.max(1, os.getAvailableProcessors());
+
+        double freeRatio = 1.0;
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs && sunOs.getTotalMemorySize() > 0) {
+            freeRatio = sunOs.getFreeMemorySize() / (double) sunOs.getTotalMemorySize();
+        }
+        return new AdaptiveLimiter.SystemSample(loadPerCore, freeRatio);
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency gate for one execution lane (UI or API) of a suite run.
+ *
+ * Starts at the requested parallelThreads and, after every window of
+ * completed tests (one window = current limit), either grows the limit or
+ * cuts it:
+ * - congestion: tests slower than expected, timeouts, many failures, high
+ *   system load or low free memory -> limit * decreaseFactor
+ * - otherwise -> limit * 2 until the first congestion (slow start), then +1
+ * The limit never exceeds the lane's capacity (ceiling) or drops below 1.
+ */
+@Slf4j
+public class AdaptiveLimiter {
+
+    /**
+     * Congestion thresholds shared by all limiters.
+     */
+    public record Policy(double decreaseFactor, double latencyTolerance, double maxTimeoutRate,
+            double maxFailureRate, double maxLoadPerCore, double minFreeMemoryRatio) {
+    }
+
+    /**
+     * Host pressure at the time of a limit decision.
+     */
+    public record SystemSample(double loadPerCore, double freeMemoryRatio) {
+    }
+
+    private final String lane;
+    private final int ceiling;
+    private final Policy policy;
+    private final Supplier<SystemSample> probe;
+    private final Timeline timeline;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private int limit;
+    private int inFlight;
+    private int peak;
+    private boolean slowStart = true;
+
+    // Current window
+    private int samples;
+    private int timeouts;
+    private int failures;
+    private double latencyRatioSum;
+
+    public AdaptiveLimiter(String lane, int initial, int ceiling, Policy policy,
+            Supplier<SystemSample> probe, Timeline timeline) {
+        this.lane = lane;
+        this.ceiling = Math.max(1, ceiling);
+        this.limit = Math.max(1, Math.min(initial, this.ceiling));
+        this.policy = policy;
+        this.probe = probe;
+        this.timeline = timeline;
+        timeline.record(lane, limit, "start (ceiling " + this.ceiling + ")");
+    }
+
+    /**
+     * Block until the number of running tests in this lane is below the limit.
+     */
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= limit) {
+                available.await();
+            }
+            inFlight++;
+            peak = Math.max(peak, inFlight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Report a finished test. expectedMs is the scheduler's estimate for it.
+     */
+    public void release(long durationMs, long expectedMs, TestStatus status) {
+        lock.lock();
+        try {
+            inFlight--;
+            samples++;
+            if (status == TestStatus.TIMEOUT) {
+                timeouts++;
+            } else if (status == TestStatus.FAILED) {
+                failures++;
+            }
+            latencyRatioSum += expectedMs > 0 ? durationMs / (double) expectedMs : 1.0;
+
+            if (samples >= limit) {
+                adjust();
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a slot without a measurement (test dropped or not run).
+     */
+    public void releaseUnmeasured() {
+        lock.lock();
+        try {
+            inFlight--;
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust() {
+        String congestion = congestion();
+        int previous = limit;
+        if (congestion != null) {
+            slowStart = false;
+            limit = Math.max(1, (int) Math.floor(limit * policy.decreaseFactor()));
+        } else {
+            limit = Math.min(ceiling, slowStart ? limit * 2 : limit + 1);
+        }
+        if (limit != previous) {
+            String reason = congestion != null ? congestion : (slowStart ? "slow start" : "additive increase");
+            timeline.record(lane, limit, reason);
+            log.debug("{} lane concurrency {} -> {} ({})", lane, previous, limit, reason);
+        }
+        samples = 0;
+        timeouts = 0;
+        failures = 0;
+        latencyRatioSum = 0;
+    }
+
+    /**
+     * Reason for cutting the limit, or null if the window looked healthy.
+     */
+    private String congestion() {
+        double latencyRatio = latencyRatioSum / samples;
+        if (timeouts > samples * policy.maxTimeoutRate()) {
+            return String.format("timeouts %d/%d", timeouts, samples);
+        }
+        if (failures > samples * policy.maxFailureRate()) {
+            return String.format("failures %d/%d", failures, samples);
+        }
+        if (latencyRatio > policy.latencyTolerance()) {
+            return String.format("latency x%.1f of expected", latencyRatio);
+        }
+        SystemSample system = probe.get();
+        if (system.loadPerCore() > policy.maxLoadPerCore()) {
+            return String.format("load %.2f per core", system.loadPerCore());
+        }
+        if (system.freeMemoryRatio() < policy.minFreeMemoryRatio()) {
+            return String.format("free memory %.0f%%", system.freeMemoryRatio() * 100);
+        }
+        return null;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPeak() {
+        lock.lock();
+        try {
+            return peak;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Limit changes of all lanes of one run, stored as TestRun.concurrencyTimeline.
+     */
+    public static class Timeline {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        public record Point(long atMs, String lane, int limit, String reason) {
+        }
+
+        private final long startedAt = System.currentTimeMillis();
+        private final List<Point> points = new ArrayList<>();
+
+        public synchronized void record(String lane, int limit, String reason) {
+            points.add(new Point(System.currentTimeMillis() - startedAt, lane, limit, reason));
+        }
+
+        public synchronized List<Point> getPoints() {
+            return new ArrayList<>(points);
+        }
+
+        public synchronized String toJson() {
+            try {
+                return MAPPER.writeValueAsString(points);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+    }
+}
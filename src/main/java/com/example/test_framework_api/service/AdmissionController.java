@@ -0,0 +1,242 @@
+package com.example.test_framework_api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the shared uiTestExecutor / apiTestExecutor pools.
+ *
+ * Every run submits its cases here instead of straight to the pool. A lane
+ * admits at most its pool capacity (max threads + queue) across all runs, and
+ * one run at most maxRunShare of it, so concurrent suites share the pools
+ * instead of overflowing them. Cases that do not fit wait in a FIFO admission
+ * queue without holding a thread and are submitted as slots free up. A pool
+ * rejection (work submitted outside admission control) puts the case back at
+ * the head of the queue and retries later; it is never dropped.
+ */
+@Service
+@Slf4j
+public class AdmissionController {
+
+    public enum Lane {
+        UI, API
+    }
+
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final long retryDelayMs;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "admission-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AdmissionController(Executor uiTestExecutor, Executor apiTestExecutor,
+            @Value("${executor.admission.max-run-share:0.5}") double maxRunShare,
+            @Value("${executor.admission.retry-delay-ms:200}") long retryDelayMs) {
+        this.retryDelayMs = retryDelayMs;
+        lanes.put(Lane.UI, new LaneState(Lane.UI, uiTestExecutor, maxRunShare));
+        lanes.put(Lane.API, new LaneState(Lane.API, apiTestExecutor, maxRunShare));
+    }
+
+    /**
+     * Run a task on the lane's pool as soon as the lane and the run have a
+     * free slot. The future completes when the task finished.
+     */
+    public CompletableFuture<Void> submit(Lane lane, Long runId, Runnable task) {
+        LaneState state = lanes.get(lane);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (state) {
+            state.pending.addLast(new Pending(runId, task, future, System.currentTimeMillis()));
+        }
+        drain(state);
+        return future;
+    }
+
+    private void drain(LaneState state) {
+        List<Pending> admitted = new ArrayList<>();
+        synchronized (state) {
+            Iterator<Pending> it = state.pending.iterator();
+            while (it.hasNext() && state.inUse < state.capacity) {
+                Pending next = it.next();
+                if (state.runInUse.getOrDefault(next.runId(), 0) < state.perRunLimit) {
+                    it.remove();
+                    state.reserve(next.runId());
+                    state.recordWait(System.currentTimeMillis() - next.enqueuedAt());
+                    admitted.add(next);
+                }
+            }
+        }
+        for (Pending pending : admitted) {
+            start(state, pending);
+        }
+    }
+
+    private void start(LaneState state, Pending pending) {
+        try {
+            state.executor.execute(() -> {
+                Throwable error = null;
+                try {
+                    pending.task().run();
+                } catch (Throwable t) {
+                    error = t;
+                } finally {
+                    release(state, pending.runId());
+                }
+                if (error == null) {
+                    pending.future().complete(null);
+                } else {
+                    pending.future().completeExceptionally(error);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            synchronized (state) {
+                state.unreserve(pending.runId());
+                state.pending.addFirst(pending);
+                state.rejections++;
+            }
+            log.warn("{} pool rejected a case of run {}, retrying in {}ms", state.lane, pending.runId(),
+                    retryDelayMs);
+            retryScheduler.schedule(() -> drain(state), retryDelayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void release(LaneState state, Long runId) {
+        synchronized (state) {
+            state.unreserve(runId);
+        }
+        drain(state);
+    }
+
+    /**
+     * Admission state of one run: running and queued cases per lane, and the
+     * run's place among the runs waiting for that lane (1 = next, 0 = not waiting).
+     */
+    public Map<String, Object> getRunStatus(Long runId) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("testRunId", runId);
+        for (LaneState state : lanes.values()) {
+            synchronized (state) {
+                Set<Long> waitingRuns = state.waitingRuns();
+                int position = 0;
+                if (waitingRuns.contains(runId)) {
+                    position = new ArrayList<>(waitingRuns).indexOf(runId) + 1;
+                }
+                Map<String, Object> lane = new LinkedHashMap<>();
+                lane.put("running", state.runInUse.getOrDefault(runId, 0));
+                lane.put("queued", state.pending.stream().filter(p -> Objects.equals(runId, p.runId())).count());
+                lane.put("position", position);
+                status.put(state.lane.name().toLowerCase(), lane);
+            }
+        }
+        return status;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (LaneState state : lanes.values()) {
+            synchronized (state) {
+                Map<String, Object> lane = new LinkedHashMap<>();
+                lane.put("capacity", state.capacity);
+                lane.put("perRunLimit", state.perRunLimit);
+                lane.put("inUse", state.inUse);
+                lane.put("queueDepth", state.pending.size());
+                lane.put("waitingRuns", state.waitingRuns().size());
+                lane.put("activeRuns", state.runInUse.size());
+                lane.put("admitted", state.admitted);
+                lane.put("avgWaitMs", state.admitted > 0 ? state.totalWaitMs / state.admitted : 0);
+                lane.put("maxWaitMs", state.maxWaitMs);
+                lane.put("rejections", state.rejections);
+                stats.put(state.lane.name().toLowerCase(), lane);
+            }
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    private record Pending(Long runId, Runnable task, CompletableFuture<Void> future, long enqueuedAt) {
+    }
+
+    /**
+     * Capacity accounting of one pool; guarded by its own monitor.
+     */
+    private static class LaneState {
+        private final Lane lane;
+        private final Executor executor;
+        private final int capacity;
+        private final int perRunLimit;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private final Map<Long, Integer> runInUse = new HashMap<>();
+        private int inUse;
+        private long admitted;
+        private long totalWaitMs;
+        private long maxWaitMs;
+        private long rejections;
+
+        LaneState(Lane lane, Executor executor, double maxRunShare) {
+            this.lane = lane;
+            this.executor = executor;
+            this.capacity = capacityOf(executor);
+            this.perRunLimit = Math.max(1, (int) Math.ceil(capacity * Math.min(1.0, maxRunShare)));
+            log.info("Admission {} lane: capacity {}, per-run limit {}", lane, capacity, perRunLimit);
+        }
+
+        /**
+         * Threads plus queue slots: the most a pool accepts without rejecting.
+         */
+        private static int capacityOf(Executor executor) {
+            if (executor instanceof ThreadPoolTaskExecutor pool) {
+                long total = (long) pool.getMaxPoolSize() + pool.getQueueCapacity();
+                return (int) Math.min(Integer.MAX_VALUE, total);
+            }
+            return Integer.MAX_VALUE;
+        }
+
+        void reserve(Long runId) {
+            inUse++;
+            runInUse.merge(runId, 1, Integer::sum);
+        }
+
+        void unreserve(Long runId) {
+            inUse--;
+            runInUse.computeIfPresent(runId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+
+        void recordWait(long waitMs) {
+            admitted++;
+            totalWaitMs += waitMs;
+            maxWaitMs = Math.max(maxWaitMs, waitMs);
+        }
+
+        Set<Long> waitingRuns() {
+            Set<Long> runs = new LinkedHashSet<>();
+            pending.forEach(p -> runs.add(p.runId()));
+            return runs;
+        }
+    }
+}
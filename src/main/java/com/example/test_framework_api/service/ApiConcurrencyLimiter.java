@@ -0,0 +1,72 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.worker.HostPermits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global and per-host permits for API cases running on virtual threads.
+ * Replaces the fixed apiTestExecutor thread cap in VIRTUAL mode: any number
+ * of cases may be scheduled, but only this many talk to the system under
+ * test at once. The cases call the pooled engine, which allows
+ * executor.api.pool.max-connections-per-host per host, so the per-host
+ * limit defaults to that; a higher value would only queue inside the engine.
+ */
+@Component
+@Slf4j
+public class ApiConcurrencyLimiter {
+
+    private final Semaphore global;
+    private final int maxConcurrency;
+    private final HostPermits hostPermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    public ApiConcurrencyLimiter(
+            @Value("${executor.virtual.max-concurrency:256}") int maxConcurrency,
+            @Value("${executor.virtual.max-per-host:${executor.api.pool.max-connections-per-host:20}}") int maxPerHost) {
+        this.maxConcurrency = maxConcurrency;
+        this.global = new Semaphore(maxConcurrency, true);
+        this.hostPermits = new HostPermits(maxPerHost);
+    }
+
+    /**
+     * Block (cheaply, on a virtual thread) until both a global and a host permit are free.
+     */
+    public void acquire(String host) throws InterruptedException {
+        global.acquire();
+        try {
+            hostPermits.acquire(host);
+        } catch (InterruptedException e) {
+            global.release();
+            throw e;
+        }
+        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    public void release(String host) {
+        inFlight.decrementAndGet();
+        hostPermits.release(host);
+        global.release();
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrency", maxConcurrency);
+        stats.put("maxPerHost", hostPermits.getPermitsPerHost());
+        stats.put("inFlight", inFlight.get());
+        stats.put("peakInFlight", peak.get());
+        stats.put("hosts", hostPermits.snapshot());
+        return stats;
+    }
+}
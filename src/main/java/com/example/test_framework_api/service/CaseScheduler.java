@@ -0,0 +1,201 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.TestResultRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Duration-aware ordering of the cases of a parallel run.
+ *
+ * Cases are submitted longest-expected-first (LPT), so a slow case never
+ * starts last while every other thread is idle. Expected durations are the
+ * average of past test_result durations per test name; cases without history
+ * use a per-type estimate. The predicted makespan is a list-scheduling
+ * simulation of the submitted order over the lane's worker slots.
+ */
+@Component
+@Slf4j
+public class CaseScheduler {
+
+    private final TestResultRepository resultRepository;
+    private final boolean longestFirst;
+    private final long defaultUiMs;
+    private final long defaultApiMs;
+
+    public CaseScheduler(TestResultRepository resultRepository,
+            @Value("${executor.schedule.longest-first:true}") boolean longestFirst,
+            @Value("${executor.schedule.default-ui-ms:8000}") long defaultUiMs,
+            @Value("${executor.schedule.default-api-ms:500}") long defaultApiMs) {
+        this.resultRepository = resultRepository;
+        this.longestFirst = longestFirst;
+        this.defaultUiMs = defaultUiMs;
+        this.defaultApiMs = defaultApiMs;
+    }
+
+    /**
+     * Ordered cases of one lane plus the predicted makespan of that order.
+     */
+    public record Schedule(List<TestCase> cases, long predictedMakespanMs, long unorderedMakespanMs) {
+    }
+
+    /**
+     * Expected duration per test name (history or per-type default), one query for all cases.
+     */
+    public Map<String, Long> estimate(List<TestCase> cases) {
+        Set<String> names = cases.stream()
+                .map(TestCase::getTestName)
+                .filter(name -> name != null)
+                .collect(Collectors.toSet());
+
+        Map<String, Long> history = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (Object[] row : resultRepository.findAvgDurationByTestNames(names, TestStatus.CANCELLED)) {
+                if (row[0] != null && row[1] != null) {
+                    history.put((String) row[0], Math.round(((Number) row[1]).doubleValue()));
+                }
+            }
+        }
+
+        Map<String, Long> estimates = new HashMap<>();
+        for (TestCase tc : cases) {
+            estimates.put(tc.getTestCaseId(), history.getOrDefault(tc.getTestName(), defaultEstimate(tc)));
+        }
+        return estimates;
+    }
+
+    /**
+     * Cases of one shard with the expected work per lane.
+     */
+    public record Shard(List<TestCase> cases, long uiMs, long apiMs) {
+    }
+
+    /**
+     * Split cases into at most shardCount shards for separate worker nodes.
+     * UI and API cases run on different lanes of a worker, so each type is
+     * balanced on its own: longest-first onto the shard with the least
+     * expected work of that type (ties: least total work). Empty shards are
+     * omitted.
+     */
+    public List<Shard> shard(List<TestCase> cases, Map<String, Long> estimates, int shardCount) {
+        int count = Math.max(1, Math.min(shardCount, cases.size()));
+        List<List<TestCase>> shards = new ArrayList<>();
+        long[] uiMs = new long[count];
+        long[] apiMs = new long[count];
+        for (int i = 0; i < count; i++) {
+            shards.add(new ArrayList<>());
+        }
+
+        List<TestCase> ordered = new ArrayList<>(cases);
+        ordered.sort(Comparator.comparingLong((TestCase tc) -> estimates.getOrDefault(tc.getTestCaseId(), 0L))
+                .reversed());
+        for (TestCase tc : ordered) {
+            boolean ui = "UI".equalsIgnoreCase(tc.getTestType());
+            long[] lane = ui ? uiMs : apiMs;
+            int target = 0;
+            for (int i = 1; i < count; i++) {
+                if (lane[i] < lane[target]
+                        || (lane[i] == lane[target] && uiMs[i] + apiMs[i] < uiMs[target] + apiMs[target])) {
+                    target = i;
+                }
+            }
+            shards.get(target).add(tc);
+            lane[target] += estimates.getOrDefault(tc.getTestCaseId(), 0L);
+        }
+
+        List<Shard> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (!shards.get(i).isEmpty()) {
+                result.add(new Shard(shards.get(i), uiMs[i], apiMs[i]));
+            }
+        }
+        return result;
+    }
+
+    public Schedule schedule(List<TestCase> cases, Map<String, Long> estimates, int slots) {
+        List<TestCase> ordered = new ArrayList<>(cases);
+        if (longestFirst) {
+            ordered.sort(Comparator.comparingLong((TestCase tc) -> estimates.get(tc.getTestCaseId())).reversed());
+        }
+        return new Schedule(ordered, makespan(ordered, estimates, slots), makespan(cases, estimates, slots));
+    }
+
+    /**
+     * Worker threads a lane will actually use for this many tasks: a
+     * ThreadPoolTaskExecutor only grows past its core size once its queue is full.
+     */
+    public static int effectiveSlots(Executor executor, int tasks, int fallback) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            try {
+                int queueCapacity = pool.getThreadPoolExecutor().getQueue().remainingCapacity();
+                return tasks > pool.getCorePoolSize() + queueCapacity ? pool.getMaxPoolSize() : pool.getCorePoolSize();
+            } catch (IllegalStateException e) {
+                return pool.getMaxPoolSize();
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Greedy list scheduling: each case starts on the earliest free slot.
+     */
+    static long makespan(List<TestCase> order, Map<String, Long> estimates, int slots) {
+        if (order.isEmpty()) {
+            return 0;
+        }
+        PriorityQueue<Long> freeAt = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, slots); i++) {
+            freeAt.add(0L);
+        }
+        long makespan = 0;
+        for (TestCase tc : order) {
+            long end = freeAt.poll() + estimates.getOrDefault(tc.getTestCaseId(), 0L);
+            makespan = Math.max(makespan, end);
+            freeAt.add(end);
+        }
+        return makespan;
+    }
+
+    /**
+     * High = 0, Medium = 1, Low = 2. Missing or unknown priorities count as Medium.
+     */
+    public static int priorityRank(String priority) {
+        if (priority == null) {
+            return 1;
+        }
+        return switch (priority.trim().toLowerCase()) {
+            case "high", "critical" -> 0;
+            case "low" -> 2;
+            default -> 1;
+        };
+    }
+
+    /**
+     * Cases grouped by priority, highest first; empty tiers are omitted.
+     */
+    public static List<List<TestCase>> priorityTiers(List<TestCase> cases) {
+        Map<Integer, List<TestCase>> byRank = new TreeMap<>();
+        for (TestCase tc : cases) {
+            byRank.computeIfAbsent(priorityRank(tc.getPriority()), rank -> new ArrayList<>()).add(tc);
+        }
+        return new ArrayList<>(byRank.values());
+    }
+
+    private long defaultEstimate(TestCase tc) {
+        return "UI".equalsIgnoreCase(tc.getTestType()) ? defaultUiMs : defaultApiMs;
+    }
+}
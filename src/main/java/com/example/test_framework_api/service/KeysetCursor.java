@@ -0,0 +1,34 @@
+package com.example.test_framework_api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort key and direction it was
+ * produced for, the row's sort value and its id (the tie-breaker). Encoded
+ * as opaque URL-safe Base64.
+ */
+public record KeysetCursor(String sort, boolean desc, long id, String value) {
+
+    public String encode() {
+        String raw = sort + "|" + (desc ? "desc" : "asc") + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || !(parts[1].equals("desc") || parts[1].equals("asc"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(parts[0], parts[1].equals("desc"), Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and a non-numeric id (NumberFormatException)
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.dto.KeysetPage;
+import com.example.test_framework_api.dto.ListingQuery;
+import com.example.test_framework_api.dto.ResultSummary;
+import com.example.test_framework_api.dto.RunSummary;
+import com.example.test_framework_api.dto.SuiteSummary;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestSuite;
+import com.example.test_framework_api.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset-paginated listings of results, runs and suites.
+ *
+ * Each page is one projection query ordered by (sort key, id) and limited
+ * to limit + 1 rows; the next page continues strictly after the last row's
+ * (sort value, id), so deep pages cost the same as the first one and rows
+ * inserted meanwhile do not shift the pages. Rows without a value for the
+ * sort key (legacy runs and suites without createdAt) cannot be placed
+ * before or after a cursor and are left out; sort by id to list them. The
+ * total is only counted on request.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ListingService {
+
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * A sort key: its expression in the query, its value on a row and how to
+     * read that value back from a cursor.
+     */
+    private record SortKey<E, T>(String name, Function<Root<E>, Expression<?>> expression,
+            Function<T, Object> value, Function<String, Object> parse) {
+    }
+
+    @FunctionalInterface
+    private interface Part<E, R> {
+        R build(CriteriaBuilder cb, Root<E> root, AbstractQuery<?> query);
+    }
+
+    private static final List<SortKey<TestResult, ResultSummary>> RESULT_SORTS = List.of(
+            new SortKey<>("createdAt", root -> root.get("createdAt"), ResultSummary::createdAt, LocalDateTime::parse),
+            new SortKey<>("id", root -> root.get("id"), ResultSummary::id, Long::valueOf),
+            new SortKey<>("duration", root -> root.get("duration"), ResultSummary::duration, Long::valueOf));
+
+    private static final List<SortKey<TestRun, RunSummary>> RUN_SORTS = List.of(
+            new SortKey<>("createdAt", root -> root.get("createdAt"), RunSummary::createdAt, LocalDateTime::parse),
+            new SortKey<>("id", root -> root.get("id"), RunSummary::id, Long::valueOf));
+
+    private static final List<SortKey<TestSuite, SuiteSummary>> SUITE_SORTS = List.of(
+            new SortKey<>("createdAt", root -> root.get("createdAt"), SuiteSummary::createdAt, LocalDateTime::parse),
+            new SortKey<>("id", root -> root.get("id"), SuiteSummary::id, Long::valueOf),
+            new SortKey<>("name", root -> root.get("name"), SuiteSummary::name, value -> value));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Filters: status, suiteId, userId (executor), runId, from/to, name (test name).
+     * Sorts: createdAt (default), id, duration.
+     */
+    public KeysetPage<ResultSummary> listResults(ListingQuery query) {
+        Part<TestResult, Selection<ResultSummary>> select = (cb, root, q) -> {
+            Join<TestResult, TestRun> run = root.join("testRun", JoinType.LEFT);
+            Join<TestResult, User> user = root.join("executedBy", JoinType.LEFT);
+            return cb.construct(ResultSummary.class, root.get("id"), root.get("testName"), root.get("status"),
+                    root.get("duration"), root.get("retryCount"), root.get("errorMessage"), root.get("createdAt"),
+                    root.get("flakyScore"), run.get("id"), run.get("name"), user.get("id"), user.get("username"));
+        };
+        Part<TestResult, List<Predicate>> filters = (cb, root, q) -> {
+            List<Predicate> where = common(cb, root, query, "testName");
+            if (query.getSuiteId() != null) {
+                where.add(cb.equal(root.get("testSuite").get("id"), query.getSuiteId()));
+            }
+            if (query.getUserId() != null) {
+                where.add(cb.equal(root.get("executedBy").get("id"), query.getUserId()));
+            }
+            if (query.getRunId() != null) {
+                where.add(cb.equal(root.get("testRun").get("id"), query.getRunId()));
+            }
+            return where;
+        };
+        return list(TestResult.class, ResultSummary.class, query, RESULT_SORTS, select, filters, ResultSummary::id);
+    }
+
+    /**
+     * Filters: status, suiteId (runs with results of that suite), userId
+     * (creator), from/to, name (run name). Sorts: createdAt (default), id.
+     */
+    public KeysetPage<RunSummary> listRuns(ListingQuery query) {
+        Part<TestRun, Selection<RunSummary>> select = (cb, root, q) -> {
+            Join<TestRun, User> user = root.join("createdBy", JoinType.LEFT);
+            Subquery<Long> results = q.subquery(Long.class);
+            Root<TestResult> result = results.from(TestResult.class);
+            results.select(cb.count(result)).where(cb.equal(result.get("testRun"), root));
+            return cb.construct(RunSummary.class, root.get("id"), root.get("name"), root.get("status"),
+                    root.get("parallelThreads"), root.get("createdAt"), root.get("reportPath"), user.get("id"),
+                    user.get("username"), results);
+        };
+        Part<TestRun, List<Predicate>> filters = (cb, root, q) -> {
+            List<Predicate> where = common(cb, root, query, "name");
+            if (query.getSuiteId() != null) {
+                Subquery<Long> ofSuite = q.subquery(Long.class);
+                Root<TestResult> result = ofSuite.from(TestResult.class);
+                ofSuite.select(result.get("id")).where(cb.equal(result.get("testRun"), root),
+                        cb.equal(result.get("testSuite").get("id"), query.getSuiteId()));
+                where.add(cb.exists(ofSuite));
+            }
+            if (query.getUserId() != null) {
+                where.add(cb.equal(root.get("createdBy").get("id"), query.getUserId()));
+            }
+            return where;
+        };
+        return list(TestRun.class, RunSummary.class, query, RUN_SORTS, select, filters, RunSummary::id);
+    }
+
+    /**
+     * Filters: status, userId (creator), from/to, name. Sorts: createdAt
+     * (default), id, name. Creator roles are loaded with one extra query.
+     */
+    public KeysetPage<SuiteSummary> listSuites(ListingQuery query) {
+        Part<TestSuite, Selection<SuiteSummary>> select = (cb, root, q) -> {
+            Join<TestSuite, User> user = root.join("createdBy", JoinType.LEFT);
+            Subquery<Long> cases = q.subquery(Long.class);
+            Root<TestCase> testCase = cases.from(TestCase.class);
+            cases.select(cb.count(testCase)).where(cb.equal(testCase.get("testSuite"), root));
+            return cb.construct(SuiteSummary.class, root.get("id"), root.get("name"), root.get("description"),
+                    root.get("status"), root.get("createdAt"), cases, user.get("id"), user.get("username"));
+        };
+        Part<TestSuite, List<Predicate>> filters = (cb, root, q) -> {
+            List<Predicate> where = common(cb, root, query, "name");
+            if (query.getUserId() != null) {
+                where.add(cb.equal(root.get("createdBy").get("id"), query.getUserId()));
+            }
+            return where;
+        };
+        KeysetPage<SuiteSummary> page = list(TestSuite.class, SuiteSummary.class, query, SUITE_SORTS, select,
+                filters, SuiteSummary::id);
+
+        Set<Long> creators = page.items().stream().filter(s -> s.createdBy() != null)
+                .map(s -> s.createdBy().userId()).collect(Collectors.toSet());
+        if (creators.isEmpty()) {
+            return page;
+        }
+        Map<Long, Set<String>> roles = new HashMap<>();
+        entityManager.createQuery("SELECT u.id, r FROM User u JOIN u.roles r WHERE u.id IN :ids", Object[].class)
+                .setParameter("ids", creators)
+                .getResultList()
+                .forEach(row -> roles.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]));
+        List<SuiteSummary> items = page.items().stream()
+                .map(s -> s.createdBy() != null ? s.withRoles(roles.get(s.createdBy().userId())) : s)
+                .toList();
+        return new KeysetPage<>(items, page.limit(), page.nextCursor(), page.next(), page.total());
+    }
+
+    /**
+     * Status, createdAt range (from and to both inclusive, like
+     * /api/runs/reports/range) and name filters shared by all listings.
+     */
+    private static <E> List<Predicate> common(CriteriaBuilder cb, Root<E> root, ListingQuery query, String nameField) {
+        List<Predicate> where = new ArrayList<>();
+        if (query.getStatus() != null && !query.getStatus().isEmpty()) {
+            where.add(root.get("status").in(query.getStatus()));
+        }
+        if (query.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(root.get("createdAt"), query.getFrom()));
+        }
+        if (query.getTo() != null) {
+            where.add(cb.lessThanOrEqualTo(root.get("createdAt"), query.getTo()));
+        }
+        if (query.getName() != null && !query.getName().isBlank()) {
+            String pattern = "%" + query.getName().trim().toLowerCase()
+                    .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            where.add(cb.like(cb.lower(root.get(nameField)), pattern, '\\'));
+        }
+        return where;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private <E, T> KeysetPage<T> list(Class<E> entity, Class<T> rowType, ListingQuery query,
+            List<SortKey<E, T>> sorts, Part<E, Selection<T>> select, Part<E, List<Predicate>> filters,
+            Function<T, Long> idOf) {
+        int limit = Math.max(1, Math.min(MAX_LIMIT, query.getLimit()));
+        String sortName = query.getSort() == null || query.getSort().isBlank() ? "createdAt" : query.getSort();
+        SortKey<E, T> sort = sorts.stream().filter(s -> s.name().equals(sortName)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort '" + sortName + "', expected one of "
+                        + sorts.stream().map(SortKey::name).toList()));
+        String direction = query.getDirection() == null ? "desc" : query.getDirection().toLowerCase();
+        if (!direction.equals("desc") && !direction.equals("asc")) {
+            throw new IllegalArgumentException("Unknown direction '" + query.getDirection() + "', expected asc or desc");
+        }
+        boolean desc = direction.equals("desc");
+        // A NULL key never matches the cursor predicate and cannot be written to a cursor
+        Part<E, List<Predicate>> keyed = (builder, from, q) -> {
+            List<Predicate> predicates = new ArrayList<>(filters.build(builder, from, q));
+            predicates.add(builder.isNotNull(sort.expression().apply(from)));
+            return predicates;
+        };
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(rowType);
+        Root<E> root = cq.from(entity);
+        List<Predicate> where = keyed.build(cb, root, cq);
+        Expression key = sort.expression().apply(root);
+        Path<Long> id = root.get("id");
+
+        if (query.getCursor() != null && !query.getCursor().isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(query.getCursor());
+            if (!cursor.sort().equals(sortName) || cursor.desc() != desc) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort() + " "
+                        + (cursor.desc() ? "desc" : "asc") + ", not " + sortName + " " + direction);
+            }
+            Comparable value;
+            try {
+                value = (Comparable) sort.parse().apply(cursor.value());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            where.add(desc
+                    ? cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(id, cursor.id())))
+                    : cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(id, cursor.id()))));
+        }
+
+        cq.select(select.build(cb, root, cq))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(desc ? cb.desc(key) : cb.asc(key), desc ? cb.desc(id) : cb.asc(id));
+        List<T> rows = entityManager.createQuery(cq).setMaxResults(limit + 1).getResultList();
+
+        boolean more = rows.size() > limit;
+        List<T> items = more ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        String nextCursor = null;
+        if (more) {
+            T last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(sortName, desc, idOf.apply(last), String.valueOf(sort.value().apply(last)))
+                    .encode();
+        }
+        Long total = query.isIncludeTotal() ? count(entity, keyed) : null;
+        return new KeysetPage<>(items, limit, nextCursor, null, total);
+    }
+
+    private <E> long count(Class<E> entity, Part<E, List<Predicate>> filters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<E> root = cq.from(entity);
+        cq.select(cb.count(root)).where(filters.build(cb, root, cq).toArray(new Predicate[0]));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.dto.LoadTestRequest;
+import com.example.test_framework_api.model.LoadRun;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.LoadRunRepository;
+import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.worker.ApiExpectation;
+import com.example.test_framework_api.worker.LoadDriver;
+import com.example.test_framework_api.worker.PooledHttpApiEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Load-test mode for API cases: runs a case (or every API case of a suite)
+ * with virtual users and stores latency percentiles, throughput and an error
+ * breakdown as a LoadRun.
+ *
+ * Each load run gets its own pooled HTTP engine with one per-host permit per
+ * virtual user, so the load is neither throttled by nor competing with the
+ * permits of regular test runs.
+ */
+@Service
+@Slf4j
+public class LoadTestService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final double[] REPORT_PERCENTILES = { 50, 75, 90, 95, 99, 99.9, 100 };
+
+    private final LoadRunRepository loadRunRepository;
+    private final TestCaseRepository caseRepository;
+    private final Executor loadTestExecutor;
+    private final int maxVirtualUsers;
+    private final int maxDurationSec;
+    private final long connectTimeoutMs;
+    private final long requestTimeoutMs;
+    private final Map<Long, LoadDriver> activeDrivers = new ConcurrentHashMap<>();
+
+    public LoadTestService(LoadRunRepository loadRunRepository, TestCaseRepository caseRepository,
+            Executor loadTestExecutor,
+            @Value("${executor.load.max-virtual-users:500}") int maxVirtualUsers,
+            @Value("${executor.load.max-duration-sec:3600}") int maxDurationSec,
+            @Value("${executor.load.connect-timeout-ms:${executor.api.pool.connect-timeout-ms:10000}}") long connectTimeoutMs,
+            @Value("${executor.load.request-timeout-ms:${executor.api.pool.request-timeout-ms:30000}}") long requestTimeoutMs) {
+        this.loadRunRepository = loadRunRepository;
+        this.caseRepository = caseRepository;
+        this.loadTestExecutor = loadTestExecutor;
+        this.maxVirtualUsers = maxVirtualUsers;
+        this.maxDurationSec = maxDurationSec;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    /**
+     * Validate and start a load test; it runs in the background.
+     *
+     * @throws IllegalArgumentException for invalid settings or targets
+     * @throws IllegalStateException if the maximum number of load runs is already running
+     */
+    public LoadRun start(LoadTestRequest request) {
+        List<TestCase> cases = resolveCases(request);
+        if (request.getVirtualUsers() < 1 || request.getVirtualUsers() > maxVirtualUsers) {
+            throw new IllegalArgumentException("virtualUsers must be between 1 and " + maxVirtualUsers);
+        }
+        if (request.getDurationSec() < 1 || request.getDurationSec() > maxDurationSec) {
+            throw new IllegalArgumentException("durationSec must be between 1 and " + maxDurationSec);
+        }
+        if (request.getRampUpSec() < 0 || request.getRampUpSec() > request.getDurationSec()) {
+            throw new IllegalArgumentException("rampUpSec must be between 0 and durationSec");
+        }
+        if (request.getTargetRps() != null && request.getTargetRps() < 1) {
+            throw new IllegalArgumentException("targetRps must be positive");
+        }
+
+        LoadRun loadRun = new LoadRun();
+        loadRun.setName("Load - " + (request.getTestCaseId() != null
+                ? request.getTestCaseId() : "suite " + request.getSuiteId()));
+        loadRun.setTestCaseId(request.getTestCaseId());
+        loadRun.setTestSuiteId(request.getSuiteId());
+        loadRun.setVirtualUsers(request.getVirtualUsers());
+        loadRun.setDurationSec(request.getDurationSec());
+        loadRun.setRampUpSec(request.getRampUpSec());
+        loadRun.setTargetRps(request.getTargetRps());
+        LoadRun saved = loadRunRepository.save(loadRun);
+
+        PooledHttpApiEngine engine = new PooledHttpApiEngine(request.getVirtualUsers(), connectTimeoutMs,
+                requestTimeoutMs);
+        LoadDriver driver = new LoadDriver(engine, cases, new LoadDriver.Settings(
+                request.getVirtualUsers(), request.getDurationSec() * 1000L, request.getRampUpSec() * 1000L,
+                request.getTargetRps()));
+        activeDrivers.put(saved.getId(), driver);
+        try {
+            loadTestExecutor.execute(() -> {
+                try {
+                    execute(saved, driver);
+                } finally {
+                    engine.shutdown();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            activeDrivers.remove(saved.getId());
+            engine.shutdown();
+            saved.setStatus(TestStatus.FAILED);
+            saved.setErrorMessage("Too many load runs in progress");
+            loadRunRepository.save(saved);
+            throw new IllegalStateException("Too many load runs in progress, try again when one has finished");
+        }
+        return saved;
+    }
+
+    private List<TestCase> resolveCases(LoadTestRequest request) {
+        if ((request.getTestCaseId() == null) == (request.getSuiteId() == null)) {
+            throw new IllegalArgumentException("Provide either testCaseId or suiteId");
+        }
+        List<TestCase> cases = request.getTestCaseId() != null
+                ? caseRepository.findById(request.getTestCaseId()).map(List::of).orElse(List.of())
+                : caseRepository.findByTestSuiteId(request.getSuiteId());
+        List<TestCase> apiCases = cases.stream()
+                .filter(tc -> "API".equalsIgnoreCase(tc.getTestType()))
+                .collect(Collectors.toList());
+        if (apiCases.isEmpty()) {
+            throw new IllegalArgumentException("No API test cases found for the load test");
+        }
+        for (TestCase tc : apiCases) {
+            try {
+                ApiExpectation.of(tc.getExpectedResult());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(tc.getTestCaseId() + ": " + e.getMessage());
+            }
+        }
+        return apiCases;
+    }
+
+    /**
+     * Drive the load and store the outcome on the LoadRun.
+     */
+    void execute(LoadRun loadRun, LoadDriver driver) {
+        loadRun.setStatus(TestStatus.RUNNING);
+        loadRun.setStartedAt(LocalDateTime.now());
+        loadRunRepository.save(loadRun);
+        try {
+            applyOutcome(loadRun, driver.run());
+            log.info("Load run {} finished: {} requests, {} rps, p99 {}ms, {} errors", loadRun.getId(),
+                    loadRun.getTotalRequests(), String.format("%.1f", loadRun.getThroughputRps()),
+                    loadRun.getLatencyP99Ms(), loadRun.getErrorCount());
+        } catch (Exception e) {
+            log.error("Load run {} failed: {}", loadRun.getId(), e.getMessage(), e);
+            loadRun.setStatus(TestStatus.FAILED);
+            loadRun.setErrorMessage(e.getMessage());
+        } finally {
+            activeDrivers.remove(loadRun.getId());
+            loadRun.setFinishedAt(LocalDateTime.now());
+            loadRunRepository.save(loadRun);
+        }
+    }
+
+    static void applyOutcome(LoadRun loadRun, LoadDriver.Outcome outcome) {
+        Histogram latencies = outcome.latencies();
+        loadRun.setTotalRequests(outcome.requests());
+        loadRun.setSuccessCount(outcome.successes());
+        loadRun.setErrorCount(outcome.requests() - outcome.successes());
+        loadRun.setThroughputRps(outcome.requests() * 1000.0 / outcome.elapsedMs());
+        if (latencies.getTotalCount() > 0) {
+            loadRun.setLatencyMeanMs(latencies.getMean() / 1000.0);
+            loadRun.setLatencyP50Ms(latencies.getValueAtPercentile(50) / 1000.0);
+            loadRun.setLatencyP90Ms(latencies.getValueAtPercentile(90) / 1000.0);
+            loadRun.setLatencyP95Ms(latencies.getValueAtPercentile(95) / 1000.0);
+            loadRun.setLatencyP99Ms(latencies.getValueAtPercentile(99) / 1000.0);
+            loadRun.setLatencyMaxMs(latencies.getMaxValue() / 1000.0);
+        }
+        try {
+            loadRun.setErrorBreakdown(MAPPER.writeValueAsString(outcome.errors()));
+        } catch (JsonProcessingException e) {
+            loadRun.setErrorBreakdown("{}");
+        }
+        loadRun.setLatencyHistogram(encode(latencies));
+        loadRun.setStatus(outcome.stopped() ? TestStatus.CANCELLED : TestStatus.COMPLETED);
+    }
+
+    /**
+     * Stop a running load test early; the partial outcome is kept.
+     */
+    public boolean stop(Long loadRunId) {
+        LoadDriver driver = activeDrivers.get(loadRunId);
+        if (driver == null) {
+            return false;
+        }
+        driver.stop();
+        return true;
+    }
+
+    public LoadRun getLoadRun(Long id) {
+        return loadRunRepository.findById(id).orElse(null);
+    }
+
+    public List<LoadRun> getLoadRuns() {
+        return loadRunRepository.findAllByOrderByIdDesc();
+    }
+
+    static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] bytes = new byte[length];
+        buffer.flip();
+        buffer.get(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(
+                    ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (Exception e) {
+            throw new IllegalStateException("Corrupt latency histogram: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Standalone HTML report of a load run.
+     */
+    public String generateReport(LoadRun run) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head>");
+        html.append("<meta charset=\"UTF-8\">");
+        html.append("<title>Load Test Report: ").append(escape(run.getName())).append("</title>");
+        html.append("<style>");
+        html.append("body { font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; margin: 0; padding: 20px; background: #f7fafc; }");
+        html.append(".container { max-width: 1000px; margin: 0 auto; background: white; padding: 40px; border-radius: 12px; box-shadow: 0 10px 40px rgba(0,0,0,0.1); }");
+        html.append("h1 { color: #2d3748; margin: 0 0 10px 0; }");
+        html.append(".subtitle { color: #718096; margin-bottom: 30px; }");
+        html.append("table { border-collapse: collapse; width: 100%; margin-top: 20px; }");
+        html.append("th { background: #667eea; color: white; padding: 12px; text-align: left; }");
+        html.append("td { padding: 12px; border-bottom: 1px solid #e2e8f0; }");
+        html.append("</style></head><body><div class=\"container\">");
+
+        html.append("<h1>").append(escape(run.getName())).append("</h1>");
+        html.append("<div class=\"subtitle\">Status: ").append(run.getStatus())
+                .append(" &middot; ").append(run.getVirtualUsers()).append(" virtual users, ")
+                .append(run.getDurationSec()).append("s (ramp-up ").append(run.getRampUpSec()).append("s)")
+                .append(run.getTargetRps() != null ? ", target " + run.getTargetRps() + " rps" : "")
+                .append("</div>");
+
+        html.append("<h2>Summary</h2><table>");
+        row(html, "Total requests", run.getTotalRequests());
+        row(html, "Successful", run.getSuccessCount());
+        row(html, "Errors", run.getErrorCount());
+        row(html, "Throughput (req/s)", run.getThroughputRps() != null
+                ? String.format("%.2f", run.getThroughputRps()) : null);
+        row(html, "Mean latency (ms)", run.getLatencyMeanMs() != null
+                ? String.format("%.2f", run.getLatencyMeanMs()) : null);
+        html.append("</table>");
+
+        if (run.getLatencyHistogram() != null) {
+            Histogram latencies = decode(run.getLatencyHistogram());
+            html.append("<h2>Latency percentiles</h2><table><tr><th>Percentile</th><th>Latency (ms)</th></tr>");
+            for (double percentile : REPORT_PERCENTILES) {
+                row(html, percentile == 100 ? "max" : "p" + percentile,
+                        String.format("%.2f", latencies.getValueAtPercentile(percentile) / 1000.0));
+            }
+            html.append("</table>");
+        }
+
+        html.append("<h2>Errors</h2><table><tr><th>Kind</th><th>Count</th></tr>");
+        Map<String, Object> errors = Map.of();
+        try {
+            if (run.getErrorBreakdown() != null) {
+                errors = MAPPER.readValue(run.getErrorBreakdown(), Map.class);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Invalid error breakdown on load run {}", run.getId());
+        }
+        if (errors.isEmpty()) {
+            row(html, "none", 0);
+        }
+        errors.forEach((kind, count) -> row(html, kind, count));
+        html.append("</table>");
+        if (run.getErrorMessage() != null) {
+            html.append("<p>").append(escape(run.getErrorMessage())).append("</p>");
+        }
+        html.append("</div></body></html>");
+        return html.toString();
+    }
+
+    private static void row(StringBuilder html, String label, Object value) {
+        html.append("<tr><td>").append(escape(label)).append("</td><td>")
+                .append(value != null ? escape(String.valueOf(value)) : "-").append("</td></tr>");
+    }
+
+    // Case names, error kinds and messages come from user data
+    private static String escape(String text) {
+        return text != null ? HtmlUtils.htmlEscape(text) : "";
+    }
+}
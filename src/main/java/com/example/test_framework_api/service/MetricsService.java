@@ -2,25 +2,32 @@ package com.example.test_framework_api.service;
 
 import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.ResultDailyRollupRepository;
 import com.example.test_framework_api.repository.TestResultRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * FIXED: Null-safe metrics service with proper error handling
+ *
+ * Summary, trends and flaky tests are read from the daily rollups
+ * (result_daily_rollup), so their cost depends on the number of days and
+ * test names, not on the size of the result history. A suiteId of null or
+ * 0 means all suites.
  */
 @Service
 @RequiredArgsConstructor
 public class MetricsService {
 
     private final TestResultRepository repo;
+    private final ResultDailyRollupRepository rollups;
 
     public record Summary(
         long total, long passed, long failed,
@@ -28,138 +35,164 @@ public class MetricsService {
         double stabilityLast10
     ) {}
 
+    private static final List<String> PHASES = List.of("launch", "navigate", "locate", "act", "validate", "teardown");
+
     public Summary getSummary() {
-        List<TestResult> results = repo.findAll();
-        return calculateSummary(results);
+        return summarize(null, repo.findTop10ByOrderByCreatedAtDescIdDesc());
     }
 
     public Summary getSummaryForSuite(Long suiteId) {
-        List<TestResult> results = repo.findAll().stream()
-            .filter(r -> r.getTestRun() != null)
-            .collect(Collectors.toList());
-        
-        return calculateSummary(results);
+        return summarize(suiteId, repo.findTop10ByTestSuiteIdOrderByCreatedAtDescIdDesc(suiteId));
+    }
+
+    public Map<String, Object> getPhaseBreakdownForRun(Long runId) {
+        return phaseBreakdown(repo.sumPhasesByRunId(runId));
+    }
+
+    public Map<String, Object> getPhaseBreakdownForSuite(Long suiteId) {
+        return phaseBreakdown(repo.sumPhasesBySuiteId(suiteId));
+    }
+
+    /**
+     * Daily averages of the web vitals captured for a suite's UI tests.
+     */
+    public List<Map<String, Object>> getWebVitalsTrends(Long suiteId, int days) {
+        List<Object[]> rows = repo.findDailyWebVitalsBySuite(suiteId, LocalDateTime.now().minusDays(days));
+        List<Map<String, Object>> trends = new ArrayList<>();
+        if (rows == null) {
+            return trends;
+        }
+        for (Object[] row : rows) {
+            Map<String, Object> day = new HashMap<>();
+            day.put("date", row[0] != null ? row[0].toString() : null);
+            day.put("samples", row[1]);
+            day.put("avgTtfbMs", row[2]);
+            day.put("avgDomContentLoadedMs", row[3]);
+            day.put("avgLoadMs", row[4]);
+            day.put("avgLcpMs", row[5]);
+            day.put("avgCls", row[6]);
+            day.put("avgJsHeapBytes", row[7]);
+            day.put("avgRequestCount", row[8]);
+            trends.add(day);
+        }
+        return trends;
+    }
+
+    /**
+     * Total, average per UI test and share of time for each phase, from one
+     * aggregate row (count followed by one sum per phase).
+     */
+    private Map<String, Object> phaseBreakdown(List<Object[]> rows) {
+        Object[] row = rows == null || rows.isEmpty() ? new Object[0] : rows.get(0);
+        long uiResults = row.length > 0 && row[0] != null ? ((Number) row[0]).longValue() : 0;
+
+        long[] totals = new long[PHASES.size()];
+        long grandTotal = 0;
+        for (int i = 0; i < PHASES.size(); i++) {
+            Object sum = row.length > i + 1 ? row[i + 1] : null;
+            totals[i] = sum != null ? ((Number) sum).longValue() : 0;
+            grandTotal += totals[i];
+        }
+
+        List<Map<String, Object>> phases = new ArrayList<>();
+        String slowest = null;
+        long slowestTotal = -1;
+        for (int i = 0; i < PHASES.size(); i++) {
+            Map<String, Object> phase = new HashMap<>();
+            phase.put("phase", PHASES.get(i));
+            phase.put("totalMs", totals[i]);
+            phase.put("avgMs", uiResults > 0 ? totals[i] / (double) uiResults : 0.0);
+            phase.put("sharePct", grandTotal > 0 ? totals[i] * 100.0 / grandTotal : 0.0);
+            phases.add(phase);
+            if (totals[i] > slowestTotal) {
+                slowestTotal = totals[i];
+                slowest = PHASES.get(i);
+            }
+        }
+
+        Map<String, Object> breakdown = new HashMap<>();
+        breakdown.put("uiResults", uiResults);
+        breakdown.put("totalMs", grandTotal);
+        breakdown.put("phases", phases);
+        breakdown.put("dominantPhase", grandTotal > 0 ? slowest : null);
+        return breakdown;
     }
 
     /**
      * FIXED: Null-safe trend analysis with proper date handling
      */
     public List<Map<String, Object>> getTrends(Long suiteId, int days) {
-        LocalDateTime since = LocalDateTime.now().minusDays(days);
-        
-        List<TestResult> results = repo.findAll().stream()
-            .filter(r -> r.getCreatedAt() != null && r.getCreatedAt().isAfter(since))
-            .collect(Collectors.toList());
-        
-        if (results.isEmpty()) {
-            return new ArrayList<>();
+        LocalDate since = LocalDate.now().minusDays(days);
+        List<Object[]> rows = rollups.sumByDay(scope(suiteId), since);
+        List<Map<String, Object>> trends = new ArrayList<>();
+        if (rows == null) {
+            return trends;
         }
-        
-        // Group by date
-        Map<String, List<TestResult>> byDate = results.stream()
-            .collect(Collectors.groupingBy(
-                r -> r.getCreatedAt().toLocalDate().toString()
-            ));
-        
-        return byDate.entrySet().stream()
-            .map(entry -> {
-                String date = entry.getKey();
-                List<TestResult> dayResults = entry.getValue();
-                long total = dayResults.size();
-                long passed = dayResults.stream()
-                    .filter(r -> r.getStatus() == TestStatus.PASSED)
-                    .count();
-                double passRate = total > 0 ? (passed * 100.0 / total) : 0;
-                
-                Map<String, Object> dataPoint = new HashMap<>();
-                dataPoint.put("date", date);
-                dataPoint.put("passRate", passRate);
-                dataPoint.put("totalTests", total);
-                dataPoint.put("passed", passed);
-                dataPoint.put("failed", total - passed);
-                return dataPoint;
-            })
-            .sorted((a, b) -> ((String) a.get("date")).compareTo((String) b.get("date")))
-            .collect(Collectors.toList());
+        for (Object[] row : rows) {
+            long total = num(row[1]);
+            long passed = num(row[2]);
+            Map<String, Object> dataPoint = new HashMap<>();
+            dataPoint.put("date", row[0] != null ? row[0].toString() : null);
+            dataPoint.put("passRate", total > 0 ? (passed * 100.0 / total) : 0.0);
+            dataPoint.put("totalTests", total);
+            dataPoint.put("passed", passed);
+            dataPoint.put("failed", total - passed);
+            trends.add(dataPoint);
+        }
+        return trends;
     }
 
     /**
      * FIXED: Null-safe flaky test detection with proper retry count handling
+     *
+     * Flaky: at least two runs and either more than one retry or both
+     * passes and failures (timeouts included). Duration spread comes from the rollups' sum of
+     * squares and min/max.
      */
     public List<Map<String, Object>> getFlakyTests(Long suiteId) {
-        List<TestResult> results = repo.findAll();
-        
-        if (results.isEmpty()) {
+        List<Object[]> rows = rollups.sumByTestName(scope(suiteId));
+        if (rows == null) {
             return new ArrayList<>();
         }
-        
-        // Group by test name
-        Map<String, List<TestResult>> byTest = results.stream()
-            .collect(Collectors.groupingBy(TestResult::getTestName));
-        
-        return byTest.entrySet().stream()
-            .filter(entry -> {
-                List<TestResult> testResults = entry.getValue();
-                if (testResults.size() < 2) return false;
-                
-                // FIXED: Null-safe retry count sum
-                long retries = testResults.stream()
-                    .mapToInt(r -> r.getRetryCount() != null ? r.getRetryCount() : 0)
-                    .sum();
-                
-                long passes = testResults.stream()
-                    .filter(r -> r.getStatus() == TestStatus.PASSED)
-                    .count();
-                
-                long fails = testResults.stream()
-                    .filter(r -> r.getStatus() == TestStatus.FAILED)
-                    .count();
-                
-                return retries > 1 || (passes > 0 && fails > 0);
-            })
-            .map(entry -> {
-                String testName = entry.getKey();
-                List<TestResult> testResults = entry.getValue();
-                
-                long totalRuns = testResults.size();
-                long passes = testResults.stream()
-                    .filter(r -> r.getStatus() == TestStatus.PASSED)
-                    .count();
-                long fails = testResults.stream()
-                    .filter(r -> r.getStatus() == TestStatus.FAILED)
-                    .count();
-                
-                // FIXED: Null-safe retry count
-                long retries = testResults.stream()
-                    .mapToInt(r -> r.getRetryCount() != null ? r.getRetryCount() : 0)
-                    .sum();
-                
-                // FIXED: Null-safe duration
-                double avgDuration = testResults.stream()
-                    .mapToLong(r -> r.getDuration() != null ? r.getDuration() : 0L)
-                    .average()
-                    .orElse(0);
-                
-                double flakyScore = (retries * 10) + 
-                    ((fails * 100.0 / totalRuns) * 5) + 
-                    (avgDuration / 1000.0);
-                
-                Map<String, Object> flakyData = new HashMap<>();
-                flakyData.put("testName", testName);
-                flakyData.put("totalRuns", totalRuns);
-                flakyData.put("passes", passes);
-                flakyData.put("fails", fails);
-                flakyData.put("retryCount", retries);
-                flakyData.put("passRate", totalRuns > 0 ? (passes * 100.0 / totalRuns) : 0);
-                flakyData.put("avgDurationMs", avgDuration);
-                flakyData.put("flakyScore", flakyScore);
-                return flakyData;
-            })
-            .sorted((a, b) -> Double.compare(
-                (Double) b.get("flakyScore"), 
-                (Double) a.get("flakyScore")
-            ))
-            .collect(Collectors.toList());
+        List<Map<String, Object>> flaky = new ArrayList<>();
+        for (Object[] row : rows) {
+            long totalRuns = num(row[1]);
+            long passes = num(row[2]);
+            long fails = num(row[3]);
+            long retries = num(row[4]);
+            if (totalRuns < 2 || !(retries > 1 || (passes > 0 && fails > 0))) {
+                continue;
+            }
+            long durationCount = num(row[5]);
+            double durationSum = row[6] != null ? ((Number) row[6]).doubleValue() : 0.0;
+            double durationSumSq = row[7] != null ? ((Number) row[7]).doubleValue() : 0.0;
+
+            // Results without a duration count as 0ms, as before the rollups
+            double avgDuration = durationSum / totalRuns;
+            double mean = durationCount > 0 ? durationSum / durationCount : 0.0;
+            double stdDev = durationCount > 1
+                    ? Math.sqrt(Math.max(0.0, durationSumSq / durationCount - mean * mean)) : 0.0;
+
+            double flakyScore = (retries * 10) +
+                ((fails * 100.0 / totalRuns) * 5) +
+                (avgDuration / 1000.0);
+
+            Map<String, Object> flakyData = new HashMap<>();
+            flakyData.put("testName", row[0]);
+            flakyData.put("totalRuns", totalRuns);
+            flakyData.put("passes", passes);
+            flakyData.put("fails", fails);
+            flakyData.put("retryCount", retries);
+            flakyData.put("passRate", passes * 100.0 / totalRuns);
+            flakyData.put("avgDurationMs", avgDuration);
+            flakyData.put("durationStdDevMs", stdDev);
+            flakyData.put("minDurationMs", row[8]);
+            flakyData.put("maxDurationMs", row[9]);
+            flakyData.put("flakyScore", flakyScore);
+            flaky.add(flakyData);
+        }
+        flaky.sort((a, b) -> Double.compare((Double) b.get("flakyScore"), (Double) a.get("flakyScore")));
+        return flaky;
     }
 
     public List<Object[]> getTrend7Days() {
@@ -169,39 +202,39 @@ public class MetricsService {
 
     /**
      * FIXED: Null-safe summary calculation
+     *
+     * Counts and average duration from the rollups; stability from the
+     * latest 10 results.
      */
-    private Summary calculateSummary(List<TestResult> results) {
-        long total = results.size();
-        long passed = results.stream()
-            .filter(r -> r.getStatus() == TestStatus.PASSED)
-            .count();
-        long failed = results.stream()
-            .filter(r -> r.getStatus() == TestStatus.FAILED)
-            .count();
-        
+    private Summary summarize(Long suiteId, List<TestResult> last10) {
+        List<Object[]> rows = rollups.sumTotals(scope(suiteId));
+        Object[] row = rows == null || rows.isEmpty() ? new Object[0] : rows.get(0);
+        long total = row.length > 0 ? num(row[0]) : 0;
+        long passed = row.length > 1 ? num(row[1]) : 0;
+        long failed = row.length > 2 ? num(row[2]) : 0;
+        long durationSum = row.length > 3 ? num(row[3]) : 0;
+
         double passRate = total > 0 ? (passed * 100.0 / total) : 0;
-        
-        // FIXED: Null-safe duration calculation
-        double avgDuration = results.stream()
-            .mapToLong(r -> r.getDuration() != null ? r.getDuration() : 0L)
-            .average()
-            .orElse(0.0);
-        
-        // Stability from last 10
-        List<TestResult> last10 = results.stream()
-            .filter(r -> r.getCreatedAt() != null)
-            .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-            .limit(10)
-            .collect(Collectors.toList());
-        
-        long last10Passed = last10.stream()
+        // Results without a duration count as 0ms
+        double avgDuration = total > 0 ? durationSum / (double) total : 0.0;
+
+        List<TestResult> latest = last10 != null ? last10 : List.of();
+        long last10Passed = latest.stream()
             .filter(r -> r.getStatus() == TestStatus.PASSED)
             .count();
-        
-        double stability = last10.size() > 0 ? (last10Passed * 100.0 / last10.size()) : 100;
-        
+
+        double stability = latest.size() > 0 ? (last10Passed * 100.0 / latest.size()) : 100;
+
         return new Summary(total, passed, failed, passRate, avgDuration, stability);
     }
+
+    private static Long scope(Long suiteId) {
+        return suiteId != null && suiteId != 0 ? suiteId : null;
+    }
+
+    private static long num(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
 }
 // package com.example.test_framework_api.service;
 
@@ -7,7 +7,6 @@ import com.example.test_framework_api.model.TestCase;
 import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.repository.TestRunRepository;
 import com.example.test_framework_api.repository.TestSuiteRepository;
-import com.example.test_framework_api.repository.TestResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -30,7 +29,8 @@ public class ProduceReportHtmlService {
 
     private final TestSuiteRepository suiteRepository;
     private final TestRunRepository runRepository;
-    private final TestResultRepository resultRepository;
+    // Run and suite results include archived partitions
+    private final TestResultService resultService;
 
     public String generateReport() {
         List<TestRun> runs = runRepository.findAll();
@@ -39,11 +39,11 @@ public class ProduceReportHtmlService {
     }
 
     public String generateReportforrun(TestRun run) {
-        List<TestResult> results = resultRepository.findByTestRunId(run.getId());
+        List<TestResult> results = resultService.getResultsForRun(run.getId());
 
         long total = results.size();
         long passed = results.stream().filter(r -> r.getStatus() == TestStatus.PASSED).count();
-        long failed = results.stream().filter(r -> r.getStatus() == TestStatus.FAILED).count();
+        long failed = results.stream().filter(r -> r.getStatus() != null && r.getStatus().isFailure()).count();
         double passRate = total > 0 ? (passed * 100.0 / total) : 0;
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
@@ -269,8 +269,8 @@ public class ProduceReportHtmlService {
     }
 
     private List<TestResult> getResultsForSuite(TestSuite suite) {
-        // Try new way first (test_suite_id)
-        List<TestResult> results = resultRepository.findByTestSuiteId(suite.getId());
+        // Try new way first (test_suite_id), archived results included
+        List<TestResult> results = resultService.getResultsForSuite(suite.getId());
 
         if (!results.isEmpty()) {
             log.debug("Found {} results by test_suite_id for suite {}", results.size(), suite.getId());
@@ -279,7 +279,7 @@ public class ProduceReportHtmlService {
 
         // Fallback to old way (test_run_id) for legacy suites
         if (suite.getTestRun() != null) {
-            results = resultRepository.findByTestRunId(suite.getTestRun().getId());
+            results = resultService.getResultsForRun(suite.getTestRun().getId());
             log.debug("Found {} results by test_run_id for suite {}", results.size(), suite.getId());
             return results;
         }
@@ -0,0 +1,243 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.ResultArchive;
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestSuite;
+import com.example.test_framework_api.model.User;
+import com.example.test_framework_api.repository.ResultArchiveRepository;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cold tier of test results. A test_result partition past the retention
+ * period is written to results.archive.dir as gzip-compressed JSONL (the
+ * spool format, see ResultRecords) and catalogued in result_archive before
+ * ResultPartitionService drops it; the read methods serve archived results
+ * to TestResultService.
+ *
+ * Archived results carry their run, suite and user as id-only stubs.
+ * Partitions hold disjoint createdAt ranges, so archives in rangeEnd order
+ * hold results in createdAt order from one archive to the next.
+ */
+@Service
+@Slf4j
+public class ResultArchiveService {
+
+    // Lower bound used for the first partition, which has none
+    static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Order of time range reads; the id breaks ties
+    public static final Comparator<TestResult> CREATED_ORDER = Comparator
+            .comparing(TestResult::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TestResult::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final TestResultRepository resultRepository;
+    private final ResultArchiveRepository archiveRepository;
+    private final Path archiveDir;
+    private final int chunkSize;
+
+    public ResultArchiveService(TestResultRepository resultRepository, ResultArchiveRepository archiveRepository,
+            @Value("${results.archive.dir:result-archive}") String archiveDir,
+            @Value("${results.archive.chunk-size:1000}") int chunkSize) {
+        this.resultRepository = resultRepository;
+        this.archiveRepository = archiveRepository;
+        this.archiveDir = Paths.get(archiveDir);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Export the results created in [from, to) to the partition's archive
+     * file and catalogue it. Fails, leaving nothing behind, when the number
+     * written differs from expectedRows (the partition's count), so the
+     * partition is only dropped once every row is on disk. Archiving a
+     * partition again replaces its file and catalogue row.
+     */
+    public ResultArchive archive(String partitionName, LocalDateTime from, LocalDateTime to, long expectedRows)
+            throws IOException {
+        Files.createDirectories(archiveDir);
+        Path file = archiveDir.resolve("test_result-" + partitionName + ".jsonl.gz");
+        Path tmp = archiveDir.resolve(file.getFileName() + ".tmp");
+        long rows = 0;
+        Long minRunId = null;
+        Long maxRunId = null;
+        Long minSuiteId = null;
+        Long maxSuiteId = null;
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8))) {
+            long afterId = 0;
+            List<TestResult> chunk;
+            do {
+                chunk = resultRepository.findArchiveChunk(from != null ? from : EPOCH, to, afterId,
+                        PageRequest.of(0, chunkSize));
+                for (TestResult result : chunk) {
+                    ObjectNode record = ResultRecords.toRecord(result, true);
+                    writer.write(ResultRecords.MAPPER.writeValueAsString(record));
+                    writer.newLine();
+                    Long runId = ResultRecords.idField(record, "testRunId");
+                    if (runId != null) {
+                        minRunId = minRunId == null ? runId : Math.min(minRunId, runId);
+                        maxRunId = maxRunId == null ? runId : Math.max(maxRunId, runId);
+                    }
+                    Long suiteId = ResultRecords.idField(record, "testSuiteId");
+                    if (suiteId != null) {
+                        minSuiteId = minSuiteId == null ? suiteId : Math.min(minSuiteId, suiteId);
+                        maxSuiteId = maxSuiteId == null ? suiteId : Math.max(maxSuiteId, suiteId);
+                    }
+                    afterId = result.getId();
+                    rows++;
+                }
+            } while (chunk.size() == chunkSize);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        if (rows != expectedRows) {
+            Files.deleteIfExists(tmp);
+            throw new IllegalStateException("Exported " + rows + " results of partition " + partitionName
+                    + " but it holds " + expectedRows);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        ResultArchive archive = archiveRepository.findByPartitionName(partitionName).orElseGet(ResultArchive::new);
+        archive.setPartitionName(partitionName);
+        archive.setRangeStart(from);
+        archive.setRangeEnd(to);
+        archive.setPath(file.toAbsolutePath().toString());
+        archive.setRowCount(rows);
+        archive.setMinRunId(minRunId);
+        archive.setMaxRunId(maxRunId);
+        archive.setMinSuiteId(minSuiteId);
+        archive.setMaxSuiteId(maxSuiteId);
+        archive.setArchivedAt(LocalDateTime.now());
+        archive = archiveRepository.save(archive);
+        log.info("Archived {} results of partition {} to {}", rows, partitionName, file);
+        return archive;
+    }
+
+    public Optional<ResultArchive> find(String partitionName) {
+        return archiveRepository.findByPartitionName(partitionName);
+    }
+
+    /**
+     * The first limit archived results created between from and to
+     * (inclusive) that come after (afterCreatedAt, afterId), in
+     * {@link #CREATED_ORDER}. Holds at most limit results besides the
+     * returned ones and stops at the first archive past them.
+     */
+    public List<TestResult> readBetween(LocalDateTime from, LocalDateTime to, LocalDateTime afterCreatedAt,
+            long afterId, int limit) {
+        // Largest kept result on top, dropped when a smaller one arrives
+        PriorityQueue<TestResult> first = new PriorityQueue<>(limit + 1, CREATED_ORDER.reversed());
+        for (ResultArchive archive : archiveRepository.findOverlapping(from, to)) {
+            if (first.size() >= limit) {
+                break;
+            }
+            scan(archive, record -> {
+                if (!record.hasNonNull("createdAt")) {
+                    return false;
+                }
+                LocalDateTime createdAt = LocalDateTime.parse(record.get("createdAt").asText());
+                return !createdAt.isBefore(from) && !createdAt.isAfter(to)
+                        && (createdAt.isAfter(afterCreatedAt)
+                                || (createdAt.isEqual(afterCreatedAt) && record.path("id").asLong() > afterId));
+            }, result -> {
+                first.add(result);
+                if (first.size() > limit) {
+                    first.poll();
+                }
+            });
+        }
+        List<TestResult> results = new ArrayList<>(first);
+        results.sort(CREATED_ORDER);
+        return results;
+    }
+
+    /**
+     * Archived results of a run.
+     */
+    public List<TestResult> readRun(Long runId) {
+        return read(archiveRepository.findCoveringRun(runId),
+                record -> runId.equals(ResultRecords.idField(record, "testRunId")));
+    }
+
+    /**
+     * Archived results of a suite.
+     */
+    public List<TestResult> readSuite(Long suiteId) {
+        return read(archiveRepository.findCoveringSuite(suiteId),
+                record -> suiteId.equals(ResultRecords.idField(record, "testSuiteId")));
+    }
+
+    static List<TestResult> read(List<ResultArchive> archives, Predicate<ObjectNode> filter) {
+        List<TestResult> results = new ArrayList<>();
+        archives.forEach(archive -> scan(archive, filter, results::add));
+        return results;
+    }
+
+    private static void scan(ResultArchive archive, Predicate<ObjectNode> filter, Consumer<TestResult> sink) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(Paths.get(archive.getPath()))), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ObjectNode record = (ObjectNode) ResultRecords.MAPPER.readTree(line);
+                if (filter.test(record)) {
+                    sink.accept(fromArchiveRecord(record));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read result archive {}: {}", archive.getPath(), e.getMessage());
+        }
+    }
+
+    private static TestResult fromArchiveRecord(ObjectNode record) throws IOException {
+        TestResult result = ResultRecords.fromRecord(record);
+        Long runId = ResultRecords.idField(record, "testRunId");
+        if (runId != null) {
+            TestRun run = new TestRun();
+            run.setId(runId);
+            result.setTestRun(run);
+        }
+        Long suiteId = ResultRecords.idField(record, "testSuiteId");
+        if (suiteId != null) {
+            TestSuite suite = new TestSuite();
+            suite.setId(suiteId);
+            result.setTestSuite(suite);
+        }
+        Long userId = ResultRecords.idField(record, "executedById");
+        if (userId != null) {
+            User user = new User();
+            user.setId(userId);
+            result.setExecutedBy(user);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.ResultArchive;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintains the daily partitions of test_result (see migration V3).
+ *
+ * Every results.partition.check-interval-minutes it splits partitions off
+ * p_future so there is always one per day up to
+ * results.partition.days-ahead, and, when results.retention.days is set,
+ * archives every partition whose days are all older than that through
+ * ResultArchiveService and drops it. A partition is only dropped once its
+ * archive holds exactly the rows it has; one that gained rows since it was
+ * archived is archived again, and one that fails stays for the next pass
+ * without holding up the others. Retention is off (0) by default, so
+ * nothing leaves the table unless configured.
+ *
+ * A MySQL named lock keeps instances sharing the database from maintaining
+ * the partitions at the same time. Nothing is done when the table is not
+ * partitioned.
+ */
+@Service
+@Slf4j
+public class ResultPartitionService {
+
+    static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final String LOCK = "test_result_partitions";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResultArchiveService archiveService;
+    private final boolean enabled;
+    private final int daysAhead;
+    private final int retentionDays;
+    private final long checkIntervalMinutes;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "result-partitions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A partition of test_result: rows with lower <= created_at < upper. lower
+     * is null for the first partition, upper for the MAXVALUE one.
+     */
+    public record Partition(String name, LocalDateTime lower, LocalDateTime upper) {
+    }
+
+    public ResultPartitionService(JdbcTemplate jdbcTemplate, ResultArchiveService archiveService,
+            @Value("${results.partition.enabled:true}") boolean enabled,
+            @Value("${results.partition.days-ahead:7}") int daysAhead,
+            @Value("${results.retention.days:0}") int retentionDays,
+            @Value("${results.partition.check-interval-minutes:60}") long checkIntervalMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveService = archiveService;
+        this.enabled = enabled;
+        this.daysAhead = Math.max(1, daysAhead);
+        this.retentionDays = retentionDays;
+        this.checkIntervalMinutes = Math.max(1, checkIntervalMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::maintainQuietly, 0, checkIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (Exception e) {
+            log.error("Result partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One maintenance pass, if no other instance is running one.
+     */
+    public void maintain() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, LOCK);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) {
+                        return null;
+                    }
+                }
+            }
+            try {
+                List<Partition> partitions = partitions();
+                if (!partitions.isEmpty()) {
+                    if (retentionDays > 0) {
+                        archiveExpired(partitions, LocalDate.now().minusDays(retentionDays).atStartOfDay());
+                    }
+                    addAhead(partitions(), LocalDate.now().plusDays(daysAhead));
+                }
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, LOCK);
+                    release.execute();
+                }
+            }
+            return null;
+        });
+    }
+
+    // Empty when test_result is not partitioned
+    private List<Partition> partitions() {
+        List<String[]> rows = jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION "
+                + "FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'test_result' "
+                + "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, i) -> new String[] { rs.getString(1), rs.getString(2) });
+        List<Partition> partitions = new ArrayList<>();
+        LocalDateTime lower = null;
+        for (String[] row : rows) {
+            LocalDateTime upper = bound(row[1]);
+            partitions.add(new Partition(row[0], lower, upper));
+            lower = upper;
+        }
+        return partitions;
+    }
+
+    // '2025-03-02 00:00:00' or MAXVALUE
+    public static LocalDateTime bound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDateTime.parse(description.replace("'", "").trim().replace(' ', 'T'));
+    }
+
+    /**
+     * Partitions that hold only rows created before cutoff, oldest first.
+     */
+    public static List<Partition> expired(List<Partition> partitions, LocalDateTime cutoff) {
+        return partitions.stream().filter(p -> p.upper() != null && !p.upper().isAfter(cutoff)).toList();
+    }
+
+    private void archiveExpired(List<Partition> partitions, LocalDateTime cutoff) {
+        for (Partition partition : expired(partitions, cutoff)) {
+            long rows = count(partition);
+            if (rows > 0) {
+                ResultArchive archive = archiveService.find(partition.name()).orElse(null);
+                if (archive == null || archive.getRowCount() != rows) {
+                    if (archive != null) {
+                        // Archived by an earlier pass that stopped before the drop, and a late row
+                        // (such as a spool replay with an old createdAt) arrived since
+                        log.warn("Partition {} holds {} results but its archive {}; archiving it again",
+                                partition.name(), rows, archive.getRowCount());
+                    }
+                    try {
+                        archiveService.archive(partition.name(), partition.lower(), partition.upper(), rows);
+                    } catch (IOException | IllegalStateException e) {
+                        log.error("Could not archive result partition {}, keeping it until the next pass: {}",
+                                partition.name(), e.getMessage());
+                        continue;
+                    }
+                }
+                if (count(partition) != rows) {
+                    log.warn("Partition {} changed while it was archived; archiving it again on the next pass",
+                            partition.name());
+                    continue;
+                }
+            }
+            jdbcTemplate.execute("ALTER TABLE test_result DROP PARTITION " + partition.name());
+            log.info("Dropped result partition {} ({} results archived)", partition.name(), rows);
+        }
+    }
+
+    private long count(Partition partition) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM test_result PARTITION (" + partition.name() + ")", Long.class);
+    }
+
+    /**
+     * Partition definitions that extend daily partitions from lastBound
+     * through the day until (none when they already reach it).
+     */
+    public static List<String> ahead(LocalDateTime lastBound, LocalDate until) {
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate day = lastBound.toLocalDate(); !day.isAfter(until); day = day.plusDays(1)) {
+            definitions.add("PARTITION " + day.format(NAME) + " VALUES LESS THAN ('" + day.plusDays(1) + "')");
+        }
+        return definitions;
+    }
+
+    private void addAhead(List<Partition> partitions, LocalDate until) {
+        Partition last = partitions.get(partitions.size() - 1);
+        LocalDateTime lastBound = last.upper() != null ? last.upper() : last.lower();
+        if (lastBound == null) {
+            return;
+        }
+        List<String> definitions = ahead(lastBound, until);
+        int added = definitions.size();
+        if (added == 0) {
+            return;
+        }
+        if (last.upper() == null) {
+            definitions.add("PARTITION " + last.name() + " VALUES LESS THAN (MAXVALUE)");
+            jdbcTemplate.execute("ALTER TABLE test_result REORGANIZE PARTITION " + last.name() + " INTO ("
+                    + String.join(", ", definitions) + ")");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE test_result ADD PARTITION (" + String.join(", ", definitions) + ")");
+        }
+        log.info("Added {} daily result partitions through {}", added, until);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestResult;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+
+/**
+ * JSON form of a TestResult outside the database, used by the write-behind
+ * spool and the partition archives: the result's own columns plus the ids
+ * of its run, suite and user.
+ */
+final class ResultRecords {
+
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private ResultRecords() {
+    }
+
+    static ObjectNode toRecord(TestResult result, boolean keepId) {
+        ObjectNode node = MAPPER.valueToTree(result);
+        if (!keepId) {
+            node.remove("id");
+        }
+        node.remove("executedBy");
+        node.put("testRunId", result.getTestRun() != null ? result.getTestRun().getId() : null);
+        node.put("testSuiteId", result.getTestSuite() != null ? result.getTestSuite().getId() : null);
+        node.put("executedById", result.getExecutedBy() != null ? result.getExecutedBy().getId() : null);
+        return node;
+    }
+
+    /**
+     * The result's own columns; run, suite and user are left for the caller
+     * to attach from the *Id fields.
+     */
+    static TestResult fromRecord(ObjectNode node) throws IOException {
+        return MAPPER.treeToValue(node, TestResult.class);
+    }
+
+    static Long idField(ObjectNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asLong() : null;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.ResultDailyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps result_daily_rollup in step with test_result. ResultWriteBuffer
+ * hands every batch to {@link #record} in the transaction that inserts it;
+ * the batch is folded into one delta per (suite, test name, day) and each
+ * delta is one upsert. History written before the rollups existed is
+ * loaded by migration V2.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResultRollupService {
+
+    private final ResultDailyRollupRepository rollupRepository;
+
+    record Key(long suiteId, String testName, LocalDate day) {
+    }
+
+    static final class Delta {
+        long total;
+        long passed;
+        long failed;
+        long timedOut;
+        long retries;
+        long durationCount;
+        long durationSum;
+        double durationSumSq;
+        Long minDuration;
+        Long maxDuration;
+
+        void add(TestResult result) {
+            total++;
+            if (result.getStatus() == TestStatus.PASSED) {
+                passed++;
+            } else if (result.getStatus() == TestStatus.FAILED) {
+                failed++;
+            } else if (result.getStatus() == TestStatus.TIMEOUT) {
+                timedOut++;
+            }
+            retries += result.getRetryCount() != null ? result.getRetryCount() : 0;
+            Long duration = result.getDuration();
+            if (duration != null) {
+                durationCount++;
+                durationSum += duration;
+                durationSumSq += (double) duration * duration;
+                minDuration = minDuration == null ? duration : Math.min(minDuration, duration);
+                maxDuration = maxDuration == null ? duration : Math.max(maxDuration, duration);
+            }
+        }
+    }
+
+    /**
+     * Fold results into the rollups. Call it in the transaction that writes
+     * the results: a failure is thrown so both roll back together, and the
+     * rollups never miss or double-count a stored result.
+     */
+    public void record(Collection<TestResult> results) {
+        if (results == null || results.isEmpty()) {
+            return;
+        }
+        fold(results).forEach((key, delta) -> rollupRepository.upsert(key.suiteId(), key.testName(), key.day(),
+                delta.total, delta.passed, delta.failed, delta.timedOut, delta.retries, delta.durationCount,
+                delta.durationSum, delta.durationSumSq, delta.minDuration, delta.maxDuration));
+    }
+
+    static Map<Key, Delta> fold(Collection<TestResult> results) {
+        Map<Key, Delta> deltas = new LinkedHashMap<>();
+        for (TestResult result : results) {
+            if (result.getTestName() == null) {
+                continue;
+            }
+            long suiteId = result.getTestSuite() != null && result.getTestSuite().getId() != null
+                    ? result.getTestSuite().getId() : 0L;
+            LocalDate day = result.getCreatedAt() != null ? result.getCreatedAt().toLocalDate() : LocalDate.now();
+            deltas.computeIfAbsent(new Key(suiteId, result.getTestName(), day), key -> new Delta()).add(result);
+        }
+        return deltas;
+    }
+}
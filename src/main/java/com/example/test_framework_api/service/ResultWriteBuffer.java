@@ -0,0 +1,420 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.repository.UserRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind persistence of test results.
+ *
+ * Executor threads only enqueue their result; a single flusher thread
+ * writes the queue in batches of executor.result-buffer.batch-size, when a
+ * batch is full or every flush-interval-ms. TestResult ids come from a
+ * pooled sequence, so Hibernate can send each batch as one JDBC batch.
+ *
+ * {@link #flush()} blocks until everything enqueued so far is written; run
+ * finalization calls it before reading results back. A batch that cannot
+ * be written, and whatever is still queued at shutdown when the database is
+ * gone, is appended to a JSONL spool file that is replayed at start and
+ * then every spool-retry-ms. A spooled row that cannot be parsed, or that
+ * the database rejects for itself (a constraint, a deleted run), is moved
+ * to a .rejected file next to the spool instead of blocking the rest.
+ * When the queue is full, or the buffer is disabled, results are written
+ * synchronously. Every write is folded into the daily rollups
+ * (ResultRollupService) in the same transaction, so a batch and its rollup
+ * deltas are stored, spooled or retried together.
+ */
+@Service
+@Slf4j
+public class ResultWriteBuffer {
+
+    private final TestResultRepository resultRepository;
+    private final TestRunRepository runRepository;
+    private final TestSuiteRepository suiteRepository;
+    private final UserRepository userRepository;
+    private final ResultRollupService rollupService;
+    private final TransactionTemplate transactions;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long spoolRetryMs;
+    private final Path spoolDir;
+
+    private final LinkedBlockingQueue<TestResult> queue;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Flush metrics; the histogram is only written under the drain lock
+    private final Histogram flushLatencyMicros = new Histogram(3_600_000_000L, 2);
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLong synchronousWrites = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ResultWriteBuffer(TestResultRepository resultRepository, TestRunRepository runRepository,
+            TestSuiteRepository suiteRepository, UserRepository userRepository, ResultRollupService rollupService,
+            PlatformTransactionManager transactionManager,
+            @Value("${executor.result-buffer.enabled:true}") boolean enabled,
+            @Value("${executor.result-buffer.batch-size:50}") int batchSize,
+            @Value("${executor.result-buffer.flush-interval-ms:250}") long flushIntervalMs,
+            @Value("${executor.result-buffer.capacity:10000}") int capacity,
+            @Value("${executor.result-buffer.spool-dir:${java.io.tmpdir}/test-result-spool}") String spoolDir,
+            @Value("${executor.result-buffer.spool-retry-ms:30000}") long spoolRetryMs) {
+        this.resultRepository = resultRepository;
+        this.runRepository = runRepository;
+        this.suiteRepository = suiteRepository;
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(10, flushIntervalMs);
+        this.spoolRetryMs = Math.max(1000, spoolRetryMs);
+        this.spoolDir = Paths.get(spoolDir);
+        this.queue = new LinkedBlockingQueue<>(Math.max(this.batchSize, capacity));
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "result-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        if (enabled) {
+            flusher.scheduleWithFixedDelay(this::drainQuietly, this.flushIntervalMs, this.flushIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queue a result for writing. The returned instance is the given one;
+     * its id is assigned when its batch is written.
+     */
+    public TestResult submit(TestResult result) {
+        if (!enabled) {
+            return writeSynchronously(result);
+        }
+        if (!queue.offer(result)) {
+            // Back-pressure: the flusher is behind, write on the caller's thread
+            return writeSynchronously(result);
+        }
+        enqueued.incrementAndGet();
+        if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushScheduled.set(false);
+                drainQuietly();
+            });
+        }
+        return result;
+    }
+
+    private TestResult writeSynchronously(TestResult result) {
+        synchronousWrites.incrementAndGet();
+        return transactions.execute(status -> {
+            TestResult saved = resultRepository.save(result);
+            rollupService.record(List.of(saved != null ? saved : result));
+            return saved;
+        });
+    }
+
+    /**
+     * Insert a batch and fold it into the rollups in one transaction.
+     */
+    private void write(List<TestResult> batch) {
+        transactions.executeWithoutResult(status -> {
+            resultRepository.saveAll(batch);
+            rollupService.record(batch);
+        });
+    }
+
+    /**
+     * Write everything queued so far, on the caller's thread.
+     */
+    public void flush() {
+        if (enabled) {
+            drainQuietly();
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("Result flush failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void drain() {
+        List<TestResult> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            long start = System.nanoTime();
+            try {
+                write(batch);
+                written.addAndGet(batch.size());
+            } catch (Exception e) {
+                log.error("Failed to write {} results, spooling them: {}", batch.size(), e.getMessage());
+                spool(batch);
+            }
+            flushLatencyMicros.recordValue(Math.min(flushLatencyMicros.getHighestTrackableValue(),
+                    (System.nanoTime() - start) / 1_000));
+            flushes.incrementAndGet();
+            maxBatch.accumulateAndGet(batch.size(), Math::max);
+            batch.clear();
+        }
+    }
+
+    private void spool(List<TestResult> batch) {
+        Path file = spoolDir.resolve("results-" + ProcessHandle.current().pid() + ".jsonl");
+        try {
+            Files.createDirectories(spoolDir);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (TestResult result : batch) {
+                    writer.write(ResultRecords.MAPPER.writeValueAsString(ResultRecords.toRecord(result, false)));
+                    writer.newLine();
+                }
+            }
+            spooled.addAndGet(batch.size());
+        } catch (IOException e) {
+            log.error("Could not spool {} results to {} - they are lost: {}", batch.size(), file, e.getMessage());
+        }
+    }
+
+    private TestResult fromSpoolRecord(ObjectNode node) throws IOException {
+        TestResult result = ResultRecords.fromRecord(node);
+        if (node.hasNonNull("testRunId")) {
+            result.setTestRun(runRepository.getReferenceById(ResultRecords.idField(node, "testRunId")));
+        }
+        if (node.hasNonNull("testSuiteId")) {
+            result.setTestSuite(suiteRepository.getReferenceById(ResultRecords.idField(node, "testSuiteId")));
+        }
+        if (node.hasNonNull("executedById")) {
+            result.setExecutedBy(userRepository.getReferenceById(ResultRecords.idField(node, "executedById")));
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSpoolReplay() {
+        replaySpool();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                replaySpool();
+            } catch (Exception e) {
+                log.error("Result spool replay failed: {}", e.getMessage());
+            }
+        }, spoolRetryMs, spoolRetryMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write results spooled by a previous process (or an earlier failed flush).
+     */
+    public void replaySpool() {
+        if (!Files.isDirectory(spoolDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDir, "results-*.jsonl")) {
+            for (Path file : files) {
+                replay(file);
+            }
+        } catch (IOException e) {
+            log.error("Could not read result spool {}: {}", spoolDir, e.getMessage());
+        }
+    }
+
+    /**
+     * Replay one spool file. Rows that cannot be parsed or that the database
+     * rejects go to the .rejected file; when the database itself fails, the
+     * rows not written yet stay in the spool for the next retry.
+     */
+    private synchronized void replay(Path file) {
+        Path claimed = file.resolveSibling(file.getFileName() + ".replaying");
+        List<String> lines = new ArrayList<>();
+        List<TestResult> results = new ArrayList<>();
+        List<String> rejects = new ArrayList<>();
+        try {
+            Files.move(file, claimed);
+            try (BufferedReader reader = Files.newBufferedReader(claimed, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        results.add(fromSpoolRecord((ObjectNode) ResultRecords.MAPPER.readTree(line)));
+                        lines.add(line);
+                    } catch (Exception e) {
+                        log.error("Unreadable spooled result in {}, rejecting it: {}", file.getFileName(),
+                                e.getMessage());
+                        rejects.add(line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not read {}, keeping it for the next retry: {}", file.getFileName(), e.getMessage());
+            restore(claimed, file);
+            return;
+        }
+
+        int saved = 0;
+        int next = 0;
+        try {
+            for (; next < results.size(); next += batchSize) {
+                int end = Math.min(results.size(), next + batchSize);
+                saved += replayBatch(results.subList(next, end), lines.subList(next, end), rejects);
+            }
+        } catch (Exception e) {
+            log.error("Replay of {} failed, keeping {} results for the next retry: {}", file.getFileName(),
+                    results.size() - next, e.getMessage());
+        }
+        try {
+            if (next < results.size()) {
+                Files.write(file, lines.subList(next, lines.size()), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            if (!rejects.isEmpty()) {
+                Files.write(file.resolveSibling(file.getFileName() + ".rejected"), rejects, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                rejected.addAndGet(rejects.size());
+            }
+            Files.delete(claimed);
+        } catch (IOException e) {
+            log.error("Could not rewrite spool {}, left as {}: {}", file.getFileName(), claimed.getFileName(),
+                    e.getMessage());
+        }
+        replayed.addAndGet(saved);
+        if (saved > 0 || !rejects.isEmpty()) {
+            log.info("Replayed {} spooled results from {} ({} rejected)", saved, file.getFileName(), rejects.size());
+        }
+    }
+
+    /**
+     * Write one batch; if it fails, write its rows one by one so a bad row
+     * is rejected on its own. Throws when the database is unavailable.
+     */
+    private int replayBatch(List<TestResult> batch, List<String> lines, List<String> rejects) {
+        try {
+            write(batch);
+            return batch.size();
+        } catch (Exception e) {
+            if (!isRowError(e)) {
+                throw e;
+            }
+        }
+        int saved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            TestResult result = batch.get(i);
+            // The failed batch may have assigned an id that was never written
+            result.setId(null);
+            try {
+                write(List.of(result));
+                saved++;
+            } catch (Exception e) {
+                if (!isRowError(e)) {
+                    throw e;
+                }
+                log.error("Spooled result '{}' rejected: {}", result.getTestName(), e.getMessage());
+                rejects.add(lines.get(i));
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * An error of the written row itself (constraint, missing run or suite),
+     * as opposed to the database being unreachable.
+     */
+    private static boolean isRowError(Exception e) {
+        return e instanceof NonTransientDataAccessException
+                && !(e instanceof NonTransientDataAccessResourceException);
+    }
+
+    private static void restore(Path claimed, Path file) {
+        try {
+            if (Files.exists(claimed)) {
+                Files.move(claimed, file);
+            }
+        } catch (IOException ignored) {
+            // left as .replaying for manual recovery
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("batchSize", batchSize);
+        stats.put("flushIntervalMs", flushIntervalMs);
+        stats.put("queued", queue.size());
+        stats.put("enqueued", enqueued.get());
+        stats.put("written", written.get());
+        stats.put("synchronousWrites", synchronousWrites.get());
+        stats.put("spooled", spooled.get());
+        stats.put("replayed", replayed.get());
+        stats.put("rejected", rejected.get());
+        long flushCount = flushes.get();
+        stats.put("flushes", flushCount);
+        stats.put("avgBatchSize", flushCount > 0 ? Math.round(written.get() * 10.0 / flushCount) / 10.0 : 0);
+        stats.put("maxBatchSize", maxBatch.get());
+        synchronized (this) {
+            stats.put("flushP50Ms", flushLatencyMicros.getValueAtPercentile(50) / 1000.0);
+            stats.put("flushP99Ms", flushLatencyMicros.getValueAtPercentile(99) / 1000.0);
+            stats.put("flushMaxMs", flushLatencyMicros.getMaxValue() / 1000.0);
+        }
+        return stats;
+    }
+
+    /**
+     * Write what is still queued; if the database is already gone the
+     * remainder ends up in the spool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMs * 4, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainQuietly();
+        if (!queue.isEmpty()) {
+            List<TestResult> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            spool(rest);
+        }
+    }
+}
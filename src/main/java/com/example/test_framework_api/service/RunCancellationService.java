@@ -0,0 +1,267 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.TestRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancellation of suite runs, queued or executing.
+ *
+ * A run still waiting in testSuiteQueue is marked CANCELLED in the database
+ * and skipped when its message is received. For an executing run, every
+ * running test registers an abort action here; cancelling interrupts those
+ * tests (releasing their browser session / HTTP call) and queued cases are
+ * dropped as they reach an executor thread. Results already saved are kept.
+ *
+ * The cancel request is also stored on the run (test_run.cancel_requested),
+ * because the node receiving it need not be the worker executing the run.
+ * Every executor.cancel.poll-interval-ms each node looks up the runs it has
+ * tests running for and aborts those cancelled elsewhere; completion on any
+ * node then finishes the run as CANCELLED. State of a stopped run is dropped
+ * when the run finishes here, or executor.cancel.retention-ms after the stop
+ * if it never does (a run cancelled on a node that was not executing it).
+ *
+ * Fail-fast uses the same mechanism without touching the stored status: the
+ * run ends as FAILED instead of CANCELLED. Its stop is stored too
+ * (test_run.fail_fast_requested) and polled the same way, and distributed
+ * runs count their critical failures on the run row, so the threshold
+ * applies to the whole run rather than to each shard or work batch.
+ */
+@Service
+@Slf4j
+public class RunCancellationService {
+
+    private static final Set<TestStatus> FINISHED = EnumSet.of(
+            TestStatus.PASSED, TestStatus.FAILED, TestStatus.COMPLETED, TestStatus.CANCELLED);
+
+    private final TestRunRepository runRepository;
+    private final long pollIntervalMs;
+    private final long retentionMs;
+
+    // Runs whose remaining work must be dropped (user cancel or fail-fast), with when they were stopped
+    private final Map<Long, Long> cancelledRuns = new ConcurrentHashMap<>();
+    private final Set<Long> userCancelledRuns = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Runnable>> activeAborts = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "run-cancel-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RunCancellationService(TestRunRepository runRepository,
+            @Value("${executor.cancel.poll-interval-ms:2000}") long pollIntervalMs,
+            @Value("${executor.cancel.retention-ms:3600000}") long retentionMs) {
+        this.runRepository = runRepository;
+        this.pollIntervalMs = Math.max(100, pollIntervalMs);
+        this.retentionMs = retentionMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                pollCancellations();
+            } catch (Exception e) {
+                log.warn("Cancellation poll failed: {}", e.getMessage());
+            }
+        }, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancel a run. Returns null if the run does not exist.
+     *
+     * @throws IllegalStateException if the run already finished
+     */
+    public Map<String, Object> cancelRun(Long runId) {
+        TestRun run = runRepository.findById(runId).orElse(null);
+        if (run == null) {
+            return null;
+        }
+        TestStatus previous = run.getStatus();
+        if (FINISHED.contains(previous)) {
+            throw new IllegalStateException("Run " + runId + " already finished with status " + previous);
+        }
+
+        runRepository.markCancelRequested(runId);
+        userCancelledRuns.add(runId);
+        int interrupted = abortRemaining(runId);
+
+        run.setStatus(TestStatus.CANCELLED);
+        runRepository.save(run);
+        log.warn("Run {} CANCELLED (was {}, {} running tests interrupted)", runId, previous, interrupted);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("testRunId", runId);
+        response.put("previousStatus", previous);
+        response.put("status", TestStatus.CANCELLED);
+        response.put("interruptedTests", interrupted);
+        return response;
+    }
+
+    /**
+     * Fail-fast: drop queued cases and interrupt running ones, here and on
+     * every other node executing the run. The run is finished as FAILED by
+     * its worker.
+     */
+    public int failFast(Long runId) {
+        runRepository.markFailFastRequested(runId);
+        int interrupted = abortRemaining(runId);
+        log.warn("Run {} FAIL-FAST triggered ({} running tests interrupted)", runId, interrupted);
+        return interrupted;
+    }
+
+    /**
+     * Count a critical failure of a distributed run; the run-wide total.
+     */
+    public int recordCriticalFailure(Long runId) {
+        runRepository.incrementCriticalFailures(runId);
+        Integer total = runRepository.findCriticalFailures(runId);
+        return total != null ? total : 1;
+    }
+
+    private int abortRemaining(Long runId) {
+        cancelledRuns.putIfAbsent(runId, System.currentTimeMillis());
+        int interrupted = 0;
+        for (Runnable abort : activeAborts.getOrDefault(runId, Set.of())) {
+            try {
+                abort.run();
+                interrupted++;
+            } catch (Exception e) {
+                log.warn("Failed to abort a test of run {}: {}", runId, e.getMessage());
+            }
+        }
+        return interrupted;
+    }
+
+    /**
+     * Abort the local tests of runs cancelled or failed fast on another node,
+     * and drop stopped runs that never finished here.
+     */
+    public void pollCancellations() {
+        long now = System.currentTimeMillis();
+        cancelledRuns.entrySet().removeIf(entry -> {
+            boolean stale = now - entry.getValue() > retentionMs && !activeAborts.containsKey(entry.getKey());
+            if (stale) {
+                userCancelledRuns.remove(entry.getKey());
+            }
+            return stale;
+        });
+
+        Set<Long> running = new HashSet<>(activeAborts.keySet());
+        running.removeAll(userCancelledRuns);
+        if (running.isEmpty()) {
+            return;
+        }
+        for (Long runId : runRepository.findCancelRequestedIn(running)) {
+            if (userCancelledRuns.add(runId)) {
+                int interrupted = abortRemaining(runId);
+                log.warn("Run {} was cancelled on another node ({} running tests interrupted here)", runId,
+                        interrupted);
+            }
+        }
+        running.removeAll(cancelledRuns.keySet());
+        if (running.isEmpty()) {
+            return;
+        }
+        for (Long runId : runRepository.findFailFastRequestedIn(running)) {
+            int interrupted = abortRemaining(runId);
+            log.warn("Run {} failed fast on another node ({} running tests interrupted here)", runId, interrupted);
+        }
+    }
+
+    public boolean isCancelled(Long runId) {
+        return runId != null && cancelledRuns.containsKey(runId);
+    }
+
+    /**
+     * Register the abort action of a running test; remove it with {@link #unregister}.
+     */
+    public void register(Long runId, Runnable abort) {
+        if (runId == null) {
+            return;
+        }
+        activeAborts.compute(runId, (id, aborts) -> {
+            Set<Runnable> set = aborts != null ? aborts : ConcurrentHashMap.newKeySet();
+            set.add(abort);
+            return set;
+        });
+        if (cancelledRuns.containsKey(runId)) {
+            // Cancelled between the caller's check and registration
+            abort.run();
+        }
+    }
+
+    public void unregister(Long runId, Runnable abort) {
+        if (runId == null) {
+            return;
+        }
+        activeAborts.computeIfPresent(runId, (id, aborts) -> {
+            aborts.remove(abort);
+            return aborts.isEmpty() ? null : aborts;
+        });
+    }
+
+    /**
+     * Final status for a run that just stopped executing: CANCELLED wins over
+     * the computed outcome (also when it was cancelled on another node), a
+     * fail-fast stop is FAILED (also when triggered on another node). Also
+     * drops the run's bookkeeping.
+     */
+    public TestStatus finish(Long runId, TestStatus outcome) {
+        if (runId == null) {
+            return outcome;
+        }
+        activeAborts.remove(runId);
+        boolean stopped = cancelledRuns.remove(runId) != null;
+        if (userCancelledRuns.remove(runId) || runRepository.isCancelRequested(runId)) {
+            return TestStatus.CANCELLED;
+        }
+        return stopped || runRepository.isFailFastRequested(runId) ? TestStatus.FAILED : outcome;
+    }
+
+    /**
+     * Status for one part of a run (a shard) that just stopped executing, by
+     * the same rules as {@link #finish} but keeping the run's bookkeeping:
+     * other parts of the run may still start or be running on this node.
+     */
+    public TestStatus outcomeOf(Long runId, TestStatus outcome) {
+        if (runId == null) {
+            return outcome;
+        }
+        if (userCancelledRuns.contains(runId) || runRepository.isCancelRequested(runId)) {
+            return TestStatus.CANCELLED;
+        }
+        return cancelledRuns.containsKey(runId) || runRepository.isFailFastRequested(runId)
+                ? TestStatus.FAILED : outcome;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("stoppedRuns", cancelledRuns.size());
+        stats.put("cancelledRuns", userCancelledRuns.size());
+        stats.put("runsWithRunningTests", activeAborts.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.model.TestStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory progress of the runs executing on this node.
+ *
+ * Suite execution announces how many cases it will run ({@link #expect});
+ * TestExecutor reports every case as it starts and finishes. All counters
+ * are atomics, so the executor threads never lock and progress reads never
+ * touch the database. Sharded and pull-based runs are spread over several
+ * nodes; each node's ledger then only covers the cases it ran itself, so
+ * such a ledger is marked partial when it is opened and is not served as
+ * the run's progress.
+ *
+ * Idle ledgers are dropped after executor.ledger.retention-ms.
+ */
+@Service
+public class RunLedger {
+
+    /**
+     * Point-in-time counters of one run.
+     */
+    public record Progress(Long runId, int total, int passed, int failed, int cancelled, int running,
+            long cumulativeDurationMs, long elapsedMs) {
+
+        public int done() {
+            return passed + failed + cancelled;
+        }
+
+        public int remaining() {
+            return Math.max(0, total - done() - running);
+        }
+
+        /**
+         * Outcome of the cases run so far: PASSED without failures, FAILED
+         * without passes, COMPLETED (partial success) otherwise.
+         */
+        public TestStatus outcome() {
+            if (failed == 0) {
+                return TestStatus.PASSED;
+            }
+            return passed > 0 ? TestStatus.COMPLETED : TestStatus.FAILED;
+        }
+    }
+
+    private static final class Ledger {
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicInteger total = new AtomicInteger();
+        private final AtomicInteger passed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger cancelled = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder durationMs = new LongAdder();
+        private volatile long lastUpdate = startedAt;
+        private volatile boolean partial;
+    }
+
+    private final Map<Long, Ledger> ledgers = new ConcurrentHashMap<>();
+    private final long retentionMs;
+
+    public RunLedger(@Value("${executor.ledger.retention-ms:3600000}") long retentionMs) {
+        this.retentionMs = retentionMs;
+    }
+
+    /**
+     * Announce the cases of a whole run about to run on this node.
+     */
+    public void expect(Long runId, int cases) {
+        expect(runId, cases, false);
+    }
+
+    /**
+     * Announce cases about to run; called once per suite, shard or batch.
+     * partial: the cases are one shard or work batch of a run spread over
+     * several nodes.
+     */
+    public void expect(Long runId, int cases, boolean partial) {
+        if (runId == null) {
+            return;
+        }
+        evictIdle();
+        Ledger ledger = ledger(runId);
+        ledger.total.addAndGet(cases);
+        if (partial) {
+            ledger.partial = true;
+        }
+        ledger.lastUpdate = System.currentTimeMillis();
+    }
+
+    public void started(Long runId) {
+        if (runId == null) {
+            return;
+        }
+        Ledger ledger = ledger(runId);
+        ledger.running.incrementAndGet();
+        ledger.lastUpdate = System.currentTimeMillis();
+    }
+
+    /**
+     * A case of the run finished; any status other than PASSED or a failure
+     * counts as cancelled.
+     */
+    public void finished(Long runId, TestStatus status, Long durationMs) {
+        if (runId == null) {
+            return;
+        }
+        Ledger ledger = ledger(runId);
+        ledger.running.decrementAndGet();
+        if (status == TestStatus.PASSED) {
+            ledger.passed.incrementAndGet();
+        } else if (status != null && status.isFailure()) {
+            ledger.failed.incrementAndGet();
+        } else {
+            ledger.cancelled.incrementAndGet();
+        }
+        if (durationMs != null) {
+            ledger.durationMs.add(durationMs);
+        }
+        ledger.lastUpdate = System.currentTimeMillis();
+    }
+
+    /**
+     * Current counters of a run, or null if it has not run on this node.
+     */
+    public Progress progress(Long runId) {
+        Ledger ledger = runId != null ? ledgers.get(runId) : null;
+        if (ledger == null) {
+            return null;
+        }
+        return new Progress(runId, ledger.total.get(), ledger.passed.get(), ledger.failed.get(),
+                ledger.cancelled.get(), Math.max(0, ledger.running.get()), ledger.durationMs.sum(),
+                System.currentTimeMillis() - ledger.startedAt);
+    }
+
+    /**
+     * Progress of a run for the API, or null if it has not run on this node
+     * or only part of it (a shard or work batch) did.
+     */
+    public Map<String, Object> getProgress(Long runId) {
+        Ledger ledger = runId != null ? ledgers.get(runId) : null;
+        if (ledger == null || ledger.partial) {
+            return null;
+        }
+        Progress progress = progress(runId);
+        if (progress == null) {
+            return null;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("testRunId", runId);
+        body.put("total", progress.total());
+        body.put("passed", progress.passed());
+        body.put("failed", progress.failed());
+        body.put("cancelled", progress.cancelled());
+        body.put("running", progress.running());
+        body.put("remaining", progress.remaining());
+        body.put("percentComplete", progress.total() > 0 ? progress.done() * 100 / progress.total() : 0);
+        body.put("cumulativeDurationMs", progress.cumulativeDurationMs());
+        body.put("elapsedMs", progress.elapsedMs());
+        body.put("outcome", progress.done() > 0 ? progress.outcome() : null);
+        return body;
+    }
+
+    private Ledger ledger(Long runId) {
+        return ledgers.computeIfAbsent(runId, id -> new Ledger());
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        ledgers.entrySet().removeIf(entry -> entry.getValue().running.get() <= 0
+                && entry.getValue().lastUpdate < cutoff);
+    }
+}
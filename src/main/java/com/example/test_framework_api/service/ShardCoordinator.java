@@ -0,0 +1,252 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.dto.ExecutionOptions;
+import com.example.test_framework_api.dto.ShardExecutionRequest;
+import com.example.test_framework_api.model.RunShard;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.RunShardRepository;
+import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.worker.WorkerNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.test_framework_api.config.RabbitMQConfig.SUITE_SHARD_QUEUE;
+
+/**
+ * Sharded suite execution across worker nodes.
+ *
+ * The worker that receives a sharded testSuiteQueue message splits the
+ * suite (type- and duration-aware, see {@link CaseScheduler#shard}), stores
+ * one RunShard per slice and publishes each to suiteShardQueue, where any
+ * worker can consume it. Each worker reports its shard back here; the one
+ * that reports the last shard finalizes the TestRun and the suite status.
+ * A shard message is acknowledged only after the shard ran, so the shard of
+ * a crashed worker is redelivered to another one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ShardCoordinator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final RunShardRepository shardRepository;
+    private final TestRunRepository runRepository;
+    private final TestCaseRepository caseRepository;
+    private final TestSuiteRepository suiteRepository;
+    private final TestResultRepository resultRepository;
+    private final CaseScheduler caseScheduler;
+    private final TestSuiteService suiteService;
+    private final RunCancellationService runCancellation;
+    private final RabbitTemplate rabbitTemplate;
+
+    private final String workerId = WorkerNode.ID;
+
+    /**
+     * Split the enabled cases of a run into shards and publish them.
+     */
+    public List<RunShard> dispatch(TestRun run, Long suiteId, List<TestCase> cases, int parallelThreads,
+            ExecutionOptions options) {
+        List<TestCase> enabled = cases.stream()
+                .filter(tc -> Boolean.TRUE.equals(tc.getRun()))
+                .collect(Collectors.toList());
+        if (enabled.isEmpty()) {
+            log.warn("All test cases disabled for suite {} - marking complete", suiteId);
+            run.setStatus(TestStatus.COMPLETED);
+            runRepository.save(run);
+            suiteService.updateSuiteStatus(suiteId);
+            return List.of();
+        }
+
+        Map<String, Long> estimates = caseScheduler.estimate(enabled);
+        List<CaseScheduler.Shard> plan = caseScheduler.shard(enabled, estimates, options.getShards());
+
+        List<RunShard> shards = new ArrayList<>();
+        long predicted = 0;
+        for (int i = 0; i < plan.size(); i++) {
+            CaseScheduler.Shard slice = plan.get(i);
+            RunShard shard = new RunShard();
+            shard.setTestRunId(run.getId());
+            shard.setTestSuiteId(suiteId);
+            shard.setShardIndex(i);
+            shard.setShardCount(plan.size());
+            shard.setCaseIds(toJson(slice.cases().stream().map(TestCase::getTestCaseId).toList()));
+            shard.setCaseCount(slice.cases().size());
+            long uiCases = slice.cases().stream().filter(tc -> "UI".equalsIgnoreCase(tc.getTestType())).count();
+            shard.setUiCases((int) uiCases);
+            shard.setApiCases(slice.cases().size() - (int) uiCases);
+            shard.setExpectedUiMs(slice.uiMs());
+            shard.setExpectedApiMs(slice.apiMs());
+            shard.setPredictedMakespanMs(
+                    caseScheduler.schedule(slice.cases(), estimates, parallelThreads).predictedMakespanMs());
+            predicted = Math.max(predicted, shard.getPredictedMakespanMs());
+            shards.add(shard);
+        }
+
+        run.setStatus(TestStatus.RUNNING);
+        run.setShardCount(shards.size());
+        run.setFinishedShards(0);
+        run.setPredictedMakespanMs(predicted);
+        run.setExecutionMode(options.getExecutionMode() != null ? options.getExecutionMode().name() : null);
+        runRepository.save(run);
+        shards = shardRepository.saveAll(shards);
+
+        for (RunShard shard : shards) {
+            ShardExecutionRequest request = new ShardExecutionRequest();
+            request.setShardId(shard.getId());
+            request.setTestRunId(run.getId());
+            request.setParallelThreads(parallelThreads);
+            request.setOptions(options);
+            rabbitTemplate.convertAndSend(SUITE_SHARD_QUEUE, request);
+        }
+        log.info("Run {} split into {} shards ({} cases, predicted makespan {}ms)", run.getId(), shards.size(),
+                enabled.size(), predicted);
+        return shards;
+    }
+
+    /**
+     * Mark a shard as running on this worker; null if it is unknown or
+     * already finished (duplicate delivery).
+     */
+    @Transactional
+    public RunShard claim(Long shardId) {
+        RunShard shard = shardRepository.findById(shardId).orElse(null);
+        if (shard == null || shard.getFinishedAt() != null) {
+            return null;
+        }
+        int attempts = shard.getAttempts() != null ? shard.getAttempts() : 0;
+        if (attempts > 0) {
+            log.warn("Shard {}/{} of run {} redelivered (last worker {})", shard.getShardIndex() + 1,
+                    shard.getShardCount(), shard.getTestRunId(), shard.getWorkerId());
+        }
+        shard.setAttempts(attempts + 1);
+        shard.setStatus(TestStatus.RUNNING);
+        shard.setWorkerId(workerId);
+        shard.setStartedAt(LocalDateTime.now());
+        return shardRepository.save(shard);
+    }
+
+    /**
+     * The shard's cases in their scheduled order, with the suite attached.
+     */
+    public List<TestCase> casesOf(RunShard shard) {
+        List<String> ids;
+        try {
+            ids = MAPPER.readValue(shard.getCaseIds(), new TypeReference<List<String>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid case list of shard " + shard.getId(), e);
+        }
+        Map<String, TestCase> byId = caseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TestCase::getTestCaseId, Function.identity()));
+        List<TestCase> cases = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        suiteRepository.findById(shard.getTestSuiteId()).ifPresent(suite -> cases.forEach(tc -> tc.setTestSuite(suite)));
+        return cases;
+    }
+
+    /**
+     * Record a shard's outcome; the report of the last shard finalizes the run.
+     */
+    @Transactional
+    public void finishShard(RunShard shard, TestStatus outcome, Integer peakConcurrency) {
+        LocalDateTime now = LocalDateTime.now();
+        Long durationMs = shard.getStartedAt() != null ? Duration.between(shard.getStartedAt(), now).toMillis() : null;
+        if (shardRepository.markFinished(shard.getId(), outcome, now, durationMs, peakConcurrency) == 0) {
+            log.debug("Shard {} already reported", shard.getId());
+            return;
+        }
+        log.info("Shard {}/{} of run {} finished: {} on {}", shard.getShardIndex() + 1, shard.getShardCount(),
+                shard.getTestRunId(), outcome, workerId);
+
+        runRepository.incrementFinishedShards(shard.getTestRunId());
+        Integer finished = runRepository.findFinishedShards(shard.getTestRunId());
+        if (finished != null && finished >= shard.getShardCount()) {
+            finalizeRun(shard.getTestRunId(), shard.getTestSuiteId());
+        }
+    }
+
+    private void finalizeRun(Long runId, Long suiteId) {
+        TestRun run = runRepository.findById(runId).orElse(null);
+        if (run == null) {
+            return;
+        }
+        List<RunShard> shards = shardRepository.findByTestRunIdOrderByShardIndex(runId);
+
+        // Same rule as a single-node run: all passed, none passed, or partial
+        TestStatus outcome = TestStatus.COMPLETED;
+        if (shards.stream().allMatch(s -> s.getStatus() == TestStatus.PASSED)) {
+            outcome = TestStatus.PASSED;
+        } else if (shards.stream().allMatch(s -> s.getStatus() == TestStatus.FAILED)) {
+            outcome = TestStatus.FAILED;
+        }
+        if (run.getStatus() == TestStatus.CANCELLED
+                || shards.stream().anyMatch(s -> s.getStatus() == TestStatus.CANCELLED)) {
+            outcome = TestStatus.CANCELLED;
+        }
+
+        LocalDateTime startedAt = shards.stream().map(RunShard::getStartedAt).filter(Objects::nonNull)
+                .min(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime finishedAt = shards.stream().map(RunShard::getFinishedAt).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(null);
+        if (startedAt != null && finishedAt != null) {
+            long elapsedMs = Math.max(1, Duration.between(startedAt, finishedAt).toMillis());
+            long completed = resultRepository.countByRunIdAndStatus(runId, TestStatus.PASSED)
+                    + resultRepository.countByRunIdAndStatus(runId, TestStatus.FAILED)
+                    + resultRepository.countByRunIdAndStatus(runId, TestStatus.TIMEOUT);
+            run.setActualMakespanMs(elapsedMs);
+            run.setThroughputPerSec(completed * 1000.0 / elapsedMs);
+        }
+        // Shards run side by side, so the run's peak is the sum of the shard peaks
+        run.setPeakConcurrency(shards.stream().map(RunShard::getPeakConcurrency).filter(Objects::nonNull)
+                .mapToInt(Integer::intValue).sum());
+        run.setStatus(runCancellation.finish(runId, outcome));
+        runRepository.save(run);
+        suiteService.updateSuiteStatus(suiteId);
+        log.info("Sharded run {} finalized as {} ({} shards)", runId, run.getStatus(), shards.size());
+    }
+
+    /**
+     * Shard overview of a run for the API.
+     */
+    public Map<String, Object> getShardStatus(Long runId) {
+        List<RunShard> shards = shardRepository.findByTestRunIdOrderByShardIndex(runId);
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("testRunId", runId);
+        status.put("shardCount", shards.size());
+        status.put("finished", shards.stream().filter(s -> s.getFinishedAt() != null).count());
+        status.put("workers", shards.stream().map(RunShard::getWorkerId).filter(Objects::nonNull)
+                .distinct().count());
+        status.put("shards", shards);
+        return status;
+    }
+
+    private static String toJson(List<String> caseIds) {
+        try {
+            return MAPPER.writeValueAsString(caseIds);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -25,32 +25,110 @@
 
 package com.example.test_framework_api.service;
 
+import com.example.test_framework_api.dto.KeysetPage;
 import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.model.TestStatus;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
+@Slf4j
 public class TestResultService {
 
     @Autowired
     private TestResultRepository testResultRepository;
+    @Autowired
+    private ResultWriteBuffer resultWriteBuffer;
+    @Autowired
+    private ResultArchiveService resultArchiveService;
 
     public List<TestResult> getAllTestResults() {
         return testResultRepository.findAll();
     }
 
+    /**
+     * Results of a run, including those whose partition has been archived
+     * (see {@link ResultArchiveService}), oldest first.
+     */
+    public List<TestResult> getResultsForRun(Long runId) {
+        return merge(testResultRepository.findByTestRunId(runId), resultArchiveService.readRun(runId));
+    }
+
+    /**
+     * Results of a suite, including archived ones, oldest first.
+     */
+    public List<TestResult> getResultsForSuite(Long suiteId) {
+        return merge(testResultRepository.findByTestSuiteId(suiteId), resultArchiveService.readSuite(suiteId));
+    }
+
+    /**
+     * One page of the results created between from and to (inclusive) from
+     * the table and the archives, oldest first. cursor is the nextCursor of
+     * the previous page; limit is capped at {@link ListingService#MAX_LIMIT}.
+     * Each tier is read only up to limit + 1 rows past the cursor.
+     */
+    public KeysetPage<TestResult> getResultsBetween(LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("from and to are required and from must not be after to");
+        }
+        int size = Math.max(1, Math.min(ListingService.MAX_LIMIT, limit));
+        LocalDateTime afterCreatedAt = from;
+        long afterId = Long.MIN_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (!position.sort().equals("createdAt") || position.desc()) {
+                throw new IllegalArgumentException("Cursor was not issued for a time range");
+            }
+            try {
+                afterCreatedAt = LocalDateTime.parse(position.value());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            afterId = position.id();
+        }
+
+        List<TestResult> rows = merge(
+                testResultRepository.findRangePage(from, to, afterCreatedAt, afterId, PageRequest.of(0, size + 1)),
+                resultArchiveService.readBetween(from, to, afterCreatedAt, afterId, size + 1));
+        boolean more = rows.size() > size;
+        List<TestResult> items = more ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = null;
+        if (more) {
+            TestResult last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor("createdAt", false, last.getId(), last.getCreatedAt().toString()).encode();
+        }
+        return new KeysetPage<>(items, size, nextCursor, null, null);
+    }
+
+    // A partition being archived is briefly in both tiers; the table copy wins
+    private static List<TestResult> merge(List<TestResult> hot, List<TestResult> archived) {
+        Map<Long, TestResult> byId = new LinkedHashMap<>();
+        archived.forEach(r -> byId.put(r.getId(), r));
+        hot.forEach(r -> byId.put(r.getId(), r));
+        List<TestResult> results = new ArrayList<>(byId.values());
+        results.sort(ResultArchiveService.CREATED_ORDER);
+        return results;
+    }
+
+    /**
+     * Queue the result in the write-behind buffer; it is written with the
+     * next batch (see {@link ResultWriteBuffer}).
+     */
     public TestResult saveTestResult(TestResult testResult) {
         // FIXED #2: Ensure results are actually saved with proper foreign key
         if (testResult.getTestRun() == null) {
-            System.err.println("WARNING: Attempting to save TestResult without TestRun linkage!");
+            log.warn("Saving TestResult '{}' without TestRun linkage", testResult.getTestName());
         }
-        TestResult saved = testResultRepository.save(testResult);
-        System.out.println("Saved TestResult ID " + saved.getId() + " for test: " + 
-            saved.getTestName() + " | Status: " + saved.getStatus());
-        return saved;
+        return resultWriteBuffer.submit(testResult);
     }
 
     /**
@@ -59,4 +137,8 @@ public class TestResultService {
     public List<TestResult> findByTestRunIdAndTestName(Long testRunId, String testName) {
         return testResultRepository.findByTestRunIdAndTestName(testRunId, testName);
     }
+
+    public long countByRunIdAndStatus(Long testRunId, TestStatus status) {
+        return testResultRepository.countByRunIdAndStatus(testRunId, status);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.test_framework_api.service;
 
+import com.example.test_framework_api.dto.ExecutionOptions;
+import com.example.test_framework_api.model.ExecutionMode;
 import com.example.test_framework_api.model.TestCase;
 import com.example.test_framework_api.model.TestStatus;
 import com.example.test_framework_api.model.TestSuite;
@@ -10,7 +12,9 @@ import com.example.test_framework_api.repository.TestCaseRepository;
 import com.example.test_framework_api.repository.TestResultRepository;
 import com.example.test_framework_api.repository.TestSuiteRepository;
 import com.example.test_framework_api.repository.UserRepository;
+import com.example.test_framework_api.worker.ApiRequest;
 import com.example.test_framework_api.worker.TestExecutor;
+import com.example.test_framework_api.worker.WebVitalsCollector;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 import lombok.RequiredArgsConstructor;
@@ -23,10 +27,20 @@ import org.springframework.security.core.Authentication;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -44,13 +58,21 @@ public class TestSuiteService {
     private final Executor uiTestExecutor;
     private final Executor apiTestExecutor;
     private final UserRepository userRepository;
+    private final Executor apiVirtualExecutor;
+    private final ApiConcurrencyLimiter apiConcurrencyLimiter;
+    private final RunCancellationService runCancellation;
+    private final CaseScheduler caseScheduler;
+    private final AdaptiveConcurrencyController adaptiveController;
+    private final AdmissionController admissionController;
+    private final RunLedger runLedger;
+    private final ResultWriteBuffer resultWriteBuffer;
 
     /**
      * FIXED ISSUE #1: Auto-update suite status when test cases are loaded
      */
     @Transactional
     public TestSuite importFromCsv(MultipartFile file, String suiteName, String description,
-            Authentication authentication)
+            Long defaultTimeoutMs, Authentication authentication)
             throws IOException, CsvValidationException {
         if (file.isEmpty())
             throw new IllegalArgumentException("CSV file is empty");
@@ -61,11 +83,13 @@ public class TestSuiteService {
         TestSuite suite = new TestSuite();
         suite.setName(suiteName + " - " + System.currentTimeMillis());
         suite.setDescription(description);
+        suite.setDefaultTimeoutMs(defaultTimeoutMs);
         suite.setStatus(TestStatus.PENDING);
         suite.setCreatedBy(currentUser); // FIXED #4: Track creator
         suite = suiteRepository.save(suite);
 
         List<TestCase> cases = new ArrayList<>();
+        List<String> rowErrors = new ArrayList<>();
         try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
             String[] headers = reader.readNext();
             if (headers == null || headers.length < 12)
@@ -108,11 +132,29 @@ public class TestSuiteService {
                 tc.setDescription(row.length > 11 ? row[11] : "");
                 if (row.length > 12)
                     tc.setActionsJson(row[12]);
+                if (row.length > 13 && !row[13].isBlank())
+                    tc.setTimeoutMs(parseWholeCell(row[13], "timeoutMs", rowNum, 1, Long.MAX_VALUE, rowErrors));
+                if (row.length > 14 && !row[14].isBlank()) {
+                    try {
+                        WebVitalsCollector.validateBudget(row[14].trim());
+                        tc.setPerfBudget(row[14].trim());
+                    } catch (IllegalArgumentException e) {
+                        rowErrors.add("row " + rowNum + " " + e.getMessage());
+                    }
+                }
+                if (row.length > 15 && !row[15].isBlank()) {
+                    Long maxRetries = parseWholeCell(row[15], "maxRetries", rowNum, 0, Integer.MAX_VALUE, rowErrors);
+                    tc.setMaxRetries(maxRetries != null ? maxRetries.intValue() : null);
+                }
 
                 tc.setTestSuite(suite);
                 cases.add(tc);
             }
         }
+        // Reported all at once; throwing rolls back the suite created above
+        if (!rowErrors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid CSV: " + String.join("; ", rowErrors));
+        }
 
         caseRepository.saveAll(cases);
         suite.setTestCases(cases);
@@ -126,6 +168,25 @@ public class TestSuiteService {
         return suite;
     }
 
+    /**
+     * Whole number in [min, max] from a CSV cell; otherwise null, with the
+     * row and column added to errors.
+     */
+    private static Long parseWholeCell(String cell, String column, int rowNum, long min, long max,
+            List<String> errors) {
+        try {
+            long value = Long.parseLong(cell.trim());
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        errors.add("row " + rowNum + " " + column + " must be a whole number >= " + min
+                + ", got '" + cell.trim() + "'");
+        return null;
+    }
+
     public List<TestSuite> getAllSuites() {
         return suiteRepository.findAll();
     }
@@ -136,7 +197,15 @@ public class TestSuiteService {
 
     @Async("generalExecutor")
     public CompletableFuture<Void> executeSuiteParallel(Long suiteId, TestRun run, int parallelThreads) {
-        log.info("Starting execution for suite {} with {} threads", suiteId, parallelThreads);
+        return executeSuiteParallel(suiteId, run, parallelThreads, new ExecutionOptions());
+    }
+
+    @Async("generalExecutor")
+    public CompletableFuture<Void> executeSuiteParallel(Long suiteId, TestRun run, int parallelThreads,
+            ExecutionOptions options) {
+        ExecutionMode mode = options.getExecutionMode() != null ? options.getExecutionMode() : ExecutionMode.STANDARD;
+        log.info("Starting execution for suite {} with {} threads ({} mode)", suiteId, parallelThreads, mode);
+        run.setExecutionMode(mode.name());
 
         if (parallelThreads < 1 || parallelThreads > 8) {
             log.warn("Invalid parallelThreads {} for suite {}, defaulting to 1", parallelThreads, suiteId);
@@ -156,6 +225,9 @@ public class TestSuiteService {
                 .filter(tc -> Boolean.TRUE.equals(tc.getRun()))
                 .collect(Collectors.toList());
 
+        // Attach the loaded suite so workers can read its default timeout outside a session
+        suiteRepository.findById(suiteId).ifPresent(suite -> enabledCases.forEach(tc -> tc.setTestSuite(suite)));
+
         if (enabledCases.isEmpty()) {
             log.warn("All test cases disabled for suite {} - marking complete", suiteId);
             run.setStatus(TestStatus.COMPLETED);
@@ -163,21 +235,41 @@ public class TestSuiteService {
             return CompletableFuture.completedFuture(null);
         }
 
-        if (parallelThreads == 1) {
+        if (parallelThreads == 1 && !options.requiresDispatcher()) {
             log.info("Executing suite {} in SEQUENTIAL mode", suiteId);
-            return executeSequential(enabledCases, run, suiteId);
+            return executeSequential(enabledCases, run, suiteId, true);
         }
 
         log.info("Executing suite {} in PARALLEL mode ({} threads)", suiteId, parallelThreads);
-        return executeParallel(enabledCases, run, suiteId);
+        return executeParallel(enabledCases, run, suiteId, parallelThreads, options, true);
+    }
+
+    /**
+     * Run one shard of a sharded suite run on this node, on the caller's
+     * thread until dispatch. The suite status and run-level outcome are left
+     * to the shard aggregator; run metrics are only set on the given instance.
+     */
+    public CompletableFuture<Void> executeShard(List<TestCase> cases, TestRun run, Long suiteId,
+            int parallelThreads, ExecutionOptions options) {
+        if (parallelThreads == 1 && !options.requiresDispatcher()) {
+            return executeSequential(cases, run, suiteId, false);
+        }
+        return executeParallel(cases, run, suiteId, parallelThreads, options, false);
     }
 
-    private CompletableFuture<Void> executeSequential(List<TestCase> cases, TestRun run, Long suiteId) {
+    private CompletableFuture<Void> executeSequential(List<TestCase> cases, TestRun run, Long suiteId,
+            boolean finalizeSuite) {
         int executed = 0;
         int passed = 0;
         int failed = 0;
+        runLedger.expect(run.getId(), (int) cases.stream().filter(tc -> Boolean.TRUE.equals(tc.getRun())).count(),
+                !finalizeSuite);
 
         for (TestCase tc : cases) {
+            if (runCancellation.isCancelled(run.getId())) {
+                log.warn("Run {} cancelled - dropping remaining sequential cases", run.getId());
+                break;
+            }
             if (!Boolean.TRUE.equals(tc.getRun())) {
                 log.debug("Skipping disabled test case: {}", tc.getTestCaseId());
                 continue;
@@ -185,13 +277,9 @@ public class TestSuiteService {
 
             try {
                 log.info("Sequential execution: {} - {}", tc.getTestCaseId(), tc.getTestName());
-                testExecutor.executeTestCase(tc, run);
+                TestResult latest = testExecutor.executeTestCase(tc, run);
 
-                List<TestResult> results = resultRepository.findByTestRunIdAndTestName(
-                        run.getId(), tc.getTestName());
-
-                if (!results.isEmpty()) {
-                    TestResult latest = results.get(results.size() - 1);
+                if (latest != null) {
                     if (latest.getStatus() == TestStatus.PASSED) {
                         passed++;
                         log.info("✓ PASSED: {}", tc.getTestCaseId());
@@ -223,66 +311,410 @@ public class TestSuiteService {
             run.setStatus(TestStatus.FAILED);
             log.warn("Sequential suite FAILED: 0/{} passed", executed);
         }
+        if (runCancellation.isCancelled(run.getId())) {
+            run.setStatus(TestStatus.CANCELLED);
+        }
 
-        updateSuiteStatus(suiteId);
+        if (finalizeSuite) {
+            updateSuiteStatus(suiteId);
+        }
         return CompletableFuture.completedFuture(null);
     }
 
-    private CompletableFuture<Void> executeParallel(List<TestCase> cases, TestRun run, Long suiteId) {
-        List<TestCase> uiCases = cases.stream()
+    private CompletableFuture<Void> executeParallel(List<TestCase> cases, TestRun run, Long suiteId,
+            int parallelThreads, ExecutionOptions options, boolean finalizeSuite) {
+        ExecutionMode mode = options.getExecutionMode() != null ? options.getExecutionMode() : ExecutionMode.STANDARD;
+        // A shard or work batch is one part of the run: fail-fast counts over the whole run
+        RunTracker tracker = new RunTracker(run.getId(), options, !finalizeSuite);
+        runLedger.expect(run.getId(), cases.size(), !finalizeSuite);
+
+        // Priority mode: High, Medium, Low tiers run one after another; otherwise one tier
+        List<List<TestCase>> tiers = options.isPriorityFirst()
+                ? CaseScheduler.priorityTiers(cases)
+                : List.of(cases);
+        Map<String, Long> estimates = caseScheduler.estimate(cases);
+        tracker.estimates = estimates;
+        if (options.isAdaptive()) {
+            startAdaptive(cases, parallelThreads, mode, tracker);
+        }
+
+        long predictedMakespan = 0;
+        long unorderedMakespan = 0;
+        List<List<TestCase>> scheduledTiers = new ArrayList<>();
+        for (List<TestCase> tier : tiers) {
+            TierPlan plan = planTier(tier, estimates, mode);
+            scheduledTiers.add(plan.cases());
+            predictedMakespan += plan.predictedMakespanMs();
+            unorderedMakespan += plan.unorderedMakespanMs();
+        }
+        run.setPredictedMakespanMs(predictedMakespan);
+        log.info("Suite {} predicted makespan {}ms (CSV order: {}ms) over {} tier(s)", suiteId,
+                predictedMakespan, unorderedMakespan, scheduledTiers.size());
+
+        long startedAt = System.currentTimeMillis();
+
+        // Later tiers are dispatched on a virtual thread: dispatch may wait for adaptive
+        // slots and must not hold the pool thread that finished the previous tier
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (List<TestCase> tier : scheduledTiers) {
+            chain = chain.thenComposeAsync(ignored -> {
+                if (runCancellation.isCancelled(run.getId())) {
+                    log.warn("Run {} stopped - skipping {} remaining cases", run.getId(), tier.size());
+                    return CompletableFuture.completedFuture(null);
+                }
+                return dispatchTier(tier, run, mode, tracker);
+            }, apiVirtualExecutor);
+        }
+
+        return chain.whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Parallel execution completed with errors: {}", ex.getMessage());
+            } else {
+                log.info("Suite {} parallel execution completed successfully", suiteId);
+            }
+
+            long elapsedMs = Math.max(1, System.currentTimeMillis() - startedAt);
+            run.setActualMakespanMs(elapsedMs);
+            run.setPeakConcurrency(tracker.peak.get());
+            run.setThroughputPerSec(tracker.completed.get() * 1000.0 / elapsedMs);
+            long firstFailureAt = tracker.firstFailureAt.get();
+            run.setTimeToFirstFailureMs(firstFailureAt > 0 ? firstFailureAt - startedAt : null);
+            run.setFailFastTriggered(tracker.failFastTriggered.get());
+            if (tracker.timeline != null) {
+                run.setConcurrencyTimeline(tracker.timeline.toJson());
+            }
+            log.info("Suite {} achieved peak concurrency {} and {} tests/sec over {}ms (predicted {}ms)",
+                    suiteId, tracker.peak.get(), String.format("%.2f", run.getThroughputPerSec()), elapsedMs,
+                    run.getPredictedMakespanMs());
+
+            if (finalizeSuite) {
+                updateSuiteStatus(suiteId);
+            }
+        });
+    }
+
+    /**
+     * Adaptive mode: one AIMD limiter per lane, starting at parallelThreads and
+     * capped by what the lane can actually run (pool threads / API permits).
+     */
+    private void startAdaptive(List<TestCase> cases, int parallelThreads, ExecutionMode mode, RunTracker tracker) {
+        int uiCount = (int) cases.stream().filter(tc -> "UI".equals(tc.getTestType())).count();
+        int apiCount = cases.size() - uiCount;
+        int apiCeiling = mode == ExecutionMode.STANDARD
+                ? CaseScheduler.effectiveSlots(apiTestExecutor, apiCount, 8)
+                : apiConcurrencyLimiter.getMaxConcurrency();
+
+        tracker.timeline = new AdaptiveLimiter.Timeline();
+        tracker.uiLimiter = adaptiveController.newLimiter("UI", parallelThreads,
+                CaseScheduler.effectiveSlots(uiTestExecutor, uiCount, 4), tracker.timeline);
+        tracker.apiLimiter = adaptiveController.newLimiter("API", parallelThreads, apiCeiling, tracker.timeline);
+    }
+
+    private record TierPlan(List<TestCase> cases, long predictedMakespanMs, long unorderedMakespanMs) {
+    }
+
+    /**
+     * Longest-expected-first per lane; a tier takes as long as its slower lane.
+     */
+    private TierPlan planTier(List<TestCase> tier, Map<String, Long> estimates, ExecutionMode mode) {
+        List<TestCase> uiCases = tier.stream()
                 .filter(tc -> "UI".equals(tc.getTestType()))
                 .collect(Collectors.toList());
-
-        List<TestCase> apiCases = cases.stream()
+        List<TestCase> apiCases = tier.stream()
                 .filter(tc -> "API".equals(tc.getTestType()))
                 .collect(Collectors.toList());
 
-        log.info("Executing {} UI tests and {} API tests in parallel", uiCases.size(), apiCases.size());
+        int apiSlots = switch (mode) {
+            case VIRTUAL -> Math.min(apiCases.size(), apiConcurrencyLimiter.getMaxConcurrency());
+            case ASYNC -> apiCases.size();
+            default -> CaseScheduler.effectiveSlots(apiTestExecutor, apiCases.size(), 8);
+        };
+        CaseScheduler.Schedule uiSchedule = caseScheduler.schedule(uiCases, estimates,
+                CaseScheduler.effectiveSlots(uiTestExecutor, uiCases.size(), 4));
+        CaseScheduler.Schedule apiSchedule = caseScheduler.schedule(apiCases, estimates, apiSlots);
+
+        List<TestCase> ordered = new ArrayList<>(uiSchedule.cases());
+        ordered.addAll(apiSchedule.cases());
+        return new TierPlan(ordered,
+                Math.max(uiSchedule.predictedMakespanMs(), apiSchedule.predictedMakespanMs()),
+                Math.max(uiSchedule.unorderedMakespanMs(), apiSchedule.unorderedMakespanMs()));
+    }
 
-        List<CompletableFuture<Void>> uiFutures = uiCases.stream()
-                .map(tc -> CompletableFuture.runAsync(() -> {
-                    try {
-                        log.debug("Executing UI test: {}", tc.getTestCaseId());
-                        testExecutor.executeTestCase(tc, run);
-                    } catch (Exception e) {
-                        log.error("UI test {} failed: {}", tc.getTestCaseId(), e.getMessage());
-                    }
-                }, uiTestExecutor))
+    /**
+     * Each lane is dispatched by its own loop, the API lane on a virtual
+     * thread: in adaptive mode a loop waits for its lane's slots, and one
+     * lane at its limit must not hold back the other.
+     */
+    private CompletableFuture<Void> dispatchTier(List<TestCase> tier, TestRun run, ExecutionMode mode,
+            RunTracker tracker) {
+        List<TestCase> uiCases = tier.stream()
+                .filter(tc -> "UI".equals(tc.getTestType()))
                 .collect(Collectors.toList());
-
-        List<CompletableFuture<Void>> apiFutures = apiCases.stream()
-                .map(tc -> CompletableFuture.runAsync(() -> {
-                    try {
-                        log.debug("Executing API test: {}", tc.getTestCaseId());
-                        testExecutor.executeTestCase(tc, run);
-                    } catch (Exception e) {
-                        log.error("API test {} failed: {}", tc.getTestCaseId(), e.getMessage());
-                    }
-                }, apiTestExecutor))
+        List<TestCase> apiCases = tier.stream()
+                .filter(tc -> "API".equals(tc.getTestType()))
                 .collect(Collectors.toList());
+        log.info("Executing {} UI tests and {} API tests in parallel ({} API lane)",
+                uiCases.size(), apiCases.size(), mode);
+
+        CompletableFuture<Void> apiLane = apiCases.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.supplyAsync(() -> dispatchLane(apiCases, run, mode, tracker), apiVirtualExecutor)
+                        .thenCompose(Function.identity());
+        CompletableFuture<Void> uiLane = dispatchLane(uiCases, run, mode, tracker);
+        return CompletableFuture.allOf(uiLane, apiLane).whenComplete((ignored, error) ->
+                log.info("Run {} admission: {}", run.getId(), admissionController.getRunStatus(run.getId())));
+    }
 
-        List<CompletableFuture<Void>> allFutures = new ArrayList<>();
-        allFutures.addAll(uiFutures);
-        allFutures.addAll(apiFutures);
+    private CompletableFuture<Void> dispatchLane(List<TestCase> lane, TestRun run, ExecutionMode mode,
+            RunTracker tracker) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (TestCase tc : lane) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.error("Run {} dispatch interrupted - {} {} cases not started", run.getId(),
+                        lane.size() - futures.size(), tc.getTestType());
+                break;
+            }
+            if ("UI".equals(tc.getTestType())) {
+                futures.add(dispatchGated(tc, tracker,
+                        task -> admissionController.submit(AdmissionController.Lane.UI, run.getId(), task),
+                        () -> executeTracked(tc, run, tracker)));
+            } else {
+                futures.add(switch (mode) {
+                    case VIRTUAL -> dispatchGated(tc, tracker,
+                            task -> CompletableFuture.runAsync(task, apiVirtualExecutor),
+                            () -> runOnVirtualLane(tc, run, tracker));
+                    case ASYNC -> runAsyncPipeline(tc, run, tracker);
+                    default -> dispatchGated(tc, tracker,
+                            task -> admissionController.submit(AdmissionController.Lane.API, run.getId(), task),
+                            () -> executeTracked(tc, run, tracker));
+                });
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
 
-        CompletableFuture<Void> allOf = CompletableFuture.allOf(
-                allFutures.toArray(new CompletableFuture[0]));
+    private TestResult executeTracked(TestCase tc, TestRun run, RunTracker tracker) {
+        tracker.peak.accumulateAndGet(tracker.inFlight.incrementAndGet(), Math::max);
+        try {
+            log.debug("Executing {} test: {}", tc.getTestType(), tc.getTestCaseId());
+            TestResult result = testExecutor.executeTestCase(tc, run);
+            onResult(tc, result, tracker);
+            return result;
+        } catch (Exception e) {
+            log.error("{} test {} failed: {}", tc.getTestType(), tc.getTestCaseId(), e.getMessage());
+            return null;
+        } finally {
+            tracker.inFlight.decrementAndGet();
+            tracker.completed.incrementAndGet();
+        }
+    }
 
-        return allOf.whenComplete((result, ex) -> {
-            if (ex != null) {
-                log.error("Parallel execution completed with errors: {}", ex.getMessage());
+    /**
+     * Adaptive mode: wait for a slot under the lane's current limit on the
+     * lane's dispatching thread, so pool threads and admission slots only go to tests
+     * that may start. The slot is released, with the test's duration, when the
+     * submitted future completes.
+     */
+    private CompletableFuture<Void> dispatchGated(TestCase tc, RunTracker tracker,
+            Function<Runnable, CompletableFuture<Void>> submit, Supplier<TestResult> body) {
+        AdaptiveLimiter limiter = tracker.limiterFor(tc);
+        if (limiter == null) {
+            return submit.apply(body::get);
+        }
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("{} test {} interrupted before start", tc.getTestType(), tc.getTestCaseId());
+            return CompletableFuture.completedFuture(null);
+        }
+        AtomicReference<TestResult> result = new AtomicReference<>();
+        AtomicLong startedAt = new AtomicLong();
+        CompletableFuture<Void> future;
+        try {
+            future = submit.apply(() -> {
+                startedAt.set(System.currentTimeMillis());
+                result.set(body.get());
+            });
+        } catch (RuntimeException e) {
+            tracker.release(limiter, tc, null, 0);
+            throw e;
+        }
+        return future.whenComplete((ignored, error) -> tracker.release(limiter, tc, result.get(),
+                startedAt.get() > 0 ? System.currentTimeMillis() - startedAt.get() : 0));
+    }
+
+    /**
+     * VIRTUAL mode: the virtual thread parks on the global/per-host permits
+     * instead of occupying a pooled platform thread.
+     */
+    private TestResult runOnVirtualLane(TestCase tc, TestRun run, RunTracker tracker) {
+        String host = ApiRequest.fromTestCase(tc).host();
+        try {
+            apiConcurrencyLimiter.acquire(host);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("API test {} interrupted before start", tc.getTestCaseId());
+            return null;
+        }
+        try {
+            return executeTracked(tc, run, tracker);
+        } finally {
+            apiConcurrencyLimiter.release(host);
+        }
+    }
+
+    /**
+     * ASYNC mode: submitted from this dispatching thread, which blocks only
+     * while the pipeline's in-flight limit is reached.
+     */
+    private CompletableFuture<Void> runAsyncPipeline(TestCase tc, TestRun run, RunTracker tracker) {
+        AdaptiveLimiter limiter = tracker.limiterFor(tc);
+        if (limiter != null) {
+            try {
+                limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("API test {} interrupted before start", tc.getTestCaseId());
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        long startedAt = System.currentTimeMillis();
+        tracker.peak.accumulateAndGet(tracker.inFlight.incrementAndGet(), Math::max);
+        return testExecutor.executeTestCaseAsync(tc, run)
+                .whenComplete((result, error) -> tracker.release(limiter, tc, error == null ? result : null,
+                        System.currentTimeMillis() - startedAt))
+                .thenAccept(result -> onResult(tc, result, tracker))
+                .whenComplete((ignored, error) -> {
+                    tracker.inFlight.decrementAndGet();
+                    tracker.completed.incrementAndGet();
+                });
+    }
+
+    /**
+     * Record the first failure and apply the fail-fast policy.
+     */
+    private void onResult(TestCase tc, TestResult result, RunTracker tracker) {
+        if (result == null || result.getStatus() == null || !result.getStatus().isFailure()) {
+            return;
+        }
+        tracker.firstFailureAt.compareAndSet(0, System.currentTimeMillis());
+
+        Integer threshold = tracker.options.getFailFastAfter();
+        if (threshold == null
+                || CaseScheduler.priorityRank(tc.getPriority())
+                        > CaseScheduler.priorityRank(tracker.options.getFailFastPriority())) {
+            return;
+        }
+        int criticalFailures = tracker.runWideCounts
+                ? runCancellation.recordCriticalFailure(tracker.runId)
+                : tracker.criticalFailures.incrementAndGet();
+        if (criticalFailures >= threshold && tracker.failFastTriggered.compareAndSet(false, true)) {
+            log.warn("Run {} fail-fast: {} critical failure(s), last {} ({} priority)",
+                    tracker.runId, criticalFailures, tc.getTestCaseId(), tc.getPriority());
+            runCancellation.failFast(tracker.runId);
+        }
+    }
+
+    /**
+     * Counters, fail-fast and adaptive-concurrency state of one parallel run.
+     */
+    private static class RunTracker {
+        private final Long runId;
+        private final ExecutionOptions options;
+        private final boolean runWideCounts;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger criticalFailures = new AtomicInteger();
+        private final AtomicLong firstFailureAt = new AtomicLong();
+        private final AtomicBoolean failFastTriggered = new AtomicBoolean();
+        private Map<String, Long> estimates = Map.of();
+        private AdaptiveLimiter.Timeline timeline;
+        private AdaptiveLimiter uiLimiter;
+        private AdaptiveLimiter apiLimiter;
+
+        RunTracker(Long runId, ExecutionOptions options, boolean runWideCounts) {
+            this.runId = runId;
+            this.options = options;
+            this.runWideCounts = runWideCounts;
+        }
+
+        AdaptiveLimiter limiterFor(TestCase tc) {
+            return "UI".equals(tc.getTestType()) ? uiLimiter : apiLimiter;
+        }
+
+        /**
+         * Cancelled or dropped tests free their slot without counting as a sample.
+         */
+        void release(AdaptiveLimiter limiter, TestCase tc, TestResult result, long durationMs) {
+            if (limiter == null) {
+                return;
+            }
+            if (result == null || result.getStatus() == null || result.getStatus() == TestStatus.CANCELLED) {
+                limiter.releaseUnmeasured();
             } else {
-                log.info("Suite {} parallel execution completed successfully", suiteId);
+                limiter.release(durationMs, estimates.getOrDefault(tc.getTestCaseId(), 0L), result.getStatus());
             }
+        }
+    }
 
-            updateSuiteStatus(suiteId);
-        });
+    /**
+     * Cases of a shard or work batch without a result in the run yet, so a
+     * redelivered shard doesn't run cases that already finished.
+     */
+    public List<TestCase> casesWithoutResult(Long runId, List<TestCase> cases) {
+        Set<String> recorded = resultStatuses(runId, cases).keySet();
+        return cases.stream()
+                .filter(tc -> !recorded.contains(tc.getTestName()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Outcome of a shard or work batch from its saved results (flush the
+     * result buffer first): PASSED if every case passed, FAILED if none did,
+     * COMPLETED otherwise, including cases that left no result.
+     */
+    public TestStatus outcomeOf(Long runId, List<TestCase> cases) {
+        if (cases.isEmpty()) {
+            return TestStatus.COMPLETED;
+        }
+        Map<String, List<TestStatus>> statuses = resultStatuses(runId, cases);
+        long passed = 0;
+        long failed = 0;
+        for (TestCase tc : cases) {
+            List<TestStatus> caseStatuses = statuses.getOrDefault(tc.getTestName(), List.of());
+            if (caseStatuses.stream().anyMatch(status -> status != null && status.isFailure())) {
+                failed++;
+            } else if (caseStatuses.contains(TestStatus.PASSED)) {
+                passed++;
+            }
+        }
+        if (passed == cases.size()) {
+            return TestStatus.PASSED;
+        }
+        return passed == 0 && failed > 0 ? TestStatus.FAILED : TestStatus.COMPLETED;
+    }
+
+    private Map<String, List<TestStatus>> resultStatuses(Long runId, List<TestCase> cases) {
+        Set<String> names = cases.stream().map(TestCase::getTestName).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<TestStatus>> statuses = new HashMap<>();
+        for (Object[] row : resultRepository.findStatusesByRunIdAndTestNames(runId, names)) {
+            statuses.computeIfAbsent((String) row[0], name -> new ArrayList<>()).add((TestStatus) row[1]);
+        }
+        return statuses;
     }
 
     /**
      * FIXED: Update suite status with actual test results
      */
     public void updateSuiteStatus(Long suiteId) {
+        // The run is over on this node: make its buffered results visible to readers
+        resultWriteBuffer.flush();
         TestSuite suite = getSuiteById(suiteId);
         if (suite == null || suite.getTestRun() == null) {
             log.warn("Cannot update status: suite or testRun is null for ID {}", suiteId);
@@ -290,21 +722,34 @@ public class TestSuiteService {
         }
 
         Long runId = suite.getTestRun().getId();
-        List<TestResult> results = resultRepository.findByTestRunId(runId);
-
-        if (results.isEmpty()) {
-            log.warn("No test results found for run ID {} (suite {})", runId, suiteId);
-            suite.setStatus(TestStatus.PENDING);
+        long total = suite.getTestCases().stream()
+                .filter(tc -> Boolean.TRUE.equals(tc.getRun()))
+                .count();
+        long passed;
+        long failed;
+        long recorded;
+
+        // The ledger covers the run if every case ran on this node; otherwise count the saved results
+        RunLedger.Progress progress = runLedger.progress(runId);
+        if (progress != null && progress.done() >= total) {
+            passed = progress.passed();
+            failed = progress.failed();
+            recorded = progress.done();
         } else {
-            long total = suite.getTestCases().stream()
-                    .filter(tc -> Boolean.TRUE.equals(tc.getRun()))
-                    .count();
-            long passed = results.stream()
+            List<TestResult> results = resultRepository.findByTestRunId(runId);
+            passed = results.stream()
                     .filter(r -> r.getStatus() == TestStatus.PASSED)
                     .count();
-            long failed = results.stream()
-                    .filter(r -> r.getStatus() == TestStatus.FAILED)
+            failed = results.stream()
+                    .filter(r -> r.getStatus() != null && r.getStatus().isFailure())
                     .count();
+            recorded = results.size();
+        }
+
+        if (recorded == 0) {
+            log.warn("No test results found for run ID {} (suite {})", runId, suiteId);
+            suite.setStatus(TestStatus.PENDING);
+        } else {
 
             if (passed == total && failed == 0) {
                 suite.setStatus(TestStatus.PASSED);
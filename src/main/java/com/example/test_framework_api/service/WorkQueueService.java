@@ -0,0 +1,412 @@
+package com.example.test_framework_api.service;
+
+import com.example.test_framework_api.dto.ExecutionOptions;
+import com.example.test_framework_api.dto.WorkPullRequest;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.WorkItem;
+import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.repository.WorkItemRepository;
+import com.example.test_framework_api.worker.WorkerNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.example.test_framework_api.config.RabbitMQConfig.WORK_PULL_QUEUE;
+
+/**
+ * Pull-based (work-stealing) distribution of a suite run over worker nodes.
+ *
+ * The run's cases become WorkItems in the database, longest expected first
+ * (per priority tier with priorityFirst, each tier leased only once the
+ * previous one finished), and pullWorkers invitations go to workPullQueue.
+ * Each worker that takes an invitation leases small batches (FOR UPDATE SKIP
+ * LOCKED, so concurrent workers never block on each other), runs them and
+ * leases again until the queue is empty, so fast nodes end up running more
+ * cases. A lease lasts leaseMs and is renewed every leaseMs / 3 while its
+ * batch runs; the same timer puts expired leases of every run (a worker
+ * that died or stalled) back to PENDING, outside the lease transaction.
+ * The worker that completes the last item finalizes the run, including
+ * per-worker throughput (workerStats).
+ *
+ * Transactional steps live here; the pull loop runs in WorkerListener.
+ */
+@Service
+@Slf4j
+public class WorkQueueService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<TestStatus> OPEN = List.of(TestStatus.PENDING, TestStatus.RUNNING);
+
+    /**
+     * Leased items and their cases (scheduled order, suite attached).
+     */
+    public record Batch(List<WorkItem> items, List<TestCase> cases) {
+
+        public boolean isEmpty() {
+            return items.isEmpty();
+        }
+    }
+
+    private final WorkItemRepository itemRepository;
+    private final TestRunRepository runRepository;
+    private final TestCaseRepository caseRepository;
+    private final TestSuiteRepository suiteRepository;
+    private final TestResultRepository resultRepository;
+    private final CaseScheduler caseScheduler;
+    private final TestSuiteService suiteService;
+    private final RunCancellationService runCancellation;
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final long leaseMs;
+    private final long pollMs;
+
+    // Item ids of the batches this node is running, renewed by the heartbeat
+    private final Set<List<Long>> activeLeases = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService leaseKeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "work-lease-keeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WorkQueueService(WorkItemRepository itemRepository, TestRunRepository runRepository,
+            TestCaseRepository caseRepository, TestSuiteRepository suiteRepository,
+            TestResultRepository resultRepository, CaseScheduler caseScheduler, TestSuiteService suiteService,
+            RunCancellationService runCancellation, RabbitTemplate rabbitTemplate,
+            @Value("${executor.work-queue.batch-size:4}") int batchSize,
+            @Value("${executor.work-queue.lease-ms:60000}") long leaseMs,
+            @Value("${executor.work-queue.poll-ms:2000}") long pollMs) {
+        this.itemRepository = itemRepository;
+        this.runRepository = runRepository;
+        this.caseRepository = caseRepository;
+        this.suiteRepository = suiteRepository;
+        this.resultRepository = resultRepository;
+        this.caseScheduler = caseScheduler;
+        this.suiteService = suiteService;
+        this.runCancellation = runCancellation;
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.leaseMs = Math.max(300, leaseMs);
+        this.pollMs = pollMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLeaseKeeper() {
+        long heartbeatMs = leaseMs / 3;
+        leaseKeeper.scheduleWithFixedDelay(() -> {
+            try {
+                renewLeases();
+            } catch (Exception e) {
+                log.warn("Work lease renewal failed: {}", e.getMessage());
+            }
+            try {
+                reclaimExpired();
+            } catch (Exception e) {
+                log.warn("Work lease reclaim failed: {}", e.getMessage());
+            }
+        }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue the enabled cases of a run and invite pullWorkers worker slots.
+     */
+    public int enqueue(TestRun run, Long suiteId, List<TestCase> cases, int parallelThreads,
+            ExecutionOptions options) {
+        List<TestCase> enabled = cases.stream()
+                .filter(tc -> Boolean.TRUE.equals(tc.getRun()))
+                .collect(Collectors.toList());
+        if (enabled.isEmpty()) {
+            log.warn("All test cases disabled for suite {} - marking complete", suiteId);
+            run.setStatus(TestStatus.COMPLETED);
+            runRepository.save(run);
+            suiteService.updateSuiteStatus(suiteId);
+            return 0;
+        }
+
+        Map<String, Long> estimates = caseScheduler.estimate(enabled);
+        // Priority mode: High, Medium, Low tiers are leased one after another, like a local run
+        List<List<TestCase>> tiers = options.isPriorityFirst()
+                ? CaseScheduler.priorityTiers(enabled)
+                : List.of(enabled);
+        List<WorkItem> items = new ArrayList<>();
+        for (int tier = 0; tier < tiers.size(); tier++) {
+            for (TestCase tc : caseScheduler.schedule(tiers.get(tier), estimates, 1).cases()) {
+                WorkItem item = new WorkItem();
+                item.setTestRunId(run.getId());
+                item.setTestSuiteId(suiteId);
+                item.setTestCaseId(tc.getTestCaseId());
+                item.setPriorityTier(tier);
+                item.setPosition(items.size());
+                item.setExpectedMs(estimates.get(tc.getTestCaseId()));
+                items.add(item);
+            }
+        }
+
+        run.setStatus(TestStatus.RUNNING);
+        run.setWorkItemCount(items.size());
+        run.setCompletedWorkItems(0);
+        run.setExecutionMode(options.getExecutionMode() != null ? options.getExecutionMode().name() : null);
+        runRepository.save(run);
+        itemRepository.saveAll(items);
+
+        int invitations = Math.min(options.getPullWorkers(), items.size());
+        for (int i = 0; i < invitations; i++) {
+            WorkPullRequest request = new WorkPullRequest();
+            request.setTestRunId(run.getId());
+            request.setTestSuiteId(suiteId);
+            request.setParallelThreads(parallelThreads);
+            request.setOptions(options);
+            rabbitTemplate.convertAndSend(WORK_PULL_QUEUE, request);
+        }
+        log.info("Run {} queued {} work items for {} pulling workers (batch size {})", run.getId(), items.size(),
+                invitations, batchSize);
+        return items.size();
+    }
+
+    /**
+     * Lease the next batch of the run's first unfinished priority tier to
+     * this worker. Empty when nothing of that tier is pending.
+     */
+    @Transactional
+    public Batch lease(Long runId) {
+        Integer tier = itemRepository.findOpenTier(runId, OPEN);
+        if (tier == null) {
+            return new Batch(List.of(), List.of());
+        }
+        List<Long> ids = itemRepository.lockPending(runId, tier, batchSize);
+        if (ids.isEmpty()) {
+            return new Batch(List.of(), List.of());
+        }
+        List<WorkItem> items = itemRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(WorkItem::getPosition))
+                .collect(Collectors.toList());
+        List<TestCase> cases = casesOf(items);
+
+        LocalDateTime now = LocalDateTime.now();
+        itemRepository.lease(ids, WorkerNode.ID, now, now.plusNanos(leaseMs * 1_000_000L), TestStatus.RUNNING);
+        Batch batch = new Batch(items, cases);
+        activeLeases.add(idsOf(batch));
+        return batch;
+    }
+
+    /**
+     * Heartbeat: extend the leases of the batches this node is running.
+     * A batch whose items were all reclaimed meanwhile is no longer renewed.
+     */
+    public void renewLeases() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusNanos(leaseMs * 1_000_000L);
+        for (List<Long> ids : activeLeases) {
+            int renewed = itemRepository.renewLease(ids, WorkerNode.ID, expiresAt, TestStatus.RUNNING);
+            if (renewed < ids.size()) {
+                log.warn("{} of {} leased work items were reclaimed before their lease was renewed",
+                        ids.size() - renewed, ids.size());
+            }
+            if (renewed == 0) {
+                activeLeases.remove(ids);
+            }
+        }
+    }
+
+    /**
+     * Put the items of expired leases, of any run, back to PENDING.
+     */
+    public int reclaimExpired() {
+        int reclaimed = itemRepository.reclaimExpired(LocalDateTime.now(), TestStatus.PENDING, TestStatus.RUNNING);
+        if (reclaimed > 0) {
+            log.warn("Reclaimed {} work items from stalled leases", reclaimed);
+        }
+        return reclaimed;
+    }
+
+    private List<TestCase> casesOf(List<WorkItem> items) {
+        List<String> ids = items.stream().map(WorkItem::getTestCaseId).collect(Collectors.toList());
+        Map<String, TestCase> byId = caseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TestCase::getTestCaseId, Function.identity()));
+        List<TestCase> cases = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        if (!items.isEmpty()) {
+            suiteRepository.findById(items.get(0).getTestSuiteId())
+                    .ifPresent(suite -> cases.forEach(tc -> tc.setTestSuite(suite)));
+        }
+        return cases;
+    }
+
+    /**
+     * Mark a batch done with its outcome (PASSED, FAILED or COMPLETED, see
+     * TestSuiteService.outcomeOf) and stop renewing its lease. Items whose
+     * lease was reclaimed meanwhile are left to their new owner.
+     */
+    @Transactional
+    public void complete(Batch batch, TestStatus outcome) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        WorkItem first = batch.items().get(0);
+        List<Long> ids = idsOf(batch);
+        activeLeases.remove(ids);
+        int done = itemRepository.complete(ids, WorkerNode.ID, outcome, LocalDateTime.now(), TestStatus.RUNNING);
+        if (done < ids.size()) {
+            log.warn("Run {}: {} of {} items were reclaimed before this worker finished them",
+                    first.getTestRunId(), ids.size() - done, ids.size());
+        }
+        countDone(first.getTestRunId(), first.getTestSuiteId(), done);
+    }
+
+    /**
+     * Drop every PENDING item of a stopped run: CANCELLED by the user, or
+     * FAILED after fail-fast.
+     */
+    @Transactional
+    public void dropPending(Long runId, Long suiteId, TestStatus reason) {
+        int dropped = itemRepository.cancelPending(runId, LocalDateTime.now(), TestStatus.PENDING, reason);
+        if (dropped > 0) {
+            log.warn("Run {}: dropped {} pending work items ({})", runId, dropped, reason);
+        }
+        countDone(runId, suiteId, dropped);
+    }
+
+    /**
+     * Items not finished yet (pending or leased by any worker).
+     */
+    public boolean hasOutstanding(Long runId) {
+        return itemRepository.countByTestRunIdAndStatus(runId, TestStatus.PENDING) > 0
+                || itemRepository.countByTestRunIdAndStatus(runId, TestStatus.RUNNING) > 0;
+    }
+
+    public long getPollMs() {
+        return pollMs;
+    }
+
+    private static List<Long> idsOf(Batch batch) {
+        return batch.items().stream().map(WorkItem::getId).collect(Collectors.toList());
+    }
+
+    private void countDone(Long runId, Long suiteId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        runRepository.incrementCompletedWorkItems(runId, count);
+        Integer completed = runRepository.findCompletedWorkItems(runId);
+        TestRun run = runRepository.findById(runId).orElse(null);
+        if (run != null && completed != null && run.getWorkItemCount() != null
+                && completed >= run.getWorkItemCount()) {
+            finalizeRun(run, suiteId);
+        }
+    }
+
+    private void finalizeRun(TestRun run, Long suiteId) {
+        List<WorkItem> items = itemRepository.findByTestRunId(run.getId());
+
+        // Same rule as a local run: PASSED if every batch passed, FAILED if every batch failed
+        TestStatus outcome = TestStatus.COMPLETED;
+        if (items.stream().allMatch(i -> i.getStatus() == TestStatus.PASSED)) {
+            outcome = TestStatus.PASSED;
+        } else if (items.stream().allMatch(i -> i.getStatus() == TestStatus.FAILED)) {
+            outcome = TestStatus.FAILED;
+        }
+        if (run.getStatus() == TestStatus.CANCELLED) {
+            outcome = TestStatus.CANCELLED;
+        }
+
+        LocalDateTime startedAt = items.stream().map(WorkItem::getLeasedAt).filter(Objects::nonNull)
+                .min(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime finishedAt = items.stream().map(WorkItem::getFinishedAt).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(null);
+        if (startedAt != null && finishedAt != null) {
+            long elapsedMs = Math.max(1, Duration.between(startedAt, finishedAt).toMillis());
+            long completed = resultRepository.countByRunIdAndStatus(run.getId(), TestStatus.PASSED)
+                    + resultRepository.countByRunIdAndStatus(run.getId(), TestStatus.FAILED)
+                    + resultRepository.countByRunIdAndStatus(run.getId(), TestStatus.TIMEOUT);
+            run.setActualMakespanMs(elapsedMs);
+            run.setThroughputPerSec(completed * 1000.0 / elapsedMs);
+        }
+        List<Map<String, Object>> stats = workerStats(items);
+        try {
+            run.setWorkerStats(MAPPER.writeValueAsString(stats));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not store worker stats of run {}: {}", run.getId(), e.getMessage());
+        }
+        run.setStatus(runCancellation.finish(run.getId(), outcome));
+        runRepository.save(run);
+        suiteService.updateSuiteStatus(suiteId);
+        log.info("Pull-based run {} finalized as {} ({} items, {} workers)", run.getId(), run.getStatus(),
+                items.size(), stats.size());
+    }
+
+    /**
+     * Per worker: items finished, time from its first lease to its last
+     * completion, and cases per second over that time. Busiest worker first.
+     */
+    public static List<Map<String, Object>> workerStats(List<WorkItem> items) {
+        Map<String, List<WorkItem>> byWorker = new TreeMap<>();
+        for (WorkItem item : items) {
+            if (item.getLeaseOwner() != null && item.getFinishedAt() != null && item.getLeasedAt() != null) {
+                byWorker.computeIfAbsent(item.getLeaseOwner(), owner -> new ArrayList<>()).add(item);
+            }
+        }
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (Map.Entry<String, List<WorkItem>> entry : byWorker.entrySet()) {
+            List<WorkItem> done = entry.getValue();
+            LocalDateTime first = done.stream().map(WorkItem::getLeasedAt).min(Comparator.naturalOrder()).get();
+            LocalDateTime last = done.stream().map(WorkItem::getFinishedAt).max(Comparator.naturalOrder()).get();
+            long activeMs = Math.max(1, Duration.between(first, last).toMillis());
+            Map<String, Object> worker = new LinkedHashMap<>();
+            worker.put("workerId", entry.getKey());
+            worker.put("cases", done.size());
+            worker.put("activeMs", activeMs);
+            worker.put("casesPerSec", Math.round(done.size() * 1000.0 / activeMs * 100.0) / 100.0);
+            stats.add(worker);
+        }
+        stats.sort(Comparator.comparing((Map<String, Object> w) -> (Integer) w.get("cases")).reversed());
+        return stats;
+    }
+
+    /**
+     * Live queue state of a run: items per status and per-worker throughput so far.
+     */
+    public Map<String, Object> getQueueStatus(Long runId) {
+        List<WorkItem> items = itemRepository.findByTestRunId(runId);
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("testRunId", runId);
+        status.put("items", items.size());
+        Map<TestStatus, Long> byStatus = items.stream()
+                .collect(Collectors.groupingBy(WorkItem::getStatus, TreeMap::new, Collectors.counting()));
+        status.put("byStatus", byStatus);
+        status.put("reclaimed", items.stream().filter(i -> i.getAttempts() != null && i.getAttempts() > 1).count());
+        status.put("workers", workerStats(items));
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseKeeper.shutdownNow();
+    }
+}
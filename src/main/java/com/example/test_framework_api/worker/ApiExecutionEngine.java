@@ -0,0 +1,29 @@
+package com.example.test_framework_api.worker;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pluggable HTTP client used by TestExecutor for API test cases.
+ * The active engine is chosen with executor.api.engine (pooled | restassured).
+ */
+public interface ApiExecutionEngine {
+
+    /**
+     * Engine name matched against executor.api.engine.
+     */
+    String name();
+
+    ApiResponse execute(ApiRequest request);
+
+    /**
+     * Non-blocking variant used by the ASYNC pipeline. Cancelling (or failing)
+     * the returned future should abort the underlying call. Engines without
+     * an async client fall back to a blocking call on the common pool.
+     */
+    default CompletableFuture<ApiResponse> executeAsync(ApiRequest request) {
+        return CompletableFuture.supplyAsync(() -> execute(request));
+    }
+
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,370 @@
+package com.example.test_framework_api.worker;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled form of an API case's expectedResult.
+ *
+ * An expectation is a list of clauses separated by ';', each compiled once
+ * into a predicate on the response:
+ * <pre>
+ *   200                      status is 200 (legacy: "200 OK", text after the code is ignored)
+ *   200 within 300ms         status and response time
+ *   status 2xx               status class; also "status 200,201"
+ *   time &lt; 300ms             response time (&lt;, &lt;=; "within 300ms" = "time &lt;= 300ms")
+ *   size &lt; 50KB              response size (B, KB, MB)
+ *   header Content-Type ~ json    header contains; "= value" equals, "exists"
+ *   $.data.items.length &gt;= 3      JSONPath with ==, !=, &lt;, &lt;=, &gt;, &gt;=, ~ (contains), exists
+ *   body ~ Login successful  body contains
+ * </pre>
+ * Text that does not parse as clauses keeps its legacy meaning as a whole,
+ * ';' included: "Saved; id 5" means the body contains "Saved; id 5", and
+ * text starting with a status code ("200; done") only checks the status.
+ */
+public final class ApiExpectation {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int CACHE_LIMIT = 10_000;
+    private static final Map<String, ApiExpectation> CACHE = new ConcurrentHashMap<>();
+
+    private static final Pattern LEADING_STATUS = Pattern.compile("^(\\d{3})\\b\\s*(.*)$");
+    private static final Pattern STATUS = Pattern.compile("(?i)^status\\s+(?:==?\\s*)?([\\dx,\\s]+)$");
+    private static final Pattern TIME = Pattern.compile("(?i)^(?:time\\s*(<=?)|within)\\s*(\\d+)\\s*(ms|s)?$");
+    private static final Pattern SIZE = Pattern.compile("(?i)^size\\s*(<=?)\\s*(\\d+)\\s*(b|kb|mb)?$");
+    private static final Pattern HEADER = Pattern.compile("(?i)^header\\s+([\\w-]+)\\s*(?:(exists)|(=|~)\\s*(.+))$");
+    private static final Pattern JSON = Pattern.compile("^(\\$[^\\s=!<>~]*)\\s*(?:(exists)|(==|!=|<=|>=|<|>|~)\\s*(.+))$");
+    private static final Pattern BODY = Pattern.compile("(?i)^body\\s*~\\s*(.+)$");
+
+    /**
+     * One compiled check; returns a failure description or null if it holds.
+     */
+    private interface Predicate {
+        String check(ApiResponse response, Body body);
+    }
+
+    private final String source;
+    private final List<Predicate> predicates;
+
+    private ApiExpectation(String source, List<Predicate> predicates) {
+        this.source = source;
+        this.predicates = predicates;
+    }
+
+    /**
+     * Compiled expectation for an expectedResult (cached by text).
+     *
+     * @throws IllegalArgumentException if a clause is malformed
+     */
+    public static ApiExpectation of(String expectedResult) {
+        String key = expectedResult != null ? expectedResult.trim() : "";
+        ApiExpectation cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        ApiExpectation compiled = compile(key);
+        if (CACHE.size() >= CACHE_LIMIT) {
+            CACHE.clear();
+        }
+        CACHE.put(key, compiled);
+        return compiled;
+    }
+
+    static ApiExpectation compile(String expression) {
+        List<Predicate> predicates = new ArrayList<>();
+        for (String raw : expression.split(";")) {
+            String clause = raw.trim();
+            if (clause.isEmpty()) {
+                continue;
+            }
+            List<Predicate> compiled = compileClause(clause);
+            if (compiled == null) {
+                return new ApiExpectation(expression, List.of(legacy(expression)));
+            }
+            predicates.addAll(compiled);
+        }
+        return new ApiExpectation(expression, List.copyOf(predicates));
+    }
+
+    /**
+     * Pre-clause semantics: a leading status code, else a body substring.
+     */
+    private static Predicate legacy(String expression) {
+        Matcher m = LEADING_STATUS.matcher(expression);
+        return m.matches() ? status(m.group(1)) : bodyContains(expression);
+    }
+
+    public boolean isEmpty() {
+        return predicates.isEmpty();
+    }
+
+    /**
+     * Failing clauses, empty if the response meets the expectation.
+     */
+    public List<String> evaluate(ApiResponse response) {
+        List<String> failures = new ArrayList<>();
+        Body body = new Body(response.body());
+        for (Predicate predicate : predicates) {
+            String failure = predicate.check(response, body);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Predicates of one clause, or null if it is not clause syntax.
+     */
+    private static List<Predicate> compileClause(String clause) {
+        Matcher m = LEADING_STATUS.matcher(clause);
+        if (m.matches()) {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(status(m.group(1)));
+            // "200 within 300ms" adds a time check; "200 OK" is just the status
+            Matcher time = TIME.matcher(m.group(2).trim());
+            if (time.matches()) {
+                predicates.add(time(time));
+            }
+            return predicates;
+        }
+        if ((m = STATUS.matcher(clause)).matches()) {
+            return List.of(status(m.group(1)));
+        }
+        if ((m = TIME.matcher(clause)).matches()) {
+            return List.of(time(m));
+        }
+        if ((m = SIZE.matcher(clause)).matches()) {
+            return List.of(size(m));
+        }
+        if ((m = HEADER.matcher(clause)).matches()) {
+            return List.of(header(m.group(1), m.group(2) != null ? "exists" : m.group(3), m.group(4)));
+        }
+        if ((m = JSON.matcher(clause)).matches()) {
+            return List.of(json(m.group(1), m.group(2) != null ? "exists" : m.group(3), m.group(4)));
+        }
+        if ((m = BODY.matcher(clause)).matches()) {
+            return List.of(bodyContains(m.group(1).trim()));
+        }
+        return null;
+    }
+
+    private static Predicate status(String spec) {
+        List<String> accepted = new ArrayList<>();
+        for (String code : spec.split(",")) {
+            String c = code.trim().toLowerCase();
+            if (!c.matches("[1-5][\\dx]{2}")) {
+                throw new IllegalArgumentException("Invalid status in expectation: " + code.trim());
+            }
+            accepted.add(c);
+        }
+        return (response, body) -> {
+            String actual = String.valueOf(response.statusCode());
+            for (String code : accepted) {
+                if (matchesStatus(actual, code)) {
+                    return null;
+                }
+            }
+            return "status " + actual + " not in " + String.join(",", accepted);
+        };
+    }
+
+    private static boolean matchesStatus(String actual, String pattern) {
+        for (int i = 0; i < 3; i++) {
+            if (pattern.charAt(i) != 'x' && pattern.charAt(i) != actual.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Predicate time(Matcher m) {
+        boolean inclusive = m.group(1) == null || "<=".equals(m.group(1));
+        long limitMs = Long.parseLong(m.group(2)) * ("s".equalsIgnoreCase(m.group(3)) ? 1000 : 1);
+        return (response, body) -> {
+            long actual = response.durationMs();
+            boolean ok = inclusive ? actual <= limitMs : actual < limitMs;
+            return ok ? null : "time " + actual + "ms exceeds " + (inclusive ? "<=" : "<") + limitMs + "ms";
+        };
+    }
+
+    private static Predicate size(Matcher m) {
+        boolean inclusive = "<=".equals(m.group(1));
+        String unit = m.group(3) != null ? m.group(3).toLowerCase() : "b";
+        long limit = Long.parseLong(m.group(2)) * switch (unit) {
+            case "kb" -> 1024L;
+            case "mb" -> 1024L * 1024;
+            default -> 1L;
+        };
+        return (response, body) -> {
+            long actual = response.sizeBytes();
+            boolean ok = inclusive ? actual <= limit : actual < limit;
+            return ok ? null : "size " + actual + "B exceeds " + (inclusive ? "<=" : "<") + limit + "B";
+        };
+    }
+
+    private static Predicate header(String name, String op, String expected) {
+        String value = expected != null ? unquote(expected) : null;
+        return (response, body) -> {
+            String actual = response.header(name);
+            if (actual == null) {
+                return "header " + name + " missing";
+            }
+            return switch (op) {
+                case "exists" -> null;
+                case "=" -> actual.equals(value) ? null : "header " + name + " is '" + actual + "', expected '" + value + "'";
+                default -> actual.contains(value) ? null : "header " + name + " '" + actual + "' does not contain '" + value + "'";
+            };
+        };
+    }
+
+    private static Predicate json(String path, String op, String expected) {
+        List<Object> segments = parsePath(path);
+        String value = expected != null ? unquote(expected) : null;
+        Double number = parseNumber(value);
+        if (List.of("<", "<=", ">", ">=").contains(op) && number == null) {
+            throw new IllegalArgumentException("Numeric comparison needs a number: " + path + " " + op + " " + expected);
+        }
+        return (response, body) -> {
+            JsonNode root = body.json();
+            if (root == null) {
+                return path + ": response is not JSON";
+            }
+            JsonNode node = resolve(root, segments);
+            if (node == null || node.isMissingNode()) {
+                return path + " not found";
+            }
+            if ("exists".equals(op)) {
+                return null;
+            }
+            String actual = node.isValueNode() ? node.asText() : node.toString();
+            boolean ok = switch (op) {
+                case "==" -> equalsValue(node, actual, value, number);
+                case "!=" -> !equalsValue(node, actual, value, number);
+                case "~" -> actual.contains(value);
+                default -> {
+                    if (!node.isNumber()) {
+                        yield false;
+                    }
+                    double a = node.asDouble();
+                    yield switch (op) {
+                        case "<" -> a < number;
+                        case "<=" -> a <= number;
+                        case ">" -> a > number;
+                        default -> a >= number;
+                    };
+                }
+            };
+            return ok ? null : path + " is " + actual + ", expected " + op + " " + value;
+        };
+    }
+
+    private static boolean equalsValue(JsonNode node, String actual, String value, Double number) {
+        if (node.isNumber() && number != null) {
+            return node.asDouble() == number;
+        }
+        return actual.equals(value);
+    }
+
+    /**
+     * "$.a.b[0].c" -> ["a", "b", 0, "c"]; a trailing ".length" is kept as a name
+     * and resolved as the size of an array/object/string.
+     */
+    private static List<Object> parsePath(String path) {
+        List<Object> segments = new ArrayList<>();
+        Matcher m = Pattern.compile("\\.([\\w-]+)|\\[(\\d+)]").matcher(path.substring(1));
+        int end = 0;
+        while (m.find()) {
+            if (m.start() != end) {
+                throw new IllegalArgumentException("Invalid JSONPath: " + path);
+            }
+            segments.add(m.group(1) != null ? m.group(1) : Integer.valueOf(m.group(2)));
+            end = m.end();
+        }
+        if (end != path.length() - 1) {
+            throw new IllegalArgumentException("Invalid JSONPath: " + path);
+        }
+        return segments;
+    }
+
+    private static JsonNode resolve(JsonNode root, List<Object> segments) {
+        JsonNode node = root;
+        for (int i = 0; i < segments.size() && node != null; i++) {
+            Object segment = segments.get(i);
+            if (segment instanceof Integer index) {
+                node = node.get(index);
+            } else if ("length".equals(segment) && i == segments.size() - 1 && !node.has("length")) {
+                int length = node.isTextual() ? node.asText().length() : node.size();
+                node = MAPPER.getNodeFactory().numberNode(length);
+            } else {
+                node = node.get((String) segment);
+            }
+        }
+        return node;
+    }
+
+    private static Predicate bodyContains(String text) {
+        return (response, body) -> body.text() != null && body.text().contains(text)
+                ? null : "body does not contain '" + text + "'";
+    }
+
+    private static String unquote(String value) {
+        String v = value.trim();
+        if (v.length() >= 2 && (v.startsWith("\"") && v.endsWith("\"") || v.startsWith("'") && v.endsWith("'"))) {
+            return v.substring(1, v.length() - 1);
+        }
+        return v;
+    }
+
+    private static Double parseNumber(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Response body, parsed as JSON at most once per evaluation.
+     */
+    private static final class Body {
+        private final String text;
+        private JsonNode json;
+        private boolean parsed;
+
+        Body(String text) {
+            this.text = text;
+        }
+
+        String text() {
+            return text;
+        }
+
+        JsonNode json() {
+            if (!parsed) {
+                parsed = true;
+                try {
+                    json = text != null && !text.isBlank() ? MAPPER.readTree(text) : null;
+                } catch (Exception e) {
+                    json = null;
+                }
+            }
+            return json;
+        }
+    }
+}
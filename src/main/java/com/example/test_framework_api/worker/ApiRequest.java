@@ -0,0 +1,34 @@
+package com.example.test_framework_api.worker;
+
+import com.example.test_framework_api.model.TestCase;
+
+/**
+ * Engine-neutral description of one API call.
+ */
+public record ApiRequest(String method, String url, String body, String contentType) {
+
+    public ApiRequest {
+        method = method != null ? method.trim().toUpperCase() : "GET";
+    }
+
+    /**
+     * POST/PUT/PATCH send inputData (or "{}") as JSON; other methods send no body.
+     */
+    public static ApiRequest fromTestCase(TestCase testCase) {
+        String method = testCase.getHttpMethodAction() != null ? testCase.getHttpMethodAction().toUpperCase() : "GET";
+        boolean hasBody = "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
+        String inputData = testCase.getInputData();
+        return new ApiRequest(method, testCase.getUrlEndpoint(),
+                hasBody ? (inputData != null && !inputData.isEmpty() ? inputData : "{}") : null,
+                hasBody ? "application/json" : null);
+    }
+
+    public String host() {
+        try {
+            String host = java.net.URI.create(url).getHost();
+            return host != null ? host.toLowerCase() : "unknown";
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.test_framework_api.worker;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Engine-neutral API response used for validation.
+ */
+public record ApiResponse(int statusCode, String body, Map<String, List<String>> headers,
+        long durationMs, long sizeBytes, String protocol) {
+
+    public String header(String name) {
+        if (headers == null || name == null) {
+            return null;
+        }
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (name.equalsIgnoreCase(entry.getKey()) && !entry.getValue().isEmpty()) {
+                return entry.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
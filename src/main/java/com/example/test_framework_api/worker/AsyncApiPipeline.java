@@ -0,0 +1,151 @@
+package com.example.test_framework_api.worker;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission and deadlines for ASYNC API execution.
+ *
+ * Every submitted call holds one global and one per-host permit until its
+ * future completes. When all permits are taken, {@link #submit} blocks the
+ * dispatching thread, so a slow system under test slows down submission
+ * instead of piling up pending requests in memory. Each call gets a deadline;
+ * on expiry the future fails with a TimeoutException and the engine aborts
+ * the exchange. Callers pass the test's own deadline (DeadlineWatchdog) or
+ * fall back to executor.async.deadline-ms.
+ */
+@Component
+@Slf4j
+public class AsyncApiPipeline {
+
+    private final Executor executor;
+    private final Semaphore inFlightPermits;
+    private final HostPermits hostPermits;
+    private final int maxInFlight;
+    private final long defaultDeadlineMs;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public AsyncApiPipeline(@Qualifier("apiAsyncExecutor") Executor executor,
+            @Value("${executor.async.max-in-flight:2000}") int maxInFlight,
+            @Value("${executor.async.max-per-host:256}") int maxPerHost,
+            @Value("${executor.async.deadline-ms:30000}") long defaultDeadlineMs) {
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.defaultDeadlineMs = defaultDeadlineMs;
+        this.inFlightPermits = new Semaphore(maxInFlight, true);
+        this.hostPermits = new HostPermits(maxPerHost);
+    }
+
+    /**
+     * Send a request through the engine's non-blocking path with the default deadline.
+     */
+    public CompletableFuture<ApiResponse> submit(ApiExecutionEngine engine, ApiRequest request) {
+        return submit(engine, request, defaultDeadlineMs);
+    }
+
+    public CompletableFuture<ApiResponse> submit(ApiExecutionEngine engine, ApiRequest request, long deadlineMs) {
+        String host = request.host();
+        try {
+            inFlightPermits.acquire();
+            try {
+                hostPermits.acquire(host);
+            } catch (InterruptedException e) {
+                inFlightPermits.release();
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Interrupted waiting for an in-flight slot for " + host, e));
+        }
+
+        submitted.incrementAndGet();
+        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        CompletableFuture<ApiResponse> call;
+        try {
+            call = engine.executeAsync(request);
+        } catch (RuntimeException e) {
+            release(host);
+            failed.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        // Permits are released on the call itself: a cancelled result never runs its handler
+        CompletableFuture<ApiResponse> result = call.orTimeout(deadlineMs, TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> release(host))
+                .handleAsync((response, error) -> {
+                    if (error == null) {
+                        completed.incrementAndGet();
+                        return response;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        timedOut.incrementAndGet();
+                        throw new CompletionException(new TimeoutException("Deadline of " + deadlineMs
+                                + "ms exceeded for " + request.method() + " " + request.url()));
+                    }
+                    failed.incrementAndGet();
+                    throw new IllegalStateException(cause.getMessage(), cause);
+                }, executor);
+        // Cancelling the returned future (run cancelled) aborts the HTTP exchange
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                call.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Event-loop pool for the validation/persistence stages that follow a call.
+     */
+    public Executor executor() {
+        return executor;
+    }
+
+    public long getDefaultDeadlineMs() {
+        return defaultDeadlineMs;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxInFlight", maxInFlight);
+        stats.put("maxPerHost", hostPermits.getPermitsPerHost());
+        stats.put("deadlineMs", defaultDeadlineMs);
+        stats.put("inFlight", inFlight.get());
+        stats.put("peakInFlight", peak.get());
+        stats.put("submitted", submitted.get());
+        stats.put("completed", completed.get());
+        stats.put("failed", failed.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("hosts", hostPermits.snapshot());
+        return stats;
+    }
+
+    private void release(String host) {
+        inFlight.decrementAndGet();
+        hostPermits.release(host);
+        inFlightPermits.release();
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.test_framework_api.worker;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of warm ChromeDriver sessions shared by all UI test executions.
+ *
+ * Sessions are leased per test and reset (cookies, storage of every origin
+ * the lease visited, extra tabs) on release instead of being quit. A session is evicted after a configurable
+ * number of uses, when its health check fails, or when the reset throws
+ * (crashed browser). The pool size follows the uiTestExecutor max pool size
+ * so every UI thread can hold one browser without oversubscribing the host.
+ */
+@Component
+@Slf4j
+public class BrowserSessionPool {
+
+    private final int maxSessions;
+    private final int maxUsesPerSession;
+    private final long leaseTimeoutMs;
+
+    private final LinkedBlockingDeque<BrowserSession> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private volatile boolean driverBinaryReady = false;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+
+    public BrowserSessionPool(@Qualifier("uiTestExecutor") Executor uiTestExecutor,
+            @Value("${executor.browser-pool.max-uses:50}") int maxUsesPerSession,
+            @Value("${executor.browser-pool.lease-timeout-ms:120000}") long leaseTimeoutMs) {
+        this.maxSessions = uiTestExecutor instanceof ThreadPoolTaskExecutor pool
+                ? pool.getMaxPoolSize()
+                : 4;
+        this.maxUsesPerSession = maxUsesPerSession;
+        this.leaseTimeoutMs = leaseTimeoutMs;
+        this.permits = new Semaphore(maxSessions, true);
+        log.info("Browser session pool sized to {} sessions (max {} uses each)", maxSessions, maxUsesPerSession);
+    }
+
+    /**
+     * Lease a healthy browser session, reusing an idle one when possible.
+     * Blocks while all sessions are leased.
+     */
+    public BrowserSession lease() {
+        try {
+            if (!permits.tryAcquire(leaseTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for a browser session after " + leaseTimeoutMs + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        try {
+            BrowserSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (isHealthy(session)) {
+                    hits.incrementAndGet();
+                    session.uses++;
+                    return session;
+                }
+                evict(session, "failed health check");
+            }
+
+            misses.incrementAndGet();
+            session = new BrowserSession(createDriver());
+            created.incrementAndGet();
+            session.uses++;
+            return session;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a session to the pool. The session is reset for the next lease,
+     * or evicted if it reached its use limit or cannot be reset.
+     */
+    public void release(BrowserSession session) {
+        if (session == null) {
+            return;
+        }
+        try {
+            if (session.invalidated) {
+                return;
+            }
+            if (session.uses >= maxUsesPerSession) {
+                evict(session, "reached " + maxUsesPerSession + " uses");
+                return;
+            }
+            try {
+                reset(session.driver);
+                idle.offerFirst(session);
+            } catch (Exception e) {
+                evict(session, "reset failed: " + e.getMessage());
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Evict a session immediately (crashed or hung browser). The caller must
+     * still {@link #release(BrowserSession)} it to free its slot.
+     */
+    public void invalidate(BrowserSession session) {
+        if (session != null && !session.invalidated) {
+            evict(session, "invalidated");
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxSessions", maxSessions);
+        stats.put("maxUsesPerSession", maxUsesPerSession);
+        stats.put("idle", idle.size());
+        stats.put("leased", maxSessions - permits.availablePermits());
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("created", created.get());
+        long leases = hits.get() + misses.get();
+        stats.put("hitRate", leases > 0 ? hits.get() * 100.0 / leases : 0.0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<BrowserSession> remaining = new ArrayList<>();
+        idle.drainTo(remaining);
+        remaining.forEach(s -> quitQuietly(s.driver));
+        log.info("Browser session pool shut down ({} idle sessions closed)", remaining.size());
+    }
+
+    /**
+     * Start a new headless Chrome; overridden in tests.
+     */
+    protected WebDriver createDriver() {
+        if (!driverBinaryReady) {
+            synchronized (this) {
+                if (!driverBinaryReady) {
+                    WebDriverManager.chromedriver().setup();
+                    driverBinaryReady = true;
+                }
+            }
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless", "--no-sandbox", "--disable-dev-shm-usage");
+        WebDriver driver = new ChromeDriver(options);
+        // Locates use explicit waits; an implicit wait would add to each of them
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        log.debug("Started new browser session ({} created so far)", created.get() + 1);
+        return driver;
+    }
+
+    private boolean isHealthy(BrowserSession session) {
+        try {
+            return !session.driver.getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Bring the browser back to a blank state: one tab, no cookies, and no
+     * storage for any origin the lease visited. Deleting cookies through
+     * WebDriver or clearing storage from a script only reaches the loaded
+     * origin, so logins on other origins (SSO redirects) would carry over to
+     * the next lease. Cookies are cleared for the whole profile through CDP;
+     * storage can only be cleared per origin, so the origins are taken from
+     * the navigation history of every tab, which is then reset for the next
+     * lease. A test may have set an implicit wait; it is put back to zero.
+     * A browser without CDP cannot be reset and is evicted by the caller.
+     */
+    private void reset(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            throw new IllegalStateException("browser does not support CDP, cannot clear its profile");
+        }
+        Set<String> origins = new LinkedHashSet<>();
+        String first = null;
+        for (String handle : driver.getWindowHandles()) {
+            driver.switchTo().window(handle);
+            origins.addAll(visitedOrigins(cdp));
+            if (first == null) {
+                first = handle;
+            } else {
+                driver.close();
+            }
+        }
+        driver.switchTo().window(first);
+        driver.get("about:blank");
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        for (String origin : origins) {
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+        }
+        cdp.executeCdpCommand("Page.resetNavigationHistory", Map.of());
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+    }
+
+    /**
+     * Origins of the http(s) pages in the current tab's navigation history.
+     */
+    private static Set<String> visitedOrigins(HasCdp cdp) {
+        Set<String> origins = new LinkedHashSet<>();
+        Map<String, Object> history = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of());
+        if (history != null && history.get("entries") instanceof List<?> entries) {
+            for (Object entry : entries) {
+                if (entry instanceof Map<?, ?> page && page.get("url") instanceof String url) {
+                    String origin = originOf(url);
+                    if (origin != null) {
+                        origins.add(origin);
+                    }
+                }
+            }
+        }
+        return origins;
+    }
+
+    private static String originOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+            if (uri.getHost() == null || !(scheme.equals("http") || scheme.equals("https"))) {
+                return null;
+            }
+            return scheme + "://" + uri.getHost().toLowerCase(Locale.ROOT)
+                    + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void evict(BrowserSession session, String reason) {
+        session.invalidated = true;
+        evictions.incrementAndGet();
+        log.debug("Evicting browser session after {} uses: {}", session.uses, reason);
+        quitQuietly(session.driver);
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Failed to quit browser session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A pooled browser plus its bookkeeping.
+     */
+    public static class BrowserSession {
+        private final WebDriver driver;
+        private int uses;
+        private volatile boolean invalidated;
+
+        BrowserSession(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+    }
+}
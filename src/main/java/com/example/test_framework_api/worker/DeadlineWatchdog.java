@@ -0,0 +1,102 @@
+package com.example.test_framework_api.worker;
+
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestSuite;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces per-test deadlines.
+ *
+ * The timeout of a case is taken from TestCase.timeoutMs, then
+ * TestSuite.defaultTimeoutMs, then executor.test-timeout-ms. The context of
+ * the running test is bound to the executing thread so TestExecutor can
+ * register abort hooks for the browser session / HTTP call it holds.
+ */
+@Component
+@Slf4j
+public class DeadlineWatchdog {
+
+    private final long defaultTimeoutMs;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadLocal<ExecutionContext> current = new ThreadLocal<>();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    public DeadlineWatchdog(@Value("${executor.test-timeout-ms:120000}") long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+        // Two threads: one stuck quitting a hung browser must not delay other expiries
+        this.scheduler = Executors.newScheduledThreadPool(2, r -> {
+            Thread t = new Thread(r, "test-deadline-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public long resolveTimeoutMs(TestCase testCase) {
+        if (testCase.getTimeoutMs() != null && testCase.getTimeoutMs() > 0) {
+            return testCase.getTimeoutMs();
+        }
+        TestSuite suite = testCase.getTestSuite();
+        if (suite != null && Hibernate.isInitialized(suite)
+                && suite.getDefaultTimeoutMs() != null && suite.getDefaultTimeoutMs() > 0) {
+            return suite.getDefaultTimeoutMs();
+        }
+        return defaultTimeoutMs;
+    }
+
+    /**
+     * Start the deadline clock for a test running on the current thread.
+     * Must be paired with {@link #finish(ExecutionContext)} in a finally block.
+     */
+    public ExecutionContext start(String testId, long timeoutMs) {
+        ExecutionContext context = new ExecutionContext(testId, timeoutMs, Thread.currentThread());
+        context.setTimer(scheduler.schedule(() -> {
+            if (context.expire()) {
+                expired.incrementAndGet();
+            }
+        }, timeoutMs, TimeUnit.MILLISECONDS));
+        current.set(context);
+        started.incrementAndGet();
+        return context;
+    }
+
+    public void finish(ExecutionContext context) {
+        context.cancelTimer();
+        current.remove();
+        context.markFinished();
+    }
+
+    /**
+     * Deadline of the test running on this thread, or null outside executeTestCase.
+     */
+    public ExecutionContext current() {
+        return current.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("defaultTimeoutMs", defaultTimeoutMs);
+        stats.put("started", started.get());
+        stats.put("expired", expired.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
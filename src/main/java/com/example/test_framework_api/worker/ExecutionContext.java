@@ -0,0 +1,148 @@
+package com.example.test_framework_api.worker;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Deadline of one running test case.
+ *
+ * Resources that can hang (a leased browser session, an in-flight HTTP call)
+ * register an expiry hook while they are in use. When the deadline passes
+ * (or the run is cancelled) the executing thread is interrupted and the
+ * hooks run, so blocking WebDriver/HTTP calls fail fast and the executor
+ * slot is freed.
+ */
+@Slf4j
+public class ExecutionContext {
+
+    private final String testId;
+    private final long timeoutMs;
+    private final long deadlineNanos;
+    private final Thread thread;
+    private final List<Runnable> hooks = new ArrayList<>();
+    private volatile boolean expired;
+    private volatile boolean cancelled;
+    private boolean finished;
+    private ScheduledFuture<?> timer;
+
+    ExecutionContext(String testId, long timeoutMs, Thread thread) {
+        this.testId = testId;
+        this.timeoutMs = timeoutMs;
+        this.deadlineNanos = System.nanoTime() + timeoutMs * 1_000_000L;
+        this.thread = thread;
+    }
+
+    /**
+     * Run the hook on expiry or cancellation (immediately if already aborted).
+     * Hooks must be removed with {@link #clearHook(Runnable)} once the
+     * resource is released.
+     */
+    public void onExpiry(Runnable hook) {
+        boolean runNow;
+        synchronized (this) {
+            runNow = isAborted();
+            if (!runNow) {
+                hooks.add(hook);
+            }
+        }
+        if (runNow) {
+            runQuietly(hook);
+        }
+    }
+
+    public synchronized void clearHook(Runnable hook) {
+        hooks.remove(hook);
+    }
+
+    public long remainingMs() {
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000L);
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isAborted() {
+        return expired || cancelled;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    boolean expire() {
+        return abort(false);
+    }
+
+    /**
+     * Abort the test because its run was cancelled.
+     */
+    public void cancel() {
+        abort(true);
+    }
+
+    private boolean abort(boolean cancel) {
+        List<Runnable> toRun;
+        synchronized (this) {
+            if (finished || isAborted()) {
+                return false;
+            }
+            if (cancel) {
+                cancelled = true;
+            } else {
+                expired = true;
+            }
+            toRun = new ArrayList<>(hooks);
+            hooks.clear();
+            // Under the lock so the interrupt can never hit the thread's next test
+            thread.interrupt();
+        }
+        if (cancel) {
+            log.warn("Test {} cancelled with its run - aborting", testId);
+        } else {
+            log.warn("Test {} exceeded its deadline of {}ms - aborting", testId, timeoutMs);
+        }
+        toRun.forEach(this::runQuietly);
+        return true;
+    }
+
+    /**
+     * Called by the executing thread when the test is over; later aborts are ignored.
+     */
+    synchronized void markFinished() {
+        finished = true;
+        if (isAborted()) {
+            // Clear the interrupt so the pooled thread can run the next test
+            Thread.interrupted();
+        }
+    }
+
+    void setTimer(ScheduledFuture<?> timer) {
+        this.timer = timer;
+    }
+
+    void cancelTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    private void runQuietly(Runnable hook) {
+        try {
+            hook.run();
+        } catch (Exception e) {
+            log.warn("Deadline hook for test {} failed: {}", testId, e.getMessage());
+        }
+    }
+}
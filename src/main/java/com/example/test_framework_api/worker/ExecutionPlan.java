@@ -0,0 +1,165 @@
+package com.example.test_framework_api.worker;
+
+import com.example.test_framework_api.model.PhaseTimings;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.WebVitals;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordered list of UI steps executed as one scenario in a single browser
+ * session.
+ *
+ * Plans are built from the three places steps come from today:
+ * - elementTestQueue payloads ("actions" list or a single "action")
+ * - TestCase.actionsJson (multi-action CSV rows / TestElementRequest)
+ * - a plain TestCase row (one action with inputData as its value)
+ *
+ * Each step targets the plan's default locator unless it declares its own
+ * "locatorType"/"locatorValue" (or "elementId"), and retries transient
+ * failures as often as the case allows unless it declares its own "retries".
+ */
+@Getter
+public class ExecutionPlan {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String url;
+    private final String locatorType;
+    private final String locatorValue;
+    private final String expectedResult;
+    private final List<Step> steps;
+    private final Integer maxRetries;
+
+    public ExecutionPlan(String url, String locatorType, String locatorValue,
+            List<Step> steps, String expectedResult) {
+        this(url, locatorType, locatorValue, steps, expectedResult, null);
+    }
+
+    /**
+     * @param maxRetries retries per step (TestCase.maxRetries); null = executor default
+     */
+    public ExecutionPlan(String url, String locatorType, String locatorValue,
+            List<Step> steps, String expectedResult, Integer maxRetries) {
+        this.url = url;
+        this.locatorType = locatorType;
+        this.locatorValue = locatorValue;
+        this.steps = Collections.unmodifiableList(new ArrayList<>(steps));
+        this.expectedResult = expectedResult;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * One UI action. Locator fields and retries are optional overrides of the
+     * plan default.
+     */
+    public record Step(String type, String value, String locatorType, String locatorValue, Integer retries) {
+
+        public Step {
+            type = type != null ? type.trim().toLowerCase() : null;
+        }
+
+        public Step(String type, String value, String locatorType, String locatorValue) {
+            this(type, value, locatorType, locatorValue, null);
+        }
+
+        public Step(String type, String value) {
+            this(type, value, null, null, null);
+        }
+    }
+
+    /**
+     * Timing of one executed step, recorded in TestResult.stepTimings.
+     * durationMs includes failed attempts and their backoff.
+     */
+    public record StepTiming(int index, String type, long durationMs, boolean passed, String error, int attempts) {
+    }
+
+    /**
+     * Outcome of a whole plan. A failed step stops the plan; later steps are
+     * not executed. Phase timings cover the whole plan including the session
+     * lease and release. Web vitals are null unless requested. retries lists
+     * the failed attempts that were retried, across all steps.
+     */
+    public record PlanResult(List<StepTiming> steps, boolean passed, String error, PhaseTimings phases,
+            WebVitals webVitals, List<StepRetrier.Attempt> retries) {
+
+        public String timingsJson() {
+            return toJson(steps);
+        }
+
+        public String attemptLogJson() {
+            return StepRetrier.toJson(retries);
+        }
+    }
+
+    public static ExecutionPlan single(String url, String elementId, String action, String value,
+            String expectedResult) {
+        return new ExecutionPlan(url, "id", elementId, List.of(new Step(action, value)), expectedResult);
+    }
+
+    public static ExecutionPlan fromActions(String url, String elementId, List<Map<String, Object>> actions,
+            String expectedResult) {
+        List<Step> steps = new ArrayList<>();
+        for (Map<String, Object> action : actions) {
+            steps.add(toStep(action));
+        }
+        return new ExecutionPlan(url, "id", elementId, steps, expectedResult);
+    }
+
+    /**
+     * Build the plan for a UI TestCase: actionsJson wins over the single
+     * httpMethodAction/inputData pair.
+     */
+    public static ExecutionPlan fromTestCase(TestCase testCase) {
+        List<Step> steps = new ArrayList<>();
+        JsonNode actions = testCase.getActions();
+        if (actions != null && actions.isArray() && !actions.isEmpty()) {
+            for (JsonNode node : actions) {
+                Map<String, Object> action = MAPPER.convertValue(node,
+                        MAPPER.getTypeFactory().constructMapType(Map.class, String.class, Object.class));
+                steps.add(toStep(action));
+            }
+        } else {
+            steps.add(new Step(testCase.getHttpMethodAction(), testCase.getInputData()));
+        }
+        return new ExecutionPlan(testCase.getUrlEndpoint(), testCase.getLocatorType(),
+                testCase.getLocatorValue(), steps, testCase.getExpectedResult(), testCase.getMaxRetries());
+    }
+
+    private static Step toStep(Map<String, Object> action) {
+        String locatorValue = asString(action.get("locatorValue"));
+        String locatorType = asString(action.get("locatorType"));
+        if (locatorValue == null && action.get("elementId") != null) {
+            locatorValue = asString(action.get("elementId"));
+            locatorType = "id";
+        }
+        String value = asString(action.get("value"));
+        Integer retries = action.get("retries") instanceof Number n ? n.intValue() : null;
+        return new Step(asString(action.get("type")), value != null ? value : "", locatorType, locatorValue,
+                retries);
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    static String toJson(List<StepTiming> timings) {
+        try {
+            return MAPPER.writeValueAsString(timings);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    public int size() {
+        return steps.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.test_framework_api.worker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-host concurrency limit with in-flight/peak/wait accounting.
+ * One semaphore is created lazily for every host seen.
+ */
+public class HostPermits {
+
+    private final int permitsPerHost;
+    private final Map<String, HostSlot> hosts = new ConcurrentHashMap<>();
+
+    public HostPermits(int permitsPerHost) {
+        this.permitsPerHost = permitsPerHost;
+    }
+
+    public void acquire(String host) throws InterruptedException {
+        HostSlot slot = hosts.computeIfAbsent(host, h -> new HostSlot(permitsPerHost));
+        if (!slot.permits.tryAcquire()) {
+            slot.waits.incrementAndGet();
+            slot.permits.acquire();
+        }
+        slot.requests.incrementAndGet();
+        int inFlight = slot.inFlight.incrementAndGet();
+        slot.peak.accumulateAndGet(inFlight, Math::max);
+    }
+
+    public void release(String host) {
+        HostSlot slot = hosts.get(host);
+        if (slot != null) {
+            slot.inFlight.decrementAndGet();
+            slot.permits.release();
+        }
+    }
+
+    public int getPermitsPerHost() {
+        return permitsPerHost;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> byHost = new LinkedHashMap<>();
+        hosts.forEach((host, slot) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("inFlight", slot.inFlight.get());
+            stats.put("peakInFlight", slot.peak.get());
+            stats.put("requests", slot.requests.get());
+            stats.put("waits", slot.waits.get());
+            byHost.put(host, stats);
+        });
+        return byHost;
+    }
+
+    private static class HostSlot {
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong waits = new AtomicLong();
+
+        HostSlot(int permits) {
+            this.permits = new Semaphore(permits, true);
+        }
+    }
+}
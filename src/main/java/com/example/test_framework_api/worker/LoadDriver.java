@@ -0,0 +1,181 @@
+package com.example.test_framework_api.worker;
+
+import com.example.test_framework_api.model.TestCase;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives API cases with virtual users for a fixed duration.
+ *
+ * Each virtual user is a virtual thread cycling through the cases. Users
+ * start evenly spread over the ramp-up. With a target rate every user sends
+ * on a fixed schedule (targetRps / users per second) and latency is measured
+ * from the scheduled send time, so a slow server is not hidden by requests
+ * that were never sent (coordinated omission). Without a target rate users
+ * send back to back.
+ */
+@Slf4j
+public class LoadDriver {
+
+    // Latencies above one minute are recorded as one minute
+    private static final long MAX_LATENCY_US = TimeUnit.MINUTES.toMicros(1);
+
+    public record Settings(int virtualUsers, long durationMs, long rampUpMs, Integer targetRps) {
+    }
+
+    /**
+     * Latencies in microseconds; errors by kind.
+     */
+    public record Outcome(Histogram latencies, long requests, long successes, Map<String, Long> errors,
+            long elapsedMs, boolean stopped) {
+    }
+
+    private final ApiExecutionEngine engine;
+    private final List<TestCase> cases;
+    private final Settings settings;
+    private final ConcurrentHistogram histogram = new ConcurrentHistogram(MAX_LATENCY_US, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Set<Thread> sleepers = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+
+    public LoadDriver(ApiExecutionEngine engine, List<TestCase> cases, Settings settings) {
+        if (cases.isEmpty()) {
+            throw new IllegalArgumentException("No API cases to load test");
+        }
+        this.engine = engine;
+        this.cases = List.copyOf(cases);
+        this.settings = settings;
+    }
+
+    /**
+     * Run to completion (or until {@link #stop()}); blocks the caller.
+     */
+    public Outcome run() {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(settings.durationMs());
+        int users = settings.virtualUsers();
+        log.info("Load test: {} virtual users, {}ms (ramp-up {}ms), target {} rps over {} case(s)", users,
+                settings.durationMs(), settings.rampUpMs(),
+                settings.targetRps() != null ? settings.targetRps() : "max", cases.size());
+
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                long startAt = start + TimeUnit.MILLISECONDS.toNanos(settings.rampUpMs() * i / users);
+                virtualUsers.submit(() -> runUser(user, startAt, end));
+            }
+        }
+
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((kind, count) -> errorCounts.put(kind, count.sum()));
+        return new Outcome(histogram.copy(), requests.sum(), successes.sum(), errorCounts, elapsedMs, stopped);
+    }
+
+    /**
+     * End the run early: users waiting for their start or next send wake up
+     * at once; requests in flight finish and are still recorded.
+     */
+    public void stop() {
+        stopped = true;
+        sleepers.forEach(LockSupport::unpark);
+    }
+
+    private void runUser(int user, long startAt, long endAt) {
+        if (!sleepUntil(startAt)) {
+            return;
+        }
+        long intervalNs = settings.targetRps() != null && settings.targetRps() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.virtualUsers()) / settings.targetRps()
+                : 0;
+        long scheduled = startAt;
+        int next = user;
+        while (!stopped && System.nanoTime() < endAt) {
+            long sentAt = intervalNs > 0 ? scheduled : System.nanoTime();
+            callOnce(cases.get(next++ % cases.size()), sentAt);
+            if (intervalNs > 0) {
+                scheduled += intervalNs;
+                if (!sleepUntil(Math.min(scheduled, endAt))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void callOnce(TestCase testCase, long sentAt) {
+        String error;
+        try {
+            ApiResponse response = engine.execute(ApiRequest.fromTestCase(testCase));
+            error = classify(response, testCase.getExpectedResult());
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            error = cause.getClass().getSimpleName();
+        }
+        long latencyUs = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt);
+        histogram.recordValue(Math.min(Math.max(latencyUs, 0), MAX_LATENCY_US));
+        requests.increment();
+        if (error == null) {
+            successes.increment();
+        } else {
+            errors.computeIfAbsent(error, kind -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Error kind of a response, or null if it counts as a success: without an
+     * expectedResult any status below 400 passes, otherwise every clause of
+     * the compiled expectation must hold (a status mismatch is reported as
+     * "UNEXPECTED_STATUS n", other failures by the first failing clause kind).
+     */
+    static String classify(ApiResponse response, String expectedResult) {
+        ApiExpectation expectation = ApiExpectation.of(expectedResult);
+        if (expectation.isEmpty()) {
+            return response.statusCode() >= 400 ? "HTTP " + response.statusCode() : null;
+        }
+        List<String> failures = expectation.evaluate(response);
+        if (failures.isEmpty()) {
+            return null;
+        }
+        String first = failures.get(0);
+        if (first.startsWith("status ")) {
+            return "UNEXPECTED_STATUS " + response.statusCode();
+        }
+        return "EXPECTATION " + first.split("[\\s:]", 2)[0];
+    }
+
+    /**
+     * Park until the deadline; false if the run was stopped meanwhile.
+     * Registered before checking the flag, so stop() either sees this
+     * thread and unparks it or the loop sees the flag.
+     */
+    private boolean sleepUntil(long deadlineNanos) {
+        Thread current = Thread.currentThread();
+        sleepers.add(current);
+        try {
+            long remaining;
+            while (!stopped && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+                if (current.isInterrupted()) {
+                    return false;
+                }
+            }
+            return !stopped;
+        } finally {
+            sleepers.remove(current);
+        }
+    }
+}
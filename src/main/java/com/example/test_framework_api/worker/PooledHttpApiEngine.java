@@ -0,0 +1,179 @@
+package com.example.test_framework_api.worker;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API engine backed by one shared JDK HttpClient.
+ *
+ * The client keeps connections alive between test cases and negotiates
+ * HTTP/2 (one multiplexed connection per host) with fallback to HTTP/1.1.
+ * Per-host concurrency is capped with {@link HostPermits}, which for HTTP/1.1
+ * is also the cap on open connections to that host. Idle-connection
+ * keep-alive and the DNS cache TTL are JVM-wide settings, applied once at
+ * startup by TestFrameworkApiApplication.
+ */
+@Component
+@Slf4j
+public class PooledHttpApiEngine implements ApiExecutionEngine {
+
+    public static final String NAME = "pooled";
+
+    private final HttpClient client;
+    private final ExecutorService clientExecutor;
+    private final HostPermits hostPermits;
+    private final Duration requestTimeout;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong http2Responses = new AtomicLong();
+    private final AtomicLong http11Responses = new AtomicLong();
+    private final AtomicLong totalLatencyMs = new AtomicLong();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    public PooledHttpApiEngine(
+            @Value("${executor.api.pool.max-connections-per-host:20}") int maxConnectionsPerHost,
+            @Value("${executor.api.pool.connect-timeout-ms:10000}") long connectTimeoutMs,
+            @Value("${executor.api.pool.request-timeout-ms:30000}") long requestTimeoutMs) {
+        this.hostPermits = new HostPermits(maxConnectionsPerHost);
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.clientExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "api-http-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(clientExecutor)
+                .build();
+        log.info("Pooled HTTP engine ready (HTTP/2, {} connections per host)", maxConnectionsPerHost);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest request) {
+        HttpRequest httpRequest = toHttpRequest(request);
+        String host = request.host();
+        requests.incrementAndGet();
+
+        try {
+            hostPermits.acquire(host);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.incrementAndGet();
+            throw new IllegalStateException("Interrupted waiting for a connection to " + host, e);
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            HttpResponse<byte[]> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            return toApiResponse(response, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            errors.incrementAndGet();
+            throw new IllegalStateException("HTTP call to " + request.url() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.incrementAndGet();
+            throw new IllegalStateException("HTTP call to " + request.url() + " interrupted", e);
+        } finally {
+            hostPermits.release(host);
+        }
+    }
+
+    /**
+     * sendAsync on the shared client. Per-host limits are applied by the
+     * caller (AsyncApiPipeline) so no thread ever blocks here.
+     */
+    @Override
+    public CompletableFuture<ApiResponse> executeAsync(ApiRequest request) {
+        HttpRequest httpRequest = toHttpRequest(request);
+        requests.incrementAndGet();
+        long start = System.currentTimeMillis();
+
+        CompletableFuture<HttpResponse<byte[]>> send =
+                client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<ApiResponse> mapped =
+                send.thenApply(response -> toApiResponse(response, System.currentTimeMillis() - start));
+        mapped.whenComplete((response, error) -> {
+            if (error != null) {
+                errors.incrementAndGet();
+                // Deadline expiry or cancellation downstream: abort the exchange
+                send.cancel(true);
+            }
+        });
+        return mapped;
+    }
+
+    HttpRequest toHttpRequest(ApiRequest request) {
+        HttpRequest.BodyPublisher body = request.body() != null
+                ? HttpRequest.BodyPublishers.ofString(request.body())
+                : HttpRequest.BodyPublishers.noBody();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(requestTimeout);
+        if (request.contentType() != null) {
+            builder.header("Content-Type", request.contentType());
+        }
+        return switch (request.method()) {
+            case "GET" -> builder.GET().build();
+            case "DELETE" -> builder.DELETE().build();
+            case "POST", "PUT", "PATCH" -> builder.method(request.method(), body).build();
+            default -> throw new IllegalArgumentException("Unsupported HTTP method: " + request.method());
+        };
+    }
+
+    ApiResponse toApiResponse(HttpResponse<byte[]> response, long durationMs) {
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.incrementAndGet();
+        } else {
+            http11Responses.incrementAndGet();
+        }
+        totalLatencyMs.addAndGet(durationMs);
+        byte[] bytes = response.body() != null ? response.body() : new byte[0];
+        return new ApiResponse(response.statusCode(), new String(bytes, StandardCharsets.UTF_8),
+                response.headers().map(), durationMs, bytes.length,
+                response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1");
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long total = requests.get();
+        stats.put("requests", total);
+        stats.put("errors", errors.get());
+        stats.put("http2Responses", http2Responses.get());
+        stats.put("http11Responses", http11Responses.get());
+        long completed = http2Responses.get() + http11Responses.get();
+        stats.put("avgLatencyMs", completed > 0 ? totalLatencyMs.get() / (double) completed : 0.0);
+        stats.put("maxConnectionsPerHost", hostPermits.getPermitsPerHost());
+        stats.put("hosts", hostPermits.snapshot());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clientExecutor.shutdownNow();
+    }
+}
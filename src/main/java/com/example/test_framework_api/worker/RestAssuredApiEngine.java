@@ -0,0 +1,73 @@
+package com.example.test_framework_api.worker;
+
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Original RestAssured execution: a fresh request (and connection) per call.
+ */
+@Component
+public class RestAssuredApiEngine implements ApiExecutionEngine {
+
+    public static final String NAME = "restassured";
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ApiResponse execute(ApiRequest request) {
+        requests.incrementAndGet();
+        RequestSpecification spec = RestAssured.given();
+        if (request.body() != null) {
+            spec.contentType(request.contentType()).body(request.body());
+        }
+
+        Response response;
+        try {
+            response = switch (request.method()) {
+                case "GET" -> spec.when().get(request.url());
+                case "POST" -> spec.when().post(request.url());
+                case "PUT" -> spec.when().put(request.url());
+                case "PATCH" -> spec.when().patch(request.url());
+                case "DELETE" -> spec.when().delete(request.url());
+                default -> throw new IllegalArgumentException("Unsupported HTTP method: " + request.method());
+            };
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            throw e;
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), k -> new ArrayList<>()).add(header.getValue());
+        }
+        String body = response.getBody().asString();
+        String statusLine = response.getStatusLine();
+        return new ApiResponse(response.getStatusCode(), body, headers, response.getTime(),
+                body.getBytes(StandardCharsets.UTF_8).length,
+                statusLine != null ? statusLine.split(" ")[0] : null);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("errors", errors.get());
+        return stats;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.test_framework_api.worker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries a single UI step or API request in place, on the same browser
+ * session / HTTP engine, when it fails for a transient reason (element not
+ * yet present, stale or covered; connect/read/timeout I/O errors).
+ *
+ * Assertion failures are never retried, and neither is a WebDriverWait
+ * timeout: the wait already used its full time. A request with a
+ * non-idempotent method (POST, PATCH) is only retried when the connection
+ * could not be established, since otherwise the server may have acted on it. Backoff doubles per retry up to
+ * maxBackoffMs with equal jitter (half fixed, half random), and a retry is
+ * skipped when the test's deadline would expire during the backoff.
+ * Every failed attempt that was retried is appended to the caller's log;
+ * its size is the result's retryCount.
+ */
+@Component
+@Slf4j
+public class StepRetrier {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_RETRIES = 10;
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE");
+
+    /**
+     * A failed attempt that was followed by a retry.
+     */
+    public record Attempt(String target, int attempt, long durationMs, String error) {
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+
+    private final int defaultRetries;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+
+    public StepRetrier(@Value("${executor.retry.max-retries:1}") int defaultRetries,
+            @Value("${executor.retry.backoff-ms:200}") long backoffMs,
+            @Value("${executor.retry.max-backoff-ms:2000}") long maxBackoffMs) {
+        this.defaultRetries = defaultRetries;
+        this.backoffMs = Math.max(1, backoffMs);
+        this.maxBackoffMs = Math.max(this.backoffMs, maxBackoffMs);
+    }
+
+    /**
+     * Retries for a step: the step's own setting, else the case's, else the default.
+     */
+    public int resolveRetries(Integer stepRetries, Integer caseRetries) {
+        Integer retries = stepRetries != null ? stepRetries : caseRetries;
+        return Math.max(0, Math.min(MAX_RETRIES, retries != null ? retries : defaultRetries));
+    }
+
+    /**
+     * Run the action, retrying transient failures up to retries times.
+     *
+     * @param deadline the running test's deadline, or null
+     * @param attempts receives one entry per retried failure
+     * @throws Exception the last failure once retries are exhausted or the
+     *                   failure is not transient
+     */
+    public <T> T run(String target, int retries, ExecutionContext deadline, List<Attempt> attempts,
+            Action<T> action) throws Exception {
+        return run(target, retries, deadline, attempts, true, action);
+    }
+
+    /**
+     * @param idempotent false for requests that must not be resent once they
+     *                   may have reached the server; only connect failures are retried
+     */
+    public <T> T run(String target, int retries, ExecutionContext deadline, List<Attempt> attempts,
+            boolean idempotent, Action<T> action) throws Exception {
+        for (int attempt = 1;; attempt++) {
+            long start = System.currentTimeMillis();
+            try {
+                return action.run();
+            } catch (Exception e) {
+                if (attempt > retries || !isTransient(e, idempotent)) {
+                    throw e;
+                }
+                long delay = backoffDelay(attempt);
+                if (deadline != null && (deadline.isAborted() || deadline.remainingMs() <= delay)) {
+                    throw e;
+                }
+                attempts.add(new Attempt(target, attempt, System.currentTimeMillis() - start, e.getMessage()));
+                log.warn("{} failed (attempt {}/{}), retrying in {}ms: {}", target, attempt, retries + 1, delay,
+                        e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    long backoffDelay(int attempt) {
+        long base = Math.min(maxBackoffMs, backoffMs << Math.min(attempt - 1, 20));
+        return base / 2 + ThreadLocalRandom.current().nextLong(base - base / 2 + 1);
+    }
+
+    /**
+     * Transient locator/interaction or network failure anywhere in the cause chain.
+     */
+    public static boolean isTransient(Throwable error) {
+        return isTransient(error, true);
+    }
+
+    /**
+     * Like {@link #isTransient(Throwable)}; when not idempotent, only a failure
+     * to connect (nothing was sent) counts as transient.
+     */
+    public static boolean isTransient(Throwable error, boolean idempotent) {
+        for (Throwable t = error; t != null; t = t.getCause() != t ? t.getCause() : null) {
+            if (t instanceof InvalidSelectorException) {
+                return false;
+            }
+            if (t instanceof ConnectException
+                    || t instanceof HttpConnectTimeoutException
+                    || t instanceof NoRouteToHostException
+                    || t instanceof UnknownHostException) {
+                return true;
+            }
+            if (idempotent && (t instanceof NoSuchElementException
+                    || t instanceof StaleElementReferenceException
+                    || t instanceof ElementClickInterceptedException
+                    || t instanceof ElementNotInteractableException
+                    || t instanceof IOException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isIdempotent(String method) {
+        return method != null && IDEMPOTENT_METHODS.contains(method.toUpperCase());
+    }
+
+    public static String toJson(List<Attempt> attempts) {
+        if (attempts == null || attempts.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(attempts);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -1,24 +1,28 @@
 package com.example.test_framework_api.worker;
 
+import com.example.test_framework_api.model.PhaseTimings;
 import com.example.test_framework_api.model.TestCase;
 import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.model.TestRun;
 import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.WebVitals;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.service.RunLedger;
 import com.example.test_framework_api.service.TestResultService;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import io.restassured.RestAssured;
-import io.restassured.response.Response;
+import com.example.test_framework_api.worker.BrowserSessionPool.BrowserSession;
+import com.example.test_framework_api.worker.ExecutionPlan.PlanResult;
+import com.example.test_framework_api.worker.ExecutionPlan.Step;
+import com.example.test_framework_api.worker.ExecutionPlan.StepTiming;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 // import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 // import com.example.test_framework_api.model.User;
@@ -26,12 +30,18 @@ import com.example.test_framework_api.repository.UserRepository;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 
 /**
  * UNIFIED TEST EXECUTOR
- * Handles both UI and API test execution with retry mechanism
+ * Handles both UI and API test execution; transient failures of a single
+ * step or request are retried in place (see {@link StepRetrier})
  * Supports dynamic element testing without static base URL
  */
 @Component
@@ -40,156 +50,376 @@ import java.util.Map;
 public class TestExecutor {
 
     private final TestResultService testResultService;
+    private final BrowserSessionPool browserSessionPool;
+    private final List<ApiExecutionEngine> apiEngines;
+    private final AsyncApiPipeline asyncApiPipeline;
+    private final DeadlineWatchdog deadlineWatchdog;
+    private final RunCancellationService runCancellation;
+    private final WebVitalsCollector webVitalsCollector;
+    private final StepRetrier stepRetrier;
+    private final RunLedger runLedger;
     // private final RetryTemplate retryTemplate;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${executor.api.engine:" + PooledHttpApiEngine.NAME + "}")
+    private String apiEngineMode;
+
     /**
-     * Execute a single test case (UI or API)
+     * Execute a single test case (UI or API) under its deadline.
+     * On expiry the browser session / HTTP call is aborted and a TIMEOUT
+     * result is recorded; cancelling the run aborts it the same way
+     * (CANCELLED). Cases of an already cancelled run are dropped.
+     * The outcome is also counted in the run's {@link RunLedger}.
+     *
+     * @return the saved result, or null if the case was dropped
      */
-    public void executeTestCase(TestCase testCase, TestRun testRun) {
-        long startTime = System.currentTimeMillis();
-        TestResult result = new TestResult();
-        result.setTestName(testCase.getTestName());
-        result.setTestRun(testRun);
-        result.setTestSuite(testCase.getTestSuite());
-        result.setCreatedAt(LocalDateTime.now());
-
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()
-                && !"anonymousUser".equals(authentication.getPrincipal())) {
-            String username = authentication.getName();
-            userRepository.findByUsername(username).ifPresent(result::setExecutedBy);
+    public TestResult executeTestCase(TestCase testCase, TestRun testRun) {
+        Long runId = testRun != null ? testRun.getId() : null;
+        if (runCancellation.isCancelled(runId)) {
+            log.info("Skipping {}: run {} was cancelled", testCase.getTestCaseId(), runId);
+            return null;
         }
 
+        long startTime = System.currentTimeMillis();
+        TestResult result = newResult(testCase, testRun);
+        runLedger.started(runId);
+        ExecutionContext deadline = deadlineWatchdog.start(testCase.getTestCaseId(),
+                deadlineWatchdog.resolveTimeoutMs(testCase));
+        Runnable cancel = deadline::cancel;
+        runCancellation.register(runId, cancel);
+
         try {
             log.info("Executing {} test: {}", testCase.getTestType(), testCase.getTestCaseId());
 
             if ("UI".equalsIgnoreCase(testCase.getTestType())) {
-                executeUITest(testCase);
+                executeUITest(testCase, result);
             } else if ("API".equalsIgnoreCase(testCase.getTestType())) {
-                executeAPITest(testCase);
+                executeAPITest(testCase, result);
             } else {
                 throw new IllegalArgumentException("Invalid test type: " + testCase.getTestType());
             }
 
             result.setStatus(TestStatus.PASSED);
             result.setDuration(System.currentTimeMillis() - startTime);
-            result.setRetryCount(0);
             log.info("✓ PASSED: {}", testCase.getTestCaseId());
 
         } catch (Exception e) {
-            result.setStatus(TestStatus.FAILED);
             result.setDuration(System.currentTimeMillis() - startTime);
-            result.setErrorMessage(e.getMessage());
-            result.setRetryCount(0);
-            log.error("✗ FAILED: {} - {}", testCase.getTestCaseId(), e.getMessage());
+            if (deadline.isCancelled()) {
+                result.setStatus(TestStatus.CANCELLED);
+                result.setErrorMessage("Cancelled with run " + runId);
+                log.warn("⊘ CANCELLED: {}", testCase.getTestCaseId());
+            } else if (deadline.isExpired()) {
+                result.setStatus(TestStatus.TIMEOUT);
+                result.setErrorMessage("Timed out after " + deadline.getTimeoutMs() + "ms: " + e.getMessage());
+                log.error("⏱ TIMEOUT: {} after {}ms", testCase.getTestCaseId(), deadline.getTimeoutMs());
+            } else {
+                result.setStatus(TestStatus.FAILED);
+                result.setErrorMessage(e.getMessage());
+                log.error("✗ FAILED: {} - {}", testCase.getTestCaseId(), e.getMessage());
+            }
+        } finally {
+            runCancellation.unregister(runId, cancel);
+            deadlineWatchdog.finish(deadline);
         }
 
-        testResultService.saveTestResult(result);
+        try {
+            return testResultService.saveTestResult(result);
+        } finally {
+            runLedger.finished(runId, result.getStatus(), result.getDuration());
+        }
     }
 
     /**
-     * Execute UI test with dynamic URL and element interaction
+     * Non-blocking counterpart of {@link #executeTestCase} for API cases:
+     * send, validate and persist are chained as CompletableFuture stages on
+     * the apiAsyncExecutor pool. The returned future completes once the
+     * result is saved (with that result, or null if the case was dropped)
+     * and never completes exceptionally (failures are recorded as FAILED
+     * results, like executeTestCase).
+     * May block the caller while the pipeline's in-flight limit is reached.
      */
-    private void executeUITest(TestCase testCase) {
-        WebDriver driver = null;
-        try {
-            WebDriverManager.chromedriver().setup();
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless", "--no-sandbox", "--disable-dev-shm-usage");
-            driver = new ChromeDriver(options);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-
-            String url = testCase.getUrlEndpoint();
-            if (url == null || url.trim().isEmpty()) {
-                throw new IllegalArgumentException("URL is required for UI tests");
-            }
+    public CompletableFuture<TestResult> executeTestCaseAsync(TestCase testCase, TestRun testRun) {
+        Long runId = testRun != null ? testRun.getId() : null;
+        if (runCancellation.isCancelled(runId)) {
+            log.info("Skipping {}: run {} was cancelled", testCase.getTestCaseId(), runId);
+            return CompletableFuture.completedFuture(null);
+        }
 
-            log.debug("Navigating to: {}", url);
-            driver.get(url);
+        long startTime = System.currentTimeMillis();
+        TestResult result = newResult(testCase, testRun);
+        runLedger.started(runId);
+
+        CompletableFuture<ApiResponse> call;
+        if (!"API".equalsIgnoreCase(testCase.getTestType())) {
+            call = CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Async execution supports API tests only, got: " + testCase.getTestType()));
+        } else {
+            log.info("Executing API test (async): {}", testCase.getTestCaseId());
+            call = asyncApiPipeline.submit(apiEngine(), ApiRequest.fromTestCase(testCase),
+                    deadlineWatchdog.resolveTimeoutMs(testCase));
+        }
+        CompletableFuture<ApiResponse> inFlight = call;
+        Runnable cancel = () -> inFlight.cancel(true);
+        runCancellation.register(runId, cancel);
+
+        Executor stages = asyncApiPipeline.executor();
+        return call
+                .thenApplyAsync(response -> {
+                    validateAPIResult(response, testCase.getExpectedResult());
+                    return response;
+                }, stages)
+                .handle((response, error) -> {
+                    result.setDuration(System.currentTimeMillis() - startTime);
+                    result.setRetryCount(0);
+                    if (error == null) {
+                        result.setStatus(TestStatus.PASSED);
+                        log.info("✓ PASSED: {}", testCase.getTestCaseId());
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (runCancellation.isCancelled(runId)) {
+                            result.setStatus(TestStatus.CANCELLED);
+                            result.setErrorMessage("Cancelled with run " + runId);
+                            log.warn("⊘ CANCELLED: {}", testCase.getTestCaseId());
+                        } else if (cause instanceof TimeoutException) {
+                            result.setStatus(TestStatus.TIMEOUT);
+                            result.setErrorMessage(cause.getMessage());
+                            log.error("⏱ TIMEOUT: {} - {}", testCase.getTestCaseId(), cause.getMessage());
+                        } else {
+                            result.setStatus(TestStatus.FAILED);
+                            result.setErrorMessage("API test failed: " + cause.getMessage());
+                            log.error("✗ FAILED: {} - {}", testCase.getTestCaseId(), cause.getMessage());
+                        }
+                    }
+                    return result;
+                })
+                .thenApplyAsync(testResultService::saveTestResult, stages)
+                .whenComplete((saved, e) -> {
+                    runCancellation.unregister(runId, cancel);
+                    runLedger.finished(runId, result.getStatus(), result.getDuration());
+                })
+                .exceptionally(e -> {
+                    log.error("Failed to save async result for {}: {}", testCase.getTestCaseId(), e.getMessage());
+                    return null;
+                });
+    }
 
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+    /**
+     * New result row linked to the run/suite and the authenticated user.
+     * Must be called on the request thread (security context is thread-bound).
+     */
+    private TestResult newResult(TestCase testCase, TestRun testRun) {
+        TestResult result = new TestResult();
+        result.setTestName(testCase.getTestName());
+        result.setTestRun(testRun);
+        result.setTestSuite(testCase.getTestSuite());
+        result.setCreatedAt(LocalDateTime.now());
 
-            // Find element using locator
-            WebElement element = findElement(driver, wait, testCase);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getPrincipal())) {
+            String username = authentication.getName();
+            userRepository.findByUsername(username).ifPresent(result::setExecutedBy);
+        }
+        return result;
+    }
 
-            // Perform action
-            String action = testCase.getHttpMethodAction().toLowerCase();
-            performUIAction(driver, element, action, testCase.getInputData());
+    /**
+     * Execute UI test as an execution plan (single action or actionsJson steps)
+     */
+    private void executeUITest(TestCase testCase, TestResult result) {
+        if (testCase.getUrlEndpoint() == null || testCase.getUrlEndpoint().trim().isEmpty()) {
+            throw new IllegalArgumentException("URL is required for UI tests");
+        }
+
+        PlanResult planResult = executePlan(ExecutionPlan.fromTestCase(testCase),
+                webVitalsCollector.shouldCapture(testCase.getPerfBudget()));
+        result.setStepTimings(planResult.timingsJson());
+        result.setPhases(planResult.phases());
+        result.setWebVitals(planResult.webVitals());
+        result.setRetryCount(planResult.retries().size());
+        result.setAttemptLog(planResult.attemptLogJson());
+        if (!planResult.passed()) {
+            throw new IllegalStateException(planResult.error());
+        }
+
+        List<String> violations = WebVitalsCollector.checkBudget(planResult.webVitals(), testCase.getPerfBudget());
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Performance budget exceeded: " + String.join(", ", violations));
+        }
+    }
+
+    /**
+     * Run every step of a plan in one leased browser session.
+     * Stops at the first failing step; per-step and per-phase timings are
+     * always returned.
+     */
+    public PlanResult executePlan(ExecutionPlan plan) {
+        return executePlan(plan, false);
+    }
+
+    /**
+     * @param captureVitals also read the start page's web vitals after navigation
+     */
+    public PlanResult executePlan(ExecutionPlan plan, boolean captureVitals) {
+        List<StepTiming> timings = new ArrayList<>();
+        List<StepRetrier.Attempt> retries = new ArrayList<>();
+        PhaseTimings phases = new PhaseTimings();
+        WebVitals vitals = null;
+        long launchStart = System.currentTimeMillis();
+        BrowserSession session = browserSessionPool.lease();
+        phases.setLaunchMs(System.currentTimeMillis() - launchStart);
+        // A hung page is only freed by killing its browser; the pool then drops the session
+        ExecutionContext deadline = deadlineWatchdog.current();
+        Runnable abortSession = () -> browserSessionPool.invalidate(session);
+        if (deadline != null) {
+            deadline.onExpiry(abortSession);
+        }
+        try {
+            WebDriver driver = session.getDriver();
+
+            log.debug("Navigating to: {} ({} steps)", plan.getUrl(), plan.size());
+            long navigateStart = System.currentTimeMillis();
+            try {
+                driver.get(plan.getUrl());
+            } finally {
+                phases.setNavigateMs(System.currentTimeMillis() - navigateStart);
+            }
+            if (captureVitals) {
+                vitals = webVitalsCollector.capture(driver);
+            }
+
+            WebDriverWait wait = new WebDriverWait(driver, waitTimeout(deadline));
+
+            List<Step> steps = plan.getSteps();
+            for (int i = 0; i < steps.size(); i++) {
+                Step step = steps.get(i);
+                String label = "Step " + (i + 1) + "/" + steps.size() + " (" + step.type() + ")";
+                int retriesBefore = retries.size();
+                long stepStart = System.currentTimeMillis();
+                try {
+                    String locatorType = step.locatorValue() != null ? step.locatorType() : plan.getLocatorType();
+                    String locatorValue = step.locatorValue() != null ? step.locatorValue() : plan.getLocatorValue();
+                    // A transient failure re-locates and re-acts in the same session
+                    stepRetrier.run(label, stepRetrier.resolveRetries(step.retries(), plan.getMaxRetries()),
+                            deadline, retries, () -> {
+                                long locateStart = System.currentTimeMillis();
+                                WebElement element;
+                                try {
+                                    element = findElement(wait, locatorType, locatorValue);
+                                } finally {
+                                    phases.addLocateMs(System.currentTimeMillis() - locateStart);
+                                }
+                                long actStart = System.currentTimeMillis();
+                                try {
+                                    performUIAction(driver, element, step.type(), step.value());
+                                } finally {
+                                    phases.addActMs(System.currentTimeMillis() - actStart);
+                                }
+                                return null;
+                            });
+                    timings.add(new StepTiming(i, step.type(), System.currentTimeMillis() - stepStart, true, null,
+                            retries.size() - retriesBefore + 1));
+                } catch (Exception e) {
+                    timings.add(new StepTiming(i, step.type(), System.currentTimeMillis() - stepStart, false,
+                            e.getMessage(), retries.size() - retriesBefore + 1));
+                    return new PlanResult(timings, false, label + " failed: " + e.getMessage(),
+                            phases, vitals, retries);
+                }
+            }
 
             // Validate expected result if provided
-            if (testCase.getExpectedResult() != null && !testCase.getExpectedResult().isEmpty()) {
-                validateUIResult(driver, testCase.getExpectedResult());
+            if (plan.getExpectedResult() != null && !plan.getExpectedResult().isEmpty()) {
+                long validateStart = System.currentTimeMillis();
+                try {
+                    validateUIResult(driver, plan.getExpectedResult());
+                } finally {
+                    phases.setValidateMs(System.currentTimeMillis() - validateStart);
+                }
             }
 
+            return new PlanResult(timings, true, null, phases, vitals, retries);
+
+        } catch (Exception e) {
+            return new PlanResult(timings, false, e.getMessage(), phases, vitals, retries);
         } finally {
-            if (driver != null) {
-                driver.quit();
+            long teardownStart = System.currentTimeMillis();
+            if (deadline != null) {
+                deadline.clearHook(abortSession);
             }
+            browserSessionPool.release(session);
+            // Same object as in the returned PlanResult
+            phases.setTeardownMs(System.currentTimeMillis() - teardownStart);
         }
     }
 
     /**
-     * Execute API test with full HTTP method support
+     * Element wait of 15s, shortened to whatever is left of the test deadline.
      */
-    private void executeAPITest(TestCase testCase) {
-        String url = testCase.getUrlEndpoint();
-        String method = testCase.getHttpMethodAction().toUpperCase();
-        String inputData = testCase.getInputData();
+    private Duration waitTimeout(ExecutionContext deadline) {
+        long waitMs = 15_000;
+        if (deadline != null) {
+            waitMs = Math.max(1, Math.min(waitMs, deadline.remainingMs()));
+        }
+        return Duration.ofMillis(waitMs);
+    }
 
-        log.debug("API {} request to: {}", method, url);
+    /**
+     * Execute API test through the configured API engine (pooled or restassured).
+     * On deadline expiry the thread interrupt aborts the pooled engine's blocking send.
+     * Transient network failures resend the request on the same engine (POST
+     * and PATCH only when the connection failed); a response that fails its
+     * expectation is not retried.
+     */
+    private void executeAPITest(TestCase testCase, TestResult result) {
+        ApiRequest request = ApiRequest.fromTestCase(testCase);
+        ApiExecutionEngine engine = apiEngine();
+
+        log.debug("API {} request to: {} via {}", request.method(), request.url(), engine.name());
 
-        Response response;
+        List<StepRetrier.Attempt> retries = new ArrayList<>();
         try {
-            response = switch (method) {
-                case "GET" -> RestAssured.given()
-                        .when()
-                        .get(url);
-
-                case "POST" -> RestAssured.given()
-                        .contentType("application/json")
-                        .body(inputData != null ? inputData : "{}")
-                        .when()
-                        .post(url);
-
-                case "PUT" -> RestAssured.given()
-                        .contentType("application/json")
-                        .body(inputData != null ? inputData : "{}")
-                        .when()
-                        .put(url);
-
-                case "PATCH" -> RestAssured.given()
-                        .contentType("application/json")
-                        .body(inputData != null ? inputData : "{}")
-                        .when()
-                        .patch(url);
-
-                case "DELETE" -> RestAssured.given()
-                        .when()
-                        .delete(url);
-
-                default -> throw new IllegalArgumentException("Unsupported HTTP method: " + method);
-            };
-
-            log.debug("API response: {} - Status: {}", url, response.getStatusCode());
-
-            // Validate expected result (status code or body content)
+            ApiResponse response = stepRetrier.run("Request " + request.method() + " " + request.url(),
+                    stepRetrier.resolveRetries(null, testCase.getMaxRetries()), deadlineWatchdog.current(),
+                    retries, StepRetrier.isIdempotent(request.method()), () -> engine.execute(request));
+
+            log.debug("API response: {} - Status: {} ({}ms, {})", request.url(), response.statusCode(),
+                    response.durationMs(), response.protocol());
+
+            // Validate expected result (status, time, size, header, JSONPath, body)
             validateAPIResult(response, testCase.getExpectedResult());
 
         } catch (Exception e) {
             throw new RuntimeException("API test failed: " + e.getMessage(), e);
+        } finally {
+            result.setRetryCount(retries.size());
+            result.setAttemptLog(StepRetrier.toJson(retries));
         }
     }
 
     /**
-     * Find element using locator type and value
+     * Engine selected by executor.api.engine; falls back to the pooled engine.
      */
-    private WebElement findElement(WebDriver driver, WebDriverWait wait, TestCase testCase) {
-        String locatorType = testCase.getLocatorType();
-        String locatorValue = testCase.getLocatorValue();
+    public ApiExecutionEngine apiEngine() {
+        ApiExecutionEngine fallback = null;
+        for (ApiExecutionEngine engine : apiEngines) {
+            if (engine.name().equalsIgnoreCase(apiEngineMode)) {
+                return engine;
+            }
+            if (PooledHttpApiEngine.NAME.equals(engine.name())) {
+                fallback = engine;
+            }
+        }
+        return fallback != null ? fallback : apiEngines.get(0);
+    }
 
+    /**
+     * Find element using locator type and value
+     */
+    private WebElement findElement(WebDriverWait wait, String locatorType, String locatorValue) {
         if (locatorType == null || locatorValue == null) {
             throw new IllegalArgumentException("Locator type and value required for UI tests");
         }
@@ -211,9 +441,12 @@ public class TestExecutor {
      * Perform UI action on element
      */
     private void performUIAction(WebDriver driver, WebElement element, String action, String inputData) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action is required for UI tests");
+        }
         Actions actions = new Actions(driver);
 
-        switch (action) {
+        switch (action.toLowerCase()) {
             case "click" -> element.click();
             case "doubleclick" -> actions.doubleClick(element).perform();
             case "rightclick" -> actions.contextClick(element).perform();
@@ -250,38 +483,22 @@ public class TestExecutor {
     }
 
     /**
-     * Validate API test result
+     * Validate API test result against the compiled expectedResult
+     * (see {@link ApiExpectation}); all failing clauses go into the error.
      */
-    private void validateAPIResult(Response response, String expectedResult) {
-        if (expectedResult == null || expectedResult.isEmpty()) {
-            // Just check if response is successful (2xx)
-            if (response.getStatusCode() >= 400) {
-                log.error("API returned error status: " + response.getStatusCode());
-                return;
+    private void validateAPIResult(ApiResponse response, String expectedResult) {
+        ApiExpectation expectation = ApiExpectation.of(expectedResult);
+        if (expectation.isEmpty()) {
+            if (response.statusCode() >= 400) {
+                log.error("API returned error status: " + response.statusCode());
             }
             return;
         }
 
-        // Check status code
-        if (expectedResult.matches("\\d{3}.*")) {
-            int expectedStatus = Integer.parseInt(expectedResult.split("\\s")[0]);
-            if (response.getStatusCode() != expectedStatus) {
-                log.error("Expected status " + expectedStatus +
-                        " but got " + response.getStatusCode());
-                return;
-            }
-            return;
+        List<String> failures = expectation.evaluate(response);
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Expectation failed: " + String.join("; ", failures));
         }
-
-        // Check response body contains expected text
-        if (!expectedResult.matches("\\d{3}.*")) {
-            String body = response.getBody().asString();
-            if (!body.contains(expectedResult)) {
-            log.error("Response body does not contain: " + expectedResult);
-            return;
-        }
-        return;
-    }
     }
 
     /**
@@ -289,36 +506,13 @@ public class TestExecutor {
      */
     public void executeDynamicTest(String url, String elementId, String action,
             String expectedResult, String value) {
-        WebDriver driver = null;
-        try {
-            WebDriverManager.chromedriver().setup();
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless", "--no-sandbox", "--disable-dev-shm-usage");
-            driver = new ChromeDriver(options);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-
-            log.debug("Dynamic test: URL={}, Element={}, Action={}", url, elementId, action);
-            driver.get(url);
-
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-            WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(By.id(elementId)));
-
-            performUIAction(driver, element, action, value);
-
-            if (expectedResult != null && !expectedResult.isEmpty()) {
-                validateUIResult(driver, expectedResult);
-            }
-
-            log.info("✓ Dynamic test PASSED");
-
-        } catch (Exception e) {
-            log.error("✗ Dynamic test FAILED: {}", e.getMessage());
-            throw new RuntimeException("Dynamic test failed: " + e.getMessage(), e);
-        } finally {
-            if (driver != null) {
-                driver.quit();
-            }
+        log.debug("Dynamic test: URL={}, Element={}, Action={}", url, elementId, action);
+        PlanResult planResult = executePlan(ExecutionPlan.single(url, elementId, action, value, expectedResult));
+        if (!planResult.passed()) {
+            log.error("✗ Dynamic test FAILED: {}", planResult.error());
+            throw new RuntimeException("Dynamic test failed: " + planResult.error());
         }
+        log.info("✓ Dynamic test PASSED");
     }
 
     /**
@@ -327,38 +521,12 @@ public class TestExecutor {
     public void executeDynamicMultiAction(String url, String elementId,
             List<Map<String, Object>> actions,
             String expectedResult) {
-        WebDriver driver = null;
-        try {
-            WebDriverManager.chromedriver().setup();
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless", "--no-sandbox", "--disable-dev-shm-usage");
-            driver = new ChromeDriver(options);
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-
-            driver.get(url);
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-            WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(By.id(elementId)));
-
-            for (Map<String, Object> actionStep : actions) {
-                String actionType = (String) actionStep.get("type");
-                String value = (String) actionStep.get("value");
-                performUIAction(driver, element, actionType, value);
-            }
-
-            if (expectedResult != null && !expectedResult.isEmpty()) {
-                validateUIResult(driver, expectedResult);
-            }
-
-            log.info("✓ Multi-action dynamic test PASSED");
-
-        } catch (Exception e) {
-            log.error("✗ Multi-action dynamic test FAILED: {}", e.getMessage());
-            throw new RuntimeException("Multi-action test failed: " + e.getMessage(), e);
-        } finally {
-            if (driver != null) {
-                driver.quit();
-            }
+        PlanResult planResult = executePlan(ExecutionPlan.fromActions(url, elementId, actions, expectedResult));
+        if (!planResult.passed()) {
+            log.error("✗ Multi-action dynamic test FAILED: {}", planResult.error());
+            throw new RuntimeException("Multi-action test failed: " + planResult.error());
         }
+        log.info("✓ Multi-action dynamic test PASSED");
     }
 
     /**
@@ -0,0 +1,189 @@
+package com.example.test_framework_api.worker;
+
+import com.example.test_framework_api.model.WebVitals;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads page performance metrics from the browser of a UI test and checks
+ * them against the case's performance budget.
+ *
+ * Navigation Timing, LCP and CLS come from the page's Performance API; the
+ * JS heap comes from CDP Performance.getMetrics when the driver is
+ * Chromium-based (falls back to performance.memory).
+ */
+@Component
+@Slf4j
+public class WebVitalsCollector {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // LCP and layout shifts are only exposed to (buffered) PerformanceObservers
+    private static final String SCRIPT = """
+            const done = arguments[arguments.length - 1];
+            const out = {};
+            const nav = performance.getEntriesByType('navigation')[0];
+            if (nav) {
+              out.ttfb = nav.responseStart;
+              out.dcl = nav.domContentLoadedEventEnd;
+              out.load = nav.loadEventEnd;
+            }
+            out.requests = performance.getEntriesByType('resource').length + 1;
+            out.heap = performance.memory ? performance.memory.usedJSHeapSize : null;
+            let lcp = null;
+            let cls = 0;
+            try {
+              new PerformanceObserver(list => {
+                const entries = list.getEntries();
+                if (entries.length) lcp = entries[entries.length - 1].startTime;
+              }).observe({ type: 'largest-contentful-paint', buffered: true });
+              new PerformanceObserver(list => {
+                for (const e of list.getEntries()) if (!e.hadRecentInput) cls += e.value;
+              }).observe({ type: 'layout-shift', buffered: true });
+            } catch (e) {}
+            setTimeout(() => { out.lcp = lcp; out.cls = cls; done(out); }, 100);
+            """;
+
+    private final boolean enabled;
+
+    public WebVitalsCollector(@Value("${executor.web-vitals.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Capture for every UI test, or only for cases that declare a budget.
+     */
+    public boolean shouldCapture(String perfBudget) {
+        return enabled || (perfBudget != null && !perfBudget.isBlank());
+    }
+
+    /**
+     * Metrics of the currently loaded page; null if the browser could not provide them.
+     */
+    public WebVitals capture(WebDriver driver) {
+        try {
+            Object raw = ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT);
+            if (!(raw instanceof Map<?, ?> values)) {
+                return null;
+            }
+            WebVitals vitals = new WebVitals();
+            vitals.setTtfbMs(asLong(values.get("ttfb")));
+            vitals.setDomContentLoadedMs(asLong(values.get("dcl")));
+            vitals.setLoadMs(asLong(values.get("load")));
+            vitals.setLcpMs(asLong(values.get("lcp")));
+            vitals.setCls(values.get("cls") instanceof Number cls ? cls.doubleValue() : null);
+            vitals.setRequestCount(values.get("requests") instanceof Number n ? n.intValue() : null);
+            Long heap = cdpHeapBytes(driver);
+            vitals.setJsHeapBytes(heap != null ? heap : asLong(values.get("heap")));
+            return vitals;
+        } catch (Exception e) {
+            log.warn("Could not capture web vitals: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Long cdpHeapBytes(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return null;
+        }
+        try {
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+            Object metrics = cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics");
+            if (metrics instanceof List<?> list) {
+                for (Object metric : list) {
+                    if (metric instanceof Map<?, ?> m && "JSHeapUsedSize".equals(m.get("name"))) {
+                        return asLong(m.get("value"));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.debug("CDP performance metrics unavailable: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Budget violations, e.g. "lcpMs 3120 > 2500". The budget is a JSON object
+     * of maximum values keyed by {@link WebVitals#asMap()} names, e.g.
+     * {"lcpMs": 2500, "cls": 0.1}. A budgeted metric that was not captured
+     * is a violation too, so a case can't pass its budget unmeasured.
+     *
+     * @throws IllegalArgumentException if the budget is not valid (see {@link #validateBudget})
+     */
+    public static List<String> checkBudget(WebVitals vitals, String perfBudget) {
+        List<String> violations = new ArrayList<>();
+        if (perfBudget == null || perfBudget.isBlank()) {
+            return violations;
+        }
+        Map<String, Double> budget = validateBudget(perfBudget);
+        if (vitals == null) {
+            violations.add("web vitals not captured");
+            return violations;
+        }
+        Map<String, Number> actual = vitals.asMap();
+        budget.forEach((metric, max) -> {
+            Number value = actual.get(metric);
+            if (value == null) {
+                violations.add(metric + " not captured");
+            } else if (value.doubleValue() > max) {
+                violations.add(metric + " " + value + " > " + formatLimit(max));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * Parse a perfBudget into metric name to maximum, checked at CSV import
+     * and before every budget check.
+     *
+     * @throws IllegalArgumentException if the budget is not a JSON object of
+     *         numeric limits keyed by known metric names
+     */
+    public static Map<String, Double> validateBudget(String perfBudget) {
+        JsonNode budget;
+        try {
+            budget = MAPPER.readTree(perfBudget);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid perfBudget JSON: " + e.getMessage());
+        }
+        if (budget == null || !budget.isObject()) {
+            throw new IllegalArgumentException("perfBudget must be a JSON object, e.g. {\"lcpMs\": 2500}");
+        }
+        Set<String> metrics = new WebVitals().asMap().keySet();
+        Map<String, Double> limits = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = budget.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> limit = fields.next();
+            if (!metrics.contains(limit.getKey())) {
+                throw new IllegalArgumentException("Unknown perfBudget metric: " + limit.getKey()
+                        + " (expected one of " + metrics + ")");
+            }
+            if (!limit.getValue().isNumber()) {
+                throw new IllegalArgumentException("perfBudget " + limit.getKey() + " must be a number");
+            }
+            limits.put(limit.getKey(), limit.getValue().asDouble());
+        }
+        return limits;
+    }
+
+    private static String formatLimit(double max) {
+        return max == Math.rint(max) ? String.valueOf((long) max) : String.valueOf(max);
+    }
+
+    private static Long asLong(Object value) {
+        return value instanceof Number n ? Math.round(n.doubleValue()) : null;
+    }
+}
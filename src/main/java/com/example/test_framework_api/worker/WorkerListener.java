@@ -11,11 +11,21 @@ import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 
 import com.example.test_framework_api.config.RabbitMQConfig;
+import com.example.test_framework_api.dto.ExecutionOptions;
 import com.example.test_framework_api.dto.TestCaseExecutionRequest;
 import com.example.test_framework_api.model.TestCase;
 import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.dto.ShardExecutionRequest;
+import com.example.test_framework_api.model.RunShard;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.service.RunLedger;
+import com.example.test_framework_api.service.ResultWriteBuffer;
+import com.example.test_framework_api.service.ShardCoordinator;
+import com.example.test_framework_api.service.WorkQueueService;
+import com.example.test_framework_api.dto.WorkPullRequest;
 import com.example.test_framework_api.service.TestRunService;
 import com.example.test_framework_api.service.TestSuiteService;
+import com.example.test_framework_api.worker.ExecutionPlan.PlanResult;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,6 +58,11 @@ public class WorkerListener {
     private final TestRunRepository testRunRepository;
     private final TestResultService testResultService;
     private final TestSuiteService suiteService;
+    private final RunCancellationService runCancellation;
+    private final ShardCoordinator shardCoordinator;
+    private final WorkQueueService workQueue;
+    private final RunLedger runLedger;
+    private final ResultWriteBuffer resultWriteBuffer;
 
     @RabbitListener(queues = QUEUE, containerFactory = "rabbitListenerContainerFactory")
     public void receiveMessage(TestRunRequest request) {
@@ -61,8 +76,8 @@ public class WorkerListener {
 
             testExecutor.executeTest();
             long duration = System.currentTimeMillis() - startTime;
-            updateTestRun(testRun, TestStatus.PASSED);
             saveResult(testRun, TestStatus.PASSED, duration, context.getRetryCount());
+            updateTestRun(testRun, TestStatus.PASSED);
             return null;
 
         }, recovery -> {
@@ -70,8 +85,8 @@ public class WorkerListener {
             log.warn("MAX RETRIES EXCEEDED – marking FAILED and sending to DLQ");
             TestRun testRun = testRunRepository.findById(request.getTestId()).orElse(null);
             if (testRun != null) {
-                updateTestRun(testRun, TestStatus.FAILED);
                 saveResult(testRun, TestStatus.FAILED, duration, recovery.getRetryCount());
+                updateTestRun(testRun, TestStatus.FAILED);
             }
             return null;
         });
@@ -96,30 +111,40 @@ public class WorkerListener {
 
         long startTime = System.currentTimeMillis();
         try {
+            ExecutionPlan plan;
             if (actionsList != null && !actionsList.isEmpty()) {
-                for (Map<String, Object> step : actionsList) {
-                    String stepAction = (String) step.get("type");
-                    String value = (String) step.get("value");
-                    testExecutor.executeDynamicTest(url, elementId, stepAction, expectedResult,
-                            value != null ? value : "");
-                }
+                plan = ExecutionPlan.fromActions(url, elementId, actionsList, expectedResult);
             } else if (action != null) {
-                testExecutor.executeDynamicTest(url, elementId, action, expectedResult, "");
+                plan = ExecutionPlan.single(url, elementId, action, "", expectedResult);
             } else {
                 throw new IllegalArgumentException("No action provided");
             }
 
+            // Whole action list runs as one scenario in one browser session
+            PlanResult planResult = testExecutor.executePlan(plan);
+            TestStatus status = planResult.passed() ? TestStatus.PASSED : TestStatus.FAILED;
+            if (!planResult.passed()) {
+                log.error("Dynamic test FAILED: {}", planResult.error());
+            }
+
             TestRun testRun = testRunRepository.findById(testRunId).orElse(null);
             if (testRun != null) {
-                updateTestRun(testRun, TestStatus.PASSED);
-                saveResult(testRun, TestStatus.PASSED, System.currentTimeMillis() - startTime, 0);
+                TestResult r = buildResult(testRun, status, System.currentTimeMillis() - startTime,
+                        planResult.retries().size());
+                r.setErrorMessage(planResult.error());
+                r.setStepTimings(planResult.timingsJson());
+                r.setAttemptLog(planResult.attemptLogJson());
+                r.setPhases(planResult.phases());
+                testResultService.saveTestResult(r);
+                resultWriteBuffer.flush();
+                updateTestRun(testRun, status);
             }
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             TestRun testRun = testRunRepository.findById(testRunId).orElse(null);
             if (testRun != null) {
-                updateTestRun(testRun, TestStatus.FAILED);
                 saveResult(testRun, TestStatus.FAILED, duration, 1);
+                updateTestRun(testRun, TestStatus.FAILED);
             }
             log.error("Dynamic test FAILED: {}", e.getMessage());
         }
@@ -179,6 +204,14 @@ public class WorkerListener {
             return;
         }
 
+        // Cancelled while still queued in RabbitMQ
+        if (run.getStatus() == TestStatus.CANCELLED || runCancellation.isCancelled(run.getId())) {
+            log.warn("Run {} was cancelled before execution - dropping suite {}",
+                run.getId(), request.getTestSuiteId());
+            runCancellation.finish(run.getId(), TestStatus.CANCELLED);
+            return;
+        }
+
         // EDGE CASE 2: Invalid threads validation
         int parallelThreads = request.getParallelThreads();
         if (parallelThreads < 1 || parallelThreads > 8) {
@@ -202,8 +235,24 @@ public class WorkerListener {
             return;
         }
 
-        // EDGE CASE 1: Sequential fallback
-        if (parallelThreads == 1) {
+        ExecutionOptions options = request.getOptions() != null ? request.getOptions() : new ExecutionOptions();
+
+        // Pull-based run: cases go to the shared work queue, workers pull batches
+        if (options.getPullWorkers() > 0) {
+            log.info("Queueing suite {} for {} pulling workers", request.getTestSuiteId(), options.getPullWorkers());
+            workQueue.enqueue(run, request.getTestSuiteId(), cases, parallelThreads, options);
+            return;
+        }
+
+        // Sharded run: this worker only plans and publishes the shards
+        if (options.getShards() > 1) {
+            log.info("Sharding suite {} into up to {} shards", request.getTestSuiteId(), options.getShards());
+            shardCoordinator.dispatch(run, request.getTestSuiteId(), cases, parallelThreads, options);
+            return;
+        }
+
+        // EDGE CASE 1: Sequential fallback (non-standard modes, priority tiers and fail-fast use the dispatcher)
+        if (parallelThreads == 1 && !options.requiresDispatcher()) {
             log.info("Executing suite {} in SEQUENTIAL mode", request.getTestSuiteId());
             executeSequentialSuite(cases, run, request.getTestSuiteId());
         } else {
@@ -214,14 +263,15 @@ public class WorkerListener {
             suiteService.executeSuiteParallel(
                 request.getTestSuiteId(), 
                 run, 
-                parallelThreads
+                parallelThreads,
+                options
             ).whenComplete((result, ex) -> {
                 if (ex != null) {
                     log.error("Parallel execution failed: {}", ex.getMessage());
-                    run.setStatus(TestStatus.FAILED);
+                    run.setStatus(runCancellation.finish(run.getId(), TestStatus.FAILED));
                 } else {
                     // EDGE CASE 4: Mixed failure aggregation in service
-                    run.setStatus(TestStatus.COMPLETED);
+                    run.setStatus(runCancellation.finish(run.getId(), TestStatus.COMPLETED));
                 }
                 runService.updateTestRun(run);
                 log.info("Suite {} execution complete", request.getTestSuiteId());
@@ -229,6 +279,126 @@ public class WorkerListener {
         }
     }
 
+    /**
+     * One shard of a sharded suite run. Runs on the listener thread so the
+     * message is only acknowledged once the shard finished; a redelivered
+     * shard that already reported is ignored, and one that did not only runs
+     * the cases that have no result yet. The shard's outcome comes from its
+     * saved results. A shard of a run that was already cancelled or failed
+     * fast is finished without running its cases.
+     */
+    @RabbitListener(queues = RabbitMQConfig.SUITE_SHARD_QUEUE, containerFactory = "rabbitListenerContainerFactory")
+    public void handleShard(ShardExecutionRequest request) {
+        RunShard shard = shardCoordinator.claim(request.getShardId());
+        if (shard == null) {
+            log.warn("Shard {} unknown or already finished - ignoring", request.getShardId());
+            return;
+        }
+
+        TestRun run = runService.getTestRunById(shard.getTestRunId());
+        if (run == null || run.getStatus() == TestStatus.CANCELLED || Boolean.TRUE.equals(run.getCancelRequested())
+                || Boolean.TRUE.equals(run.getFailFastRequested())
+                || runCancellation.isCancelled(shard.getTestRunId())) {
+            // Cancelled, stopped by fail-fast on any node, or missing: the shard's cases are not run
+            TestStatus stopped = runCancellation.outcomeOf(shard.getTestRunId(), TestStatus.CANCELLED);
+            log.warn("Run {} {} or missing - dropping shard {}/{}", shard.getTestRunId(), stopped,
+                    shard.getShardIndex() + 1, shard.getShardCount());
+            shardCoordinator.finishShard(shard, stopped, null);
+            return;
+        }
+
+        ExecutionOptions options = request.getOptions() != null ? request.getOptions() : new ExecutionOptions();
+        List<TestCase> cases = shardCoordinator.casesOf(shard);
+        List<TestCase> pending = suiteService.casesWithoutResult(run.getId(), cases);
+        if (pending.size() < cases.size()) {
+            log.warn("Shard {}/{} of run {}: {} of {} cases already have results - skipping them",
+                    shard.getShardIndex() + 1, shard.getShardCount(), run.getId(), cases.size() - pending.size(),
+                    cases.size());
+        }
+        log.info("Executing shard {}/{} of run {} ({} cases, {} threads)", shard.getShardIndex() + 1,
+                shard.getShardCount(), run.getId(), pending.size(), request.getParallelThreads());
+
+        TestStatus outcome = null;
+        if (!pending.isEmpty()) {
+            try {
+                suiteService.executeShard(pending, run, shard.getTestSuiteId(), request.getParallelThreads(),
+                        options).join();
+            } catch (Exception e) {
+                log.error("Shard {} of run {} failed: {}", shard.getShardIndex() + 1, run.getId(), e.getMessage());
+                outcome = TestStatus.FAILED;
+            }
+        }
+        resultWriteBuffer.flush();
+        if (outcome == null) {
+            outcome = suiteService.outcomeOf(run.getId(), cases);
+        }
+        // finish() is left to the run's finalization: other shards of the run may still start here
+        shardCoordinator.finishShard(shard, runCancellation.outcomeOf(run.getId(), outcome),
+                run.getPeakConcurrency());
+    }
+
+    /**
+     * One pulling worker slot of a pull-based run: lease a batch, run it,
+     * repeat until the run's work queue is empty. While other workers still
+     * hold leases it keeps polling, so it takes over their items if their
+     * leases stall. The message is acknowledged when the loop ends.
+     */
+    @RabbitListener(queues = RabbitMQConfig.WORK_PULL_QUEUE, containerFactory = "rabbitListenerContainerFactory")
+    public void handleWorkPull(WorkPullRequest request) {
+        Long runId = request.getTestRunId();
+        ExecutionOptions options = request.getOptions() != null ? request.getOptions() : new ExecutionOptions();
+        int processed = 0;
+
+        while (true) {
+            TestRun run = runService.getTestRunById(runId);
+            if (run == null) {
+                log.error("TestRun not found for ID: {}", runId);
+                return;
+            }
+            if (run.getStatus() == TestStatus.CANCELLED || Boolean.TRUE.equals(run.getFailFastRequested())
+                    || runCancellation.isCancelled(runId)) {
+                // Cancelled by the user, or stopped by fail-fast on any node
+                TestStatus reason = run.getStatus() == TestStatus.CANCELLED ? TestStatus.CANCELLED : TestStatus.FAILED;
+                workQueue.dropPending(runId, request.getTestSuiteId(), reason);
+                break;
+            }
+
+            WorkQueueService.Batch batch = workQueue.lease(runId);
+            if (batch.isEmpty()) {
+                if (!workQueue.hasOutstanding(runId)) {
+                    break;
+                }
+                try {
+                    Thread.sleep(workQueue.getPollMs());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                continue;
+            }
+
+            // A reclaimed item may have finished on the worker that lost its lease
+            List<TestCase> pending = suiteService.casesWithoutResult(runId, batch.cases());
+            TestStatus outcome = null;
+            if (!pending.isEmpty()) {
+                try {
+                    suiteService.executeShard(pending, run, request.getTestSuiteId(), request.getParallelThreads(),
+                            options).join();
+                } catch (Exception e) {
+                    log.error("Work batch of run {} failed: {}", runId, e.getMessage());
+                    outcome = TestStatus.FAILED;
+                }
+            }
+            resultWriteBuffer.flush();
+            if (outcome == null) {
+                outcome = suiteService.outcomeOf(runId, batch.cases());
+            }
+            workQueue.complete(batch, outcome);
+            processed += batch.items().size();
+        }
+        log.info("Worker {} done with run {}: {} cases pulled", WorkerNode.ID, runId, processed);
+    }
+
     /**
      * EDGE CASE 1 & 4: Sequential execution with mixed failure tracking.
      */
@@ -236,8 +406,13 @@ public class WorkerListener {
         int executed = 0;
         int passed = 0;
         int failed = 0;
+        runLedger.expect(run.getId(), (int) cases.stream().filter(tc -> Boolean.TRUE.equals(tc.getRun())).count());
 
         for (TestCase tc : cases) {
+            if (runCancellation.isCancelled(run.getId())) {
+                log.warn("Run {} cancelled - dropping remaining sequential cases", run.getId());
+                break;
+            }
             if (!Boolean.TRUE.equals(tc.getRun())) {
                 log.debug("Skipping disabled test case: {}", tc.getTestCaseId());
                 continue;
@@ -245,14 +420,9 @@ public class WorkerListener {
 
             try {
                 log.info("Sequential execution: {} - {}", tc.getTestCaseId(), tc.getTestName());
-                testExecutor.executeTestCase(tc, run);
-                
-                List<TestResult> results = testResultService.findByTestRunIdAndTestName(
-                    run.getId(), tc.getTestName()
-                );
+                TestResult latestResult = testExecutor.executeTestCase(tc, run);
                 
-                if (!results.isEmpty()) {
-                    TestResult latestResult = results.get(results.size() - 1);
+                if (latestResult != null) {
                     if (latestResult.getStatus() == TestStatus.PASSED) {
                         passed++;
                         log.info("✓ PASSED: {}", tc.getTestCaseId());
@@ -296,6 +466,7 @@ public class WorkerListener {
             run.setStatus(TestStatus.FAILED);
             log.warn("Sequential suite FAILED: 0/{} passed", executed);
         }
+        run.setStatus(runCancellation.finish(run.getId(), run.getStatus()));
         
         runService.updateTestRun(run);
         suiteService.updateSuiteStatus(suiteId);
@@ -306,7 +477,19 @@ public class WorkerListener {
         testRunRepository.save(tr);
     }
 
+    /**
+     * Save the result of a single-test run and write it through the buffer,
+     * so it is readable once the run is marked finished.
+     */
     private void saveResult(TestRun tr, TestStatus status, long duration, int retryCount) {
+        TestResult r = buildResult(tr, status, duration, retryCount);
+        testResultService.saveTestResult(r);
+        resultWriteBuffer.flush();
+        log.debug("Saved TestResult for TestRun ID: {} | Status: {} | Duration: {}ms | Retries: {}", 
+            tr.getId(), status, duration, retryCount);
+    }
+
+    private TestResult buildResult(TestRun tr, TestStatus status, long duration, int retryCount) {
         TestResult r = new TestResult();
         r.setTestName(tr.getName());
         r.setStatus(status);
@@ -314,8 +497,6 @@ public class WorkerListener {
         r.setCreatedAt(LocalDateTime.now());
         r.setTestRun(tr);
         r.setRetryCount(retryCount);
-        testResultService.saveTestResult(r);
-        log.debug("Saved TestResult for TestRun ID: {} | Status: {} | Duration: {}ms | Retries: {}", 
-            tr.getId(), status, duration, retryCount);
+        return r;
     }
 }
\ No newline at end of file
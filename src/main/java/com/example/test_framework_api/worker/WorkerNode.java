@@ -0,0 +1,25 @@
+package com.example.test_framework_api.worker;
+
+import java.net.InetAddress;
+
+/**
+ * Identity of this worker process ("host:pid"), recorded on the shards and
+ * work items it runs.
+ */
+public final class WorkerNode {
+
+    public static final String ID = resolveId();
+
+    private WorkerNode() {
+    }
+
+    private static String resolveId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+}
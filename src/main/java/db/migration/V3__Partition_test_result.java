@@ -0,0 +1,136 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition test_result by day of created_at (RANGE COLUMNS). Old partitions
+ * can then be archived and dropped as a whole by ResultPartitionService
+ * instead of deleting rows, and queries bounded by created_at read only the
+ * partitions in range.
+ *
+ * MySQL requires the partitioning column in every unique key and supports no
+ * foreign keys on partitioned tables, so the primary key becomes
+ * (id, created_at) - ids stay unique through the sequence - and the foreign
+ * keys Hibernate created are dropped (the entity no longer declares them).
+ *
+ * Rows older than a year go into p_start; daily partitions follow up to a
+ * week ahead, then the catch-all p_future that the service splits as days
+ * pass. Skipped on databases other than MySQL.
+ *
+ * Both ALTERs copy the whole table, and migrations run during startup, so
+ * the migration is skipped (with a warning) when test_result holds more
+ * than results.partition.migration-max-rows rows (default 1,000,000, by the
+ * information_schema estimate; see PersistenceConfig). Such a table is
+ * partitioned out of band with an online schema change tool such as
+ * pt-online-schema-change or gh-ost, running the statements of
+ * {@link #statements} (the foreign keys dropped first); until then it stays
+ * unpartitioned, which ResultPartitionService leaves alone.
+ */
+@Slf4j
+public class V3__Partition_test_result extends BaseJavaMigration {
+
+    static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    public static final String MAX_ROWS_PLACEHOLDER = "resultPartitionMaxRows";
+    private static final long DEFAULT_MAX_ROWS = 1_000_000;
+    private static final int MAX_BACKFILL_DAYS = 365;
+    private static final int DAYS_AHEAD = 7;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")) {
+            return;
+        }
+        String maxRowsSetting = context.getConfiguration().getPlaceholders().get(MAX_ROWS_PLACEHOLDER);
+        long maxRows = maxRowsSetting != null ? Long.parseLong(maxRowsSetting.trim()) : DEFAULT_MAX_ROWS;
+        long rows = estimatedRows(connection);
+        if (rows > maxRows) {
+            log.warn("Not partitioning test_result: it holds about {} rows, more than {}. Partition it with an "
+                    + "online schema change tool (see V3__Partition_test_result).", rows, maxRows);
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String[] fk : foreignKeys(connection)) {
+                statement.execute("ALTER TABLE " + fk[0] + " DROP FOREIGN KEY " + fk[1]);
+            }
+            for (String sql : statements(partitions(firstDay(connection), LocalDate.now()))) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * The statements that partition test_result once its foreign keys are
+     * gone.
+     */
+    public static List<String> statements(List<String> partitions) {
+        return List.of("UPDATE test_result SET created_at = NOW(6) WHERE created_at IS NULL",
+                "ALTER TABLE test_result MODIFY created_at DATETIME(6) NOT NULL, "
+                        + "DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at)",
+                "ALTER TABLE test_result PARTITION BY RANGE COLUMNS(created_at) ("
+                        + String.join(", ", partitions) + ")");
+    }
+
+    // InnoDB's estimate: exact counts would scan the table this check is meant to spare
+    private static long estimatedRows(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT TABLE_ROWS FROM information_schema.TABLES "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'test_result'")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    // Foreign keys on test_result and any referencing it
+    private static List<String[]> foreignKeys(Connection connection) throws SQLException {
+        List<String[]> keys = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS "
+                        + "WHERE CONSTRAINT_SCHEMA = DATABASE() "
+                        + "AND (TABLE_NAME = 'test_result' OR REFERENCED_TABLE_NAME = 'test_result')");
+                ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                keys.add(new String[] { "`" + rs.getString(1) + "`", "`" + rs.getString(2) + "`" });
+            }
+        }
+        return keys;
+    }
+
+    private static LocalDate firstDay(Connection connection) throws SQLException {
+        LocalDate today = LocalDate.now();
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT MIN(created_at) FROM test_result")) {
+            Timestamp oldest = rs.next() ? rs.getTimestamp(1) : null;
+            LocalDate first = oldest != null ? oldest.toLocalDateTime().toLocalDate() : today;
+            LocalDate floor = today.minusDays(MAX_BACKFILL_DAYS);
+            return first.isBefore(floor) ? floor : first.isAfter(today) ? today : first;
+        }
+    }
+
+    /**
+     * p_start below firstDay, one partition per day from firstDay through a
+     * week after today, then p_future.
+     */
+    public static List<String> partitions(LocalDate firstDay, LocalDate today) {
+        List<String> partitions = new ArrayList<>();
+        partitions.add("PARTITION p_start VALUES LESS THAN ('" + firstDay + "')");
+        LocalDate last = today.plusDays(DAYS_AHEAD);
+        for (LocalDate day = firstDay; !day.isAfter(last); day = day.plusDays(1)) {
+            partitions.add("PARTITION " + day.format(NAME) + " VALUES LESS THAN ('" + day.plusDays(1) + "')");
+        }
+        partitions.add("PARTITION p_future VALUES LESS THAN (MAXVALUE)");
+        return partitions;
+    }
+}
@@ -0,0 +1,29 @@
+-- Secondary indexes for the access paths of TestResultRepository and the
+-- keyset listings. Tables and columns are still created by Hibernate; these
+-- migrations run right after it (see PersistenceConfig).
+
+-- findByTestRunIdAndTestName, findByTestRunId, sumPhasesByRunId, result count of run listings
+CREATE INDEX idx_result_run_name ON test_result (test_run_id, test_name);
+
+-- countByRunIdAndStatus (covering)
+CREATE INDEX idx_result_run_status ON test_result (test_run_id, status);
+
+-- Suite history and analytics: findLatestBySuiteId, findBySuiteIdOrderByCreatedAtDesc,
+-- findDailyPassRateBySuite, findDailyWebVitalsBySuite, countBySuiteIdAndStatus
+CREATE INDEX idx_result_suite_created ON test_result (test_suite_id, created_at, status);
+
+-- findAvgDurationByTestName(s), findTestsWithMixedResults (covering)
+CREATE INDEX idx_result_name_status_duration ON test_result (test_name, status, duration);
+
+-- findByStatus, status filter of the result listing in createdAt order
+CREATE INDEX idx_result_status_created ON test_result (status, created_at, id);
+
+-- findFlakyTests: retry_count range, flaky_score read from the index
+CREATE INDEX idx_result_retry_flaky ON test_result (retry_count, flaky_score);
+
+-- Keyset listing by createdAt, findDailyPassRate, findByCreatedAtBetween
+CREATE INDEX idx_result_created ON test_result (created_at, id);
+
+-- Keyset listings of runs and suites
+CREATE INDEX idx_run_created ON test_run (created_at, id);
+CREATE INDEX idx_suite_created ON test_suite (created_at, id);
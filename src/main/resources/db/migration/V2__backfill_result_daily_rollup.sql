@@ -0,0 +1,11 @@
+-- Load the daily rollups from the results written before they existed.
+-- From here on ResultRollupService keeps them up to date.
+INSERT INTO result_daily_rollup (test_suite_id, test_name, result_date, total, passed, failed, timed_out, retries,
+        duration_count, duration_sum_ms, duration_sum_sq, min_duration_ms, max_duration_ms)
+SELECT COALESCE(test_suite_id, 0), test_name, DATE(COALESCE(created_at, NOW())), COUNT(*),
+       SUM(status = 'PASSED'), SUM(status = 'FAILED'), SUM(status = 'TIMEOUT'), SUM(COALESCE(retry_count, 0)),
+       COUNT(duration), COALESCE(SUM(duration), 0), COALESCE(SUM(duration * duration), 0),
+       MIN(duration), MAX(duration)
+FROM test_result
+WHERE test_name IS NOT NULL
+GROUP BY COALESCE(test_suite_id, 0), test_name, DATE(COALESCE(created_at, NOW()));
@@ -0,0 +1,106 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.service.AdaptiveLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ADAPTIVE CONCURRENCY TESTS: AIMD limit changes per window of results
+ */
+class AdaptiveLimiterTests {
+
+    private static final AdaptiveLimiter.Policy POLICY = new AdaptiveLimiter.Policy(0.5, 1.5, 0.1, 0.5, 1.5, 0.1);
+
+    private final AtomicReference<AdaptiveLimiter.SystemSample> system = new AtomicReference<>();
+    private AdaptiveLimiter.Timeline timeline;
+
+    @BeforeEach
+    void setUp() {
+        system.set(new AdaptiveLimiter.SystemSample(0.2, 0.8));
+        timeline = new AdaptiveLimiter.Timeline();
+    }
+
+    private AdaptiveLimiter limiter(int initial, int ceiling) {
+        return new AdaptiveLimiter("UI", initial, ceiling, POLICY, system::get, timeline);
+    }
+
+    /**
+     * Run one full window (current limit) of tests with the given outcome.
+     */
+    private void window(AdaptiveLimiter limiter, long durationMs, TestStatus status) throws Exception {
+        int size = limiter.getLimit();
+        for (int i = 0; i < size; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < size; i++) {
+            limiter.release(durationMs, 1000, status);
+        }
+    }
+
+    @Test
+    void testHealthyWindows_GrowToCeiling() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 6);
+
+        window(limiter, 900, TestStatus.PASSED);
+        assertEquals(2, limiter.getLimit());
+        window(limiter, 900, TestStatus.PASSED);
+        window(limiter, 900, TestStatus.PASSED);
+        window(limiter, 900, TestStatus.PASSED);
+
+        assertEquals(6, limiter.getLimit());
+        assertEquals(6, limiter.getPeak());
+    }
+
+    @Test
+    void testTimeouts_CutLimitThenGrowAdditively() throws Exception {
+        AdaptiveLimiter limiter = limiter(4, 8);
+
+        window(limiter, 5000, TestStatus.TIMEOUT);
+        assertEquals(2, limiter.getLimit());
+
+        window(limiter, 900, TestStatus.PASSED);
+        assertEquals(3, limiter.getLimit());
+
+        assertTrue(timeline.toJson().contains("timeouts"));
+    }
+
+    @Test
+    void testSlowTests_CountAsCongestion() throws Exception {
+        AdaptiveLimiter limiter = limiter(4, 8);
+
+        window(limiter, 2000, TestStatus.PASSED);
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testHostPressure_ShrinksLimitButNotBelowOne() throws Exception {
+        AdaptiveLimiter limiter = limiter(2, 4);
+        system.set(new AdaptiveLimiter.SystemSample(0.2, 0.05));
+
+        window(limiter, 900, TestStatus.PASSED);
+        window(limiter, 900, TestStatus.PASSED);
+
+        assertEquals(1, limiter.getLimit());
+        AdaptiveLimiter.Timeline.Point last = timeline.getPoints().get(timeline.getPoints().size() - 1);
+        assertTrue(last.reason().startsWith("free memory"));
+    }
+
+    @Test
+    void testCancelledTests_DoNotCloseWindow() throws Exception {
+        AdaptiveLimiter limiter = limiter(2, 4);
+
+        limiter.acquire();
+        limiter.acquire();
+        limiter.releaseUnmeasured();
+        limiter.releaseUnmeasured();
+
+        assertEquals(2, limiter.getLimit());
+        assertEquals(1, timeline.getPoints().size());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.service.AdmissionController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ADMISSION TESTS: shared pool capacity across concurrent runs
+ */
+class AdmissionControllerTests {
+
+    private ThreadPoolTaskExecutor uiPool;
+    private ThreadPoolTaskExecutor apiPool;
+    private AdmissionController admission;
+
+    @BeforeEach
+    void setUp() {
+        uiPool = pool(1, 1);
+        apiPool = pool(2, 2);
+        admission = new AdmissionController(uiPool, apiPool, 0.5, 20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        admission.shutdown();
+        uiPool.shutdown();
+        apiPool.shutdown();
+    }
+
+    private ThreadPoolTaskExecutor pool(int threads, int queue) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queue);
+        executor.initialize();
+        return executor;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOverflow_CasesWaitInsteadOfBeingRejected() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        // Two runs, 20 cases each, against a pool that accepts 4 at a time
+        for (long runId = 1; runId <= 2; runId++) {
+            for (int i = 0; i < 20; i++) {
+                futures.add(admission.submit(AdmissionController.Lane.API, runId, () -> {
+                    await(gate);
+                    executed.incrementAndGet();
+                }));
+            }
+        }
+
+        Map<String, Object> api = (Map<String, Object>) admission.getStats().get("api");
+        assertEquals(4, api.get("inUse"));
+        assertEquals(36, api.get("queueDepth"));
+
+        // Each run holds at most half of the lane
+        Map<String, Object> run2 = (Map<String, Object>) admission.getRunStatus(2L).get("api");
+        assertEquals(2, run2.get("running"));
+
+        gate.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(40, executed.get());
+        assertEquals(0, ((Map<String, Object>) admission.getStats().get("api")).get("inUse"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testQueuePosition_FollowsArrivalOrder() {
+        CountDownLatch gate = new CountDownLatch(1);
+        for (long runId = 1; runId <= 3; runId++) {
+            for (int i = 0; i < 3; i++) {
+                admission.submit(AdmissionController.Lane.UI, runId, () -> await(gate));
+            }
+        }
+
+        assertEquals(1, ((Map<String, Object>) admission.getRunStatus(1L).get("ui")).get("position"));
+        assertEquals(3, ((Map<String, Object>) admission.getRunStatus(3L).get("ui")).get("position"));
+        gate.countDown();
+    }
+
+    @Test
+    void testRejectedByPool_RetriedNotDropped() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        Executor flaky = task -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new RejectedExecutionException("full");
+            }
+            task.run();
+        };
+        AdmissionController controller = new AdmissionController(flaky, flaky, 1.0, 10);
+        AtomicInteger executed = new AtomicInteger();
+
+        controller.submit(AdmissionController.Lane.UI, 1L, executed::incrementAndGet).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, executed.get());
+        assertEquals(2, attempts.get());
+        controller.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
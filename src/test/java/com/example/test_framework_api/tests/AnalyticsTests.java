@@ -1,22 +1,37 @@
 package com.example.test_framework_api.tests;
 
+import com.example.test_framework_api.model.ResultDailyRollup;
 import com.example.test_framework_api.model.TestResult;
 import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.ResultDailyRollupRepository;
 import com.example.test_framework_api.repository.TestResultRepository;
 import com.example.test_framework_api.service.MetricsService;
+import com.example.test_framework_api.service.ResultRollupService;
 import com.example.test_framework_api.service.ProduceReportHtmlService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 // import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -32,6 +47,9 @@ class AnalyticsTests {
 
     @Mock
     private TestResultRepository resultRepository;
+
+    @Mock
+    private ResultDailyRollupRepository rollupRepository;
     
     private MetricsService metricsService;
     
@@ -41,7 +59,7 @@ class AnalyticsTests {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        metricsService = new MetricsService(resultRepository);
+        metricsService = new MetricsService(resultRepository, rollupRepository);
     }
 
     /**
@@ -74,7 +92,7 @@ class AnalyticsTests {
             }
         }
 
-        when(resultRepository.findAll()).thenReturn(results);
+        stubRollups(results);
 
         List<Map<String, Object>> trends = metricsService.getTrends(suiteId, days);
 
@@ -121,7 +139,7 @@ class AnalyticsTests {
         results.add(createTestResult("FlakyTest2", TestStatus.PASSED, 0, 150L));
         results.add(createTestResult("FlakyTest2", TestStatus.FAILED, 0, 150L));
 
-        when(resultRepository.findAll()).thenReturn(results);
+        stubRollups(results);
 
         List<Map<String, Object>> flakyTests = metricsService.getFlakyTests(suiteId);
 
@@ -199,7 +217,7 @@ class AnalyticsTests {
             results.add(createTestResult("TC" + i, status, now.minusHours(i)));
         }
 
-        when(resultRepository.findAll()).thenReturn(results);
+        stubRollups(results);
 
         MetricsService.Summary summary = metricsService.getSummary();
 
@@ -216,7 +234,7 @@ class AnalyticsTests {
      */
     @Test
     void testAnalytics_EmptyResults() {
-        when(resultRepository.findAll()).thenReturn(new ArrayList<>());
+        stubRollups(new ArrayList<>());
 
         MetricsService.Summary summary = metricsService.getSummary();
         
@@ -230,8 +248,167 @@ class AnalyticsTests {
         assertTrue(flakyTests.isEmpty());
     }
 
+    /**
+     * ROLLUPS: Flaky rows carry the duration spread from sum of squares and min/max.
+     */
+    @Test
+    void testFlakyTests_DurationSpreadFromRollups() {
+        List<TestResult> results = new ArrayList<>();
+        results.add(createTestResult("FlakyTest1", TestStatus.PASSED, 3, 200L));
+        results.add(createTestResult("FlakyTest1", TestStatus.FAILED, 2, 250L));
+        results.add(createTestResult("FlakyTest1", TestStatus.PASSED, 1, 180L));
+        stubRollups(results);
+
+        Map<String, Object> flaky = metricsService.getFlakyTests(0L).get(0);
+
+        assertEquals(210.0, (double) flaky.get("avgDurationMs"), 0.001);
+        assertEquals(29.439, (double) flaky.get("durationStdDevMs"), 0.001);
+        assertEquals(180L, flaky.get("minDurationMs"));
+        assertEquals(250L, flaky.get("maxDurationMs"));
+        assertEquals(6L, flaky.get("retryCount"));
+    }
+
+    /**
+     * ROLLUPS: Timeouts count as failures for flaky detection, as in the summary.
+     */
+    @Test
+    void testFlakyTests_TimeoutsCountAsFailures() {
+        List<TestResult> results = new ArrayList<>();
+        results.add(createTestResult("SlowSometimes", TestStatus.PASSED, 0, 100L));
+        results.add(createTestResult("SlowSometimes", TestStatus.TIMEOUT, 0, 100L));
+        results.add(createTestResult("SlowSometimes", TestStatus.PASSED, 0, 100L));
+        results.add(createTestResult("SlowSometimes", TestStatus.TIMEOUT, 0, 100L));
+        stubRollups(results);
+
+        List<Map<String, Object>> flakyTests = metricsService.getFlakyTests(0L);
+
+        assertEquals(1, flakyTests.size());
+        Map<String, Object> flaky = flakyTests.get(0);
+        assertEquals(2L, flaky.get("fails"));
+        assertEquals(250.1, (double) flaky.get("flakyScore"), 0.001);
+        assertEquals(2L, metricsService.getSummaryForSuite(0L).failed());
+    }
+
+    /**
+     * ROLLUPS: 0 or null means all suites; a suite id scopes the rollup queries.
+     */
+    @Test
+    void testRollupScope() {
+        when(rollupRepository.sumTotals(any())).thenReturn(new ArrayList<>());
+
+        metricsService.getTrends(0L, 7);
+        verify(rollupRepository).sumByDay(isNull(), eq(LocalDate.now().minusDays(7)));
+
+        MetricsService.Summary summary = metricsService.getSummaryForSuite(5L);
+        verify(rollupRepository).sumTotals(5L);
+        verify(resultRepository).findTop10ByTestSuiteIdOrderByCreatedAtDescIdDesc(5L);
+        assertEquals(0, summary.total());
+        assertEquals(100.0, summary.stabilityLast10());
+    }
+
+    /**
+     * PHASES: Run breakdown shows where UI time went.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testPhaseBreakdown_NavigateDominates() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 4L, 400L, 6000L, 1200L, 200L, 100L, 100L });
+        when(resultRepository.sumPhasesByRunId(1L)).thenReturn(rows);
+
+        Map<String, Object> breakdown = metricsService.getPhaseBreakdownForRun(1L);
+
+        assertEquals(4L, breakdown.get("uiResults"));
+        assertEquals(8000L, breakdown.get("totalMs"));
+        assertEquals("navigate", breakdown.get("dominantPhase"));
+        Map<String, Object> navigate = ((List<Map<String, Object>>) breakdown.get("phases")).get(1);
+        assertEquals(1500.0, (double) navigate.get("avgMs"), 0.001);
+        assertEquals(75.0, (double) navigate.get("sharePct"), 0.001);
+    }
+
+    @Test
+    void testPhaseBreakdown_NoUiResults() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { 0L, null, null, null, null, null, null });
+        when(resultRepository.sumPhasesBySuiteId(1L)).thenReturn(rows);
+
+        Map<String, Object> breakdown = metricsService.getPhaseBreakdownForSuite(1L);
+
+        assertEquals(0L, breakdown.get("totalMs"));
+        assertNull(breakdown.get("dominantPhase"));
+    }
+
     // Helper methods
 
+    /**
+     * Rollup rows as ResultRollupService writes them for these results; the
+     * stubbed queries only sum those rows, like their GROUP BY.
+     */
+    private void stubRollups(List<TestResult> results) {
+        List<ResultDailyRollup> rows = rollupRows(results);
+
+        List<Object[]> totals = new ArrayList<>();
+        totals.add(rows.isEmpty() ? new Object[] { null, null, null, null }
+                : new Object[] { sum(rows, ResultDailyRollup::getTotal), sum(rows, ResultDailyRollup::getPassed),
+                        sum(rows, r -> r.getFailed() + r.getTimedOut()), sum(rows, ResultDailyRollup::getDurationSumMs) });
+        when(rollupRepository.sumTotals(any())).thenReturn(totals);
+
+        List<Object[]> days = new ArrayList<>();
+        rows.stream().collect(Collectors.groupingBy(ResultDailyRollup::getDay, TreeMap::new, Collectors.toList()))
+                .forEach((day, rs) -> days.add(new Object[] { day, sum(rs, ResultDailyRollup::getTotal),
+                        sum(rs, ResultDailyRollup::getPassed) }));
+        when(rollupRepository.sumByDay(any(), any())).thenReturn(days);
+
+        List<Object[]> names = new ArrayList<>();
+        rows.stream().collect(Collectors.groupingBy(ResultDailyRollup::getTestName))
+                .forEach((name, rs) -> names.add(new Object[] { name, sum(rs, ResultDailyRollup::getTotal),
+                        sum(rs, ResultDailyRollup::getPassed), sum(rs, r -> r.getFailed() + r.getTimedOut()),
+                        sum(rs, ResultDailyRollup::getRetries), sum(rs, ResultDailyRollup::getDurationCount),
+                        sum(rs, ResultDailyRollup::getDurationSumMs),
+                        rs.stream().mapToDouble(ResultDailyRollup::getDurationSumSq).sum(),
+                        rs.stream().map(ResultDailyRollup::getMinDurationMs).filter(Objects::nonNull)
+                                .min(Comparator.naturalOrder()).orElse(null),
+                        rs.stream().map(ResultDailyRollup::getMaxDurationMs).filter(Objects::nonNull)
+                                .max(Comparator.naturalOrder()).orElse(null) }));
+        when(rollupRepository.sumByTestName(any())).thenReturn(names);
+
+        when(resultRepository.findTop10ByOrderByCreatedAtDescIdDesc()).thenReturn(results.stream()
+                .sorted(Comparator.comparing(TestResult::getCreatedAt).reversed())
+                .limit(10)
+                .collect(Collectors.toList()));
+    }
+
+    // Captures the upserts of the real ResultRollupService, one row per key
+    private List<ResultDailyRollup> rollupRows(List<TestResult> results) {
+        ResultDailyRollupRepository writer = mock(ResultDailyRollupRepository.class);
+        List<ResultDailyRollup> rows = new ArrayList<>();
+        when(writer.upsert(anyLong(), anyString(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyDouble(), any(), any())).thenAnswer(invocation -> {
+                    ResultDailyRollup row = new ResultDailyRollup();
+                    row.setTestSuiteId(invocation.getArgument(0));
+                    row.setTestName(invocation.getArgument(1));
+                    row.setDay(invocation.getArgument(2));
+                    row.setTotal(invocation.getArgument(3));
+                    row.setPassed(invocation.getArgument(4));
+                    row.setFailed(invocation.getArgument(5));
+                    row.setTimedOut(invocation.getArgument(6));
+                    row.setRetries(invocation.getArgument(7));
+                    row.setDurationCount(invocation.getArgument(8));
+                    row.setDurationSumMs(invocation.getArgument(9));
+                    row.setDurationSumSq(invocation.getArgument(10));
+                    row.setMinDurationMs(invocation.getArgument(11));
+                    row.setMaxDurationMs(invocation.getArgument(12));
+                    rows.add(row);
+                    return 1;
+                });
+        new ResultRollupService(writer).record(results);
+        return rows;
+    }
+
+    private static long sum(List<ResultDailyRollup> rows, ToLongFunction<ResultDailyRollup> column) {
+        return rows.stream().mapToLong(column).sum();
+    }
+
     private TestResult createTestResult(String name, TestStatus status, LocalDateTime createdAt) {
         return createTestResult(name, status, 0, 100L, createdAt);
     }
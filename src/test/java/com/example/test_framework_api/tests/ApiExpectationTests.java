@@ -0,0 +1,89 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.worker.ApiExpectation;
+import com.example.test_framework_api.worker.ApiResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * API EXPECTATION TESTS: compiled expectedResult assertions
+ */
+class ApiExpectationTests {
+
+    private static final String BODY = "{\"data\":{\"id\":5,\"name\":\"alice\",\"tags\":[\"a\",\"b\",\"c\"]},\"message\":\"Login successful\"}";
+
+    private ApiResponse response(int status, long durationMs) {
+        return new ApiResponse(status, BODY, Map.of("Content-Type", List.of("application/json")),
+                durationMs, BODY.length(), "HTTP/1.1");
+    }
+
+    @Test
+    void testLegacyExpectations_StillWork() {
+        assertTrue(ApiExpectation.of("200 OK").evaluate(response(200, 50)).isEmpty());
+        assertTrue(ApiExpectation.of("Login successful").evaluate(response(200, 50)).isEmpty());
+        assertEquals(List.of("status 404 not in 200"), ApiExpectation.of("200 OK").evaluate(response(404, 50)));
+        assertTrue(ApiExpectation.of("").isEmpty());
+        assertTrue(ApiExpectation.of(null).isEmpty());
+    }
+
+    @Test
+    void testLegacyText_WithSemicolonIsOneSubstring() {
+        ApiResponse saved = new ApiResponse(200, "Saved; id 5", Map.of(), 10, 11, "HTTP/1.1");
+
+        assertTrue(ApiExpectation.of("Saved; id 5").evaluate(saved).isEmpty());
+        assertEquals(List.of("body does not contain 'Saved; id 6'"),
+                ApiExpectation.of("Saved; id 6").evaluate(saved));
+        // Starts with a status code: only the status is checked, as before clauses existed
+        assertTrue(ApiExpectation.of("200; see docs").evaluate(saved).isEmpty());
+        // Clause syntax throughout: compiled per clause
+        assertEquals(List.of("body does not contain 'Welcome'"),
+                ApiExpectation.of("status 200; body ~ Welcome").evaluate(saved));
+    }
+
+    @Test
+    void testStatusAndLatency_InOneClause() {
+        ApiExpectation expectation = ApiExpectation.of("200 within 300ms");
+
+        assertTrue(expectation.evaluate(response(200, 300)).isEmpty());
+        assertEquals(List.of("status 500 not in 200", "time 450ms exceeds <=300ms"),
+                expectation.evaluate(response(500, 450)));
+        assertTrue(ApiExpectation.of("status 2xx, 304").evaluate(response(204, 10)).isEmpty());
+    }
+
+    @Test
+    void testAllFailingClauses_AreReported() {
+        ApiExpectation expectation = ApiExpectation.of(
+                "status 2xx; time < 100ms; size < 1KB; header Content-Type ~ json; "
+                        + "$.data.id == 6; $.data.tags.length >= 3; $.data.name ~ ali; body ~ Welcome");
+
+        List<String> failures = expectation.evaluate(response(200, 120));
+
+        assertEquals(List.of(
+                "time 120ms exceeds <100ms",
+                "$.data.id is 5, expected == 6",
+                "body does not contain 'Welcome'"), failures);
+    }
+
+    @Test
+    void testJsonPath_MissingAndNonJson() {
+        assertEquals(List.of("$.data.missing not found"),
+                ApiExpectation.of("$.data.missing exists").evaluate(response(200, 10)));
+        assertTrue(ApiExpectation.of("$.data.tags[1] == b").evaluate(response(200, 10)).isEmpty());
+
+        ApiResponse text = new ApiResponse(200, "OK", Map.of(), 10, 2, "HTTP/1.1");
+        assertEquals(List.of("$.id: response is not JSON"), ApiExpectation.of("$.id exists").evaluate(text));
+    }
+
+    @Test
+    void testCompiledOnce_AndInvalidClausesRejected() {
+        assertSame(ApiExpectation.of("200; time < 1s"), ApiExpectation.of("200; time < 1s"));
+
+        assertThrows(IllegalArgumentException.class, () -> ApiExpectation.of("status 700"));
+        assertThrows(IllegalArgumentException.class, () -> ApiExpectation.of("$.data.id > abc"));
+        assertThrows(IllegalArgumentException.class, () -> ApiExpectation.of("$.data..id exists"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.worker.ApiExecutionEngine;
+import com.example.test_framework_api.worker.ApiRequest;
+import com.example.test_framework_api.worker.ApiResponse;
+import com.example.test_framework_api.worker.AsyncApiPipeline;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ASYNC PIPELINE TESTS: completion, failures, deadlines and permit release
+ */
+class AsyncApiPipelineTests {
+
+    /**
+     * Engine whose calls complete only when the test completes them.
+     */
+    static class ControlledEngine implements ApiExecutionEngine {
+        final List<CompletableFuture<ApiResponse>> calls = new ArrayList<>();
+
+        @Override
+        public String name() {
+            return "controlled";
+        }
+
+        @Override
+        public ApiResponse execute(ApiRequest request) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized CompletableFuture<ApiResponse> executeAsync(ApiRequest request) {
+            CompletableFuture<ApiResponse> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        }
+
+        @Override
+        public Map<String, Object> getStats() {
+            return Map.of();
+        }
+    }
+
+    private final ControlledEngine engine = new ControlledEngine();
+
+    private static ApiRequest request(String host) {
+        return new ApiRequest("GET", "http://" + host + "/x", null, null);
+    }
+
+    private static ApiResponse ok() {
+        return new ApiResponse(200, "ok", Map.of(), 5, 2, "HTTP/1.1");
+    }
+
+    @Test
+    void testCompletedCallReleasesItsPermits() throws Exception {
+        AsyncApiPipeline pipeline = new AsyncApiPipeline(Runnable::run, 1, 1, 5000);
+
+        CompletableFuture<ApiResponse> first = pipeline.submit(engine, request("a"));
+        engine.calls.get(0).complete(ok());
+        assertEquals(200, first.get(1, TimeUnit.SECONDS).statusCode());
+
+        // The single in-flight slot is free again, so this does not block
+        CompletableFuture<ApiResponse> second = pipeline.submit(engine, request("a"));
+        engine.calls.get(1).complete(ok());
+        second.get(1, TimeUnit.SECONDS);
+
+        Map<String, Object> stats = pipeline.getStats();
+        assertEquals(2L, stats.get("completed"));
+        assertEquals(0, stats.get("inFlight"));
+        assertEquals(1, stats.get("peakInFlight"));
+    }
+
+    @Test
+    void testEngineFailureFailsTheFuture() {
+        AsyncApiPipeline pipeline = new AsyncApiPipeline(Runnable::run, 10, 10, 5000);
+
+        CompletableFuture<ApiResponse> call = pipeline.submit(engine, request("a"));
+        engine.calls.get(0).completeExceptionally(new IllegalStateException("connection reset"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(1, TimeUnit.SECONDS));
+        assertTrue(e.getCause().getMessage().contains("connection reset"));
+        assertEquals(1L, pipeline.getStats().get("failed"));
+        assertEquals(0, pipeline.getStats().get("inFlight"));
+    }
+
+    @Test
+    void testSynchronousEngineExceptionReleasesPermits() throws Exception {
+        AsyncApiPipeline pipeline = new AsyncApiPipeline(Runnable::run, 1, 1, 5000);
+        ApiExecutionEngine broken = new ControlledEngine() {
+            @Override
+            public CompletableFuture<ApiResponse> executeAsync(ApiRequest request) {
+                throw new IllegalArgumentException("bad url");
+            }
+        };
+
+        assertTrue(pipeline.submit(broken, request("a")).isCompletedExceptionally());
+        // Would block forever if the permit had leaked
+        CompletableFuture<ApiResponse> next = pipeline.submit(engine, request("a"));
+        engine.calls.get(0).complete(ok());
+        next.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testDeadlineFailsWithTimeoutAndAbortsTheCall() {
+        AsyncApiPipeline pipeline = new AsyncApiPipeline(Runnable::run, 10, 10, 5000);
+
+        CompletableFuture<ApiResponse> call = pipeline.submit(engine, request("a"), 50);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("50ms"));
+        assertEquals(1L, pipeline.getStats().get("timedOut"));
+        assertEquals(0, pipeline.getStats().get("inFlight"));
+    }
+
+    @Test
+    void testCancellingTheResultCancelsTheCall() throws Exception {
+        AsyncApiPipeline pipeline = new AsyncApiPipeline(Runnable::run, 10, 1, 5000);
+
+        CompletableFuture<ApiResponse> call = pipeline.submit(engine, request("a"));
+        call.cancel(true);
+
+        assertTrue(engine.calls.get(0).isCancelled());
+        assertEquals(0, pipeline.getStats().get("inFlight"));
+        // The host's only permit is free again; would block forever if it had leaked
+        CompletableFuture<ApiResponse> next = pipeline.submit(engine, request("a"));
+        engine.calls.get(1).complete(ok());
+        assertEquals(200, next.get(1, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void testInterruptedSubmitFailsWithoutHoldingPermits() {
+        AsyncApiPipeline pipeline = new AsyncApiPipeline(Runnable::run, 1, 1, 5000);
+        pipeline.submit(engine, request("a"));
+
+        Thread.currentThread().interrupt();
+        CompletableFuture<ApiResponse> blocked = pipeline.submit(engine, request("a"));
+
+        assertTrue(Thread.interrupted());
+        assertTrue(blocked.isCompletedExceptionally());
+        assertEquals(1L, pipeline.getStats().get("submitted"));
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.worker.BrowserSessionPool;
+import com.example.test_framework_api.worker.BrowserSessionPool.BrowserSession;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BROWSER POOL TESTS: reuse, reset and eviction of leased sessions
+ */
+class BrowserSessionPoolTests {
+
+    /**
+     * Pool that hands out mock drivers instead of starting Chrome.
+     */
+    static class MockDriverPool extends BrowserSessionPool {
+        final List<WebDriver> drivers = new ArrayList<>();
+        final List<String> history = new ArrayList<>();
+        boolean cdp = true;
+
+        MockDriverPool(int maxSessions, int maxUses, long leaseTimeoutMs) {
+            super(executor(maxSessions), maxUses, leaseTimeoutMs);
+        }
+
+        private static ThreadPoolTaskExecutor executor(int maxSessions) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(maxSessions);
+            return executor;
+        }
+
+        @Override
+        protected WebDriver createDriver() {
+            WebDriver driver = mock(WebDriver.class, withSettings()
+                    .extraInterfaces(cdp ? new Class<?>[] { JavascriptExecutor.class, HasCdp.class }
+                            : new Class<?>[] { JavascriptExecutor.class })
+                    .defaultAnswer(RETURNS_DEEP_STUBS));
+            when(driver.getWindowHandles()).thenReturn(Set.of("main"));
+            if (cdp) {
+                when(((HasCdp) driver).executeCdpCommand(anyString(), anyMap())).thenAnswer(call -> cdpCommand(
+                        call.getArgument(0), call.getArgument(1)));
+            }
+            drivers.add(driver);
+            return driver;
+        }
+
+        /**
+         * Answers CDP commands the way Chromium does for the ones the reset
+         * uses: the navigation history lists {@link #history}, and an origin
+         * that is not a URL is rejected.
+         */
+        private Map<String, Object> cdpCommand(String command, Map<String, Object> params) {
+            if (command.equals("Page.getNavigationHistory")) {
+                List<Map<String, Object>> entries = new ArrayList<>();
+                history.forEach(url -> entries.add(Map.of("url", url)));
+                return Map.of("currentIndex", entries.size() - 1, "entries", entries);
+            }
+            if (command.equals("Storage.clearDataForOrigin")) {
+                String origin = (String) params.get("origin");
+                URI uri = URI.create(origin.equals("*") ? "invalid" : origin);
+                if (uri.getScheme() == null || uri.getHost() == null || !uri.getPath().isEmpty()) {
+                    throw new WebDriverException("Invalid parameters: origin is not a valid URL");
+                }
+            }
+            return Map.of();
+        }
+    }
+
+    @Test
+    void testReleasedSessionIsResetAndReused() {
+        MockDriverPool pool = new MockDriverPool(2, 10, 1000);
+
+        BrowserSession first = pool.lease();
+        pool.release(first);
+        BrowserSession second = pool.lease();
+
+        assertSame(first, second);
+        assertEquals(1, pool.drivers.size());
+        WebDriver driver = pool.drivers.get(0);
+        verify(driver).get("about:blank");
+        verify((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        verify(driver, never()).quit();
+        assertEquals(1L, pool.getStats().get("hits"));
+        assertEquals(1L, pool.getStats().get("misses"));
+    }
+
+    @Test
+    void testResetClearsStorageOfEveryVisitedOriginAndKeepsTheSession() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        BrowserSession session = pool.lease();
+        pool.history.addAll(List.of("about:blank", "https://app.example.com/login",
+                "https://sso.example.org:8443/auth?next=/", "https://app.example.com/home", "data:text/html,x"));
+
+        pool.release(session);
+
+        HasCdp cdp = (HasCdp) pool.drivers.get(0);
+        verify(cdp).executeCdpCommand("Storage.clearDataForOrigin",
+                Map.of("origin", "https://app.example.com", "storageTypes", "all"));
+        verify(cdp).executeCdpCommand("Storage.clearDataForOrigin",
+                Map.of("origin", "https://sso.example.org:8443", "storageTypes", "all"));
+        verify(cdp, times(2)).executeCdpCommand(eq("Storage.clearDataForOrigin"), anyMap());
+        verify(cdp).executeCdpCommand("Page.resetNavigationHistory", Map.of());
+        assertEquals(0L, pool.getStats().get("evictions"));
+        assertEquals(1, pool.getStats().get("idle"));
+        assertSame(session, pool.lease());
+    }
+
+    @Test
+    void testResetPutsTheImplicitWaitBackToZero() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        BrowserSession session = pool.lease();
+        WebDriver driver = pool.drivers.get(0);
+
+        pool.release(session);
+
+        // Deep stubs hand out the same timeouts mock on every call
+        verify(driver.manage().timeouts()).implicitlyWait(Duration.ZERO);
+        assertSame(session, pool.lease());
+    }
+
+    @Test
+    void testRejectedStorageClearEvictsTheSession() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        BrowserSession session = pool.lease();
+        pool.history.add("https://app.example.com/");
+        doThrow(new WebDriverException("Storage.clearDataForOrigin failed"))
+                .when((HasCdp) pool.drivers.get(0)).executeCdpCommand(eq("Storage.clearDataForOrigin"), anyMap());
+
+        pool.release(session);
+
+        assertEquals(1L, pool.getStats().get("evictions"));
+        assertEquals(0, pool.getStats().get("idle"));
+        assertNotSame(session, pool.lease());
+    }
+
+    @Test
+    void testSessionEvictedAfterMaxUses() {
+        MockDriverPool pool = new MockDriverPool(1, 2, 1000);
+
+        pool.release(pool.lease());
+        BrowserSession worn = pool.lease();
+        pool.release(worn);
+        BrowserSession fresh = pool.lease();
+
+        assertNotSame(worn, fresh);
+        verify(pool.drivers.get(0)).quit();
+        assertEquals(2, pool.drivers.size());
+        assertEquals(1L, pool.getStats().get("evictions"));
+    }
+
+    @Test
+    void testUnhealthyIdleSessionIsReplaced() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        BrowserSession crashed = pool.lease();
+        pool.release(crashed);
+        when(pool.drivers.get(0).getWindowHandles()).thenThrow(new WebDriverException("browser gone"));
+
+        BrowserSession replacement = pool.lease();
+
+        assertNotSame(crashed, replacement);
+        verify(pool.drivers.get(0)).quit();
+    }
+
+    @Test
+    void testFailedResetEvictsInsteadOfPooling() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        BrowserSession session = pool.lease();
+        doThrow(new WebDriverException("reset failed")).when(pool.drivers.get(0)).get("about:blank");
+
+        pool.release(session);
+
+        assertEquals(0, pool.getStats().get("idle"));
+        assertEquals(0, pool.getStats().get("leased"));
+        verify(pool.drivers.get(0)).quit();
+    }
+
+    @Test
+    void testSessionWithoutCdpIsEvictedInsteadOfPooled() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        pool.cdp = false;
+        BrowserSession session = pool.lease();
+
+        pool.release(session);
+
+        assertEquals(0, pool.getStats().get("idle"));
+        assertEquals(1L, pool.getStats().get("evictions"));
+        verify(pool.drivers.get(0)).quit();
+    }
+
+    @Test
+    void testInvalidatedSessionFreesItsSlotOnRelease() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 1000);
+        BrowserSession session = pool.lease();
+
+        pool.invalidate(session);
+        pool.release(session);
+
+        assertEquals(0, pool.getStats().get("idle"));
+        assertNotSame(session, pool.lease());
+    }
+
+    @Test
+    void testLeaseTimesOutWhenAllSessionsAreLeased() {
+        MockDriverPool pool = new MockDriverPool(1, 10, 50);
+        pool.lease();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, pool::lease);
+        assertTrue(e.getMessage().contains("Timed out"));
+    }
+
+    @Test
+    void testShutdownQuitsIdleSessions() {
+        MockDriverPool pool = new MockDriverPool(2, 10, 1000);
+        BrowserSession a = pool.lease();
+        BrowserSession b = pool.lease();
+        pool.release(a);
+        pool.release(b);
+
+        pool.shutdown();
+
+        pool.drivers.forEach(driver -> verify(driver).quit());
+    }
+}
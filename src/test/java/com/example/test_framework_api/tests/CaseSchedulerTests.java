@@ -0,0 +1,133 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.service.CaseScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * SCHEDULING TESTS: longest-first ordering from duration history
+ */
+class CaseSchedulerTests {
+
+    @Mock
+    private TestResultRepository resultRepository;
+
+    private CaseScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduler = new CaseScheduler(resultRepository, true, 8000, 500);
+    }
+
+    private TestCase createTestCase(String id, String type) {
+        TestCase tc = new TestCase();
+        tc.setTestCaseId(id);
+        tc.setTestName("Test " + id);
+        tc.setTestType(type);
+        return tc;
+    }
+
+    @Test
+    void testEstimates_HistoryThenTypeDefault() {
+        List<Object[]> history = new ArrayList<>();
+        history.add(new Object[] { "Test API_1", 1200.0 });
+        when(resultRepository.findAvgDurationByTestNames(any(), eq(TestStatus.CANCELLED))).thenReturn(history);
+
+        Map<String, Long> estimates = scheduler.estimate(List.of(
+                createTestCase("API_1", "API"),
+                createTestCase("API_2", "API"),
+                createTestCase("UI_1", "UI")));
+
+        assertEquals(1200L, estimates.get("API_1"));
+        assertEquals(500L, estimates.get("API_2"));
+        assertEquals(8000L, estimates.get("UI_1"));
+        verify(resultRepository, times(1)).findAvgDurationByTestNames(any(), any());
+    }
+
+    @Test
+    void testLongestFirst_SlowLastCaseNoLongerExtendsRun() {
+        List<TestCase> csvOrder = List.of(
+                createTestCase("A", "UI"), createTestCase("B", "UI"),
+                createTestCase("C", "UI"), createTestCase("SLOW", "UI"));
+        Map<String, Long> estimates = Map.of("A", 10L, "B", 10L, "C", 10L, "SLOW", 30L);
+
+        CaseScheduler.Schedule schedule = scheduler.schedule(csvOrder, estimates, 2);
+
+        assertEquals("SLOW", schedule.cases().get(0).getTestCaseId());
+        assertEquals(30L, schedule.predictedMakespanMs());
+        assertEquals(40L, schedule.unorderedMakespanMs());
+    }
+
+    @Test
+    void testPriorityTiers_HighFirstUnknownAsMedium() {
+        TestCase low = createTestCase("LOW", "UI");
+        low.setPriority("Low");
+        TestCase high = createTestCase("HIGH", "API");
+        high.setPriority("high");
+        TestCase none = createTestCase("NONE", "API");
+
+        List<List<TestCase>> tiers = CaseScheduler.priorityTiers(List.of(low, none, high));
+
+        assertEquals(3, tiers.size());
+        assertEquals("HIGH", tiers.get(0).get(0).getTestCaseId());
+        assertEquals("NONE", tiers.get(1).get(0).getTestCaseId());
+        assertEquals("LOW", tiers.get(2).get(0).getTestCaseId());
+    }
+
+    @Test
+    void testLongestFirstDisabled_KeepsCsvOrder() {
+        CaseScheduler csvScheduler = new CaseScheduler(resultRepository, false, 8000, 500);
+        List<TestCase> csvOrder = List.of(createTestCase("A", "API"), createTestCase("SLOW", "API"));
+
+        CaseScheduler.Schedule schedule = csvScheduler.schedule(csvOrder, Map.of("A", 1L, "SLOW", 5L), 1);
+
+        assertEquals("A", schedule.cases().get(0).getTestCaseId());
+        assertEquals(6L, schedule.predictedMakespanMs());
+    }
+
+    @Test
+    void testShards_BalanceUiAndApiWorkSeparately() {
+        List<TestCase> cases = List.of(
+                createTestCase("U1", "UI"), createTestCase("U2", "UI"),
+                createTestCase("U3", "UI"), createTestCase("U4", "UI"),
+                createTestCase("A1", "API"), createTestCase("A2", "API"),
+                createTestCase("A3", "API"), createTestCase("A4", "API"));
+        Map<String, Long> estimates = Map.of("U1", 9000L, "U2", 8000L, "U3", 3000L, "U4", 2000L,
+                "A1", 900L, "A2", 500L, "A3", 400L, "A4", 200L);
+
+        List<CaseScheduler.Shard> shards = scheduler.shard(cases, estimates, 2);
+
+        assertEquals(2, shards.size());
+        for (CaseScheduler.Shard shard : shards) {
+            assertEquals(11000L, shard.uiMs());
+            assertEquals(2, shard.cases().stream().filter(tc -> "UI".equals(tc.getTestType())).count());
+        }
+        assertEquals(2000L, shards.get(0).apiMs() + shards.get(1).apiMs());
+        assertEquals(200L, Math.abs(shards.get(0).apiMs() - shards.get(1).apiMs()));
+    }
+
+    @Test
+    void testShards_NeverMoreThanCases() {
+        List<TestCase> cases = List.of(createTestCase("A", "API"), createTestCase("B", "UI"));
+
+        List<CaseScheduler.Shard> shards = scheduler.shard(cases, Map.of("A", 100L, "B", 5000L), 8);
+
+        assertEquals(2, shards.size());
+        assertTrue(shards.stream().allMatch(shard -> shard.cases().size() == 1));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestSuite;
+import com.example.test_framework_api.worker.DeadlineWatchdog;
+import com.example.test_framework_api.worker.ExecutionContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DEADLINE TESTS: timeout resolution and abort on expiry
+ */
+class DeadlineWatchdogTests {
+
+    private DeadlineWatchdog watchdog;
+
+    @BeforeEach
+    void setUp() {
+        watchdog = new DeadlineWatchdog(120_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watchdog.shutdown();
+    }
+
+    @Test
+    void testTimeoutResolution_CaseThenSuiteThenGlobal() {
+        TestCase tc = new TestCase();
+        assertEquals(120_000, watchdog.resolveTimeoutMs(tc));
+
+        TestSuite suite = new TestSuite();
+        suite.setDefaultTimeoutMs(30_000L);
+        tc.setTestSuite(suite);
+        assertEquals(30_000, watchdog.resolveTimeoutMs(tc));
+
+        tc.setTimeoutMs(5_000L);
+        assertEquals(5_000, watchdog.resolveTimeoutMs(tc));
+    }
+
+    @Test
+    void testExpiry_InterruptsThreadAndRunsHooks() throws Exception {
+        AtomicBoolean aborted = new AtomicBoolean();
+        ExecutionContext context = watchdog.start("TC_SLOW", 50);
+        context.onExpiry(() -> aborted.set(true));
+
+        assertThrows(InterruptedException.class, () -> Thread.sleep(5_000));
+        assertTrue(context.isExpired());
+        // The interrupt is sent before the hooks run
+        long giveUp = System.currentTimeMillis() + 5_000;
+        while (!aborted.get() && System.currentTimeMillis() < giveUp) {
+            Thread.sleep(5);
+        }
+        assertTrue(aborted.get());
+
+        watchdog.finish(context);
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertNull(watchdog.current());
+    }
+
+    /**
+     * Expiry between the test's last statement and finish(): the interrupt
+     * must not survive into the next task on the pooled thread.
+     */
+    @Test
+    void testExpiryRacingFinish_InterruptDoesNotLeak() throws Exception {
+        ExecutionContext context = watchdog.start("TC_RACE", 20);
+        long giveUp = System.currentTimeMillis() + 5_000;
+        while (!context.isExpired() && System.currentTimeMillis() < giveUp) {
+            Thread.onSpinWait(); // busy, so the interrupt stays pending instead of being consumed
+        }
+        assertTrue(context.isExpired());
+        assertTrue(Thread.currentThread().isInterrupted());
+
+        watchdog.finish(context);
+
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    void testAbortAfterFinish_IsIgnored() {
+        ExecutionContext context = watchdog.start("TC_DONE", 60_000);
+        watchdog.finish(context);
+
+        context.cancel();
+
+        assertFalse(context.isCancelled());
+        assertFalse(Thread.interrupted());
+    }
+
+    @Test
+    void testFinishBeforeDeadline_NoAbort() throws Exception {
+        AtomicBoolean aborted = new AtomicBoolean();
+        ExecutionContext context = watchdog.start("TC_FAST", 200);
+        Runnable hook = () -> aborted.set(true);
+        context.onExpiry(hook);
+        context.clearHook(hook);
+        watchdog.finish(context);
+
+        Thread.sleep(300);
+        assertFalse(context.isExpired());
+        assertFalse(aborted.get());
+    }
+}
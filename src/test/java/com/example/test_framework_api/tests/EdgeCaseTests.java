@@ -1,7 +1,15 @@
 package com.example.test_framework_api.tests;
 
+import com.example.test_framework_api.dto.ExecutionOptions;
 import com.example.test_framework_api.model.*;
 import com.example.test_framework_api.repository.*;
+import com.example.test_framework_api.service.AdaptiveConcurrencyController;
+import com.example.test_framework_api.service.AdmissionController;
+import com.example.test_framework_api.service.ApiConcurrencyLimiter;
+import com.example.test_framework_api.service.CaseScheduler;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.service.RunLedger;
+import com.example.test_framework_api.service.ResultWriteBuffer;
 import com.example.test_framework_api.service.TestSuiteService;
 import com.example.test_framework_api.service.TestRunService;
 import com.example.test_framework_api.worker.TestExecutor;
@@ -9,16 +17,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.Authentication;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-// import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -47,10 +62,15 @@ class EdgeCaseTests {
     @Mock
     private TestRunService runService;
 
+    @Mock
+    private RunCancellationService runCancellation;
+
     private Executor uiTestExecutor;
     private Executor apiTestExecutor;
     private TestSuiteService suiteService;
+    @Mock
     private UserRepository userRepository;
+    private RunLedger runLedger;
 
     @BeforeEach
     void setUp() {
@@ -70,6 +90,7 @@ class EdgeCaseTests {
         apiExecutor.setThreadNamePrefix("test-api-");
         apiExecutor.initialize();
         this.apiTestExecutor = apiExecutor;
+        this.runLedger = new RunLedger(3_600_000);
 
         suiteService = new TestSuiteService(
                 suiteRepository,
@@ -78,7 +99,15 @@ class EdgeCaseTests {
                 testExecutor,
                 uiTestExecutor,
                 apiTestExecutor,
-                userRepository);
+                userRepository,
+                apiTestExecutor,
+                new ApiConcurrencyLimiter(16, 4),
+                runCancellation,
+                new CaseScheduler(resultRepository, true, 8000, 500),
+                new AdaptiveConcurrencyController(0.7, 1.5, 0.1, 0.5, 1.5, 0.1),
+                new AdmissionController(uiTestExecutor, apiTestExecutor, 0.5, 200),
+                runLedger,
+                mock(ResultWriteBuffer.class));
     }
 
     /**
@@ -96,7 +125,7 @@ class EdgeCaseTests {
         }
 
         when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(testCases);
-        doNothing().when(testExecutor).executeTestCase(any(), any());
+        when(testExecutor.executeTestCase(any(), any())).thenReturn(null);
 
         // Mock results (all passed)
         when(resultRepository.findByTestRunIdAndTestName(any(), any())).thenReturn(
@@ -122,7 +151,7 @@ class EdgeCaseTests {
 
         List<TestCase> testCases = List.of(createTestCase("TC1", "UI", true));
         when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(testCases);
-        doNothing().when(testExecutor).executeTestCase(any(), any());
+        when(testExecutor.executeTestCase(any(), any())).thenReturn(null);
 
         // Pass invalid threads (0)
         CompletableFuture<Void> future = suiteService.executeSuiteParallel(suiteId, testRun, 0);
@@ -139,7 +168,7 @@ class EdgeCaseTests {
 
         List<TestCase> testCases = List.of(createTestCase("TC1", "API", true));
         when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(testCases);
-        doNothing().when(testExecutor).executeTestCase(any(), any());
+        when(testExecutor.executeTestCase(any(), any())).thenReturn(null);
 
         CompletableFuture<Void> future = suiteService.executeSuiteParallel(suiteId, testRun, -1);
         future.get();
@@ -154,7 +183,7 @@ class EdgeCaseTests {
 
         List<TestCase> testCases = List.of(createTestCase("TC1", "UI", true));
         when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(testCases);
-        doNothing().when(testExecutor).executeTestCase(any(), any());
+        when(testExecutor.executeTestCase(any(), any())).thenReturn(null);
 
         // Pass threads > 8
         CompletableFuture<Void> future = suiteService.executeSuiteParallel(suiteId, testRun, 10);
@@ -232,7 +261,7 @@ class EdgeCaseTests {
         results.add(createTestResult("TC4", TestStatus.PASSED));
         results.add(createTestResult("TC5", TestStatus.FAILED));
 
-        when(suiteRepository.findById(suiteId)).thenReturn(java.util.Optional.of(suite));
+        when(suiteRepository.findById(suiteId)).thenReturn(Optional.of(suite));
         when(resultRepository.findByTestRunId(testRun.getId())).thenReturn(results);
 
         // Execute status update
@@ -261,7 +290,7 @@ class EdgeCaseTests {
                 createTestResult("TC1", TestStatus.FAILED),
                 createTestResult("TC2", TestStatus.FAILED));
 
-        when(suiteRepository.findById(suiteId)).thenReturn(java.util.Optional.of(suite));
+        when(suiteRepository.findById(suiteId)).thenReturn(Optional.of(suite));
         when(resultRepository.findByTestRunId(testRun.getId())).thenReturn(results);
 
         suiteService.updateSuiteStatus(suiteId);
@@ -270,6 +299,226 @@ class EdgeCaseTests {
         verify(suiteRepository).save(argThat(s -> s.getStatus() == TestStatus.FAILED));
     }
 
+    /**
+     * EDGE CASE 4b: A run that executed here is summarized from the ledger,
+     * without reloading its results.
+     */
+    @Test
+    void testSuiteStatusFromLedger() {
+        Long suiteId = 1L;
+        TestSuite suite = new TestSuite();
+        suite.setId(suiteId);
+        TestRun testRun = createTestRun(7L, "Ledger Suite");
+        suite.setTestRun(testRun);
+        suite.setTestCases(List.of(createTestCase("TC1", "API", true), createTestCase("TC2", "API", true)));
+
+        runLedger.expect(7L, 2);
+        runLedger.started(7L);
+        runLedger.finished(7L, TestStatus.PASSED, 120L);
+        runLedger.started(7L);
+        runLedger.finished(7L, TestStatus.TIMEOUT, 5000L);
+
+        when(suiteRepository.findById(suiteId)).thenReturn(Optional.of(suite));
+
+        suiteService.updateSuiteStatus(suiteId);
+
+        verify(resultRepository, never()).findByTestRunId(any());
+        verify(suiteRepository).save(argThat(s -> s.getStatus() == TestStatus.COMPLETED));
+    }
+
+    /**
+     * EDGE CASE 5: Priority tiers + fail-fast stop the run after a critical failure.
+     */
+    @Test
+    void testPriorityFailFast_SkipsLowerTiers() throws Exception {
+        Long suiteId = 1L;
+        TestRun testRun = createTestRun(1L, "Fail-Fast Suite");
+
+        TestCase smoke = createTestCase("SMOKE", "API", true);
+        smoke.setPriority("High");
+        TestCase regression = createTestCase("REG", "API", true);
+        regression.setPriority("Low");
+
+        when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(List.of(regression, smoke));
+        when(testExecutor.executeTestCase(any(), any())).thenReturn(createTestResult("Test SMOKE", TestStatus.FAILED));
+        when(runCancellation.isCancelled(1L)).thenReturn(false, true);
+
+        ExecutionOptions options = new ExecutionOptions();
+        options.setPriorityFirst(true);
+        options.setFailFastAfter(1);
+
+        suiteService.executeSuiteParallel(suiteId, testRun, 1, options).get();
+
+        verify(testExecutor, times(1)).executeTestCase(argThat(tc -> tc == smoke), any());
+        verify(testExecutor, never()).executeTestCase(argThat(tc -> tc == regression), any());
+        verify(runCancellation).failFast(1L);
+        assertTrue(testRun.getFailFastTriggered());
+        assertNotNull(testRun.getTimeToFirstFailureMs());
+    }
+
+    /**
+     * EDGE CASE 5b: A shard or work batch counts fail-fast over the whole run,
+     * not just its own cases.
+     */
+    @Test
+    void testDistributedFailFast_CountsOverWholeRun() throws Exception {
+        TestRun testRun = createTestRun(1L, "Pull Suite");
+        TestCase smoke = createTestCase("SMOKE", "API", true);
+        smoke.setPriority("High");
+
+        when(testExecutor.executeTestCase(any(), any())).thenReturn(createTestResult("Test SMOKE", TestStatus.FAILED));
+        // Another batch of the run already had a critical failure
+        when(runCancellation.recordCriticalFailure(1L)).thenReturn(2);
+
+        ExecutionOptions options = new ExecutionOptions();
+        options.setFailFastAfter(2);
+
+        suiteService.executeShard(List.of(smoke), testRun, 1L, 2, options).get();
+
+        verify(runCancellation).recordCriticalFailure(1L);
+        verify(runCancellation).failFast(1L);
+    }
+
+    /**
+     * EDGE CASE 6: Adaptive runs wait for a slot before submitting, so tests
+     * held back by the limit don't occupy pool threads.
+     */
+    @Test
+    void testAdaptive_WaitsForSlotBeforeSubmit() throws Exception {
+        Long suiteId = 1L;
+        TestRun testRun = createTestRun(1L, "Adaptive Suite");
+        List<TestCase> testCases = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            testCases.add(createTestCase("TC" + i, "UI", true));
+        }
+        ThreadPoolTaskExecutor uiPool = (ThreadPoolTaskExecutor) uiTestExecutor;
+        AtomicInteger queuedTests = new AtomicInteger();
+
+        when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(testCases);
+        when(testExecutor.executeTestCase(any(), any())).thenAnswer(invocation -> {
+            queuedTests.accumulateAndGet(uiPool.getThreadPoolExecutor().getQueue().size(), Math::max);
+            Thread.sleep(20);
+            // Every window congested by failures: the limit stays at 1
+            return createTestResult("Test", TestStatus.FAILED);
+        });
+
+        ExecutionOptions options = new ExecutionOptions();
+        options.setAdaptive(true);
+
+        suiteService.executeSuiteParallel(suiteId, testRun, 1, options).get();
+
+        verify(testExecutor, times(6)).executeTestCase(any(), any());
+        assertEquals(0, queuedTests.get(), "Tests over the limit should not wait in the UI pool");
+        assertEquals(1, testRun.getPeakConcurrency());
+    }
+
+    /**
+     * EDGE CASE 6b: Each lane is dispatched on its own, so UI tests waiting
+     * for a UI slot don't hold back an API test.
+     */
+    @Test
+    void testAdaptive_SaturatedLaneDoesNotBlockTheOther() throws Exception {
+        Long suiteId = 1L;
+        TestRun testRun = createTestRun(1L, "Adaptive Lanes");
+        List<TestCase> testCases = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            testCases.add(createTestCase("UI" + i, "UI", true));
+        }
+        testCases.add(createTestCase("API1", "API", true));
+        CountDownLatch apiDone = new CountDownLatch(1);
+        AtomicInteger uiSawApi = new AtomicInteger();
+
+        when(caseRepository.findByTestSuiteId(suiteId)).thenReturn(testCases);
+        when(testExecutor.executeTestCase(any(), any())).thenAnswer(invocation -> {
+            TestCase tc = invocation.getArgument(0);
+            if ("API".equals(tc.getTestType())) {
+                apiDone.countDown();
+            } else if (apiDone.await(2, TimeUnit.SECONDS)) {
+                uiSawApi.incrementAndGet();
+            }
+            return createTestResult(tc.getTestName(), TestStatus.FAILED);
+        });
+
+        ExecutionOptions options = new ExecutionOptions();
+        options.setAdaptive(true);
+
+        suiteService.executeSuiteParallel(suiteId, testRun, 1, options).get(10, TimeUnit.SECONDS);
+
+        verify(testExecutor, times(4)).executeTestCase(any(), any());
+        assertEquals(3, uiSawApi.get(), "The API test ran while the UI lane was at its limit");
+    }
+
+    /**
+     * EDGE CASE 7: Shards and work batches skip cases that already have a
+     * result and take their outcome from the saved results.
+     */
+    @Test
+    void testDistributedCases_SkippedAndOutcomeFromResults() {
+        List<TestCase> cases = List.of(createTestCase("TC1", "API", true), createTestCase("TC2", "API", true),
+                createTestCase("TC3", "API", true));
+        when(resultRepository.findStatusesByRunIdAndTestNames(eq(9L), any())).thenReturn(List.of(
+                new Object[] { "Test TC1", TestStatus.PASSED },
+                new Object[] { "Test TC2", TestStatus.TIMEOUT }));
+
+        List<TestCase> pending = suiteService.casesWithoutResult(9L, cases);
+
+        assertEquals(List.of("TC3"), pending.stream().map(TestCase::getTestCaseId).toList());
+        assertEquals(TestStatus.COMPLETED, suiteService.outcomeOf(9L, cases));
+        assertEquals(TestStatus.PASSED, suiteService.outcomeOf(9L, cases.subList(0, 1)));
+        assertEquals(TestStatus.FAILED, suiteService.outcomeOf(9L, cases.subList(1, 2)));
+    }
+
+    /**
+     * EDGE CASE: malformed numeric cells reject the import, naming every bad row.
+     */
+    @Test
+    void testCsvImport_InvalidNumbersReportedPerRow() {
+        String header = "id,name,type,url,action,locatorType,locatorValue,input,expected,priority,run,description,"
+                + "actions,timeoutMs,perfBudget,maxRetries\n";
+        String csv = header
+                + "TC1,Ok,API,http://x,GET,,,,200,High,true,ok,,5000,,1\n"
+                + "TC2,Bad timeout,API,http://x,GET,,,,200,High,true,bad,,5s,,\n"
+                + "TC3,Bad retries,API,http://x,GET,,,,200,High,true,bad,,,,-1\n"
+                + "TC4,Bad budget,UI,http://x,click,,,,ok,High,true,bad,,,\"{\"\"fcpMs\"\": 1000}\",\n";
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> suiteService.importFromCsv(csvFile(csv), "Suite", "", null, authentication()));
+
+        assertTrue(e.getMessage().contains("row 3 timeoutMs"), e.getMessage());
+        assertTrue(e.getMessage().contains("'5s'"), e.getMessage());
+        assertTrue(e.getMessage().contains("row 4 maxRetries"), e.getMessage());
+        assertTrue(e.getMessage().contains("row 5 Unknown perfBudget metric: fcpMs"), e.getMessage());
+        assertFalse(e.getMessage().contains("row 2"), e.getMessage());
+        verify(caseRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testCsvImport_ValidNumbersAreStored() throws Exception {
+        String csv = "id,name,type,url,action,locatorType,locatorValue,input,expected,priority,run,description,"
+                + "actions,timeoutMs,perfBudget,maxRetries\n"
+                + "TC1,Ok,API,http://x,GET,,,,200,High,true,ok,, 5000 ,,2\n";
+
+        suiteService.importFromCsv(csvFile(csv), "Suite", "", null, authentication());
+
+        verify(caseRepository).saveAll(argThat((List<TestCase> cases) -> {
+            TestCase tc = cases.get(0);
+            return tc.getTimeoutMs() == 5000L && tc.getMaxRetries() == 2;
+        }));
+    }
+
+    private MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("csvFile", "suite.csv", "text/csv",
+                content.getBytes());
+    }
+
+    private Authentication authentication() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getName()).thenReturn("admin");
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(new User()));
+        when(suiteRepository.save(any(TestSuite.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        return authentication;
+    }
+
     // Helper methods
 
     private TestRun createTestRun(Long id, String name) {
@@ -0,0 +1,184 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.service.RunLedger;
+import com.example.test_framework_api.service.TestResultService;
+import com.example.test_framework_api.worker.AsyncApiPipeline;
+import com.example.test_framework_api.worker.BrowserSessionPool;
+import com.example.test_framework_api.worker.DeadlineWatchdog;
+import com.example.test_framework_api.worker.ExecutionPlan;
+import com.example.test_framework_api.worker.ExecutionPlan.PlanResult;
+import com.example.test_framework_api.worker.ExecutionPlan.Step;
+import com.example.test_framework_api.worker.ExecutionPlan.StepTiming;
+import com.example.test_framework_api.worker.StepRetrier;
+import com.example.test_framework_api.worker.TestExecutor;
+import com.example.test_framework_api.worker.WebVitalsCollector;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * EXECUTION PLAN TESTS: building plans and running their steps in one session
+ */
+class ExecutionPlanTests {
+
+    /**
+     * Pool that hands out one mock driver instead of starting Chrome.
+     */
+    static class MockDriverPool extends BrowserSessionPool {
+        final WebDriver driver = mock(WebDriver.class, withSettings()
+                .extraInterfaces(JavascriptExecutor.class).defaultAnswer(RETURNS_DEEP_STUBS));
+
+        MockDriverPool() {
+            super(executor(), 10, 1000);
+            when(driver.getWindowHandles()).thenReturn(Set.of("main"));
+        }
+
+        private static ThreadPoolTaskExecutor executor() {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setMaxPoolSize(1);
+            return executor;
+        }
+
+        @Override
+        protected WebDriver createDriver() {
+            return driver;
+        }
+    }
+
+    private final MockDriverPool pool = new MockDriverPool();
+    private final TestExecutor executor = new TestExecutor(mock(TestResultService.class), pool, List.of(),
+            mock(AsyncApiPipeline.class), mock(DeadlineWatchdog.class), mock(RunCancellationService.class),
+            mock(WebVitalsCollector.class), new StepRetrier(0, 1, 1), mock(RunLedger.class));
+
+    private static TestCase uiCase(String actionsJson) {
+        TestCase testCase = new TestCase();
+        testCase.setTestCaseId("TC_UI01");
+        testCase.setTestType("UI");
+        testCase.setUrlEndpoint("https://app.example.com/login");
+        testCase.setLocatorType("id");
+        testCase.setLocatorValue("username");
+        testCase.setHttpMethodAction(" Type ");
+        testCase.setInputData("alice");
+        testCase.setExpectedResult("title");
+        testCase.setActionsJson(actionsJson);
+        return testCase;
+    }
+
+    @Test
+    void testFromTestCase_SingleActionUsesCaseLocator() {
+        TestCase testCase = uiCase(null);
+        testCase.setMaxRetries(3);
+
+        ExecutionPlan plan = ExecutionPlan.fromTestCase(testCase);
+
+        assertEquals("https://app.example.com/login", plan.getUrl());
+        assertEquals("id", plan.getLocatorType());
+        assertEquals("username", plan.getLocatorValue());
+        assertEquals("title", plan.getExpectedResult());
+        assertEquals(3, plan.getMaxRetries());
+        assertEquals(List.of(new Step("type", "alice")), plan.getSteps());
+    }
+
+    @Test
+    void testFromTestCase_ActionsJsonWinsOverSingleAction() {
+        ExecutionPlan plan = ExecutionPlan.fromTestCase(uiCase(
+                "[{\"type\":\"type\",\"value\":\"bob\"},"
+                        + "{\"type\":\"Click\",\"locatorType\":\"css\",\"locatorValue\":\"#login\",\"retries\":2}]"));
+
+        assertEquals(2, plan.size());
+        assertEquals(new Step("type", "bob", null, null, null), plan.getSteps().get(0));
+        assertEquals(new Step("click", "", "css", "#login", 2), plan.getSteps().get(1));
+        assertEquals("username", plan.getLocatorValue());
+    }
+
+    @Test
+    void testFromTestCase_EmptyActionsJsonFallsBackToSingleAction() {
+        ExecutionPlan plan = ExecutionPlan.fromTestCase(uiCase("[]"));
+
+        assertEquals(List.of(new Step("type", "alice")), plan.getSteps());
+    }
+
+    @Test
+    void testFromActions_StepOverridesAndRetries() {
+        ExecutionPlan plan = ExecutionPlan.fromActions("https://app.example.com", "username", List.of(
+                Map.of("type", "type", "value", "alice"),
+                Map.of("type", "type", "value", 42, "elementId", "pin"),
+                Map.of("type", "click", "locatorType", "xpath", "locatorValue", "//button", "elementId", "ignored"),
+                Map.of("type", "hover", "elementId", "menu", "retries", 0)), null);
+
+        assertEquals("id", plan.getLocatorType());
+        assertEquals("username", plan.getLocatorValue());
+        assertNull(plan.getMaxRetries());
+        assertEquals(List.of(
+                new Step("type", "alice", null, null, null),
+                new Step("type", "42", "id", "pin", null),
+                new Step("click", "", "xpath", "//button", null),
+                new Step("hover", "", "id", "menu", 0)), plan.getSteps());
+    }
+
+    @Test
+    void testExecutePlan_StopsAtFirstFailingStep() {
+        WebElement username = mock(WebElement.class);
+        WebElement login = mock(WebElement.class);
+        when(pool.driver.findElement(By.id("username"))).thenReturn(username);
+        when(pool.driver.findElement(By.cssSelector("#login"))).thenReturn(login);
+        ExecutionPlan plan = ExecutionPlan.fromActions("https://app.example.com/login", "username", List.of(
+                Map.of("type", "type", "value", "alice"),
+                Map.of("type", "click", "locatorType", "css", "locatorValue", "#login"),
+                Map.of("type", "drag"),
+                Map.of("type", "click", "elementId", "never")), null);
+
+        PlanResult result = executor.executePlan(plan);
+
+        assertFalse(result.passed());
+        assertTrue(result.error().startsWith("Step 3/4 (drag) failed"), result.error());
+        List<StepTiming> timings = result.steps();
+        assertEquals(3, timings.size());
+        assertEquals(List.of(0, 1, 2), timings.stream().map(StepTiming::index).toList());
+        assertEquals(List.of("type", "click", "drag"), timings.stream().map(StepTiming::type).toList());
+        assertTrue(timings.get(0).passed() && timings.get(1).passed());
+        assertNull(timings.get(1).error());
+        assertFalse(timings.get(2).passed());
+        assertEquals("Unsupported action: drag", timings.get(2).error());
+        assertTrue(timings.stream().allMatch(t -> t.durationMs() >= 0 && t.attempts() == 1));
+        assertNotNull(result.timingsJson());
+
+        verify(pool.driver, times(1)).get("https://app.example.com/login");
+        verify(username).sendKeys("alice");
+        verify(login).click();
+        verify(pool.driver, never()).findElement(By.id("never"));
+        // The one session was released back to the pool
+        assertEquals(0, pool.getStats().get("leased"));
+        assertEquals(1L, pool.getStats().get("created"));
+    }
+
+    @Test
+    void testExecutePlan_AllStepsPassInOneSession() {
+        WebElement username = mock(WebElement.class);
+        when(pool.driver.findElement(By.id("username"))).thenReturn(username);
+        ExecutionPlan plan = ExecutionPlan.fromActions("https://app.example.com/login", "username", List.of(
+                Map.of("type", "clear"),
+                Map.of("type", "type", "value", "alice")), null);
+
+        PlanResult result = executor.executePlan(plan);
+
+        assertTrue(result.passed(), result.error());
+        assertEquals(2, result.steps().size());
+        verify(username, times(2)).clear();
+        verify(username).sendKeys("alice");
+        verify(pool.driver, times(1)).get("https://app.example.com/login");
+        assertEquals(1L, pool.getStats().get("created"));
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.config.PersistenceConfig;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.TestSuite;
+import com.example.test_framework_api.model.User;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * INDEX COVERAGE TESTS: every TestResultRepository query runs without a full
+ * table scan on a seeded MySQL schema (Hibernate tables + db/migration
+ * indexes). Each query is executed through the repository, its SQL and
+ * bound parameters are captured and replayed with EXPLAIN.
+ *
+ * Needs Docker (Testcontainers); skipped without it.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ PersistenceConfig.class, IndexCoverageTests.RecordingDataSource.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class IndexCoverageTests {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    // Queries that read the whole table by design
+    private static final Map<String, String> FULL_SCAN_BY_DESIGN = Map.of(
+            "findTop10ByOrderByTestRunIdDesc", "returns every result ordered by run");
+
+    private static final int RESULTS = 20_000;
+    private static final int TEST_NAMES = 300;
+
+    @Autowired
+    private TestResultRepository resultRepository;
+    @Autowired
+    private TestRunRepository runRepository;
+    @Autowired
+    private TestSuiteRepository suiteRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static boolean seeded;
+    private static Long suiteId;
+    private static Long runId;
+    private static Long userId;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(new User("explain-user-" + i, "secret", "explain" + i + "@example.com")));
+        }
+        List<TestSuite> suites = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TestSuite suite = new TestSuite();
+            suite.setName("Suite-" + i);
+            suite.setCreatedBy(users.get(i % users.size()));
+            suites.add(suiteRepository.save(suite));
+        }
+        List<TestRun> runs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            TestRun run = new TestRun();
+            run.setName("Run-" + i);
+            run.setStatus(TestStatus.COMPLETED);
+            runs.add(runRepository.save(run));
+        }
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(RESULTS);
+        for (int i = 0; i < RESULTS; i++) {
+            int runIndex = random.nextInt(runs.size());
+            int roll = random.nextInt(100);
+            TestStatus status = roll < 70 ? TestStatus.PASSED : roll < 93 ? TestStatus.FAILED
+                    : roll < 98 ? TestStatus.TIMEOUT : TestStatus.CANCELLED;
+            int retries = random.nextInt(100) < 3 ? 1 + random.nextInt(3) : 0;
+            rows.add(new Object[] { i + 1L, "case-" + random.nextInt(TEST_NAMES), status.name(),
+                    50L + random.nextInt(5_000), retries,
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(90 * 24 * 60))),
+                    runs.get(runIndex).getId(), suites.get(runIndex % suites.size()).getId(),
+                    retries * 12.5, users.get(random.nextInt(users.size())).getId() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO test_result (id, test_name, status, duration, retry_count, created_at, "
+                + "test_run_id, test_suite_id, flaky_score, executed_by_user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows);
+        jdbcTemplate.execute("ANALYZE TABLE test_result, test_run, test_suite, users");
+
+        suiteId = suites.get(3).getId();
+        runId = runs.get(17).getId();
+        userId = users.get(1).getId();
+        seeded = true;
+    }
+
+    @Test
+    void testMigrationsCreatedTheIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT DISTINCT index_name FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'test_result'",
+                String.class);
+        assertTrue(indexes.containsAll(List.of("idx_result_run_name", "idx_result_run_status",
+                "idx_result_suite_created", "idx_result_name_status_duration", "idx_result_status_created",
+                "idx_result_retry_flaky", "idx_result_created")), "Indexes: " + indexes);
+    }
+
+    @Test
+    void testMigrationsPartitionedTheResults() {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT partition_name FROM information_schema.partitions "
+                        + "WHERE table_schema = DATABASE() AND table_name = 'test_result' "
+                        + "ORDER BY partition_ordinal_position",
+                String.class);
+        assertEquals("p_start", partitions.get(0), "Partitions: " + partitions);
+        assertEquals("p_future", partitions.get(partitions.size() - 1), "Partitions: " + partitions);
+        assertTrue(partitions.size() > 8, "Expected daily partitions a week ahead: " + partitions);
+
+        Long seeded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM test_result", Long.class);
+        assertEquals(RESULTS, seeded.intValue());
+    }
+
+    @Test
+    void testRepositoryQueries_NoFullTableScans() throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findDailyPassRate", () -> resultRepository.findDailyPassRate(now.minusDays(2)));
+        queries.put("findTop10ByOrderByTestRunIdDesc", () -> resultRepository.findTop10ByOrderByTestRunIdDesc());
+        queries.put("findTop10ByOrderByCreatedAtDescIdDesc",
+                () -> resultRepository.findTop10ByOrderByCreatedAtDescIdDesc());
+        queries.put("findTop10ByTestSuiteIdOrderByCreatedAtDescIdDesc",
+                () -> resultRepository.findTop10ByTestSuiteIdOrderByCreatedAtDescIdDesc(suiteId));
+        queries.put("findByTestRunId", () -> resultRepository.findByTestRunId(runId));
+        queries.put("findByTestSuiteId", () -> resultRepository.findByTestSuiteId(suiteId));
+        queries.put("findByStatus", () -> resultRepository.findByStatus(TestStatus.CANCELLED));
+        queries.put("findByTestRunIdAndTestName", () -> resultRepository.findByTestRunIdAndTestName(runId, "case-7"));
+        queries.put("findStatusesByRunIdAndTestNames", () -> resultRepository.findStatusesByRunIdAndTestNames(runId,
+                List.of("case-7", "case-8")));
+        queries.put("countByRunIdAndStatus", () -> resultRepository.countByRunIdAndStatus(runId, TestStatus.FAILED));
+        queries.put("findFlakyTests", () -> resultRepository.findFlakyTests(2));
+        queries.put("findAvgDurationByTestName", () -> resultRepository.findAvgDurationByTestName("case-7"));
+        queries.put("findTestsWithMixedResults", () -> resultRepository.findTestsWithMixedResults());
+        queries.put("findLatestBySuiteId", () -> resultRepository.findLatestBySuiteId(suiteId));
+        queries.put("findRangePage", () -> resultRepository.findRangePage(now.minusDays(1), now,
+                now.minusDays(1), 0L, PageRequest.of(0, 51)));
+        queries.put("findArchiveChunk", () -> resultRepository.findArchiveChunk(now.minusDays(2),
+                now.minusDays(1), 0L, PageRequest.of(0, 500)));
+        queries.put("findDailyPassRateBySuite",
+                () -> resultRepository.findDailyPassRateBySuite(suiteId, now.minusDays(7)));
+        queries.put("findFlakyTestsBySuite", () -> resultRepository.findFlakyTestsBySuite(suiteId));
+        queries.put("findBySuiteIdOrderByCreatedAtDesc",
+                () -> resultRepository.findBySuiteIdOrderByCreatedAtDesc(suiteId));
+        queries.put("findBySuiteIdAndUserId", () -> resultRepository.findBySuiteIdAndUserId(suiteId, userId));
+        queries.put("countBySuiteId", () -> resultRepository.countBySuiteId(suiteId));
+        queries.put("countBySuiteIdAndStatus",
+                () -> resultRepository.countBySuiteIdAndStatus(suiteId, TestStatus.PASSED));
+        queries.put("findAvgDurationBySuite", () -> resultRepository.findAvgDurationBySuite(suiteId));
+        queries.put("findMinMaxDurationBySuite", () -> resultRepository.findMinMaxDurationBySuite(suiteId));
+        queries.put("findAvgDurationByTestNames", () -> resultRepository.findAvgDurationByTestNames(
+                List.of("case-1", "case-2", "case-3"), TestStatus.CANCELLED));
+        queries.put("sumPhasesByRunId", () -> resultRepository.sumPhasesByRunId(runId));
+        queries.put("sumPhasesBySuiteId", () -> resultRepository.sumPhasesBySuiteId(suiteId));
+        queries.put("findDailyWebVitalsBySuite",
+                () -> resultRepository.findDailyWebVitalsBySuite(suiteId, now.minusDays(7)));
+
+        List<String> scans = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(),
+                MYSQL.getPassword())) {
+            for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+                List<RecordingDataSource.Executed> executed = RecordingDataSource.record(query.getValue());
+                assertFalse(executed.isEmpty(), query.getKey() + " executed no statement");
+                if (FULL_SCAN_BY_DESIGN.containsKey(query.getKey())) {
+                    continue;
+                }
+                for (RecordingDataSource.Executed statement : executed) {
+                    for (String table : fullScans(connection, statement)) {
+                        scans.add(query.getKey() + ": full scan of " + table + " in " + statement.sql());
+                    }
+                }
+            }
+        }
+        assertTrue(scans.isEmpty(), String.join("\n", scans));
+    }
+
+    /**
+     * Tables EXPLAIN reports with access type ALL (derived tables excluded).
+     */
+    private static List<String> fullScans(Connection connection, RecordingDataSource.Executed statement)
+            throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Map.Entry<Integer, Object> param : statement.params().entrySet()) {
+                explain.setObject(param.getKey(), param.getValue());
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    String table = plan.getString("table");
+                    if ("ALL".equals(plan.getString("type")) && table != null && !table.startsWith("<")) {
+                        tables.add(table);
+                    }
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Wraps the DataSource so the SELECTs a repository call executes, with
+     * their bound parameters, can be captured.
+     */
+    @TestConfiguration
+    static class RecordingDataSource {
+
+        record Executed(String sql, Map<Integer, Object> params) {
+        }
+
+        private static final List<Executed> EXECUTED = new CopyOnWriteArrayList<>();
+        private static volatile boolean recording;
+
+        static List<Executed> record(Runnable call) {
+            EXECUTED.clear();
+            recording = true;
+            try {
+                call.run();
+            } finally {
+                recording = false;
+            }
+            return List.copyOf(EXECUTED);
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+                }
+            };
+        }
+
+        private static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                    method.startsWith("prepareStatement") && result instanceof PreparedStatement statement
+                            ? wrap(statement, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            params.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (name.equals("executeQuery") && (args == null || args.length == 0) && recording
+                                && sql.trim().toLowerCase().startsWith("select")) {
+                            EXECUTED.add(new Executed(sql, new TreeMap<>(params)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        @FunctionalInterface
+        private interface ResultMapper {
+            Object map(String method, Object[] args, Object result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+            return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> mapper.map(method.getName(), args, invoke(target, method, args)));
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args)
+                throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.config.PersistenceConfig;
+import com.example.test_framework_api.dto.KeysetPage;
+import com.example.test_framework_api.dto.ListingQuery;
+import com.example.test_framework_api.dto.RunSummary;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.service.ListingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KEYSET LISTING TESTS: ListingService pages on MySQL. Runs share a few
+ * createdAt values, so walking the pages exercises the (createdAt, id)
+ * tie-breaker of the seek predicate.
+ *
+ * Needs Docker (Testcontainers); skipped without it.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ PersistenceConfig.class, ListingService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class KeysetListingTests {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    private static final int RUNS = 25;
+    private static final int PAGE = 4;
+
+    @Autowired
+    private ListingService listingService;
+    @Autowired
+    private TestRunRepository runRepository;
+
+    private static boolean seeded;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        // Five runs per timestamp; whole seconds so cursors carry values like 2025-03-01T10:00
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 0);
+        for (int i = 0; i < RUNS; i++) {
+            TestRun run = new TestRun();
+            run.setName("Keyset-" + i);
+            run.setStatus(TestStatus.COMPLETED);
+            run.setCreatedAt(base.plusMinutes(i % 5));
+            runRepository.save(run);
+        }
+        TestRun other = new TestRun();
+        other.setName("Unrelated");
+        other.setStatus(TestStatus.COMPLETED);
+        other.setCreatedAt(base);
+        runRepository.save(other);
+        seeded = true;
+    }
+
+    @Test
+    void testWalkDescending_EveryRunOnceInOrder() {
+        assertWalk("desc");
+    }
+
+    @Test
+    void testWalkAscending_EveryRunOnceInOrder() {
+        assertWalk("asc");
+    }
+
+    @Test
+    void testIncludeTotal_CountsAllMatchesOnFirstPage() {
+        ListingQuery query = query("desc");
+        query.setIncludeTotal(true);
+
+        KeysetPage<RunSummary> page = listingService.listRuns(query);
+
+        assertEquals(PAGE, page.items().size());
+        assertEquals(RUNS, page.total());
+        assertNull(listingService.listRuns(query("desc")).total());
+    }
+
+    @Test
+    void testCursorFromOtherSort_Rejected() {
+        String cursor = listingService.listRuns(query("desc")).nextCursor();
+        assertNotNull(cursor);
+
+        ListingQuery byId = query("desc");
+        byId.setSort("id");
+        byId.setCursor(cursor);
+        assertThrows(IllegalArgumentException.class, () -> listingService.listRuns(byId));
+
+        ListingQuery ascending = query("asc");
+        ascending.setCursor(cursor);
+        assertThrows(IllegalArgumentException.class, () -> listingService.listRuns(ascending));
+    }
+
+    private void assertWalk(String direction) {
+        List<RunSummary> seen = new ArrayList<>();
+        ListingQuery query = query(direction);
+        int pages = 0;
+        while (true) {
+            KeysetPage<RunSummary> page = listingService.listRuns(query);
+            assertTrue(page.items().size() <= PAGE);
+            seen.addAll(page.items());
+            pages++;
+            assertTrue(pages <= RUNS, "Pagination does not terminate");
+            if (page.nextCursor() == null) {
+                break;
+            }
+            query.setCursor(page.nextCursor());
+        }
+
+        Set<Long> ids = new HashSet<>();
+        seen.forEach(run -> assertTrue(ids.add(run.id()), "Run " + run.id() + " listed twice"));
+        assertEquals(RUNS, ids.size());
+        assertTrue(seen.stream().allMatch(run -> run.name().startsWith("Keyset-")));
+
+        Comparator<RunSummary> order = Comparator.comparing(RunSummary::createdAt).thenComparing(RunSummary::id);
+        List<RunSummary> expected = new ArrayList<>(seen);
+        expected.sort("desc".equals(direction) ? order.reversed() : order);
+        assertEquals(expected, seen);
+    }
+
+    private static ListingQuery query(String direction) {
+        ListingQuery query = new ListingQuery();
+        query.setName("keyset-");
+        query.setDirection(direction);
+        query.setLimit(PAGE);
+        return query;
+    }
+}
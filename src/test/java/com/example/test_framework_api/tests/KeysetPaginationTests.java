@@ -0,0 +1,75 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.dto.KeysetPage;
+import com.example.test_framework_api.dto.SuiteSummary;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.service.KeysetCursor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KEYSET PAGINATION TESTS: cursors and the page shape of the listings
+ */
+class KeysetPaginationTests {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void testCursor_RoundTripsSortValueAndId() {
+        KeysetCursor cursor = new KeysetCursor("createdAt", true, 42L, "2025-03-01T10:15:30.123");
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"), "Cursor should be opaque");
+        assertEquals(cursor, KeysetCursor.decode(encoded));
+    }
+
+    @Test
+    void testCursor_ValueMayContainSeparator() {
+        KeysetCursor cursor = new KeysetCursor("name", false, 7L, "Smoke | Login");
+        assertEquals("Smoke | Login", KeysetCursor.decode(cursor.encode()).value());
+    }
+
+    @Test
+    void testCursor_RejectsTamperedInput() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not base64 !"));
+        String badDirection = Base64.getUrlEncoder().encodeToString("id|up|1|1".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(badDirection));
+        String badId = Base64.getUrlEncoder().encodeToString("id|desc|x|1".getBytes());
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(badId));
+    }
+
+    @Test
+    void testPage_TotalOnlyWhenRequested() {
+        JsonNode withoutTotal = mapper.valueToTree(new KeysetPage<>(List.of(), 50, null, null, null));
+        assertFalse(withoutTotal.has("total"));
+        assertTrue(withoutTotal.get("nextCursor").isNull());
+
+        JsonNode withTotal = mapper.valueToTree(new KeysetPage<>(List.of(), 50, "abc", null, 120L));
+        assertEquals(120, withTotal.get("total").asInt());
+        assertEquals("abc", withTotal.get("nextCursor").asText());
+    }
+
+    @Test
+    void testSuiteSummary_CreatorWithRoles() {
+        SuiteSummary suite = new SuiteSummary(1L, "Smoke", null, TestStatus.PASSED, LocalDateTime.now(), 5L,
+                3L, "admin").withRoles(Set.of("ROLE_ADMIN"));
+        JsonNode row = mapper.valueToTree(suite);
+        assertEquals(5, row.get("testCaseCount").asInt());
+        assertEquals("admin", row.get("createdBy").get("username").asText());
+        assertEquals("ROLE_ADMIN", row.get("createdBy").get("roles").get(0).asText());
+
+        SuiteSummary orphan = new SuiteSummary(2L, "Orphan", null, TestStatus.PENDING, LocalDateTime.now(), null,
+                null, null);
+        assertFalse(mapper.valueToTree(orphan).has("createdBy"));
+        assertEquals(0L, orphan.testCaseCount());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.dto.ResultSummary;
+import com.example.test_framework_api.dto.RunSummary;
+import com.example.test_framework_api.model.TestStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LISTING PROJECTION TESTS: /api/runs and /api/runs/reports keep their JSON shape
+ */
+class ListingProjectionTests {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void testRunSummary_NestsCreatorAndOmitsMissingOne() {
+        JsonNode withCreator = mapper.valueToTree(new RunSummary(1L, "Smoke-Suite", TestStatus.PASSED, 4,
+                LocalDateTime.now(), null, 7L, "admin", 12L));
+        assertEquals("admin", withCreator.get("createdBy").get("username").asText());
+        assertEquals(7, withCreator.get("createdBy").get("id").asInt());
+        assertEquals(12, withCreator.get("resultCount").asInt());
+
+        JsonNode anonymous = mapper.valueToTree(new RunSummary(2L, "Nightly", TestStatus.RUNNING, 1,
+                LocalDateTime.now(), null, null, null, null));
+        assertFalse(anonymous.has("createdBy"));
+        assertEquals(0, anonymous.get("resultCount").asInt());
+    }
+
+    @Test
+    void testResultSummary_FlatRunAndNestedExecutor() {
+        JsonNode row = mapper.valueToTree(new ResultSummary(3L, "Login", TestStatus.FAILED, 850L, 1,
+                "status 500 not in 200", LocalDateTime.now(), 10.85, 2L, "Nightly", null, null));
+
+        assertEquals(2, row.get("testRunId").asInt());
+        assertEquals("Nightly", row.get("testRunName").asText());
+        assertFalse(row.has("executedBy"));
+        assertEquals("FAILED", row.get("status").asText());
+    }
+}
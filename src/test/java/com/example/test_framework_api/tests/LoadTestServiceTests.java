@@ -0,0 +1,180 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.dto.LoadTestRequest;
+import com.example.test_framework_api.model.LoadRun;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.LoadRunRepository;
+import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.service.LoadTestService;
+import com.example.test_framework_api.worker.LoadDriver;
+import com.example.test_framework_api.worker.PooledHttpApiEngine;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * LOAD TESTS: virtual users against a local WireMock server (offline)
+ */
+class LoadTestServiceTests {
+
+    @Mock
+    private LoadRunRepository loadRunRepository;
+
+    @Mock
+    private TestCaseRepository caseRepository;
+
+    private WireMockServer wireMockServer;
+    private PooledHttpApiEngine engine;
+    private LoadTestService loadTestService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo("/ok")).willReturn(aResponse().withStatus(200).withBody("ok")));
+        wireMockServer.stubFor(get(urlEqualTo("/down")).willReturn(aResponse().withStatus(503)));
+
+        engine = new PooledHttpApiEngine(20, 2000, 5000);
+        when(loadRunRepository.save(any(LoadRun.class))).thenAnswer(invocation -> {
+            LoadRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(1L);
+            }
+            return run;
+        });
+        // Synchronous executor: start() returns once the load test finished
+        loadTestService = new LoadTestService(loadRunRepository, caseRepository, Runnable::run, 500, 3600, 2000, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        wireMockServer.stop();
+    }
+
+    private TestCase apiCase(String id, String path) {
+        TestCase tc = new TestCase();
+        tc.setTestCaseId(id);
+        tc.setTestName("Load " + id);
+        tc.setTestType("API");
+        tc.setHttpMethodAction("GET");
+        tc.setUrlEndpoint("http://localhost:" + wireMockServer.port() + path);
+        return tc;
+    }
+
+    @Test
+    void testSuiteLoad_RecordsLatencyThroughputAndErrors() {
+        when(caseRepository.findByTestSuiteId(7L)).thenReturn(List.of(apiCase("OK", "/ok"), apiCase("DOWN", "/down")));
+        LoadTestRequest request = new LoadTestRequest();
+        request.setSuiteId(7L);
+        request.setVirtualUsers(4);
+        request.setDurationSec(1);
+
+        LoadRun run = loadTestService.start(request);
+
+        assertEquals(TestStatus.COMPLETED, run.getStatus());
+        assertTrue(run.getTotalRequests() > 0);
+        assertEquals(run.getTotalRequests(), run.getSuccessCount() + run.getErrorCount());
+        assertTrue(run.getErrorCount() > 0);
+        assertTrue(run.getErrorBreakdown().contains("HTTP 503"));
+        assertNotNull(run.getLatencyP99Ms());
+        assertTrue(run.getLatencyP50Ms() <= run.getLatencyP99Ms());
+        assertTrue(run.getThroughputRps() > 0);
+
+        String report = loadTestService.generateReport(run);
+        assertTrue(report.contains("p99.0"));
+        assertTrue(report.contains("HTTP 503"));
+    }
+
+    @Test
+    void testTargetRate_PacesRequests() {
+        LoadDriver driver = new LoadDriver(engine, List.of(apiCase("OK", "/ok")),
+                new LoadDriver.Settings(2, 1000, 0, 20));
+
+        LoadDriver.Outcome outcome = driver.run();
+
+        // 20 rps for one second, give or take scheduling jitter
+        assertTrue(outcome.requests() >= 15 && outcome.requests() <= 25, "requests: " + outcome.requests());
+        assertEquals(outcome.requests(), outcome.successes());
+    }
+
+    @Test
+    void testStop_WakesWaitingUsers() throws Exception {
+        // One request per second per user: users spend almost all of the run parked
+        LoadDriver driver = new LoadDriver(engine, List.of(apiCase("OK", "/ok")),
+                new LoadDriver.Settings(2, 60_000, 30_000, 2));
+
+        CompletableFuture<LoadDriver.Outcome> outcome = CompletableFuture.supplyAsync(driver::run);
+        Thread.sleep(300);
+        driver.stop();
+
+        assertTrue(outcome.get(5, TimeUnit.SECONDS).stopped());
+    }
+
+    @Test
+    void testStart_RejectedWhenNoRunnerAvailable() {
+        when(caseRepository.findById("OK")).thenReturn(Optional.of(apiCase("OK", "/ok")));
+        LoadTestService busy = new LoadTestService(loadRunRepository, caseRepository, task -> {
+            throw new RejectedExecutionException("full");
+        }, 500, 3600, 2000, 5000);
+        LoadTestRequest request = new LoadTestRequest();
+        request.setTestCaseId("OK");
+        request.setVirtualUsers(1);
+        request.setDurationSec(1);
+
+        assertThrows(IllegalStateException.class, () -> busy.start(request));
+        assertFalse(busy.stop(1L));
+        verify(loadRunRepository, atLeastOnce()).save(argThat((LoadRun run) -> run.getStatus() == TestStatus.FAILED));
+    }
+
+    @Test
+    void testReport_EscapesUserText() {
+        LoadRun run = new LoadRun();
+        run.setName("Load - <script>alert(1)</script>");
+        run.setStatus(TestStatus.FAILED);
+        run.setErrorBreakdown("{\"EXPECTATION <b>\": 3}");
+        run.setErrorMessage("bad <img src=x>");
+
+        String report = loadTestService.generateReport(run);
+
+        assertFalse(report.contains("<script>"));
+        assertFalse(report.contains("<b>"));
+        assertFalse(report.contains("<img"));
+        assertTrue(report.contains("&lt;script&gt;"));
+    }
+
+    @Test
+    void testInvalidTargets_Rejected() {
+        TestCase ui = apiCase("UI_1", "/ok");
+        ui.setTestType("UI");
+        when(caseRepository.findById("UI_1")).thenReturn(Optional.of(ui));
+
+        LoadTestRequest uiOnly = new LoadTestRequest();
+        uiOnly.setTestCaseId("UI_1");
+        assertThrows(IllegalArgumentException.class, () -> loadTestService.start(uiOnly));
+
+        LoadTestRequest both = new LoadTestRequest();
+        both.setTestCaseId("UI_1");
+        both.setSuiteId(1L);
+        assertThrows(IllegalArgumentException.class, () -> loadTestService.start(both));
+        verify(loadRunRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.worker.ApiRequest;
+import com.example.test_framework_api.worker.ApiResponse;
+import com.example.test_framework_api.worker.PooledHttpApiEngine;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * POOLED ENGINE TESTS: requests, per-host limits and error accounting (WireMock, offline)
+ */
+class PooledHttpApiEngineTests {
+
+    private WireMockServer wireMockServer;
+    private PooledHttpApiEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+        wireMockServer.start();
+        // Generous timeouts: the first call to a fresh server can be slow on a loaded machine
+        engine = new PooledHttpApiEngine(2, 10_000, 30_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        wireMockServer.stop();
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + wireMockServer.port() + path;
+    }
+
+    @Test
+    void testGet_ReturnsStatusBodyAndHeaders() {
+        wireMockServer.stubFor(get(urlEqualTo("/users/1")).willReturn(aResponse().withStatus(200)
+                .withHeader("X-Trace", "abc").withBody("{\"id\":1}")));
+
+        ApiResponse response = engine.execute(new ApiRequest("GET", url("/users/1"), null, null));
+
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"id\":1}", response.body());
+        assertEquals("abc", response.header("x-trace"));
+        assertEquals(8, response.sizeBytes());
+    }
+
+    @Test
+    void testPost_SendsBodyAndContentType() {
+        wireMockServer.stubFor(post(urlEqualTo("/users")).willReturn(aResponse().withStatus(201)));
+
+        ApiResponse response = engine.execute(
+                new ApiRequest("post", url("/users"), "{\"name\":\"a\"}", "application/json"));
+
+        assertEquals(201, response.statusCode());
+        wireMockServer.verify(postRequestedFor(urlEqualTo("/users"))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withRequestBody(equalToJson("{\"name\":\"a\"}")));
+    }
+
+    @Test
+    void testUnsupportedMethodIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> engine.execute(new ApiRequest("TRACE", url("/x"), null, null)));
+    }
+
+    @Test
+    void testConnectionFailureIsCountedAsError() {
+        int port = wireMockServer.port();
+        wireMockServer.stop();
+
+        assertThrows(IllegalStateException.class,
+                () -> engine.execute(new ApiRequest("GET", "http://localhost:" + port + "/x", null, null)));
+        assertEquals(1L, engine.getStats().get("errors"));
+    }
+
+    /**
+     * A server that holds every request until released: two calls reach it,
+     * the other four wait for a permit. Observed through the permit counters,
+     * so the outcome does not depend on response timing.
+     */
+    @Test
+    void testConcurrentRequestsAreCappedPerHost() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger arrived = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.createContext("/held", exchange -> {
+            arrived.incrementAndGet();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        String url = "http://localhost:" + server.getAddress().getPort() + "/held";
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<ApiResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                calls.add(callers.submit(() -> engine.execute(new ApiRequest("GET", url, null, null))));
+            }
+            awaitUntil(() -> hostStats().get("waits").equals(4L) && arrived.get() == 2);
+            assertEquals(2, hostStats().get("inFlight"));
+            assertEquals(2, arrived.get());
+
+            release.countDown();
+            for (Future<ApiResponse> call : calls) {
+                assertEquals(200, call.get(30, TimeUnit.SECONDS).statusCode());
+            }
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+
+        Map<String, Object> host = hostStats();
+        assertEquals(2, host.get("peakInFlight"));
+        assertEquals(6L, host.get("requests"));
+        assertEquals(4L, host.get("waits"));
+        assertEquals(0, host.get("inFlight"));
+        assertEquals(6, arrived.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> hostStats() {
+        Map<String, Object> hosts = (Map<String, Object>) engine.getStats().get("hosts");
+        return (Map<String, Object>) hosts.getOrDefault("localhost", Map.of("waits", 0L, "inFlight", 0));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached within 30s");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void testExecuteAsync_CompletesWithResponse() throws Exception {
+        wireMockServer.stubFor(get(urlEqualTo("/ok")).willReturn(aResponse().withStatus(204)));
+
+        ApiResponse response = engine.executeAsync(new ApiRequest("GET", url("/ok"), null, null)).get();
+
+        assertEquals(204, response.statusCode());
+        // The client prefers HTTP/2 and WireMock accepts the cleartext upgrade
+        assertEquals("HTTP/2", response.protocol());
+    }
+}
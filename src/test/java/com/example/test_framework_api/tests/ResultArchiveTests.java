@@ -0,0 +1,208 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.dto.KeysetPage;
+import com.example.test_framework_api.model.ResultArchive;
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.TestSuite;
+import com.example.test_framework_api.repository.ResultArchiveRepository;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.service.ResultArchiveService;
+import com.example.test_framework_api.service.TestResultService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RESULT ARCHIVE TESTS: partition export, re-export and transparent reads
+ */
+class ResultArchiveTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @Mock
+    private TestResultRepository resultRepository;
+    @Mock
+    private ResultArchiveRepository archiveRepository;
+
+    @TempDir
+    Path archiveDir;
+
+    private ResultArchiveService archiveService;
+    private final List<TestResult> partition = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(archiveRepository.save(any(ResultArchive.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        // Chunks of 2 in id order, as the keyset query returns them
+        when(resultRepository.findArchiveChunk(any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(2);
+            return partition.stream().filter(r -> r.getId() > afterId).limit(2).toList();
+        });
+        archiveService = new ResultArchiveService(resultRepository, archiveRepository, archiveDir.toString(), 2);
+
+        partition.add(result(1L, 10L, DAY.plusHours(1), TestStatus.PASSED));
+        partition.add(result(2L, 11L, DAY.plusHours(2), TestStatus.FAILED));
+        partition.add(result(3L, 10L, DAY.plusHours(3), TestStatus.TIMEOUT));
+    }
+
+    private static TestResult result(Long id, Long runId, LocalDateTime createdAt, TestStatus status) {
+        TestRun run = new TestRun();
+        run.setId(runId);
+        TestResult result = new TestResult();
+        result.setId(id);
+        result.setTestName("case-" + id);
+        result.setStatus(status);
+        result.setDuration(100L * id);
+        result.setRetryCount(id.intValue() - 1);
+        result.setErrorMessage(status == TestStatus.PASSED ? null : "boom " + id);
+        result.setCreatedAt(createdAt);
+        result.setTestRun(run);
+        return result;
+    }
+
+    @Test
+    void testArchive_WritesEveryRowAndCataloguesRunRange() throws Exception {
+        ResultArchive archive = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 3);
+
+        assertTrue(Files.exists(Paths.get(archive.getPath())));
+        assertTrue(archive.getPath().endsWith(".jsonl.gz"));
+        assertEquals(3, archive.getRowCount());
+        assertEquals(10L, archive.getMinRunId());
+        assertEquals(11L, archive.getMaxRunId());
+        assertEquals(DAY.plusDays(1), archive.getRangeEnd());
+        verify(resultRepository, times(2)).findArchiveChunk(eq(DAY), eq(DAY.plusDays(1)), anyLong(), any());
+    }
+
+    @Test
+    void testArchive_CountMismatchLeavesNothingBehind() throws Exception {
+        assertThrows(IllegalStateException.class,
+                () -> archiveService.archive("p20250301", DAY, DAY.plusDays(1), 4));
+
+        try (var files = Files.list(archiveDir)) {
+            assertEquals(0, files.count());
+        }
+        verify(archiveRepository, never()).save(any());
+    }
+
+    @Test
+    void testReadRun_RestoresResultsOfThatRunOnly() throws Exception {
+        ResultArchive archive = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 3);
+        when(archiveRepository.findCoveringRun(10L)).thenReturn(List.of(archive));
+
+        List<TestResult> results = archiveService.readRun(10L);
+
+        assertEquals(List.of(1L, 3L), results.stream().map(TestResult::getId).toList());
+        TestResult timedOut = results.get(1);
+        assertEquals(TestStatus.TIMEOUT, timedOut.getStatus());
+        assertEquals(300L, timedOut.getDuration());
+        assertEquals(2, timedOut.getRetryCount());
+        assertEquals("boom 3", timedOut.getErrorMessage());
+        assertEquals(DAY.plusHours(3), timedOut.getCreatedAt());
+        assertEquals(10L, timedOut.getTestRun().getId());
+    }
+
+    @Test
+    void testArchiveAgain_ReplacesFileAndCatalogueRow() throws Exception {
+        ResultArchive first = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 3);
+        first.setId(42L);
+        when(archiveRepository.findByPartitionName("p20250301")).thenReturn(Optional.of(first));
+        // A late row, e.g. a spool replay with an old createdAt
+        partition.add(result(4L, 12L, DAY.plusHours(4), TestStatus.PASSED));
+
+        ResultArchive second = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 4);
+
+        assertSame(first, second);
+        assertEquals(42L, second.getId());
+        assertEquals(4, second.getRowCount());
+        assertEquals(12L, second.getMaxRunId());
+        try (var files = Files.list(archiveDir)) {
+            assertEquals(1, files.count());
+        }
+        when(archiveRepository.findCoveringRun(12L)).thenReturn(List.of(second));
+        assertEquals(List.of(4L), archiveService.readRun(12L).stream().map(TestResult::getId).toList());
+    }
+
+    @Test
+    void testReadSuite_RestoresResultsOfThatSuiteOnly() throws Exception {
+        TestSuite suite = new TestSuite();
+        suite.setId(7L);
+        partition.get(0).setTestSuite(suite);
+        partition.get(2).setTestSuite(suite);
+        ResultArchive archive = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 3);
+        assertEquals(7L, archive.getMinSuiteId());
+        assertEquals(7L, archive.getMaxSuiteId());
+        when(archiveRepository.findCoveringSuite(7L)).thenReturn(List.of(archive));
+
+        List<TestResult> results = archiveService.readSuite(7L);
+
+        assertEquals(List.of(1L, 3L), results.stream().map(TestResult::getId).toList());
+        assertEquals(7L, results.get(0).getTestSuite().getId());
+    }
+
+    @Test
+    void testReadBetween_FiltersByCreatedAtAfterCursor() throws Exception {
+        ResultArchive archive = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 3);
+        when(archiveRepository.findOverlapping(any(), any())).thenReturn(List.of(archive));
+        LocalDateTime from = DAY.plusHours(2);
+        LocalDateTime to = DAY.plusHours(5);
+
+        assertEquals(List.of(2L, 3L), archiveService.readBetween(from, to, from, Long.MIN_VALUE, 10).stream()
+                .map(TestResult::getId).toList());
+        assertEquals(List.of(2L), archiveService.readBetween(from, to, from, Long.MIN_VALUE, 1).stream()
+                .map(TestResult::getId).toList());
+        assertEquals(List.of(3L), archiveService.readBetween(from, to, DAY.plusHours(2), 2L, 10).stream()
+                .map(TestResult::getId).toList());
+    }
+
+    @Test
+    void testResultsBetween_PagesOverTableAndArchives() throws Exception {
+        // 1 and 3 archived; 2 still in the table, with a copy in the archive
+        ResultArchive archive = archiveService.archive("p20250301", DAY, DAY.plusDays(1), 3);
+        when(archiveRepository.findOverlapping(any(), any())).thenReturn(List.of(archive));
+        TestResult hot = result(2L, 11L, DAY.plusHours(2), TestStatus.PASSED);
+        when(resultRepository.findRangePage(any(), any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            LocalDateTime afterCreatedAt = invocation.getArgument(2);
+            long afterId = invocation.getArgument(3);
+            boolean after = hot.getCreatedAt().isAfter(afterCreatedAt)
+                    || hot.getCreatedAt().isEqual(afterCreatedAt) && hot.getId() > afterId;
+            return after ? List.of(hot) : List.of();
+        });
+        TestResultService resultService = new TestResultService();
+        ReflectionTestUtils.setField(resultService, "testResultRepository", resultRepository);
+        ReflectionTestUtils.setField(resultService, "resultArchiveService", archiveService);
+
+        KeysetPage<TestResult> first = resultService.getResultsBetween(DAY, DAY.plusDays(1), null, 2);
+        assertEquals(List.of(1L, 2L), first.items().stream().map(TestResult::getId).toList());
+        assertEquals(TestStatus.PASSED, first.items().get(1).getStatus(), "the table copy wins");
+        assertNotNull(first.nextCursor());
+
+        KeysetPage<TestResult> second = resultService.getResultsBetween(DAY, DAY.plusDays(1), first.nextCursor(), 2);
+        assertEquals(List.of(3L), second.items().stream().map(TestResult::getId).toList());
+        assertNull(second.nextCursor());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> resultService.getResultsBetween(DAY.plusDays(1), DAY, null, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> resultService.getResultsBetween(DAY, DAY.plusDays(1), "not-a-cursor", 2));
+    }
+}
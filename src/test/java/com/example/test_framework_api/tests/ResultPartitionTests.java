@@ -0,0 +1,176 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.ResultArchive;
+import com.example.test_framework_api.service.ResultArchiveService;
+import com.example.test_framework_api.service.ResultPartitionService;
+import com.example.test_framework_api.service.ResultPartitionService.Partition;
+import db.migration.V3__Partition_test_result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * RESULT PARTITION TESTS: partition bounds, expiry, partitions ahead and
+ * the archive-then-drop pass
+ */
+class ResultPartitionTests {
+
+    private static final LocalDateTime MAR_1 = LocalDateTime.of(2025, 3, 1, 0, 0);
+    private static final LocalDateTime MAR_2 = MAR_1.plusDays(1);
+    private static final LocalDateTime MAR_3 = MAR_1.plusDays(2);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private ResultArchiveService archiveService;
+
+    private ResultPartitionService partitionService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        // GET_LOCK succeeds
+        ResultSet locked = mock(ResultSet.class);
+        when(locked.next()).thenReturn(true);
+        when(locked.getInt(1)).thenReturn(1);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(locked);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> ((ConnectionCallback<?>) invocation.getArgument(0))
+                        .doInConnection(connection));
+        doReturn(List.of(
+                new String[] { "p_start", "'2025-03-01 00:00:00'" },
+                new String[] { "p20250301", "'2025-03-02 00:00:00'" },
+                new String[] { "p20250302", "'2025-03-03 00:00:00'" },
+                new String[] { "p_future", "MAXVALUE" }))
+                .when(jdbcTemplate).query(anyString(), any(RowMapper.class));
+
+        partitionService = new ResultPartitionService(jdbcTemplate, archiveService, true, 7, 1, 60);
+    }
+
+    private static ResultArchive archived(String partition, long rows) {
+        ResultArchive archive = new ResultArchive();
+        archive.setPartitionName(partition);
+        archive.setRowCount(rows);
+        return archive;
+    }
+
+    // Row counts of the partition, one per COUNT(*) and the last repeated
+    private void rows(String partition, Long... counts) {
+        when(jdbcTemplate.queryForObject(contains("PARTITION (" + partition + ")"), eq(Long.class)))
+                .thenReturn(counts[0], Arrays.copyOfRange(counts, 1, counts.length));
+    }
+
+    @Test
+    void testBound_ParsesDescriptionsAndMaxValue() {
+        assertEquals(MAR_2, ResultPartitionService.bound("'2025-03-02 00:00:00'"));
+        assertNull(ResultPartitionService.bound("MAXVALUE"));
+        assertNull(ResultPartitionService.bound(null));
+    }
+
+    @Test
+    void testExpired_OnlyPartitionsEndingByTheCutoff() {
+        List<Partition> partitions = List.of(new Partition("p_start", null, MAR_1),
+                new Partition("p20250301", MAR_1, MAR_2), new Partition("p20250302", MAR_2, MAR_3),
+                new Partition("p_future", MAR_3, null));
+
+        assertEquals(List.of("p_start", "p20250301"), ResultPartitionService.expired(partitions, MAR_2).stream()
+                .map(Partition::name).toList());
+        assertEquals(List.of("p_start"), ResultPartitionService.expired(partitions, MAR_2.minusSeconds(1)).stream()
+                .map(Partition::name).toList());
+    }
+
+    @Test
+    void testAhead_DailyPartitionsFromTheLastBoundThroughUntil() {
+        assertEquals(List.of("PARTITION p20250303 VALUES LESS THAN ('2025-03-04')",
+                "PARTITION p20250304 VALUES LESS THAN ('2025-03-05')"),
+                ResultPartitionService.ahead(MAR_3, LocalDate.of(2025, 3, 4)));
+        assertTrue(ResultPartitionService.ahead(MAR_3, LocalDate.of(2025, 3, 2)).isEmpty());
+    }
+
+    @Test
+    void testMigrationPartitions_StartDailyWeekAheadAndFuture() {
+        List<String> partitions = V3__Partition_test_result.partitions(LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 2));
+
+        // p_start, Mar 1 through Mar 9 (a week after today), p_future
+        assertEquals(11, partitions.size());
+        assertEquals("PARTITION p_start VALUES LESS THAN ('2025-03-01')", partitions.get(0));
+        assertEquals("PARTITION p20250301 VALUES LESS THAN ('2025-03-02')", partitions.get(1));
+        assertEquals("PARTITION p20250309 VALUES LESS THAN ('2025-03-10')", partitions.get(9));
+        assertEquals("PARTITION p_future VALUES LESS THAN (MAXVALUE)", partitions.get(10));
+        assertTrue(V3__Partition_test_result.statements(partitions).get(2)
+                .startsWith("ALTER TABLE test_result PARTITION BY RANGE COLUMNS(created_at) (PARTITION p_start"));
+    }
+
+    @Test
+    void testMaintain_FailedArchiveDoesNotHoldUpLaterPartitions() throws Exception {
+        rows("p_start", 0L);
+        rows("p20250301", 5L);
+        rows("p20250302", 3L);
+        when(archiveService.find(anyString())).thenReturn(Optional.empty());
+        when(archiveService.archive(eq("p20250301"), any(), any(), anyLong())).thenThrow(new IOException("disk full"));
+
+        partitionService.maintain();
+
+        verify(jdbcTemplate).execute("ALTER TABLE test_result DROP PARTITION p_start");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE test_result DROP PARTITION p20250301");
+        verify(archiveService).archive("p20250302", MAR_2, MAR_3, 3);
+        verify(jdbcTemplate).execute("ALTER TABLE test_result DROP PARTITION p20250302");
+    }
+
+    @Test
+    void testMaintain_PartitionThatGainedRowsIsArchivedAgain() throws Exception {
+        rows("p_start", 0L);
+        rows("p20250301", 4L);
+        rows("p20250302", 3L);
+        when(archiveService.find("p20250301")).thenReturn(Optional.of(archived("p20250301", 3)));
+        when(archiveService.find("p20250302")).thenReturn(Optional.of(archived("p20250302", 3)));
+
+        partitionService.maintain();
+
+        verify(archiveService).archive("p20250301", MAR_1, MAR_2, 4);
+        verify(jdbcTemplate).execute("ALTER TABLE test_result DROP PARTITION p20250301");
+        // Already archived with every row: dropped as is
+        verify(archiveService, never()).archive(eq("p20250302"), any(), any(), anyLong());
+        verify(jdbcTemplate).execute("ALTER TABLE test_result DROP PARTITION p20250302");
+    }
+
+    @Test
+    void testMaintain_PartitionChangedDuringArchiveIsKept() throws Exception {
+        rows("p_start", 0L);
+        rows("p20250301", 3L, 4L);
+        rows("p20250302", 0L);
+        when(archiveService.find(anyString())).thenReturn(Optional.empty());
+
+        partitionService.maintain();
+
+        verify(archiveService).archive("p20250301", MAR_1, MAR_2, 3);
+        verify(jdbcTemplate, never()).execute("ALTER TABLE test_result DROP PARTITION p20250301");
+        verify(jdbcTemplate).execute("ALTER TABLE test_result DROP PARTITION p20250302");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.TestSuite;
+import com.example.test_framework_api.repository.ResultDailyRollupRepository;
+import com.example.test_framework_api.service.ResultRollupService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * ROLLUP TESTS: folding results into one upsert per (suite, test name, day)
+ */
+class ResultRollupTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    static TestResult result(Long suiteId, String name, TestStatus status, Long duration, int retries,
+            LocalDate day) {
+        TestResult result = new TestResult();
+        if (suiteId != null) {
+            TestSuite suite = new TestSuite();
+            suite.setId(suiteId);
+            result.setTestSuite(suite);
+        }
+        result.setTestName(name);
+        result.setStatus(status);
+        result.setDuration(duration);
+        result.setRetryCount(retries);
+        result.setCreatedAt(day.atTime(12, 0));
+        return result;
+    }
+
+    @Test
+    void testRecord_OneUpsertPerSuiteNameAndDay() {
+        ResultDailyRollupRepository repository = mock(ResultDailyRollupRepository.class);
+        ResultRollupService rollups = new ResultRollupService(repository);
+
+        rollups.record(List.of(
+                result(3L, "Login", TestStatus.PASSED, 100L, 1, DAY),
+                result(3L, "Login", TestStatus.FAILED, 300L, 0, DAY),
+                result(3L, "Login", TestStatus.TIMEOUT, null, 2, DAY.plusDays(1)),
+                result(null, "Login", TestStatus.CANCELLED, 50L, 0, DAY),
+                result(3L, null, TestStatus.PASSED, 10L, 0, DAY)));
+
+        verify(repository).upsert(3L, "Login", DAY, 2, 1, 1, 0, 1, 2, 400, 100_000.0, 100L, 300L);
+        verify(repository).upsert(eq(3L), eq("Login"), eq(DAY.plusDays(1)), eq(1L), eq(0L), eq(0L), eq(1L),
+                eq(2L), eq(0L), eq(0L), eq(0.0), isNull(), isNull());
+        // No suite: suite id 0; no test name: not rolled up
+        verify(repository).upsert(0L, "Login", DAY, 1, 0, 0, 0, 0, 1, 50, 2_500.0, 50L, 50L);
+        verify(repository, times(3)).upsert(anyLong(), anyString(), any(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyLong(), anyLong(), anyDouble(), any(), any());
+    }
+
+    @Test
+    void testRecord_FailureIsThrownToTheWritingTransaction() {
+        ResultDailyRollupRepository repository = mock(ResultDailyRollupRepository.class);
+        when(repository.upsert(anyLong(), anyString(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong(), anyDouble(), any(), any())).thenThrow(new IllegalStateException("deadlock"));
+
+        ResultRollupService rollups = new ResultRollupService(repository);
+
+        assertThrows(IllegalStateException.class,
+                () -> rollups.record(List.of(result(3L, "Login", TestStatus.PASSED, 100L, 0, DAY))));
+    }
+}
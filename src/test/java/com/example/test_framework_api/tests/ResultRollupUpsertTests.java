@@ -0,0 +1,87 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.config.PersistenceConfig;
+import com.example.test_framework_api.model.ResultDailyRollup;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.ResultDailyRollupRepository;
+import com.example.test_framework_api.service.ResultRollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ROLLUP UPSERT TESTS: the ON DUPLICATE KEY upsert of result_daily_rollup
+ * adds each delta to its (suite, test name, day) row on a real MySQL schema.
+ *
+ * Needs Docker (Testcontainers); skipped without it.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=update")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ PersistenceConfig.class, ResultRollupService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ResultRollupUpsertTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private ResultRollupService rollups;
+    @Autowired
+    private ResultDailyRollupRepository repository;
+
+    @Test
+    void testUpsert_AddsDeltasToOneRow() {
+        rollups.record(List.of(
+                ResultRollupTests.result(7L, "Checkout", TestStatus.PASSED, 200L, 0, DAY),
+                ResultRollupTests.result(7L, "Checkout", TestStatus.FAILED, 400L, 1, DAY)));
+        rollups.record(List.of(
+                ResultRollupTests.result(7L, "Checkout", TestStatus.TIMEOUT, null, 2, DAY),
+                ResultRollupTests.result(7L, "Checkout", TestStatus.PASSED, 100L, 0, DAY)));
+        rollups.record(List.of(ResultRollupTests.result(7L, "Checkout", TestStatus.PASSED, 900L, 0, DAY.plusDays(1))));
+
+        List<ResultDailyRollup> rows = repository.findAll().stream()
+                .filter(row -> row.getTestSuiteId() == 7L && row.getDay().equals(DAY))
+                .toList();
+        assertEquals(1, rows.size());
+        ResultDailyRollup row = rows.get(0);
+        assertEquals(4, row.getTotal());
+        assertEquals(2, row.getPassed());
+        assertEquals(1, row.getFailed());
+        assertEquals(1, row.getTimedOut());
+        assertEquals(3, row.getRetries());
+        assertEquals(3, row.getDurationCount());
+        assertEquals(700, row.getDurationSumMs());
+        assertEquals(210_000.0, row.getDurationSumSq(), 0.001);
+        // A delta without durations leaves min and max alone
+        assertEquals(100L, row.getMinDurationMs());
+        assertEquals(400L, row.getMaxDurationMs());
+
+        List<Object[]> byDay = repository.sumByDay(7L, DAY);
+        assertEquals(2, byDay.size());
+        assertEquals(1L, ((Number) byDay.get(1)[1]).longValue());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.config.PersistenceConfig;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * RESULT SEQUENCE SEED TESTS: test_result_seq moved past existing result ids
+ */
+class ResultSequenceSeedTests {
+
+    private final Connection connection = mock(Connection.class, RETURNS_DEEP_STUBS);
+    private final Statement statement = mock(Statement.class);
+
+    private void mysqlWithTables() throws Exception {
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("MySQL");
+        ResultSet tables = mock(ResultSet.class);
+        when(tables.next()).thenReturn(true);
+        when(tables.getInt(1)).thenReturn(2);
+        when(connection.prepareStatement(anyString()).executeQuery()).thenReturn(tables);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @Test
+    void testSeed_RaisesSequenceAFullBlockAboveMaxId() throws Exception {
+        mysqlWithTables();
+        when(statement.executeUpdate(anyString())).thenReturn(1);
+
+        PersistenceConfig.seed(connection);
+
+        verify(statement).executeUpdate("UPDATE test_result_seq SET next_val = GREATEST(next_val, "
+                + "(SELECT COALESCE(MAX(id), 0) + 51 FROM test_result))");
+        verify(statement, never()).executeUpdate(startsWith("INSERT"));
+    }
+
+    @Test
+    void testSeed_InsertsRowWhenSequenceTableIsEmpty() throws Exception {
+        mysqlWithTables();
+        when(statement.executeUpdate(anyString())).thenReturn(0);
+
+        PersistenceConfig.seed(connection);
+
+        verify(statement).executeUpdate(
+                "INSERT INTO test_result_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM test_result");
+    }
+
+    @Test
+    void testSeed_SkippedOnOtherDatabases() throws Exception {
+        when(connection.getMetaData().getDatabaseProductName()).thenReturn("H2");
+
+        PersistenceConfig.seed(connection);
+
+        verify(connection, never()).createStatement();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestResult;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.repository.UserRepository;
+import com.example.test_framework_api.service.ResultRollupService;
+import com.example.test_framework_api.service.ResultWriteBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * RESULT WRITE-BEHIND TESTS: batching, flush, spool and replay
+ */
+class ResultWriteBufferTests {
+
+    @Mock
+    private TestResultRepository resultRepository;
+    @Mock
+    private TestRunRepository runRepository;
+    @Mock
+    private TestSuiteRepository suiteRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ResultRollupService rollupService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path spoolDir;
+
+    private final List<List<TestResult>> batches = Collections.synchronizedList(new ArrayList<>());
+    private ResultWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(resultRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TestResult> batch = new ArrayList<>(invocation.getArgument(0));
+            batches.add(batch);
+            return batch;
+        });
+        buffer = newBuffer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.shutdown();
+    }
+
+    private ResultWriteBuffer newBuffer() {
+        return new ResultWriteBuffer(resultRepository, runRepository, suiteRepository, userRepository,
+                rollupService, transactionManager, true, 3, 60_000, 100, spoolDir.toString(), 30_000);
+    }
+
+    private TestResult result(String name) {
+        TestRun run = new TestRun();
+        run.setId(42L);
+        TestResult result = new TestResult();
+        result.setTestName(name);
+        result.setStatus(TestStatus.PASSED);
+        result.setDuration(15L);
+        result.setTestRun(run);
+        return result;
+    }
+
+    @Test
+    void testSubmit_WritesInBatchesOnFlush() {
+        for (int i = 0; i < 7; i++) {
+            assertEquals("TC" + i, buffer.submit(result("TC" + i)).getTestName());
+        }
+        buffer.flush();
+
+        assertEquals(7, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 3));
+        verify(resultRepository, never()).save(any());
+        verify(rollupService, times(batches.size())).record(anyList());
+        assertEquals(7L, buffer.getStats().get("written"));
+        assertEquals(0, buffer.getStats().get("queued"));
+    }
+
+    @Test
+    void testFailedBatch_SpooledAndReplayed() throws Exception {
+        doThrow(new RuntimeException("connection refused")).when(resultRepository).saveAll(anyList());
+        buffer.submit(result("TC_DOWN"));
+        buffer.flush();
+
+        assertEquals(1L, buffer.getStats().get("spooled"));
+        verify(rollupService, never()).record(anyList());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(1, files.count());
+        }
+
+        // Database back: the next start replays the spool
+        batches.clear();
+        doAnswer(invocation -> {
+            batches.add(new ArrayList<>(invocation.getArgument(0)));
+            return invocation.getArgument(0);
+        }).when(resultRepository).saveAll(anyList());
+        TestRun ref = new TestRun();
+        ref.setId(42L);
+        when(runRepository.getReferenceById(anyLong())).thenReturn(ref);
+
+        ResultWriteBuffer restarted = newBuffer();
+        try {
+            restarted.replaySpool();
+        } finally {
+            restarted.shutdown();
+        }
+
+        assertEquals(1, batches.size());
+        TestResult replayed = batches.get(0).get(0);
+        assertEquals("TC_DOWN", replayed.getTestName());
+        assertEquals(TestStatus.PASSED, replayed.getStatus());
+        assertSame(ref, replayed.getTestRun());
+        assertNull(replayed.getId());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testRollupFailure_RollsBackAndSpoolsBatch() throws Exception {
+        doThrow(new RuntimeException("lock wait timeout")).when(rollupService).record(anyList());
+        buffer.submit(result("TC_ROLLUP"));
+        buffer.flush();
+
+        // Results and rollups share one transaction: neither is kept
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(0L, buffer.getStats().get("written"));
+        assertEquals(1L, buffer.getStats().get("spooled"));
+    }
+
+    @Test
+    void testReplay_DatabaseStillDownKeepsSpool() throws Exception {
+        doThrow(new RuntimeException("connection refused")).when(resultRepository).saveAll(anyList());
+        buffer.submit(result("TC_DOWN"));
+        buffer.flush();
+
+        // Retry while the database is still down: nothing written, nothing rejected
+        buffer.replaySpool();
+
+        try (var files = Files.list(spoolDir)) {
+            List<Path> left = files.toList();
+            assertEquals(1, left.size());
+            assertTrue(left.get(0).getFileName().toString().endsWith(".jsonl"));
+            assertEquals(1, Files.readAllLines(left.get(0)).size());
+        }
+        assertEquals(0L, buffer.getStats().get("replayed"));
+        assertEquals(0L, buffer.getStats().get("rejected"));
+    }
+
+    @Test
+    void testReplay_BadRowsMovedToRejected() throws Exception {
+        Path spool = spoolDir.resolve("results-1.jsonl");
+        Files.write(spool, List.of(
+                "{\"testName\":\"TC_OK\",\"status\":\"PASSED\",\"duration\":5}",
+                "not json",
+                "{\"testName\":\"TC_BAD\",\"status\":\"PASSED\",\"duration\":5}"));
+        doThrow(new DataIntegrityViolationException("duplicate")).when(resultRepository)
+                .saveAll(argThat((List<TestResult> batch) -> batch.stream()
+                        .anyMatch(r -> "TC_BAD".equals(r.getTestName()))));
+
+        buffer.replaySpool();
+
+        assertFalse(Files.exists(spool));
+        List<String> rejected = Files.readAllLines(spoolDir.resolve("results-1.jsonl.rejected"));
+        assertEquals(2, rejected.size());
+        assertEquals("not json", rejected.get(0));
+        assertTrue(rejected.get(1).contains("TC_BAD"));
+        assertEquals(1L, buffer.getStats().get("replayed"));
+        assertEquals(2L, buffer.getStats().get("rejected"));
+        verify(rollupService).record(argThat(batch -> batch.size() == 1
+                && "TC_OK".equals(batch.iterator().next().getTestName())));
+    }
+
+    @Test
+    void testDisabled_WritesSynchronously() {
+        ResultWriteBuffer direct = new ResultWriteBuffer(resultRepository, runRepository, suiteRepository,
+                userRepository, rollupService, transactionManager, false, 3, 60_000, 100, spoolDir.toString(), 30_000);
+        TestResult result = result("TC_SYNC");
+        when(resultRepository.save(result)).thenReturn(result);
+
+        assertSame(result, direct.submit(result));
+        verify(resultRepository).save(result);
+        direct.shutdown();
+    }
+}
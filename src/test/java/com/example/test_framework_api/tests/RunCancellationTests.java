@@ -0,0 +1,169 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.service.RunCancellationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * CANCELLATION TESTS: queued vs running runs, final status precedence
+ */
+class RunCancellationTests {
+
+    @Mock
+    private TestRunRepository runRepository;
+
+    private RunCancellationService cancellation;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cancellation = new RunCancellationService(runRepository, 2000, 3_600_000);
+    }
+
+    private TestRun run(Long id, TestStatus status) {
+        TestRun run = new TestRun();
+        run.setId(id);
+        run.setStatus(status);
+        when(runRepository.findById(id)).thenReturn(Optional.of(run));
+        return run;
+    }
+
+    @Test
+    void testCancelRunning_AbortsActiveTestsAndMarksCancelled() {
+        TestRun run = run(1L, TestStatus.RUNNING);
+        AtomicInteger aborted = new AtomicInteger();
+        Runnable abort = aborted::incrementAndGet;
+        cancellation.register(1L, abort);
+
+        Map<String, Object> response = cancellation.cancelRun(1L);
+
+        assertEquals(1, aborted.get());
+        assertEquals(1, response.get("interruptedTests"));
+        assertEquals(TestStatus.CANCELLED, run.getStatus());
+        verify(runRepository).markCancelRequested(1L);
+        verify(runRepository).save(run);
+        assertTrue(cancellation.isCancelled(1L));
+
+        // Completion must not overwrite CANCELLED
+        assertEquals(TestStatus.CANCELLED, cancellation.finish(1L, TestStatus.COMPLETED));
+        assertFalse(cancellation.isCancelled(1L));
+    }
+
+    @Test
+    void testCancelQueued_LateRegistrationAbortsImmediately() {
+        run(2L, TestStatus.PENDING);
+        cancellation.cancelRun(2L);
+
+        AtomicInteger aborted = new AtomicInteger();
+        cancellation.register(2L, aborted::incrementAndGet);
+        assertEquals(1, aborted.get());
+    }
+
+    @Test
+    void testCancelFinishedOrUnknownRun() {
+        run(3L, TestStatus.PASSED);
+        assertThrows(IllegalStateException.class, () -> cancellation.cancelRun(3L));
+        assertNull(cancellation.cancelRun(99L));
+        assertEquals(TestStatus.COMPLETED, cancellation.finish(4L, TestStatus.COMPLETED));
+    }
+
+    @Test
+    void testCancelledOnAnotherNode_PollAbortsLocalTests() {
+        AtomicInteger aborted = new AtomicInteger();
+        cancellation.register(5L, aborted::incrementAndGet);
+        cancellation.register(6L, () -> fail("run 6 was not cancelled"));
+        when(runRepository.findCancelRequestedIn(Set.of(5L, 6L))).thenReturn(List.of(5L));
+
+        cancellation.pollCancellations();
+        cancellation.pollCancellations();
+
+        assertEquals(1, aborted.get());
+        assertTrue(cancellation.isCancelled(5L));
+        assertFalse(cancellation.isCancelled(6L));
+        assertEquals(TestStatus.CANCELLED, cancellation.finish(5L, TestStatus.COMPLETED));
+    }
+
+    @Test
+    void testFailFastOnAnotherNode_PollAbortsAndFinishFails() {
+        AtomicInteger aborted = new AtomicInteger();
+        cancellation.register(10L, aborted::incrementAndGet);
+        when(runRepository.findFailFastRequestedIn(Set.of(10L))).thenReturn(List.of(10L));
+
+        cancellation.pollCancellations();
+        cancellation.pollCancellations();
+
+        assertEquals(1, aborted.get());
+        assertTrue(cancellation.isCancelled(10L));
+        when(runRepository.isFailFastRequested(11L)).thenReturn(true);
+        assertEquals(TestStatus.FAILED, cancellation.finish(11L, TestStatus.PASSED));
+    }
+
+    @Test
+    void testFailFast_PersistsStopAndCountsRunWide() {
+        cancellation.failFast(12L);
+        verify(runRepository).markFailFastRequested(12L);
+
+        when(runRepository.findCriticalFailures(12L)).thenReturn(3);
+        assertEquals(3, cancellation.recordCriticalFailure(12L));
+        verify(runRepository).incrementCriticalFailures(12L);
+    }
+
+    @Test
+    void testFinishOnOtherNode_SeesPersistedCancel() {
+        when(runRepository.isCancelRequested(7L)).thenReturn(true);
+        assertEquals(TestStatus.CANCELLED, cancellation.finish(7L, TestStatus.PASSED));
+    }
+
+    @Test
+    void testShardOutcome_KeepsTheRunStopped() {
+        run(10L, TestStatus.RUNNING);
+        cancellation.failFast(10L);
+
+        // One shard ending must not clear the stop for the run's other shards on this node
+        assertEquals(TestStatus.FAILED, cancellation.outcomeOf(10L, TestStatus.PASSED));
+        assertTrue(cancellation.isCancelled(10L));
+
+        cancellation.cancelRun(10L);
+        assertEquals(TestStatus.CANCELLED, cancellation.outcomeOf(10L, TestStatus.PASSED));
+        assertTrue(cancellation.isCancelled(10L));
+        assertEquals(TestStatus.PASSED, cancellation.outcomeOf(11L, TestStatus.PASSED));
+
+        // Failed fast on another node
+        when(runRepository.isFailFastRequested(12L)).thenReturn(true);
+        assertEquals(TestStatus.FAILED, cancellation.outcomeOf(12L, TestStatus.PASSED));
+    }
+
+    @Test
+    void testStoppedRunThatNeverFinishesHereIsEvicted() {
+        cancellation = new RunCancellationService(runRepository, 2000, -1);
+        run(8L, TestStatus.RUNNING);
+        cancellation.cancelRun(8L);
+        Runnable running = () -> { };
+        cancellation.register(9L, running);
+        cancellation.failFast(9L);
+
+        cancellation.pollCancellations();
+
+        assertFalse(cancellation.isCancelled(8L));
+        // Still has a running test, kept
+        assertTrue(cancellation.isCancelled(9L));
+        cancellation.unregister(9L, running);
+        cancellation.pollCancellations();
+        assertFalse(cancellation.isCancelled(9L));
+        assertEquals(0, cancellation.getStats().get("runsWithRunningTests"));
+    }
+}
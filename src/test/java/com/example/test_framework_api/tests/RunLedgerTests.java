@@ -0,0 +1,89 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.service.RunLedger;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RUN LEDGER TESTS: lock-free per-run progress counters
+ */
+class RunLedgerTests {
+
+    private final RunLedger ledger = new RunLedger(3_600_000);
+
+    @Test
+    void testProgress_CountsRunningAndRemaining() {
+        ledger.expect(1L, 4);
+        ledger.started(1L);
+        ledger.finished(1L, TestStatus.PASSED, 100L);
+        ledger.started(1L);
+        ledger.finished(1L, TestStatus.FAILED, 300L);
+        ledger.started(1L);
+
+        RunLedger.Progress progress = ledger.progress(1L);
+
+        assertEquals(4, progress.total());
+        assertEquals(1, progress.running());
+        assertEquals(1, progress.remaining());
+        assertEquals(2, progress.done());
+        assertEquals(400L, progress.cumulativeDurationMs());
+        assertEquals(TestStatus.COMPLETED, progress.outcome());
+
+        Map<String, Object> body = ledger.getProgress(1L);
+        assertEquals(50, body.get("percentComplete"));
+        assertNull(ledger.getProgress(2L));
+    }
+
+    @Test
+    void testShardLedger_NotServedAsRunProgress() {
+        ledger.expect(3L, 2, true);
+        ledger.started(3L);
+        ledger.finished(3L, TestStatus.PASSED, 50L);
+
+        assertNull(ledger.getProgress(3L));
+        assertEquals(1, ledger.progress(3L).done());
+    }
+
+    @Test
+    void testConcurrentUpdates_NoLostCounts() throws Exception {
+        ledger.expect(5L, 8_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            TestStatus status = i % 4 == 0 ? TestStatus.TIMEOUT : TestStatus.PASSED;
+            pool.submit(() -> {
+                ledger.started(5L);
+                ledger.finished(5L, status, 1L);
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        RunLedger.Progress progress = ledger.progress(5L);
+        assertEquals(6_000, progress.passed());
+        assertEquals(2_000, progress.failed());
+        assertEquals(0, progress.running());
+        assertEquals(0, progress.remaining());
+        assertEquals(8_000L, progress.cumulativeDurationMs());
+    }
+
+    @Test
+    void testOutcome_AllPassedOrAllFailed() {
+        ledger.started(9L);
+        ledger.finished(9L, TestStatus.PASSED, 1L);
+        assertEquals(TestStatus.PASSED, ledger.progress(9L).outcome());
+
+        ledger.started(10L);
+        ledger.finished(10L, TestStatus.FAILED, 1L);
+        ledger.started(10L);
+        ledger.finished(10L, TestStatus.CANCELLED, 1L);
+        assertEquals(TestStatus.FAILED, ledger.progress(10L).outcome());
+        assertEquals(1, ledger.progress(10L).cancelled());
+    }
+}
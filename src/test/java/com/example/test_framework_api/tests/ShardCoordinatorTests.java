@@ -0,0 +1,142 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.RunShard;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.repository.RunShardRepository;
+import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.service.CaseScheduler;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.service.ShardCoordinator;
+import com.example.test_framework_api.service.TestSuiteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * SHARD TESTS: shard reports and finalization of a sharded run
+ */
+class ShardCoordinatorTests {
+
+    @Mock
+    private RunShardRepository shardRepository;
+    @Mock
+    private TestRunRepository runRepository;
+    @Mock
+    private TestCaseRepository caseRepository;
+    @Mock
+    private TestSuiteRepository suiteRepository;
+    @Mock
+    private TestResultRepository resultRepository;
+    @Mock
+    private CaseScheduler caseScheduler;
+    @Mock
+    private TestSuiteService suiteService;
+    @Mock
+    private RunCancellationService runCancellation;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private ShardCoordinator coordinator;
+    private TestRun run;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        coordinator = new ShardCoordinator(shardRepository, runRepository, caseRepository, suiteRepository,
+                resultRepository, caseScheduler, suiteService, runCancellation, rabbitTemplate);
+        run = new TestRun();
+        run.setId(5L);
+        run.setStatus(TestStatus.RUNNING);
+        when(runRepository.findById(5L)).thenReturn(Optional.of(run));
+        when(shardRepository.markFinished(any(), any(), any(), any(), any())).thenReturn(1);
+        when(runCancellation.finish(eq(5L), any())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    private RunShard shard(int index, TestStatus status, Integer peak) {
+        RunShard shard = new RunShard();
+        shard.setId(100L + index);
+        shard.setTestRunId(5L);
+        shard.setTestSuiteId(3L);
+        shard.setShardIndex(index);
+        shard.setShardCount(2);
+        shard.setStatus(status);
+        shard.setPeakConcurrency(peak);
+        shard.setStartedAt(LocalDateTime.now().minusSeconds(2));
+        shard.setFinishedAt(LocalDateTime.now());
+        return shard;
+    }
+
+    @Test
+    void testFinishShard_NotLast_DoesNotFinalize() {
+        when(runRepository.findFinishedShards(5L)).thenReturn(1);
+
+        coordinator.finishShard(shard(0, TestStatus.RUNNING, 2), TestStatus.PASSED, 2);
+
+        verify(shardRepository).markFinished(eq(100L), eq(TestStatus.PASSED), any(), any(), eq(2));
+        verify(runRepository).incrementFinishedShards(5L);
+        verify(runRepository, never()).save(any());
+        verify(suiteService, never()).updateSuiteStatus(any());
+    }
+
+    @Test
+    void testFinishShard_DuplicateReportIgnored() {
+        when(shardRepository.markFinished(any(), any(), any(), any(), any())).thenReturn(0);
+
+        coordinator.finishShard(shard(0, TestStatus.RUNNING, 2), TestStatus.PASSED, 2);
+
+        verify(runRepository, never()).incrementFinishedShards(any());
+        verify(runRepository, never()).save(any());
+    }
+
+    @Test
+    void testFinishShard_LastShardFinalizesRun() {
+        when(runRepository.findFinishedShards(5L)).thenReturn(2);
+        when(shardRepository.findByTestRunIdOrderByShardIndex(5L)).thenReturn(List.of(
+                shard(0, TestStatus.PASSED, 2), shard(1, TestStatus.PASSED, 3)));
+        when(resultRepository.countByRunIdAndStatus(5L, TestStatus.PASSED)).thenReturn(6L);
+
+        coordinator.finishShard(shard(1, TestStatus.RUNNING, 3), TestStatus.PASSED, 3);
+
+        assertEquals(TestStatus.PASSED, run.getStatus());
+        assertEquals(5, run.getPeakConcurrency());
+        assertNotNull(run.getActualMakespanMs());
+        assertTrue(run.getThroughputPerSec() > 0);
+        verify(runRepository).save(run);
+        verify(suiteService).updateSuiteStatus(3L);
+    }
+
+    @Test
+    void testFinalize_OutcomeFromShardOutcomes() {
+        when(runRepository.findFinishedShards(5L)).thenReturn(2);
+        when(shardRepository.findByTestRunIdOrderByShardIndex(5L)).thenReturn(List.of(
+                shard(0, TestStatus.PASSED, 1), shard(1, TestStatus.FAILED, 1)));
+
+        coordinator.finishShard(shard(1, TestStatus.RUNNING, 1), TestStatus.FAILED, 1);
+        assertEquals(TestStatus.COMPLETED, run.getStatus());
+
+        when(shardRepository.findByTestRunIdOrderByShardIndex(5L)).thenReturn(List.of(
+                shard(0, TestStatus.FAILED, 1), shard(1, TestStatus.FAILED, 1)));
+        coordinator.finishShard(shard(1, TestStatus.RUNNING, 1), TestStatus.FAILED, 1);
+        assertEquals(TestStatus.FAILED, run.getStatus());
+
+        when(shardRepository.findByTestRunIdOrderByShardIndex(5L)).thenReturn(List.of(
+                shard(0, TestStatus.PASSED, 1), shard(1, TestStatus.CANCELLED, 1)));
+        coordinator.finishShard(shard(1, TestStatus.RUNNING, 1), TestStatus.CANCELLED, 1);
+        assertEquals(TestStatus.CANCELLED, run.getStatus());
+    }
+}
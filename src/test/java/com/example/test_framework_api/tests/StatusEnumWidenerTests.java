@@ -0,0 +1,32 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.config.StatusEnumWidener;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * STATUS ENUM WIDENER TESTS: new TestStatus values appended to older enum columns
+ */
+class StatusEnumWidenerTests {
+
+    private static final List<String> STATUSES = List.of("PENDING", "RUNNING", "COMPLETED", "FAILED", "PASSED",
+            "TIMEOUT", "CANCELLED");
+
+    @Test
+    void testWidened_AppendsMissingValuesInOrder() {
+        assertEquals("enum('PENDING','RUNNING','COMPLETED','FAILED','PASSED','TIMEOUT','CANCELLED')",
+                StatusEnumWidener.widened("enum('PENDING','RUNNING','COMPLETED','FAILED','PASSED')", STATUSES));
+        // Existing order is kept so MySQL can change the column in place
+        assertEquals("enum('PASSED','FAILED','PENDING','RUNNING','COMPLETED','TIMEOUT','CANCELLED')",
+                StatusEnumWidener.widened("enum('PASSED','FAILED')", STATUSES));
+    }
+
+    @Test
+    void testWidened_NothingMissing() {
+        assertNull(StatusEnumWidener.widened(
+                "enum('PENDING','RUNNING','COMPLETED','FAILED','PASSED','TIMEOUT','CANCELLED')", STATUSES));
+    }
+}
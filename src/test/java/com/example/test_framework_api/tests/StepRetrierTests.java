@@ -0,0 +1,136 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.worker.DeadlineWatchdog;
+import com.example.test_framework_api.worker.ExecutionContext;
+import com.example.test_framework_api.worker.StepRetrier;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * STEP RETRY TESTS: in-place retries of transient step/request failures
+ */
+class StepRetrierTests {
+
+    private final StepRetrier retrier = new StepRetrier(1, 5, 20);
+
+    @Test
+    void testTransientFailure_RetriedAndRecorded() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<StepRetrier.Attempt> attempts = new ArrayList<>();
+
+        String result = retrier.run("Step 1/1 (click)", 2, null, attempts, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("stale element");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, attempts.size());
+        assertEquals(1, attempts.get(0).attempt());
+        assertEquals("Step 1/1 (click)", attempts.get(1).target());
+        assertNotNull(StepRetrier.toJson(attempts));
+    }
+
+    @Test
+    void testRetriesExhausted_ThrowsLastFailure() {
+        List<StepRetrier.Attempt> attempts = new ArrayList<>();
+
+        assertThrows(NoSuchElementException.class, () -> retrier.run("Step", 1, null, attempts, () -> {
+            throw new NoSuchElementException("#login");
+        }));
+        assertEquals(1, attempts.size());
+    }
+
+    @Test
+    void testNonTransientFailure_NotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        List<StepRetrier.Attempt> attempts = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> retrier.run("Request", 3, null, attempts, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Expectation failed: status 500 not in 200");
+        }));
+        assertEquals(1, calls.get());
+        assertTrue(attempts.isEmpty());
+    }
+
+    @Test
+    void testTransientClassification() {
+        assertTrue(StepRetrier.isTransient(new RuntimeException(new UncheckedIOException(new ConnectException()))));
+        assertTrue(StepRetrier.isTransient(new NoSuchElementException("x")));
+        assertFalse(StepRetrier.isTransient(new InvalidSelectorException("bad xpath")));
+        assertFalse(StepRetrier.isTransient(new AssertionError("nope")));
+    }
+
+    @Test
+    void testNonIdempotentRequest_RetriedOnlyOnConnectFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<StepRetrier.Attempt> attempts = new ArrayList<>();
+
+        // Read timeout after sending: the server may have processed the POST
+        assertThrows(IllegalStateException.class, () -> retrier.run("Request POST", 2, null, attempts,
+                StepRetrier.isIdempotent("POST"), () -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException("HTTP call failed", new HttpTimeoutException("request timed out"));
+                }));
+        assertEquals(1, calls.get());
+
+        calls.set(0);
+        String result = retrier.run("Request POST", 2, null, attempts, false, () -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new IllegalStateException("HTTP call failed", new ConnectException("Connection refused"));
+            }
+            return "created";
+        });
+        assertEquals("created", result);
+        assertEquals(1, attempts.size());
+
+        assertTrue(StepRetrier.isTransient(new HttpTimeoutException("request timed out"), true));
+        assertTrue(StepRetrier.isIdempotent("put"));
+        assertFalse(StepRetrier.isIdempotent("PATCH"));
+    }
+
+    @Test
+    void testWaitTimeout_NotRetried() {
+        assertFalse(StepRetrier.isTransient(new TimeoutException("Expected condition failed: waited 10 seconds")));
+    }
+
+    @Test
+    void testNoRetryPastDeadline() {
+        DeadlineWatchdog watchdog = new DeadlineWatchdog(120_000);
+        StepRetrier slow = new StepRetrier(1, 10_000, 10_000);
+        ExecutionContext context = watchdog.start("TC_RETRY", 1_000);
+        List<StepRetrier.Attempt> attempts = new ArrayList<>();
+        try {
+            assertThrows(NoSuchElementException.class, () -> slow.run("Step", 3, context, attempts, () -> {
+                throw new NoSuchElementException("#slow");
+            }));
+            assertTrue(attempts.isEmpty());
+        } finally {
+            watchdog.finish(context);
+            watchdog.shutdown();
+        }
+    }
+
+    @Test
+    void testRetryResolution_StepThenCaseThenDefault() {
+        assertEquals(3, retrier.resolveRetries(3, 0));
+        assertEquals(0, retrier.resolveRetries(null, 0));
+        assertEquals(1, retrier.resolveRetries(null, null));
+        assertEquals(10, retrier.resolveRetries(50, null));
+    }
+}
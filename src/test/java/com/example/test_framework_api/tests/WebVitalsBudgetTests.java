@@ -0,0 +1,66 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.model.WebVitals;
+import com.example.test_framework_api.worker.WebVitalsCollector;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PERFORMANCE BUDGET TESTS: per-case web vitals limits
+ */
+class WebVitalsBudgetTests {
+
+    private WebVitals vitals() {
+        WebVitals vitals = new WebVitals();
+        vitals.setTtfbMs(180L);
+        vitals.setLoadMs(2400L);
+        vitals.setLcpMs(3120L);
+        vitals.setCls(0.02);
+        return vitals;
+    }
+
+    @Test
+    void testBudget_ReportsEveryExceededMetric() {
+        List<String> violations = WebVitalsCollector.checkBudget(vitals(),
+                "{\"lcpMs\": 2500, \"loadMs\": 2000, \"cls\": 0.1}");
+
+        assertEquals(List.of("lcpMs 3120 > 2500", "loadMs 2400 > 2000"), violations);
+    }
+
+    @Test
+    void testBudget_MissingVitalsAreViolations() {
+        assertEquals(List.of("jsHeapBytes not captured"),
+                WebVitalsCollector.checkBudget(vitals(), "{\"jsHeapBytes\": 1000}"));
+        assertEquals(List.of("web vitals not captured"),
+                WebVitalsCollector.checkBudget(null, "{\"lcpMs\": 1}"));
+        assertTrue(WebVitalsCollector.checkBudget(null, null).isEmpty());
+        assertTrue(WebVitalsCollector.checkBudget(vitals(), null).isEmpty());
+    }
+
+    @Test
+    void testBudget_InvalidBudgetRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> WebVitalsCollector.checkBudget(vitals(), "{\"fcpMs\": 1000}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> WebVitalsCollector.checkBudget(vitals(), "lcp<2500"));
+        assertThrows(IllegalArgumentException.class,
+                () -> WebVitalsCollector.validateBudget("{\"lcpMs\": \"fast\"}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> WebVitalsCollector.validateBudget("[2500]"));
+        // Unknown metrics are rejected even when nothing was captured
+        assertThrows(IllegalArgumentException.class,
+                () -> WebVitalsCollector.checkBudget(null, "{\"fcpMs\": 1000}"));
+    }
+
+    @Test
+    void testCapture_OnlyWhenEnabledOrBudgeted() {
+        WebVitalsCollector collector = new WebVitalsCollector(false);
+
+        assertFalse(collector.shouldCapture(null));
+        assertTrue(collector.shouldCapture("{\"lcpMs\": 2500}"));
+        assertTrue(new WebVitalsCollector(true).shouldCapture(null));
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.test_framework_api.tests;
+
+import com.example.test_framework_api.dto.ExecutionOptions;
+import com.example.test_framework_api.model.TestCase;
+import com.example.test_framework_api.model.TestRun;
+import com.example.test_framework_api.model.TestStatus;
+import com.example.test_framework_api.model.WorkItem;
+import com.example.test_framework_api.repository.TestCaseRepository;
+import com.example.test_framework_api.repository.TestResultRepository;
+import com.example.test_framework_api.repository.TestRunRepository;
+import com.example.test_framework_api.repository.TestSuiteRepository;
+import com.example.test_framework_api.repository.WorkItemRepository;
+import com.example.test_framework_api.service.CaseScheduler;
+import com.example.test_framework_api.service.RunCancellationService;
+import com.example.test_framework_api.service.TestSuiteService;
+import com.example.test_framework_api.service.WorkQueueService;
+import com.example.test_framework_api.worker.WorkerNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * WORK QUEUE TESTS: per-worker throughput, priority order, leases, reclaim
+ * and finalization of pull-based runs
+ */
+class WorkQueueTests {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    @Mock
+    private WorkItemRepository itemRepository;
+    @Mock
+    private TestRunRepository runRepository;
+    @Mock
+    private TestCaseRepository caseRepository;
+    @Mock
+    private TestSuiteRepository suiteRepository;
+    @Mock
+    private TestResultRepository resultRepository;
+    @Mock
+    private CaseScheduler caseScheduler;
+    @Mock
+    private TestSuiteService suiteService;
+    @Mock
+    private RunCancellationService runCancellation;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Captor
+    private ArgumentCaptor<List<WorkItem>> savedItems;
+
+    private WorkQueueService workQueue;
+    private TestRun run;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        workQueue = new WorkQueueService(itemRepository, runRepository, caseRepository, suiteRepository,
+                resultRepository, caseScheduler, suiteService, runCancellation, rabbitTemplate, 4, 60_000, 2000);
+        run = new TestRun();
+        run.setId(5L);
+        run.setStatus(TestStatus.RUNNING);
+        run.setWorkItemCount(2);
+        when(runRepository.findById(5L)).thenReturn(Optional.of(run));
+        when(suiteRepository.findById(any())).thenReturn(Optional.empty());
+        when(runCancellation.finish(eq(5L), any())).thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    private TestCase testCase(String id, String priority) {
+        TestCase tc = new TestCase();
+        tc.setTestCaseId(id);
+        tc.setTestName(id);
+        tc.setPriority(priority);
+        tc.setRun(true);
+        return tc;
+    }
+
+    private WorkItem queued(Long id, String caseId, int position) {
+        WorkItem item = new WorkItem();
+        item.setId(id);
+        item.setTestRunId(5L);
+        item.setTestSuiteId(3L);
+        item.setTestCaseId(caseId);
+        item.setPosition(position);
+        return item;
+    }
+
+    private WorkQueueService.Batch leaseTwo() {
+        when(itemRepository.findOpenTier(eq(5L), any())).thenReturn(0);
+        when(itemRepository.lockPending(5L, 0, 4)).thenReturn(List.of(2L, 1L));
+        when(itemRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(queued(2L, "TC2", 1), queued(1L, "TC1", 0)));
+        when(caseRepository.findAllById(List.of("TC1", "TC2")))
+                .thenReturn(List.of(testCase("TC1", "High"), testCase("TC2", "High")));
+        return workQueue.lease(5L);
+    }
+
+    private WorkItem item(String owner, long leasedAtMs, Long finishedAtMs) {
+        WorkItem item = new WorkItem();
+        item.setLeaseOwner(owner);
+        item.setLeasedAt(T0.plusNanos(leasedAtMs * 1_000_000));
+        item.setFinishedAt(finishedAtMs != null ? T0.plusNanos(finishedAtMs * 1_000_000) : null);
+        item.setStatus(finishedAtMs != null ? TestStatus.COMPLETED : TestStatus.RUNNING);
+        return item;
+    }
+
+    @Test
+    void testWorkerStats_FasterWorkerPulledMore() {
+        List<WorkItem> items = List.of(
+                item("slow:1", 0, 4_000L),
+                item("fast:2", 0, 1_000L),
+                item("fast:2", 1_000, 2_000L),
+                item("fast:2", 2_000, 4_000L),
+                item("fast:2", 4_000, null));
+
+        List<Map<String, Object>> stats = WorkQueueService.workerStats(items);
+
+        assertEquals(2, stats.size());
+        assertEquals("fast:2", stats.get(0).get("workerId"));
+        assertEquals(3, stats.get(0).get("cases"));
+        assertEquals(4_000L, stats.get(0).get("activeMs"));
+        assertEquals(0.75, stats.get(0).get("casesPerSec"));
+        assertEquals(0.25, stats.get(1).get("casesPerSec"));
+    }
+
+    @Test
+    void testWorkerStats_IgnoresUnleasedItems() {
+        WorkItem pending = new WorkItem();
+        pending.setStatus(TestStatus.PENDING);
+
+        assertTrue(WorkQueueService.workerStats(List.of(pending, item("w:1", 0, null))).isEmpty());
+    }
+
+    @Test
+    void testEnqueue_PriorityFirstOrdersByTier() {
+        List<TestCase> cases = List.of(testCase("LOW", "Low"), testCase("HIGH", "High"), testCase("MED", "Medium"));
+        when(caseScheduler.estimate(anyList())).thenReturn(Map.of("LOW", 9_000L, "HIGH", 1_000L, "MED", 5_000L));
+        when(caseScheduler.schedule(anyList(), any(), anyInt()))
+                .thenAnswer(invocation -> new CaseScheduler.Schedule(invocation.getArgument(0), 0, 0));
+        ExecutionOptions options = new ExecutionOptions();
+        options.setPriorityFirst(true);
+        options.setPullWorkers(2);
+
+        assertEquals(3, workQueue.enqueue(run, 3L, cases, 2, options));
+
+        verify(itemRepository).saveAll(savedItems.capture());
+        List<WorkItem> items = savedItems.getValue();
+        assertEquals(List.of("HIGH", "MED", "LOW"), items.stream().map(WorkItem::getTestCaseId).toList());
+        assertEquals(List.of(0, 1, 2), items.stream().map(WorkItem::getPriorityTier).toList());
+        assertEquals(List.of(0, 1, 2), items.stream().map(WorkItem::getPosition).toList());
+        verify(rabbitTemplate, times(2)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void testLease_OnlyFromFirstOpenTier() {
+        when(itemRepository.findOpenTier(eq(5L), any())).thenReturn(0);
+        when(itemRepository.lockPending(5L, 0, 4)).thenReturn(List.of());
+
+        // Tier 0 is still running on other workers: tier 1 waits
+        assertTrue(workQueue.lease(5L).isEmpty());
+        verify(itemRepository, never()).lockPending(eq(5L), eq(1), anyInt());
+        verify(itemRepository, never()).lease(any(), any(), any(), any(), any());
+
+        when(itemRepository.findOpenTier(eq(5L), any())).thenReturn(null);
+        assertTrue(workQueue.lease(5L).isEmpty());
+    }
+
+    @Test
+    void testLease_RenewedUntilCompleted() {
+        WorkQueueService.Batch batch = leaseTwo();
+
+        assertEquals(List.of("TC1", "TC2"), batch.cases().stream().map(TestCase::getTestCaseId).toList());
+        verify(itemRepository).lease(eq(List.of(2L, 1L)), eq(WorkerNode.ID), any(), any(), eq(TestStatus.RUNNING));
+        verify(itemRepository, never()).reclaimExpired(any(), any(), any());
+
+        when(itemRepository.renewLease(any(), any(), any(), any())).thenReturn(2);
+        workQueue.renewLeases();
+        verify(itemRepository).renewLease(eq(List.of(1L, 2L)), eq(WorkerNode.ID), any(), eq(TestStatus.RUNNING));
+
+        when(itemRepository.complete(any(), any(), any(), any(), any())).thenReturn(2);
+        when(runRepository.findCompletedWorkItems(5L)).thenReturn(1);
+        run.setWorkItemCount(4);
+        workQueue.complete(batch, TestStatus.PASSED);
+        workQueue.renewLeases();
+        verify(itemRepository, times(1)).renewLease(any(), any(), any(), any());
+    }
+
+    @Test
+    void testRenew_ReclaimedBatchIsDropped() {
+        leaseTwo();
+        when(itemRepository.renewLease(any(), any(), any(), any())).thenReturn(0);
+
+        workQueue.renewLeases();
+        workQueue.renewLeases();
+
+        verify(itemRepository, times(1)).renewLease(any(), any(), any(), any());
+    }
+
+    @Test
+    void testReclaimExpired_CoversAllRuns() {
+        when(itemRepository.reclaimExpired(any(), eq(TestStatus.PENDING), eq(TestStatus.RUNNING))).thenReturn(3);
+
+        assertEquals(3, workQueue.reclaimExpired());
+    }
+
+    @Test
+    void testComplete_LastBatchFinalizesFromBatchOutcomes() {
+        WorkQueueService.Batch batch = leaseTwo();
+        when(itemRepository.complete(any(), any(), any(), any(), any())).thenReturn(2);
+        when(runRepository.findCompletedWorkItems(5L)).thenReturn(2);
+        WorkItem passed = item("w:1", 0, 1_000L);
+        passed.setStatus(TestStatus.PASSED);
+        WorkItem failed = item("w:1", 0, 2_000L);
+        failed.setStatus(TestStatus.FAILED);
+        when(itemRepository.findByTestRunId(5L)).thenReturn(List.of(passed, failed));
+
+        workQueue.complete(batch, TestStatus.FAILED);
+
+        verify(itemRepository).complete(eq(List.of(1L, 2L)), eq(WorkerNode.ID), eq(TestStatus.FAILED), any(),
+                eq(TestStatus.RUNNING));
+        verify(runRepository).incrementCompletedWorkItems(5L, 2);
+        assertEquals(TestStatus.COMPLETED, run.getStatus());
+        verify(runRepository).save(run);
+        verify(suiteService).updateSuiteStatus(3L);
+
+        passed = item("w:1", 0, 1_000L);
+        passed.setStatus(TestStatus.PASSED);
+        when(itemRepository.findByTestRunId(5L)).thenReturn(List.of(passed));
+        workQueue.complete(batch, TestStatus.PASSED);
+        assertEquals(TestStatus.PASSED, run.getStatus());
+    }
+}